@@ -0,0 +1,37 @@
+plugins {
+	java
+	id("org.springframework.boot")
+	id("io.spring.dependency-management")
+}
+
+group = "com.nested"
+version = "0.0.1-SNAPSHOT"
+description = "Spring Boot Admin server for the Nested API and worker instances"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(21)
+	}
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencies {
+	implementation("de.codecentric:spring-boot-admin-starter-server:3.4.5")
+	implementation("org.springframework.boot:spring-boot-starter-security")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Only the executable jar, so the Docker image can copy build/libs/*.jar
+tasks.named<Jar>("jar") {
+	enabled = false
+}
+
+tasks.withType<Test> {
+	useJUnitPlatform()
+}
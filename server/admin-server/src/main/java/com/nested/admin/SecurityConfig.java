@@ -0,0 +1,64 @@
+package com.nested.admin;
+
+import de.codecentric.boot.admin.server.config.AdminServerProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SavedRequestAwareAuthenticationSuccessHandler;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
+
+/**
+ * Form login for the admin UI, HTTP basic for instances registering themselves. The UI reads the
+ * CSRF token from the XSRF-TOKEN cookie; registration and the server's own actuator are exempt.
+ */
+@Configuration
+public class SecurityConfig {
+
+  @Value("${admin.username}") private String adminUsername;
+  @Value("${admin.password}") private String adminPassword;
+
+  @Bean
+  public SecurityFilterChain adminSecurityFilterChain(
+      HttpSecurity http, AdminServerProperties adminServer) throws Exception {
+    SavedRequestAwareAuthenticationSuccessHandler successHandler =
+        new SavedRequestAwareAuthenticationSuccessHandler();
+    successHandler.setTargetUrlParameter("redirectTo");
+    successHandler.setDefaultTargetUrl(adminServer.path("/"));
+
+    http
+        .authorizeHttpRequests(auth -> auth
+            .requestMatchers(
+                adminServer.path("/assets/**"),
+                adminServer.path("/login"),
+                adminServer.path("/actuator/health"),
+                adminServer.path("/actuator/info"))
+            .permitAll()
+            .anyRequest().authenticated()
+        )
+        .formLogin(form -> form
+            .loginPage(adminServer.path("/login"))
+            .successHandler(successHandler))
+        .logout(logout -> logout.logoutUrl(adminServer.path("/logout")))
+        .httpBasic(Customizer.withDefaults())
+        .csrf(csrf -> csrf
+            .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
+            .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
+            .ignoringRequestMatchers(
+                adminServer.path("/instances"),
+                adminServer.path("/instances/*"),
+                adminServer.path("/actuator/**")))
+        .userDetailsService(new InMemoryUserDetailsManager(
+            User.withUsername(adminUsername)
+                .password("{noop}" + adminPassword)
+                .roles("ADMIN")
+                .build()
+        ));
+    return http.build();
+  }
+}
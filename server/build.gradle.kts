@@ -1,7 +1,10 @@
+import org.springframework.boot.gradle.tasks.aot.ProcessAot
+
 plugins {
 	java
 	id("org.springframework.boot") version "3.5.5"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.nested"
@@ -34,7 +37,7 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     implementation("org.springframework.boot:spring-boot-starter-quartz")
     implementation("org.springframework.boot:spring-boot-starter-batch")
-    implementation("de.codecentric:spring-boot-admin-starter-server:3.4.5")
+    // Registers with the separate admin-server application
     implementation("de.codecentric:spring-boot-admin-starter-client:3.4.5")
 
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
@@ -86,9 +89,94 @@ dependencies {
 	testImplementation("org.flywaydb:flyway-database-postgresql")
 	testImplementation("org.postgresql:postgresql")
 	testImplementation("org.assertj:assertj-core:3.24.2")
+	testImplementation("org.testcontainers:junit-jupiter")
+	testImplementation("org.testcontainers:localstack")
+	testImplementation("org.testcontainers:postgresql")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// Microbenchmarks (./gradlew jmh)
+	jmh("org.springframework:spring-test")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+jmh {
+	jmhVersion = "1.37"
+	warmupIterations = 2
+	iterations = 5
+	fork = 1
+}
+
+// Fast startup ---------------------------------------------------------------------------------
+//   ./gradlew bootJar -Paot[=profiles]  Spring AOT-processed context; run with
+//                                        -Dspring.aot.enabled=true. AOT evaluates profiles and
+//                                        @Conditional beans at build time, so the jar is tied to
+//                                        the profiles it was processed with (default: api).
+//   ./gradlew cdsArchive                 AppCDS archive from a training run that exits after the
+//                                        context refresh; needs the runtime environment (DB).
+//   ./gradlew measureStartup             time to readiness and first-request latency, plain jar
+//                                        vs. extracted jar with the CDS archive.
+val aotProfiles = findProperty("aot")?.toString()
+if (aotProfiles != null) {
+	apply(plugin = "org.springframework.boot.aot")
+	tasks.named<ProcessAot>("processAot") {
+		args("--spring.profiles.active=" + aotProfiles.ifBlank { "api" })
+	}
+}
+val startupJvmArgs = if (aotProfiles != null) listOf("-Dspring.aot.enabled=true") else emptyList()
+val variantSuffix = if (aotProfiles != null) "-aot" else ""
+
+val cdsDir = layout.buildDirectory.dir("cds")
+val bootJarFile = tasks.bootJar.flatMap { it.archiveFile }
+
+val extractBootJar by tasks.registering(Exec::class) {
+	description = "Extracts the boot jar into the layout CDS needs (application jar + lib/)."
+	dependsOn(tasks.bootJar)
+	inputs.file(bootJarFile)
+	outputs.dir(cdsDir)
+	doFirst {
+		commandLine(
+			"java", "-Djarmode=tools", "-jar", bootJarFile.get().asFile.path,
+			"extract", "--destination", cdsDir.get().asFile.path, "--force")
+	}
+}
+
+val cdsArchive by tasks.registering(Exec::class) {
+	description = "Training run that writes the AppCDS archive build/cds/app.jsa."
+	dependsOn(extractBootJar)
+	workingDir(cdsDir)
+	doFirst {
+		commandLine(
+			listOf("java", "-XX:ArchiveClassesAtExit=app.jsa", "-Dspring.context.exit=onRefresh") +
+				startupJvmArgs + listOf("-jar", bootJarFile.get().asFile.name))
+	}
+}
+
+val measureStartupJar by tasks.registering(Exec::class) {
+	dependsOn(tasks.bootJar)
+	doFirst {
+		commandLine(
+			listOf("scripts/measure-startup.sh", "jar$variantSuffix", bootJarFile.get().asFile.path) +
+				startupJvmArgs)
+	}
+}
+
+val measureStartupCds by tasks.registering(Exec::class) {
+	dependsOn(cdsArchive)
+	mustRunAfter(measureStartupJar)
+	doFirst {
+		val cds = cdsDir.get().asFile
+		commandLine(
+			listOf(
+				"scripts/measure-startup.sh", "cds$variantSuffix",
+				cds.resolve(bootJarFile.get().asFile.name).path,
+				"-XX:SharedArchiveFile=" + cds.resolve("app.jsa").path) + startupJvmArgs)
+	}
+}
+
+tasks.register("measureStartup") {
+	description = "Measures startup time and first-request latency; reports in build/reports/startup."
+	dependsOn(measureStartupJar, measureStartupCds)
+}
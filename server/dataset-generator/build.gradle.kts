@@ -0,0 +1,40 @@
+plugins {
+	java
+	id("org.springframework.boot")
+	id("io.spring.dependency-management")
+}
+
+group = "com.nested"
+version = "0.0.1-SNAPSHOT"
+description = "Bulk-loads a production-sized synthetic dataset into a local Nested database"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(21)
+	}
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-jdbc")
+	implementation("org.springframework.boot:spring-boot-starter-json")
+	// CopyManager for COPY ... FROM STDIN
+	implementation("org.postgresql:postgresql")
+	compileOnly("org.projectlombok:lombok")
+	annotationProcessor("org.projectlombok:lombok")
+
+	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Only the executable jar
+tasks.named<Jar>("jar") {
+	enabled = false
+}
+
+tasks.withType<Test> {
+	useJUnitPlatform()
+}
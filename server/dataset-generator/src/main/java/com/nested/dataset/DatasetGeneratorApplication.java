@@ -0,0 +1,22 @@
+package com.nested.dataset;
+
+import java.time.Clock;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class DatasetGeneratorApplication {
+
+  public static void main(String[] args) {
+    System.exit(
+        SpringApplication.exit(SpringApplication.run(DatasetGeneratorApplication.class, args)));
+  }
+
+  @Bean
+  Clock clock() {
+    return Clock.systemDefaultZone();
+  }
+}
@@ -0,0 +1,473 @@
+package com.nested.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nested.dataset.UserPlan.Child;
+import com.nested.dataset.UserPlan.Goal;
+import com.nested.dataset.UserPlan.Item;
+import com.nested.dataset.UserPlan.Order;
+import com.nested.dataset.UserPlan.Transaction;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds {@code dataset.users} users after the generated users already present, in rounds of {@code
+ * dataset.chunk-size}. Each round is planned in memory, copied table by table in foreign-key order
+ * and committed together with the sequence updates, so an interrupted run leaves whole users and
+ * can simply be started again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetLoader implements CommandLineRunner {
+
+  private static final String[][] CITIES = {
+    {"Bengaluru", "Karnataka", "560"}, {"Mumbai", "Maharashtra", "400"},
+    {"Pune", "Maharashtra", "411"}, {"Chennai", "Tamil Nadu", "600"},
+    {"Hyderabad", "Telangana", "500"}, {"New Delhi", "Delhi", "110"},
+    {"Kolkata", "West Bengal", "700"}, {"Ahmedabad", "Gujarat", "380"}
+  };
+  private static final String[] BANKS = {"HDFC", "ICIC", "SBIN", "UTIB", "KKBK"};
+
+  private final DataSource dataSource;
+  private final DatasetProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  @Override
+  public void run(String... args) throws Exception {
+    LocalDate today = LocalDate.now(clock);
+    Manifest manifest = new Manifest();
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (Statement statement = connection.createStatement()) {
+        // Losing the tail of a crashed load is fine; waiting for each commit's flush is not
+        statement.execute("SET synchronous_commit = off");
+      }
+      requireSchema(connection);
+      ReferenceData reference = ReferenceData.loadOrCreate(connection, today);
+      connection.commit();
+
+      int firstIndex = existingUsers(connection);
+      Ids ids = Ids.read(connection);
+      UserPlanner planner = new UserPlanner(properties, reference, ids, today);
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      int sampleEvery = Math.max(1, properties.users() / Math.max(1, properties.manifestUsers()));
+      log.info(
+          "Generating {} users from index {} with seed {}",
+          properties.users(),
+          firstIndex,
+          properties.seed());
+
+      long startTime = System.currentTimeMillis();
+      int end = firstIndex + properties.users();
+      for (int from = firstIndex; from < end; from += properties.chunkSize()) {
+        int to = Math.min(end, from + properties.chunkSize());
+        List<UserPlan> plans = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+          UserPlan plan = planner.plan(index);
+          plans.add(plan);
+          if ((index - firstIndex) % sampleEvery == 0
+              && manifest.size() < properties.manifestUsers()) {
+            manifest.add(plan);
+          }
+        }
+        long transactions = copy(copyManager, plans);
+        ids.syncSequences(connection);
+        connection.commit();
+        log.info(
+            "Loaded users {}-{} ({} transactions), {}s elapsed",
+            from,
+            to - 1,
+            transactions,
+            (System.currentTimeMillis() - startTime) / 1000);
+      }
+
+      try (Statement statement = connection.createStatement()) {
+        for (String table : Ids.TABLES) {
+          statement.execute("ANALYZE " + table);
+        }
+      }
+      connection.commit();
+    }
+    manifest.write(objectMapper, properties.manifest(), today);
+    log.info("Wrote {} users to {}", manifest.size(), properties.manifest().toAbsolutePath());
+  }
+
+  private void requireSchema(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet table = statement.executeQuery("SELECT to_regclass('public.users')")) {
+      table.next();
+      if (table.getString(1) == null) {
+        throw new IllegalStateException(
+            "No users table; start the server once against this database to run the migrations");
+      }
+    }
+  }
+
+  private int existingUsers(Connection connection) throws SQLException {
+    String prefix = properties.subjectPrefix();
+    try (PreparedStatement statement =
+        connection.prepareStatement(
+            "SELECT count(*) FROM users WHERE left(firebase_uid, ?) = ?")) {
+      statement.setInt(1, prefix.length());
+      statement.setString(2, prefix);
+      try (ResultSet count = statement.executeQuery()) {
+        count.next();
+        return count.getInt(1);
+      }
+    }
+  }
+
+  /** Copies one round of users; returns the number of transactions written. */
+  private long copy(CopyManager copyManager, List<UserPlan> plans) throws SQLException {
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "addresses",
+            "id", "address_line", "city", "country", "created_at", "pin_code", "state",
+            "updated_at")) {
+      for (UserPlan plan : plans) {
+        String[] city = CITIES[plan.index() % CITIES.length];
+        out.row(
+            plan.addressId(),
+            "%d, %s Main Road".formatted(1 + plan.index() % 300, plan.lastName()),
+            city[0],
+            "India",
+            plan.createdAt(),
+            city[2] + "%03d".formatted(plan.index() % 100),
+            city[1],
+            plan.createdAt());
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "investors",
+            "id", "account_ref", "created_at", "e_sign_request_ref", "kyc_request_ref", "ref",
+            "type", "updated_at")) {
+      for (UserPlan plan : plans) {
+        out.row(
+            plan.investorId(),
+            "mfia_%012x".formatted(plan.investorId()),
+            plan.createdAt(),
+            "esign_%012x".formatted(plan.investorId()),
+            "kycr_%012x".formatted(plan.investorId()),
+            "invp_%012x".formatted(plan.investorId()),
+            "INDIVIDUAL",
+            plan.createdAt());
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "users",
+            "id", "aadhaar_last4", "birth_country", "birth_place", "created_at", "date_of_birth",
+            "email", "father_name", "firebase_uid", "first_name", "gender", "income_slab",
+            "income_source", "is_active", "is_pep", "is_ready_to_invest", "kyc_status",
+            "marital_status", "nominee_status", "occupation", "pan_number", "phone_number",
+            "prefill_status", "role", "updated_at", "address_id", "investor_id")) {
+      for (UserPlan plan : plans) {
+        out.row(
+            plan.id(),
+            "%04d".formatted(plan.index() % 10_000),
+            "India",
+            CITIES[plan.index() % CITIES.length][0],
+            plan.createdAt(),
+            plan.dateOfBirth().atStartOfDay(),
+            plan.email(),
+            "Ramesh " + plan.lastName(),
+            plan.subject(),
+            plan.firstName() + " " + plan.lastName(),
+            plan.gender(),
+            "ABOVE_10_LAC_UPTO_25_LAC",
+            "SALARY",
+            true,
+            false,
+            true,
+            "COMPLETED",
+            "MARRIED",
+            "OPT_OUT",
+            "PRIVATE_SECTOR_SERVICE",
+            plan.pan(),
+            plan.phoneNumber(),
+            "COMPLETED",
+            "STANDARD",
+            plan.createdAt(),
+            plan.addressId(),
+            plan.investorId());
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "bank_details",
+            "id", "account_number", "account_type", "bank_name", "ifsc_code", "is_primary",
+            "ref_id", "investor_id", "user_id")) {
+      for (UserPlan plan : plans) {
+        String bank = BANKS[plan.index() % BANKS.length];
+        out.row(
+            plan.bankId(),
+            "5010%010d".formatted(plan.index()),
+            "SAVINGS",
+            bank + " Bank",
+            bank + "0%06d".formatted(plan.index() % 1_000_000),
+            true,
+            "bac_%012x".formatted(plan.bankId()),
+            plan.investorId(),
+            plan.id());
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "children",
+            "id", "created_at", "date_of_birth", "first_name", "gender", "invest_under_child",
+            "last_name", "updated_at", "user_id", "is_deleted")) {
+      for (UserPlan plan : plans) {
+        for (Child child : plan.children()) {
+          out.row(
+              child.id(),
+              child.createdAt(),
+              child.dateOfBirth(),
+              child.firstName(),
+              child.gender(),
+              false,
+              plan.lastName(),
+              child.createdAt(),
+              plan.id(),
+              false);
+        }
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "goals",
+            "id", "created_at", "current_amount", "monthly_sip", "status", "target_amount",
+            "target_date", "title", "updated_at", "basket_id", "child_id", "user_id",
+            "invested_amount", "is_deleted")) {
+      for (UserPlan plan : plans) {
+        for (Goal goal : plan.goals()) {
+          out.row(
+              goal.id(),
+              goal.createdAt(),
+              goal.currentAmount(),
+              goal.sip() != null ? goal.sip().amount() : 0.0,
+              goal.paymentId() == 0 ? "DRAFT" : "ACTIVE",
+              goal.targetAmount(),
+              goal.targetDate(),
+              goal.title(),
+              goal.createdAt(),
+              goal.basket().id(),
+              goal.child().id(),
+              plan.id(),
+              goal.investedAmount(),
+              false);
+        }
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "payments",
+            "id", "buy_status", "created_at", "mandateid", "mandate_ref", "order_ref",
+            "payment_type", "ref", "sip_status", "updated_at", "verification_status", "bank_id",
+            "child_id", "investor_id", "user_id", "buy_submitted_at", "sip_submitted_at")) {
+      for (UserPlan plan : plans) {
+        for (Goal goal : plan.goals()) {
+          if (goal.paymentId() == 0) {
+            continue;
+          }
+          LocalDateTime submitted = goal.createdAt().plusMinutes(5);
+          out.row(
+              goal.paymentId(),
+              goal.lumpSum() != null ? "COMPLETED" : "NOT_AVAILABLE",
+              goal.createdAt(),
+              goal.sip() != null ? goal.paymentId() : null,
+              goal.sip() != null ? "mdt_%012x".formatted(goal.paymentId()) : null,
+              "mfpo_%012x".formatted(goal.paymentId()),
+              "NET_BANKING",
+              "pay_%012x".formatted(goal.paymentId()),
+              goal.sip() != null ? "ACTIVE" : "NOT_AVAILABLE",
+              submitted,
+              "VERIFIED",
+              plan.bankId(),
+              goal.child().id(),
+              plan.investorId(),
+              plan.id(),
+              goal.lumpSum() != null ? submitted : null,
+              goal.sip() != null ? submitted : null);
+        }
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "orders",
+            "dtype", "id", "amount", "created_at", "updated_at", "end_date", "failure_count",
+            "frequency", "is_active", "last_attempt_at", "last_order_ref",
+            "last_provider_transaction_id", "next_run_date", "schedule_status", "start_date",
+            "reason", "goal_id", "investor_id", "payment_id", "user_id", "is_placed")) {
+      for (UserPlan plan : plans) {
+        for (Goal goal : plan.goals()) {
+          Long paymentId = goal.paymentId() == 0 ? null : goal.paymentId();
+          if (goal.lumpSum() != null) {
+            Order order = goal.lumpSum();
+            out.row(
+                "BUY", order.id(), order.amount(), order.createdAt(), order.createdAt(), null,
+                null, null, null, null, null, null, null, null, null, null, goal.id(),
+                plan.investorId(), paymentId, plan.id(), true);
+          }
+          if (goal.sip() != null) {
+            Order order = goal.sip();
+            Transaction last = lastOf(goal.ledger(), "SIP");
+            out.row(
+                "SIP",
+                order.id(),
+                order.amount(),
+                order.createdAt(),
+                order.lastRunAt() != null ? order.lastRunAt() : order.createdAt(),
+                order.endDate(),
+                0,
+                "MONTHLY",
+                !"COMPLETED".equals(order.scheduleStatus()),
+                order.lastRunAt(),
+                last != null ? last.externalRef() : null,
+                last != null ? last.providerTransactionId() : null,
+                order.nextRunDate(),
+                order.scheduleStatus(),
+                order.startDate(),
+                null,
+                goal.id(),
+                plan.investorId(),
+                paymentId,
+                plan.id(),
+                true);
+          }
+          if (goal.sell() != null) {
+            Order order = goal.sell();
+            out.row(
+                "SELL", order.id(), order.amount(), order.createdAt(), order.createdAt(), null,
+                null, null, null, null, null, null, null, null, null, "Partial withdrawal",
+                goal.id(), plan.investorId(), null, plan.id(), true);
+          }
+        }
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "order_items",
+            "id", "amount", "ref", "unit_price", "units", "version", "fund_id", "order_id",
+            "user_id", "status", "last_processed_transaction_ref")) {
+      for (UserPlan plan : plans) {
+        for (Goal goal : plan.goals()) {
+          for (Order order : new Order[] {goal.lumpSum(), goal.sip(), goal.sell()}) {
+            if (order == null) {
+              continue;
+            }
+            boolean sip = order.type().equals("SIP");
+            String status =
+                !sip || "COMPLETED".equals(order.scheduleStatus()) ? "COMPLETED" : "ACTIVE";
+            for (Item item : order.items()) {
+              out.row(
+                  item.id(),
+                  item.amount(),
+                  item.ref(),
+                  item.unitPrice(),
+                  item.units(),
+                  0,
+                  item.fund().id(),
+                  order.id(),
+                  plan.id(),
+                  status,
+                  sip ? null : item.ref());
+            }
+          }
+        }
+      }
+    }
+
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager, "folio", "id", "ref", "fund_id", "investor_id", "user_id")) {
+      for (UserPlan plan : plans) {
+        for (var folio : plan.folioByFund().entrySet()) {
+          out.row(
+              folio.getValue(),
+              "%08d/%d".formatted(plan.index(), folio.getKey()),
+              folio.getKey(),
+              plan.investorId(),
+              plan.id());
+        }
+      }
+    }
+
+    long transactions = 0;
+    try (TableWriter out =
+        TableWriter.open(
+            copyManager,
+            "transactions",
+            "id", "amount", "created_at", "executed_at", "external_ref",
+            "provider_transaction_id", "source_order_item_id", "status", "type", "unit_price",
+            "units", "updated_at", "folio_id", "fund_id", "goal_id", "user_id")) {
+      for (UserPlan plan : plans) {
+        for (Goal goal : plan.goals()) {
+          for (Transaction transaction : goal.ledger()) {
+            out.row(
+                transaction.id(),
+                transaction.amount(),
+                transaction.executedAt(),
+                transaction.executedAt(),
+                transaction.externalRef(),
+                transaction.providerTransactionId(),
+                transaction.sourceItemId(),
+                "COMPLETED",
+                transaction.type(),
+                transaction.unitPrice(),
+                transaction.units(),
+                transaction.executedAt(),
+                plan.folioByFund().get(transaction.fund().id()),
+                transaction.fund().id(),
+                goal.id(),
+                plan.id());
+            transactions++;
+          }
+        }
+      }
+    }
+    return transactions;
+  }
+
+  private static Transaction lastOf(List<Transaction> ledger, String type) {
+    for (int i = ledger.size() - 1; i >= 0; i--) {
+      if (ledger.get(i).type().equals(type)) {
+        return ledger.get(i);
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,32 @@
+package com.nested.dataset;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Generator settings ({@code dataset.*}).
+ *
+ * @param users users to add on this run
+ * @param historyYears how far back sign-ups, lump sums and SIP installments reach
+ * @param seed seed of the generator; the same seed and starting ids give the same rows
+ * @param lumpSumShare share of goals funded with a lump sum when created
+ * @param sipShare share of goals with a monthly SIP
+ * @param sellShare share of goals with one partial redemption
+ * @param chunkSize users planned and copied per round
+ * @param subjectPrefix prefix of generated {@code firebase_uid}s, the JWT subjects the load test
+ *     logs in with
+ * @param manifestUsers users written to the k6 manifest
+ * @param manifest where the k6 manifest is written
+ */
+@ConfigurationProperties("dataset")
+public record DatasetProperties(
+    int users,
+    int historyYears,
+    long seed,
+    double lumpSumShare,
+    double sipShare,
+    double sellShare,
+    int chunkSize,
+    String subjectPrefix,
+    int manifestUsers,
+    Path manifest) {}
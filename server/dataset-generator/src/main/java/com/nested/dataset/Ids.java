@@ -0,0 +1,52 @@
+package com.nested.dataset;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands out explicit ids above the current maximum of each table, so rows can reference each other
+ * before they are copied. The identity columns are {@code GENERATED BY DEFAULT}, which accepts
+ * them; {@link #syncSequences} then moves the sequences past the copied ids.
+ */
+final class Ids {
+
+  static final String[] TABLES = {
+    "addresses", "investors", "users", "bank_details", "children", "goals", "payments", "orders",
+    "order_items", "folio", "transactions"
+  };
+
+  private final Map<String, Long> last = new LinkedHashMap<>();
+
+  static Ids read(Connection connection) throws SQLException {
+    Ids ids = new Ids();
+    try (Statement statement = connection.createStatement()) {
+      for (String table : TABLES) {
+        try (ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+          max.next();
+          ids.last.put(table, max.getLong(1));
+        }
+      }
+    }
+    return ids;
+  }
+
+  long next(String table) {
+    return last.merge(table, 1L, Long::sum);
+  }
+
+  void syncSequences(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      for (Map.Entry<String, Long> table : last.entrySet()) {
+        if (table.getValue() > 0) {
+          statement.execute(
+              "SELECT setval(pg_get_serial_sequence('public.%s', 'id'), %d)"
+                  .formatted(table.getKey(), table.getValue()));
+        }
+      }
+    }
+  }
+}
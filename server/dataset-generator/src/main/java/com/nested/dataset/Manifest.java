@@ -0,0 +1,71 @@
+package com.nested.dataset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sample of the generated users for the k6 harness ({@code k6-tests/data/dataset.json}): who to log
+ * in as, which bank to pay from, which goals to top up, which SIPs to modify and what can be sold.
+ */
+final class Manifest {
+
+  @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+  record User(String sub, String phoneNumber, long userId, long bankId, List<Goal> goals) {}
+
+  /** @param sipOrderId the goal's SIP order, null when it has none or it is not active */
+  @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+  record Goal(long id, Long sipOrderId, Double sipAmount, List<Holding> holdings) {}
+
+  @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+  record Holding(long fundId, double units) {}
+
+  private final List<User> users = new ArrayList<>();
+
+  void add(UserPlan plan) {
+    List<Goal> goals = new ArrayList<>();
+    for (UserPlan.Goal goal : plan.goals()) {
+      Map<Long, Double> units = new LinkedHashMap<>();
+      for (UserPlan.Transaction transaction : goal.ledger()) {
+        units.merge(transaction.fund().id(), transaction.units(), Double::sum);
+      }
+      List<Holding> holdings = new ArrayList<>();
+      units.forEach(
+          (fundId, held) -> {
+            if (held > 0) {
+              holdings.add(new Holding(fundId, Navs.round(held, 3)));
+            }
+          });
+      boolean activeSip = goal.sip() != null && "ACTIVE".equals(goal.sip().scheduleStatus());
+      goals.add(
+          new Goal(
+              goal.id(),
+              activeSip ? goal.sip().id() : null,
+              activeSip ? goal.sip().amount() : null,
+              holdings));
+    }
+    users.add(new User(plan.subject(), plan.phoneNumber(), plan.id(), plan.bankId(), goals));
+  }
+
+  int size() {
+    return users.size();
+  }
+
+  /** Writes {@code {"generated_on": ..., "users": [...]}}, creating the directory if needed. */
+  void write(ObjectMapper objectMapper, Path path, LocalDate today) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    objectMapper.writeValue(
+        path.toFile(), Map.of("generated_on", today.toString(), "users", users));
+  }
+}
@@ -0,0 +1,30 @@
+package com.nested.dataset;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * NAV of a scheme on a date: a steady drift with a weekly wobble, derived from the ISIN alone. The
+ * provider simulator's {@code SchemeCatalog} uses the same formula, so units allotted in the
+ * generated history match what the simulator reports for the same folios.
+ */
+final class Navs {
+
+  private static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+
+  private Navs() {}
+
+  static double nav(String isin, LocalDate date) {
+    int hash = isin.hashCode() & Integer.MAX_VALUE;
+    double base = 10 + (hash % 49_000) / 100.0;
+    double annualDrift = 0.06 + (hash % 11) / 100.0;
+    long days = ChronoUnit.DAYS.between(EPOCH, date);
+    double wobble = 0.02 * Math.sin(days / 7.0 + hash % 360);
+    return round(base * Math.exp(annualDrift * days / 365.0 + wobble), 4);
+  }
+
+  static double round(double value, int decimals) {
+    double scale = Math.pow(10, decimals);
+    return Math.round(value * scale) / scale;
+  }
+}
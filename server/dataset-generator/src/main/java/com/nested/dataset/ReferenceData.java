@@ -0,0 +1,154 @@
+package com.nested.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Education baskets and their active funds that generated goals invest in. Uses the baskets
+ * already in the database; an empty database gets four baskets over twelve simulator-catalog
+ * funds.
+ */
+@Slf4j
+record ReferenceData(List<ReferenceData.Basket> baskets) {
+
+  record Fund(long id, String isin, double minPurchase, double minSip) {}
+
+  record Allocation(Fund fund, double percentage) {}
+
+  record Basket(long id, List<Allocation> allocations) {}
+
+  private static final String[] CATEGORIES = {
+    "Flexi Cap Fund", "Nifty 50 Index Fund", "Midcap Fund", "Corporate Bond Fund"
+  };
+  private static final String[] AMCS = {"Axis", "HDFC", "ICICI Prudential"};
+  private static final String[][] BASKETS = {
+    {"Dataset Growth", "0:50", "2:30", "1:20"},
+    {"Dataset Balanced", "1:40", "0:30", "3:30"},
+    {"Dataset Conservative", "3:60", "1:40"},
+    {"Dataset Index", "1:100"}
+  };
+
+  static ReferenceData loadOrCreate(Connection connection, LocalDate today) throws SQLException {
+    ReferenceData existing = load(connection);
+    if (!existing.baskets().isEmpty()) {
+      log.info("Using {} existing education baskets", existing.baskets().size());
+      return existing;
+    }
+    create(connection, today);
+    ReferenceData created = load(connection);
+    log.info("Created {} education baskets", created.baskets().size());
+    return created;
+  }
+
+  private static ReferenceData load(Connection connection) throws SQLException {
+    String sql =
+        """
+        SELECT b.id AS basket_id, f.id AS fund_id, COALESCE(f.isin_code, 'FUND' || f.id) AS isin,
+               f.mim_purchase_amount, f.min_sip_amount, bf.allocation_percentage
+        FROM baskets b
+        JOIN basket_fund bf ON bf.basket_id = b.id
+        JOIN funds f ON f.id = bf.fund_id
+        WHERE b.basket_type = 'EDUCATION' AND f.is_active
+        ORDER BY b.id, f.id
+        """;
+    Map<Long, List<Allocation>> allocations = new LinkedHashMap<>();
+    try (PreparedStatement statement = connection.prepareStatement(sql);
+        ResultSet rows = statement.executeQuery()) {
+      while (rows.next()) {
+        Fund fund =
+            new Fund(
+                rows.getLong("fund_id"),
+                rows.getString("isin"),
+                rows.getDouble("mim_purchase_amount"),
+                rows.getDouble("min_sip_amount"));
+        allocations
+            .computeIfAbsent(rows.getLong("basket_id"), id -> new ArrayList<>())
+            .add(new Allocation(fund, rows.getDouble("allocation_percentage")));
+      }
+    }
+    List<Basket> baskets = new ArrayList<>();
+    allocations.forEach((id, funds) -> baskets.add(new Basket(id, List.copyOf(funds))));
+    return new ReferenceData(List.copyOf(baskets));
+  }
+
+  private static void create(Connection connection, LocalDate today) throws SQLException {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Long> fundIds = new ArrayList<>();
+    String fundSql =
+        """
+        INSERT INTO funds (amc_code, created_at, description, is_active, isin_code, label,
+                           mim_purchase_amount, min_sip_amount, name, nav, nav_date, scheme_type,
+                           updated_at)
+        VALUES (?, ?, ?, true, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        RETURNING id
+        """;
+    try (PreparedStatement insert = connection.prepareStatement(fundSql)) {
+      for (int i = 0; i < CATEGORIES.length * AMCS.length; i++) {
+        String isin = "INFSIM%05d1".formatted(i);
+        String category = CATEGORIES[i % CATEGORIES.length];
+        insert.setString(1, AMCS[i / CATEGORIES.length].toUpperCase().replace(' ', '_'));
+        insert.setTimestamp(2, now);
+        insert.setString(3, category);
+        insert.setString(4, isin);
+        insert.setString(5, category);
+        insert.setDouble(6, 1000);
+        insert.setDouble(7, 500);
+        insert.setString(
+            8, "%s %s - Direct Plan Growth".formatted(AMCS[i / CATEGORIES.length], category));
+        insert.setDouble(9, Navs.nav(isin, today));
+        insert.setTimestamp(10, Timestamp.valueOf(today.atStartOfDay()));
+        insert.setString(11, category.contains("Bond") ? "debt" : "equity");
+        insert.setTimestamp(12, now);
+        try (ResultSet key = insert.executeQuery()) {
+          key.next();
+          fundIds.add(key.getLong(1));
+        }
+      }
+    }
+
+    String basketSql =
+        """
+        INSERT INTO baskets (created_at, returns, title, updated_at, years, basket_type)
+        VALUES (?, ?, ?, ?, ?, 'EDUCATION')
+        RETURNING id
+        """;
+    try (PreparedStatement insertBasket = connection.prepareStatement(basketSql);
+        PreparedStatement insertAllocation =
+            connection.prepareStatement(
+                "INSERT INTO basket_fund (basket_id, fund_id, allocation_percentage)"
+                    + " VALUES (?, ?, ?)")) {
+      for (int b = 0; b < BASKETS.length; b++) {
+        insertBasket.setTimestamp(1, now);
+        insertBasket.setDouble(2, 12 - 2 * b);
+        insertBasket.setString(3, BASKETS[b][0]);
+        insertBasket.setTimestamp(4, now);
+        insertBasket.setDouble(5, 5 + 5 * b);
+        long basketId;
+        try (ResultSet key = insertBasket.executeQuery()) {
+          key.next();
+          basketId = key.getLong(1);
+        }
+        for (int f = 1; f < BASKETS[b].length; f++) {
+          String[] allocation = BASKETS[b][f].split(":");
+          // Each basket draws its funds from a different AMC
+          int fund = (b % AMCS.length) * CATEGORIES.length + Integer.parseInt(allocation[0]);
+          insertAllocation.setLong(1, basketId);
+          insertAllocation.setLong(2, fundIds.get(fund));
+          insertAllocation.setDouble(3, Double.parseDouble(allocation[1]));
+          insertAllocation.addBatch();
+        }
+      }
+      insertAllocation.executeBatch();
+    }
+  }
+}
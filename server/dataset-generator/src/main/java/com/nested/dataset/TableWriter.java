@@ -0,0 +1,94 @@
+package com.nested.dataset;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Streams rows into one table with {@code COPY ... FROM STDIN} in CSV format, flushing every 64
+ * KiB. Only one COPY can be open per connection, so close each writer before opening the next.
+ */
+final class TableWriter implements AutoCloseable {
+
+  private static final int FLUSH_CHARS = 64 * 1024;
+
+  private final CopyIn copyIn;
+  private final int columns;
+  private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+
+  private TableWriter(CopyIn copyIn, int columns) {
+    this.copyIn = copyIn;
+    this.columns = columns;
+  }
+
+  static TableWriter open(CopyManager copyManager, String table, String... columns)
+      throws SQLException {
+    String sql =
+        "COPY public.%s (%s) FROM STDIN WITH (FORMAT csv)"
+            .formatted(table, String.join(", ", columns));
+    return new TableWriter(copyManager.copyIn(sql), columns.length);
+  }
+
+  void row(Object... values) throws SQLException {
+    if (values.length != columns) {
+      throw new IllegalArgumentException(
+          "Expected " + columns + " values, got " + values.length);
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.append(',');
+      }
+      append(buffer, values[i]);
+    }
+    buffer.append('\n');
+    if (buffer.length() >= FLUSH_CHARS) {
+      flush();
+    }
+  }
+
+  /** CSV field: null is an unquoted empty field (SQL NULL), text is always quoted. */
+  static void append(StringBuilder out, Object value) {
+    switch (value) {
+      case null -> {}
+      case String text -> {
+        out.append('"');
+        for (int i = 0; i < text.length(); i++) {
+          char c = text.charAt(i);
+          if (c == '"') {
+            out.append('"');
+          }
+          out.append(c);
+        }
+        out.append('"');
+      }
+      case LocalDateTime timestamp -> out.append(timestamp);
+      case LocalDate date -> out.append(date);
+      default -> out.append(value);
+    }
+  }
+
+  private void flush() throws SQLException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  /** Ends the COPY; the rows become visible when the transaction commits. */
+  @Override
+  public void close() throws SQLException {
+    try {
+      flush();
+      copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+}
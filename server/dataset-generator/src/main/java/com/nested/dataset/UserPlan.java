@@ -0,0 +1,97 @@
+package com.nested.dataset;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One generated user and everything hanging off them, with ids already assigned. {@link
+ * DatasetLoader} turns it into rows table by table.
+ */
+record UserPlan(
+    int index,
+    long id,
+    long investorId,
+    long addressId,
+    long bankId,
+    String subject,
+    String firstName,
+    String lastName,
+    String phoneNumber,
+    String email,
+    String pan,
+    String gender,
+    LocalDate dateOfBirth,
+    LocalDateTime createdAt,
+    List<Child> children,
+    List<Goal> goals,
+    Map<Long, Long> folioByFund) {
+
+  record Child(
+      long id, String firstName, String gender, LocalDate dateOfBirth, LocalDateTime createdAt) {}
+
+  /**
+   * @param paymentId checkout that placed the lump sum and registered the SIP; 0 when the goal has
+   *     neither
+   * @param lumpSum buy order placed at checkout, or null
+   * @param sip monthly SIP registered at checkout, or null
+   * @param sell partial redemption, or null
+   * @param ledger the goal's completed transactions, oldest first
+   */
+  record Goal(
+      long id,
+      Child child,
+      ReferenceData.Basket basket,
+      String title,
+      double targetAmount,
+      LocalDate targetDate,
+      LocalDateTime createdAt,
+      long paymentId,
+      Order lumpSum,
+      Order sip,
+      Order sell,
+      List<Transaction> ledger,
+      double investedAmount,
+      double currentAmount) {}
+
+  /**
+   * @param type {@code orders.dtype}: BUY, SIP or SELL
+   * @param scheduleStatus SIP schedule status, null for other orders
+   * @param nextRunDate next SIP installment, null for other orders and paused SIPs
+   * @param lastRunAt last SIP installment, or null
+   */
+  record Order(
+      long id,
+      String type,
+      double amount,
+      LocalDateTime createdAt,
+      LocalDate startDate,
+      LocalDate endDate,
+      String scheduleStatus,
+      LocalDate nextRunDate,
+      LocalDateTime lastRunAt,
+      List<Item> items) {}
+
+  /** @param units allotted units of lump sums and redemptions; null for SIP registrations */
+  record Item(
+      long id,
+      ReferenceData.Fund fund,
+      double amount,
+      String ref,
+      Double units,
+      Double unitPrice) {}
+
+  /** @param units positive for BUY and SIP, negative for SELL */
+  record Transaction(
+      long id,
+      String type,
+      ReferenceData.Fund fund,
+      long sourceItemId,
+      LocalDateTime executedAt,
+      double amount,
+      double units,
+      double unitPrice,
+      String externalRef,
+      String providerTransactionId) {}
+}
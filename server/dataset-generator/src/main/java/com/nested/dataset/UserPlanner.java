@@ -0,0 +1,356 @@
+package com.nested.dataset;
+
+import com.nested.dataset.ReferenceData.Allocation;
+import com.nested.dataset.ReferenceData.Basket;
+import com.nested.dataset.ReferenceData.Fund;
+import com.nested.dataset.UserPlan.Child;
+import com.nested.dataset.UserPlan.Goal;
+import com.nested.dataset.UserPlan.Item;
+import com.nested.dataset.UserPlan.Order;
+import com.nested.dataset.UserPlan.Transaction;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Plans users deterministically: each user draws from a random stream seeded by {@code
+ * dataset.seed} and the user's index, so a run is reproducible given the same starting ids.
+ *
+ * <p>Shapes follow production: sign-ups grow towards the present, most users have one or two
+ * children with one goal each, lump sums are log-uniform between 5k and 2L, SIPs run monthly from
+ * shortly after checkout until today (a tenth of them paused), and a few goals have one partial
+ * redemption.
+ */
+final class UserPlanner {
+
+  private static final String[] MALE_NAMES = {
+    "Aarav", "Vivaan", "Aditya", "Arjun", "Sai", "Reyansh", "Krishna", "Ishaan", "Rohan", "Kabir",
+    "Rahul", "Vikram", "Karthik", "Siddharth", "Aniket", "Pranav"
+  };
+  private static final String[] FEMALE_NAMES = {
+    "Aadhya", "Ananya", "Diya", "Saanvi", "Myra", "Aarohi", "Kavya", "Ira", "Meera", "Priya",
+    "Sneha", "Divya", "Lakshmi", "Pooja", "Nisha", "Riya"
+  };
+  private static final String[] LAST_NAMES = {
+    "Sharma", "Verma", "Iyer", "Reddy", "Nair", "Patel", "Gupta", "Menon", "Rao", "Das",
+    "Kulkarni", "Joshi", "Singh", "Banerjee", "Pillai", "Mehta"
+  };
+  private static final String[] GOAL_TITLES = {"higher education", "school fees"};
+  private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+  private final DatasetProperties properties;
+  private final ReferenceData reference;
+  private final Ids ids;
+  private final LocalDate today;
+
+  UserPlanner(DatasetProperties properties, ReferenceData reference, Ids ids, LocalDate today) {
+    this.properties = properties;
+    this.reference = reference;
+    this.ids = ids;
+    this.today = today;
+  }
+
+  UserPlan plan(int index) {
+    SplittableRandom random = new SplittableRandom(properties.seed() * 1_000_003L + index);
+    long historyDays = properties.historyYears() * 365L;
+    // Skewed towards recent sign-ups
+    long daysAgo = (long) (historyDays * (1 - Math.sqrt(random.nextDouble())));
+    LocalDateTime createdAt =
+        today.minusDays(daysAgo).atTime(8 + random.nextInt(14), random.nextInt(60));
+    String gender = random.nextBoolean() ? "MALE" : "FEMALE";
+    String firstName = pick(random, gender.equals("MALE") ? MALE_NAMES : FEMALE_NAMES);
+    String lastName = pick(random, LAST_NAMES);
+
+    long userId = ids.next("users");
+    long investorId = ids.next("investors");
+    long addressId = ids.next("addresses");
+    long bankId = ids.next("bank_details");
+    Map<Long, Long> folioByFund = new LinkedHashMap<>();
+
+    double childDraw = random.nextDouble();
+    int childCount = childDraw < 0.5 ? 1 : childDraw < 0.85 ? 2 : 3;
+    List<Child> children = new ArrayList<>();
+    List<Goal> goals = new ArrayList<>();
+    for (int c = 0; c < childCount; c++) {
+      String childGender = random.nextBoolean() ? "MALE" : "FEMALE";
+      Child child =
+          new Child(
+              ids.next("children"),
+              pick(random, childGender.equals("MALE") ? MALE_NAMES : FEMALE_NAMES),
+              childGender,
+              today.minusYears(1 + random.nextInt(15)).minusDays(random.nextInt(365)),
+              createdAt.plusMinutes(5L * c));
+      children.add(child);
+      int goalCount = random.nextDouble() < 0.3 ? 2 : 1;
+      for (int g = 0; g < goalCount; g++) {
+        goals.add(goal(random, child, GOAL_TITLES[g], createdAt, folioByFund));
+      }
+    }
+
+    return new UserPlan(
+        index,
+        userId,
+        investorId,
+        addressId,
+        bankId,
+        properties.subjectPrefix() + "%06d".formatted(index),
+        firstName,
+        lastName,
+        "+919%09d".formatted(index),
+        "%s.%s%d@example.com".formatted(firstName.toLowerCase(), lastName.toLowerCase(), index),
+        letters(random, 3) + "P" + lastName.charAt(0) + "%04d".formatted(random.nextInt(10_000))
+            + letters(random, 1),
+        gender,
+        today.minusYears(28 + random.nextInt(20)).minusDays(random.nextInt(365)),
+        createdAt,
+        children,
+        goals,
+        folioByFund);
+  }
+
+  private Goal goal(
+      SplittableRandom random,
+      Child child,
+      String purpose,
+      LocalDateTime userCreatedAt,
+      Map<Long, Long> folioByFund) {
+    long goalId = ids.next("goals");
+    LocalDateTime createdAt =
+        min(userCreatedAt.plusDays(random.nextInt(31)), today.atTime(9, 0));
+    Basket basket = reference.baskets().get(random.nextInt(reference.baskets().size()));
+    LocalDate targetDate = child.dateOfBirth().plusYears(18);
+    if (!targetDate.isAfter(today.plusYears(1))) {
+      targetDate = today.plusYears(3 + random.nextInt(5));
+    }
+    double targetAmount = (10 + random.nextInt(90)) * 50_000.0;
+    boolean withLumpSum = random.nextDouble() < properties.lumpSumShare();
+    boolean withSip = random.nextDouble() < properties.sipShare();
+    long paymentId = withLumpSum || withSip ? ids.next("payments") : 0;
+    LocalDate checkout = createdAt.toLocalDate();
+
+    List<Purchase> purchases = new ArrayList<>();
+    Order lumpSum = null;
+    if (withLumpSum) {
+      double amount =
+          roundTo(Math.max(minimum(basket, true), logUniform(random, 5_000, 200_000)), 1_000);
+      LocalDate allotted = min(checkout.plusDays(2), today);
+      long orderId = ids.next("orders");
+      List<Item> items = new ArrayList<>();
+      for (Allocation allocation : basket.allocations()) {
+        double itemAmount = Navs.round(amount * allocation.percentage() / 100, 2);
+        double nav = Navs.nav(allocation.fund().isin(), allotted);
+        Item item =
+            new Item(
+                ids.next("order_items"),
+                allocation.fund(),
+                itemAmount,
+                ref("mfp", random),
+                Navs.round(itemAmount / nav, 3),
+                nav);
+        items.add(item);
+        purchases.add(new Purchase(allotted, "BUY", item, item.ref()));
+      }
+      lumpSum =
+          new Order(orderId, "BUY", amount, createdAt, null, null, null, null, null, items);
+    }
+
+    Order sip = null;
+    if (withSip) {
+      double amount =
+          roundTo(Math.max(minimum(basket, false), 1_000 + random.nextInt(48) * 500), 500);
+      LocalDate start = checkout.plusDays(1 + random.nextInt(28));
+      long orderId = ids.next("orders");
+      List<Item> items = new ArrayList<>();
+      for (Allocation allocation : basket.allocations()) {
+        items.add(
+            new Item(
+                ids.next("order_items"),
+                allocation.fund(),
+                Navs.round(amount * allocation.percentage() / 100, 2),
+                ref("mfpp", random),
+                null,
+                null));
+      }
+      int due = 0;
+      while (!start.plusMonths(due).isAfter(today) && !start.plusMonths(due).isAfter(targetDate)) {
+        due++;
+      }
+      boolean paused = random.nextDouble() < 0.1;
+      int installments = paused ? random.nextInt(due + 1) : due;
+      for (int k = 0; k < installments; k++) {
+        for (Item item : items) {
+          purchases.add(new Purchase(start.plusMonths(k), "SIP", item, ref("mfp", random)));
+        }
+      }
+      LocalDate next = start.plusMonths(installments);
+      boolean completed = !paused && next.isAfter(targetDate);
+      sip =
+          new Order(
+              orderId,
+              "SIP",
+              amount,
+              createdAt,
+              start,
+              targetDate,
+              paused ? "PAUSED" : completed ? "COMPLETED" : "ACTIVE",
+              paused || completed ? null : next,
+              installments == 0 ? null : start.plusMonths(installments - 1).atTime(10, 0),
+              items);
+    }
+
+    purchases.sort(Comparator.comparing(Purchase::date));
+    LocalDate sellDate = null;
+    long installmentDates = purchases.stream().map(Purchase::date).distinct().count();
+    if (installmentDates >= 6 && random.nextDouble() < properties.sellShare()) {
+      sellDate = purchases.get(purchases.size() / 2).date().plusDays(10);
+    }
+
+    List<Transaction> ledger = new ArrayList<>();
+    Map<Fund, Double> held = new LinkedHashMap<>();
+    Order sell = null;
+    for (Purchase purchase : purchases) {
+      if (sell == null && sellDate != null && purchase.date().isAfter(sellDate)) {
+        sell = sell(random, sellDate, held, ledger);
+      }
+      Fund fund = purchase.item().fund();
+      double nav = Navs.nav(fund.isin(), purchase.date());
+      double units = Navs.round(purchase.item().amount() / nav, 3);
+      folioByFund.computeIfAbsent(fund.id(), id -> ids.next("folio"));
+      ledger.add(
+          new Transaction(
+              ids.next("transactions"),
+              purchase.type(),
+              fund,
+              purchase.item().id(),
+              purchase.date().atTime(10, 0),
+              purchase.item().amount(),
+              units,
+              nav,
+              purchase.externalRef(),
+              providerTransactionId(random)));
+      held.merge(fund, units, Double::sum);
+    }
+    if (sell == null && sellDate != null && !sellDate.isAfter(today)) {
+      sell = sell(random, sellDate, held, ledger);
+    }
+
+    double invested = 0;
+    for (Transaction transaction : ledger) {
+      invested += transaction.type().equals("SELL") ? -transaction.amount() : transaction.amount();
+    }
+    double current = 0;
+    for (Map.Entry<Fund, Double> position : held.entrySet()) {
+      current += position.getValue() * Navs.nav(position.getKey().isin(), today);
+    }
+
+    return new Goal(
+        goalId,
+        child,
+        basket,
+        child.firstName() + "'s " + purpose,
+        targetAmount,
+        targetDate,
+        createdAt,
+        paymentId,
+        lumpSum,
+        sip,
+        sell,
+        ledger,
+        Navs.round(invested, 2),
+        Navs.round(current, 2));
+  }
+
+  /** Redeems 10-40% of every position held on {@code date}; updates {@code held}. */
+  private Order sell(
+      SplittableRandom random, LocalDate date, Map<Fund, Double> held, List<Transaction> ledger) {
+    double fraction = 0.1 + random.nextDouble() * 0.3;
+    long orderId = ids.next("orders");
+    List<Item> items = new ArrayList<>();
+    double total = 0;
+    for (Map.Entry<Fund, Double> position : held.entrySet()) {
+      Fund fund = position.getKey();
+      double units = Navs.round(position.getValue() * fraction, 3);
+      double nav = Navs.nav(fund.isin(), date);
+      double amount = Navs.round(units * nav, 2);
+      Item item = new Item(ids.next("order_items"), fund, amount, ref("mfr", random), units, nav);
+      items.add(item);
+      ledger.add(
+          new Transaction(
+              ids.next("transactions"),
+              "SELL",
+              fund,
+              item.id(),
+              date.atTime(15, 0),
+              amount,
+              -units,
+              nav,
+              item.ref(),
+              providerTransactionId(random)));
+      position.setValue(position.getValue() - units);
+      total += amount;
+    }
+    return new Order(
+        orderId,
+        "SELL",
+        Navs.round(total, 2),
+        date.atTime(11, 0),
+        null,
+        null,
+        null,
+        null,
+        null,
+        items);
+  }
+
+  /** Smallest lump sum or SIP that meets every fund's minimum at its allocation. */
+  private static double minimum(Basket basket, boolean lumpSum) {
+    double minimum = 0;
+    for (Allocation allocation : basket.allocations()) {
+      double fundMinimum = lumpSum ? allocation.fund().minPurchase() : allocation.fund().minSip();
+      if (fundMinimum > 0 && allocation.percentage() > 0) {
+        minimum = Math.max(minimum, fundMinimum / (allocation.percentage() / 100));
+      }
+    }
+    return minimum;
+  }
+
+  private record Purchase(LocalDate date, String type, Item item, String externalRef) {}
+
+  private static <T> T pick(SplittableRandom random, T[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static String letters(SplittableRandom random, int count) {
+    StringBuilder letters = new StringBuilder(count);
+    for (int i = 0; i < count; i++) {
+      letters.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+    }
+    return letters.toString();
+  }
+
+  private static String ref(String prefix, SplittableRandom random) {
+    return prefix + "_" + HexFormat.of().toHexDigits(random.nextLong());
+  }
+
+  private static String providerTransactionId(SplittableRandom random) {
+    return Long.toString(random.nextLong(100_000_000_000L, 1_000_000_000_000L));
+  }
+
+  private static double logUniform(SplittableRandom random, double min, double max) {
+    return Math.exp(Math.log(min) + random.nextDouble() * (Math.log(max) - Math.log(min)));
+  }
+
+  private static double roundTo(double value, double step) {
+    return Math.ceil(value / step) * step;
+  }
+
+  private static <T extends Comparable<? super T>> T min(T a, T b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+}
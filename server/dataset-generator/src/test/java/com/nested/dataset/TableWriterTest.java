@@ -0,0 +1,33 @@
+package com.nested.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class TableWriterTest {
+
+  @Test
+  void nullIsAnUnquotedEmptyFieldAndTextIsAlwaysQuoted() {
+    assertThat(csv(null)).isEmpty();
+    assertThat(csv("")).isEqualTo("\"\"");
+    assertThat(csv("Ravi's \"SIP\", 2026")).isEqualTo("\"Ravi's \"\"SIP\"\", 2026\"");
+    assertThat(csv("line\nbreak")).isEqualTo("\"line\nbreak\"");
+  }
+
+  @Test
+  void numbersDatesAndBooleansUsePostgresLiterals() {
+    assertThat(csv(12L)).isEqualTo("12");
+    assertThat(csv(1500.5)).isEqualTo("1500.5");
+    assertThat(csv(true)).isEqualTo("true");
+    assertThat(csv(LocalDate.parse("2026-03-02"))).isEqualTo("2026-03-02");
+    assertThat(csv(LocalDateTime.parse("2026-03-02T10:00"))).isEqualTo("2026-03-02T10:00");
+  }
+
+  private static String csv(Object value) {
+    StringBuilder out = new StringBuilder();
+    TableWriter.append(out, value);
+    return out.toString();
+  }
+}
@@ -0,0 +1,71 @@
+package com.nested.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.dataset.ReferenceData.Allocation;
+import com.nested.dataset.ReferenceData.Basket;
+import com.nested.dataset.ReferenceData.Fund;
+import com.nested.dataset.UserPlan.Goal;
+import com.nested.dataset.UserPlan.Transaction;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class UserPlannerTest {
+
+  private static final LocalDate TODAY = LocalDate.parse("2026-03-02");
+
+  private static final Fund EQUITY = new Fund(1, "INFSIM000011", 1000, 500);
+  private static final Fund DEBT = new Fund(2, "INFSIM000021", 1000, 500);
+  private static final ReferenceData REFERENCE =
+      new ReferenceData(
+          List.of(new Basket(7, List.of(new Allocation(EQUITY, 70), new Allocation(DEBT, 30)))));
+
+  @Test
+  void sameSeedAndIdsGiveTheSameUser() {
+    UserPlan first = planner(properties(42)).plan(17);
+    UserPlan second = planner(properties(42)).plan(17);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(planner(properties(43)).plan(17)).isNotEqualTo(first);
+    assertThat(first.subject()).isEqualTo("loadtest|000017");
+  }
+
+  @Test
+  void ledgersNeverSellMoreThanWasBoughtAndHappenBeforeToday() {
+    UserPlanner planner = planner(properties(42));
+    for (int index = 0; index < 500; index++) {
+      UserPlan plan = planner.plan(index);
+      for (Goal goal : plan.goals()) {
+        Map<Long, Double> held = new HashMap<>();
+        LocalDate previous = LocalDate.MIN;
+        for (Transaction transaction : goal.ledger()) {
+          LocalDate executed = transaction.executedAt().toLocalDate();
+          assertThat(executed).isAfterOrEqualTo(previous).isBeforeOrEqualTo(TODAY);
+          previous = executed;
+          double units = held.merge(transaction.fund().id(), transaction.units(), Double::sum);
+          assertThat(units).isGreaterThanOrEqualTo(-0.001);
+          assertThat(plan.folioByFund()).containsKey(transaction.fund().id());
+        }
+        assertThat(goal.paymentId() == 0).isEqualTo(goal.lumpSum() == null && goal.sip() == null);
+        if (goal.ledger().isEmpty()) {
+          assertThat(goal.investedAmount()).isZero();
+        } else {
+          assertThat(goal.investedAmount()).isPositive();
+        }
+      }
+    }
+  }
+
+  private static UserPlanner planner(DatasetProperties properties) {
+    return new UserPlanner(properties, REFERENCE, new Ids(), TODAY);
+  }
+
+  private static DatasetProperties properties(long seed) {
+    return new DatasetProperties(
+        1000, 3, seed, 0.6, 0.75, 0.5, 100, "loadtest|", 10, Path.of("dataset.json"));
+  }
+}
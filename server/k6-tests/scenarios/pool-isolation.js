@@ -0,0 +1,80 @@
+/**
+ * Pool Isolation Scenario
+ * Nested App - Investment Platform
+ *
+ * Holds a steady read load while the nightly scheme-wise report job runs, to check that
+ * background jobs draw from their own connection pool and never queue API requests.
+ *
+ * Start the server with the job firing every minute:
+ *   JOBS_SCHEME_WISE_REPORT_CRON="0 * * * * ?" ./gradlew bootRun
+ * then:
+ *   k6 run scenarios/pool-isolation.js
+ */
+
+import { check, group } from 'k6';
+import { Trend, Rate } from 'k6/metrics';
+import { get, checkAndParse } from '../lib/http-client.js';
+import { endpoints } from '../config/environments.js';
+import { getTestToken, getAdminToken } from '../lib/auth-helper.js';
+
+// Custom metrics
+const readOpsDuration = new Trend('read_ops_duration');
+const apiSuccessRate = new Rate('api_success_rate');
+
+const READS = [
+  { name: 'viewPortfolio', endpoint: endpoints.portfolio.overall },
+  { name: 'viewGoals', endpoint: endpoints.goals.list },
+  { name: 'viewTransactions', endpoint: endpoints.transactions.list },
+];
+
+export const options = {
+  scenarios: {
+    // Fixed arrival rate, so slow responses show up as latency instead of fewer requests;
+    // 5 minutes covers several runs of the job
+    steady_reads: {
+      executor: 'constant-arrival-rate',
+      rate: 30,
+      timeUnit: '1s',
+      duration: '5m',
+      preAllocatedVUs: 20,
+      maxVUs: 100,
+      tags: { test_type: 'pool_isolation' },
+    },
+  },
+  thresholds: {
+    'read_ops_duration': ['p(95)<300', 'p(99)<800'],
+    'api_success_rate': ['rate>0.99'],
+    'http_req_failed': ['rate<0.01'],
+    // A request that waited out the Hikari connection timeout would take 30s
+    'http_req_duration': ['p(95)<500', 'p(99)<1000', 'max<30000'],
+  },
+};
+
+export default function() {
+  const token = getTestToken();
+  if (!token) {
+    apiSuccessRate.add(false);
+    return;
+  }
+
+  const read = READS[Math.floor(Math.random() * READS.length)];
+  group(read.name, () => {
+    const startTime = Date.now();
+    const response = get(read.endpoint, token, { operation: read.name });
+    readOpsDuration.add(Date.now() - startTime);
+
+    apiSuccessRate.add(check(response, {
+      [`${read.name} successful`]: (r) => r.status === 200,
+    }));
+  });
+}
+
+// Threads still waiting for an API pool connection at the end of the run (expected: 0)
+export function teardown() {
+  const token = getAdminToken();
+  const response = get('/actuator/metrics/hikaricp.connections.pending?tag=pool:api', token);
+  const data = checkAndParse(response, 200, 'API pool pending connections');
+  if (data && data.measurements) {
+    console.log(`hikaricp.connections.pending{pool=api}: ${JSON.stringify(data.measurements)}`);
+  }
+}
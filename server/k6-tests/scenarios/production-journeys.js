@@ -0,0 +1,397 @@
+/**
+ * Production Journeys Scenario
+ * Nested App - Investment Platform
+ *
+ * Replays the main user journeys against a database filled by the dataset generator, with the
+ * provider simulator standing in for Auth0 and the providers. Reports p50/p95/p99 and the mean
+ * number of SQL statements per request for every journey, plus the duration and statement count
+ * of each nightly job, so two runs can be compared.
+ *
+ *   cd server
+ *   ./gradlew :provider-simulator:bootRun
+ *   SPRING_PROFILES_ACTIVE=dev,simulator ./gradlew bootRun          # once, to migrate
+ *   ./gradlew :dataset-generator:bootRun                            # writes data/dataset.json
+ *   cd k6-tests && k6 run scenarios/production-journeys.js
+ *
+ * Environment: SIMULATOR_URL (default http://localhost:8095), ACTUATOR_URL (default: the API
+ * base URL; use the worker's management port when roles are split), ADMIN_USERNAME and
+ * ADMIN_PASSWORD for the actuator, JOURNEY_RATE (iterations per second per journey, default 5),
+ * JOURNEY_DURATION (default 5m), NIGHTLY_JOBS=false to skip the nightly jobs.
+ */
+
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check, group } from 'k6';
+import { SharedArray } from 'k6/data';
+import { Trend, Rate, Gauge } from 'k6/metrics';
+import { baseHeaders } from '../lib/http-client.js';
+import { getMfaToken } from '../lib/mfa-helper.js';
+import { config, endpoints } from '../config/environments.js';
+
+const SIMULATOR_URL = __ENV.SIMULATOR_URL || 'http://localhost:8095';
+const ACTUATOR_URL = __ENV.ACTUATOR_URL || config.baseUrl;
+const ADMIN_AUTH = `Basic ${encoding.b64encode(
+  `${__ENV.ADMIN_USERNAME || 'admin'}:${__ENV.ADMIN_PASSWORD || 'admin'}`)}`;
+const RATE = parseInt(__ENV.JOURNEY_RATE || '5');
+const DURATION = __ENV.JOURNEY_DURATION || '5m';
+const RUN_NIGHTLY_JOBS = __ENV.NIGHTLY_JOBS !== 'false';
+
+const JOURNEYS = ['login', 'goal_list', 'portfolio', 'checkout', 'sell', 'sip_modify'];
+const NIGHTLY_JOBS = [
+  'fund-sync', 'scheme-wise-report', 'job-history-cleanup', 'sip-cycle-reconciler',
+  'sip-due-schedules',
+];
+
+// Written by the dataset generator; see dataset-generator/README.md
+const users = new SharedArray('dataset users',
+  () => JSON.parse(open('../data/dataset.json')).users);
+
+const journeyDuration = {};
+const journeySuccess = {};
+const journeyStatements = {};
+for (const journey of JOURNEYS) {
+  journeyDuration[journey] = new Trend(`${journey}_duration`, true);
+  journeySuccess[journey] = new Rate(`${journey}_success`);
+  journeyStatements[journey] = new Gauge(`${journey}_db_statements`);
+}
+const nightlyJobDuration = {};
+const nightlyJobStatements = {};
+for (const job of NIGHTLY_JOBS) {
+  const name = job.replace(/-/g, '_');
+  nightlyJobDuration[job] = new Gauge(`nightly_${name}_ms`);
+  nightlyJobStatements[job] = new Gauge(`nightly_${name}_db_statements`);
+}
+
+function journeyScenario(journey) {
+  return {
+    executor: 'constant-arrival-rate',
+    rate: RATE,
+    timeUnit: '1s',
+    duration: DURATION,
+    preAllocatedVUs: RATE * 4,
+    maxVUs: RATE * 20,
+    exec: journey,
+    tags: { test_type: 'production_journeys', journey },
+  };
+}
+
+const scenarios = {};
+const thresholds = { 'http_req_failed': ['rate<0.02'] };
+for (const journey of JOURNEYS) {
+  scenarios[journey] = journeyScenario(journey);
+  const p95 = journey === 'checkout' || journey === 'sell' ? 2000 : 500;
+  thresholds[`${journey}_duration`] = [`p(95)<${p95}`];
+  thresholds[`${journey}_success`] = ['rate>0.95'];
+}
+if (RUN_NIGHTLY_JOBS) {
+  // One pass over the jobs while the journeys run, so their effect on latency shows up too
+  scenarios.nightly_jobs = {
+    executor: 'shared-iterations',
+    vus: 1,
+    iterations: 1,
+    startTime: '1m',
+    maxDuration: '30m',
+    exec: 'nightlyJobs',
+    tags: { test_type: 'production_journeys', journey: 'nightly_jobs' },
+  };
+}
+
+export const options = {
+  scenarios,
+  thresholds,
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// ---------------------------------------------------------------------------------------------
+// Helpers
+// ---------------------------------------------------------------------------------------------
+
+// Simulator-issued tokens live for an hour; one per dataset user per VU is enough
+const tokens = {};
+
+function tokenFor(user) {
+  const cached = tokens[user.sub];
+  if (cached && cached.expiresAt > Date.now()) {
+    return cached.token;
+  }
+  const url = `${SIMULATOR_URL}/sim/auth/token?sub=${encodeURIComponent(user.sub)}`
+    + `&phone_number=${encodeURIComponent(user.phone_number)}`;
+  const response = http.post(url, null, { tags: { name: '/sim/auth/token' } });
+  if (response.status !== 200) {
+    return null;
+  }
+  const body = response.json();
+  tokens[user.sub] = {
+    token: body.access_token,
+    expiresAt: Date.now() + (body.expires_in - 60) * 1000,
+  };
+  return body.access_token;
+}
+
+function randomUser() {
+  return users[Math.floor(Math.random() * users.length)];
+}
+
+function randomItem(items) {
+  return items[Math.floor(Math.random() * items.length)];
+}
+
+// The server counts SQL statements per request for requests carrying X-Load-Scenario
+function request(method, endpoint, body, token, journey, extraHeaders = {}) {
+  return http.request(method, `${config.baseUrl}${endpoint}`,
+    body === null ? null : JSON.stringify(body), {
+      headers: {
+        ...baseHeaders,
+        'Authorization': `Bearer ${token}`,
+        'X-Load-Scenario': journey,
+        ...extraHeaders,
+      },
+      tags: { name: endpoint, journey },
+    });
+}
+
+// POST that retries once with an MFA token (mock OTP) when the server asks for one
+function postWithMfa(endpoint, body, token, journey, action) {
+  let response = request('POST', endpoint, body, token, journey);
+  if (response.status === 403) {
+    const mfaToken = getMfaToken(token, action, '123456');
+    if (mfaToken) {
+      response = request('POST', endpoint, body, token, journey, { 'X-MFA-Token': mfaToken });
+    }
+  }
+  return response;
+}
+
+function timed(journey, steps) {
+  const startTime = Date.now();
+  let success = false;
+  group(journey, () => {
+    success = steps();
+  });
+  journeyDuration[journey].add(Date.now() - startTime);
+  journeySuccess[journey].add(success);
+}
+
+function ids(response) {
+  try {
+    const body = response.json();
+    const list = Array.isArray(body) ? body : body.data;
+    return (list || []).map((item) => item.id).filter((id) => id != null);
+  } catch (e) {
+    return [];
+  }
+}
+
+// ---------------------------------------------------------------------------------------------
+// Journeys
+// ---------------------------------------------------------------------------------------------
+
+export function login() {
+  const user = randomUser();
+  delete tokens[user.sub];
+  timed('login', () => {
+    const token = tokenFor(user);
+    if (!token) {
+      return false;
+    }
+    const response = request('GET', endpoints.users.current, null, token, 'login');
+    return check(response, { 'current user loaded': (r) => r.status === 200 });
+  });
+}
+
+export function goal_list() {
+  const user = randomUser();
+  const token = tokenFor(user);
+  timed('goal_list', () => {
+    if (!token) {
+      return false;
+    }
+    const response = request('GET', endpoints.goals.list, null, token, 'goal_list');
+    return check(response, { 'goals listed': (r) => r.status === 200 });
+  });
+}
+
+export function portfolio() {
+  const user = randomUser();
+  const token = tokenFor(user);
+  timed('portfolio', () => {
+    if (!token) {
+      return false;
+    }
+    const responses = [request('GET', endpoints.portfolio.overall, null, token, 'portfolio')];
+    if (user.goals.length > 0) {
+      const goal = randomItem(user.goals);
+      responses.push(request('GET', endpoints.portfolio.goalHoldings(goal.id), null, token,
+        'portfolio'));
+      responses.push(request('GET', endpoints.portfolio.goalTransactions(goal.id), null, token,
+        'portfolio'));
+    }
+    responses.push(request('GET', endpoints.transactions.list, null, token, 'portfolio'));
+    return check(responses, { 'portfolio loaded': (r) => r.every((x) => x.status === 200) });
+  });
+}
+
+export function checkout() {
+  const user = randomUser();
+  const token = tokenFor(user);
+  timed('checkout', () => {
+    if (!token || user.goals.length === 0) {
+      return false;
+    }
+    const goal = randomItem(user.goals);
+    const amount = 1000 + Math.floor(Math.random() * 20) * 500;
+    const orderResponse = request('POST', endpoints.orders.create, {
+      buy_order: [{ goal: { id: goal.id }, amount }],
+      sip_order: [],
+    }, token, 'checkout');
+    const orderIds = ids(orderResponse);
+    if (!check(orderResponse, { 'order created': () => orderIds.length > 0 })) {
+      return false;
+    }
+
+    const paymentResponse = request('POST', endpoints.payments.create, {
+      orders: orderIds.map((id) => ({ id })),
+      payment_method: 'net_banking',
+      bank_id: user.bank_id,
+    }, token, 'checkout');
+    let paymentId = null;
+    try {
+      const body = paymentResponse.json();
+      paymentId = body.id || body.payment_id || (body.payment && body.payment.id);
+    } catch (e) {
+      paymentId = null;
+    }
+    if (!check(paymentResponse, { 'payment created': () => paymentId != null })) {
+      return false;
+    }
+
+    const verifyResponse = postWithMfa(endpoints.payments.verify(paymentId),
+      { id: paymentId, verification_code: '123456' }, token, 'checkout', 'MF_BUY');
+    if (!check(verifyResponse, { 'payment verified': (r) => r.status === 200 })) {
+      return false;
+    }
+    const redirectResponse = request('POST', endpoints.payments.buyRedirectUrl(paymentId), null,
+      token, 'checkout');
+    return check(redirectResponse, { 'redirect url fetched': (r) => r.status === 200 });
+  });
+}
+
+export function sell() {
+  const user = randomUser();
+  const token = tokenFor(user);
+  const goals = user.goals.filter((goal) => goal.holdings.length > 0);
+  timed('sell', () => {
+    if (!token || goals.length === 0) {
+      return false;
+    }
+    const goal = randomItem(goals);
+    const holding = randomItem(goal.holdings);
+    // A sliver of the holding, so repeated runs against the same dataset keep finding units
+    const units = Math.max(0.001, Math.floor(holding.units * 10) / 1000);
+    const sellResponse = request('POST', '/api/v1/sell-orders', {
+      sell_orders: [
+        { goal: { id: goal.id }, fund_id: holding.fund_id, units, reason: 'Load test' },
+      ],
+    }, token, 'sell');
+    const orderIds = ids(sellResponse);
+    if (!check(sellResponse, { 'sell order created': () => orderIds.length > 0 })) {
+      return false;
+    }
+    const verifyResponse = postWithMfa('/api/v1/sell-orders/verify', { order_ids: orderIds },
+      token, 'sell', 'MF_SELL');
+    return check(verifyResponse, { 'sell order verified': (r) => r.status === 200 });
+  });
+}
+
+export function sip_modify() {
+  const user = randomUser();
+  const token = tokenFor(user);
+  const goals = user.goals.filter((goal) => goal.sip_order_id);
+  timed('sip_modify', () => {
+    if (!token || goals.length === 0) {
+      return false;
+    }
+    const goal = randomItem(goals);
+    const amount = Math.max(500, goal.sip_amount + (Math.random() < 0.5 ? -500 : 500));
+    const response = request('POST',
+      `/api/v1/order-items/sip/${goal.sip_order_id}/actions/modify`, { amount }, token,
+      'sip_modify');
+    // 202 asks for a new mandate; 409 means an earlier modification is still pending
+    return check(response, {
+      'sip modified': (r) => r.status === 200 || r.status === 202 || r.status === 409,
+    });
+  });
+}
+
+export function nightlyJobs() {
+  for (const job of NIGHTLY_JOBS) {
+    const response = http.post(`${ACTUATOR_URL}/actuator/nightlyjobs/${job}`, null, {
+      headers: { ...baseHeaders, 'Authorization': ADMIN_AUTH },
+      tags: { name: '/actuator/nightlyjobs', job },
+      timeout: '30m',
+    });
+    if (!check(response, { [`${job} ran`]: (r) => r.status === 200 && !r.json().error })) {
+      console.warn(`Nightly job ${job} failed: ${response.status} ${response.body}`);
+      continue;
+    }
+    const result = response.json();
+    nightlyJobDuration[job].add(result.durationMs);
+    nightlyJobStatements[job].add(result.statements);
+  }
+}
+
+// Mean statements per request for each journey, from the server's own counter
+export function teardown() {
+  for (const journey of JOURNEYS) {
+    const response = http.get(
+      `${ACTUATOR_URL}/actuator/metrics/loadtest.db.statements?tag=scenario:${journey}`,
+      { headers: { ...baseHeaders, 'Authorization': ADMIN_AUTH } });
+    if (response.status !== 200) {
+      continue;
+    }
+    const measurements = {};
+    for (const m of response.json().measurements) {
+      measurements[m.statistic] = m.value;
+    }
+    if (measurements.COUNT > 0) {
+      journeyStatements[journey].add(measurements.TOTAL / measurements.COUNT);
+    }
+  }
+}
+
+function value(data, metric, stat) {
+  return data.metrics[metric]?.values?.[stat] ?? null;
+}
+
+export function handleSummary(data) {
+  const summary = {
+    test: 'Production Journeys',
+    timestamp: new Date().toISOString(),
+    dataset_users: users.length,
+    journeys: {},
+    nightly_jobs: {},
+  };
+  for (const journey of JOURNEYS) {
+    summary.journeys[journey] = {
+      iterations: value(data, `${journey}_success`, 'passes')
+        + value(data, `${journey}_success`, 'fails'),
+      success_rate: value(data, `${journey}_success`, 'rate'),
+      p50: value(data, `${journey}_duration`, 'p(50)'),
+      p95: value(data, `${journey}_duration`, 'p(95)'),
+      p99: value(data, `${journey}_duration`, 'p(99)'),
+      db_statements_per_request: value(data, `${journey}_db_statements`, 'value'),
+    };
+  }
+  for (const job of NIGHTLY_JOBS) {
+    const name = job.replace(/-/g, '_');
+    summary.nightly_jobs[job] = {
+      duration_ms: value(data, `nightly_${name}_ms`, 'value'),
+      db_statements: value(data, `nightly_${name}_db_statements`, 'value'),
+    };
+  }
+
+  return {
+    'stdout': JSON.stringify(summary, null, 2),
+    './results/production-journeys-summary.json': JSON.stringify(summary, null, 2),
+  };
+}
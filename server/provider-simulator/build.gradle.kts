@@ -0,0 +1,38 @@
+plugins {
+	java
+	id("org.springframework.boot")
+	id("io.spring.dependency-management")
+}
+
+group = "com.nested"
+version = "0.0.1-SNAPSHOT"
+description = "Offline simulator of the FinPrimitives, Cybrilla and Bulkpe APIs used by the Nested server"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(21)
+	}
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	compileOnly("org.projectlombok:lombok")
+	annotationProcessor("org.projectlombok:lombok")
+
+	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Only the executable jar, so the Docker image can copy build/libs/*.jar
+tasks.named<Jar>("jar") {
+	enabled = false
+}
+
+tasks.withType<Test> {
+	useJUnitPlatform()
+}
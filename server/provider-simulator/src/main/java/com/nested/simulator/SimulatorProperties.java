@@ -0,0 +1,67 @@
+package com.nested.simulator;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Simulator settings ({@code simulator.*}).
+ *
+ * @param publicUrl base URL of this simulator as seen by the app and browsers, used in checkout
+ *     links
+ * @param appUrl base URL of the Nested server, target of webhooks
+ * @param routes latency and fault settings per route group; {@code default} fills unset values
+ * @param rateLimit requests per second across all routes before answering 429, 0 for no limit
+ */
+@ConfigurationProperties("simulator")
+public record SimulatorProperties(
+    String publicUrl,
+    String appUrl,
+    Map<String, Route> routes,
+    int rateLimit,
+    Lifecycle lifecycle,
+    Catalog catalog,
+    Duration tokenTtl) {
+
+  /**
+   * @param median median response latency
+   * @param p99 99th percentile response latency
+   * @param throttleRate share of requests answered with 429
+   * @param serverErrorRate share of requests answered with 500, 502 or 503
+   */
+  public record Route(Duration median, Duration p99, Double throttleRate, Double serverErrorRate) {}
+
+  /**
+   * @param submitAfter delay from confirmation (redemptions) or payment (purchases) to submission
+   *     to the AMC
+   * @param settleAfter delay from submission to allotment or failure
+   * @param failureRate share of orders, payments and verifications that end up failed
+   * @param autoAuthorize complete checkout steps without a browser after {@code authorizeAfter}
+   * @param verifyAfter delay before Cybrilla pre-verifications complete
+   */
+  public record Lifecycle(
+      Duration submitAfter,
+      Duration settleAfter,
+      double failureRate,
+      boolean autoAuthorize,
+      Duration authorizeAfter,
+      Duration verifyAfter) {}
+
+  /** @param schemes number of scheme plans in the generated catalog */
+  public record Catalog(int schemes) {}
+
+  /** The group's settings, with unset values taken from the {@code default} group. */
+  public Route route(String group) {
+    Route fallback =
+        routes.getOrDefault("default", new Route(Duration.ZERO, Duration.ZERO, 0d, 0d));
+    Route route = routes.get(group);
+    if (route == null) {
+      return fallback;
+    }
+    return new Route(
+        route.median() != null ? route.median() : fallback.median(),
+        route.p99() != null ? route.p99() : fallback.p99(),
+        route.throttleRate() != null ? route.throttleRate() : fallback.throttleRate(),
+        route.serverErrorRate() != null ? route.serverErrorRate() : fallback.serverErrorRate());
+  }
+}
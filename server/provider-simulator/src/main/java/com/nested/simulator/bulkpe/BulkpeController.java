@@ -0,0 +1,112 @@
+package com.nested.simulator.bulkpe;
+
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulkpe reverse penny drop and prefill. A reverse penny drop answers with a UPI intent and later
+ * sends the app's webhook with the remitter's account, once the user "pays" at {@code
+ * /sim/checkout} or through {@code auto-authorize}. Prefill derives a stable profile from the
+ * mobile number.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BulkpeController {
+
+  private final ResourceStore store;
+  private final Clock clock;
+
+  @PostMapping("/reversePennyDrop")
+  public Map<String, Object> reversePennyDrop(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("status", "PENDING");
+    fields.put("transaction_id", "SIMTXN" + store.nextNumber());
+    fields.put("created_at", timestamp(clock.instant()));
+    Map<String, Object> drop = store.create(ResourceTypes.REVERSE_PENNY_DROPS, "rpd", fields);
+
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("amount", 1.0);
+    data.put("reference_id", drop.get("reference_id"));
+    data.put(
+        "upi",
+        "upi://pay?pa=nested.sim@oksim&pn=Nested&am=1.00&tr=" + drop.get("transaction_id"));
+    data.put("message", "Collect request created");
+    data.put("status", "PENDING");
+    data.put("transaction_id", drop.get("transaction_id"));
+    return response(data, "Reverse penny drop initiated");
+  }
+
+  @PostMapping("/prefill")
+  public Map<String, Object> prefill(@RequestBody Map<String, Object> body) {
+    String mobile = String.valueOf(body.get("mobile"));
+    String name = String.valueOf(body.getOrDefault("name", "Simulated User"));
+    int seed = mobile.hashCode() & Integer.MAX_VALUE;
+    LocalDate dob = LocalDate.of(1970 + seed % 35, 1 + seed % 12, 1 + seed % 28);
+    String reported = LocalDate.now(clock).minusMonths(3).toString();
+
+    Map<String, Object> personal = new LinkedHashMap<>();
+    personal.put("full_name", name.toUpperCase());
+    personal.put("dob", dob.toString());
+    personal.put("gender", seed % 2 == 0 ? "Male" : "Female");
+    personal.put("total_income", String.valueOf(300_000 + seed % 30 * 100_000));
+    personal.put("occupation", "Salaried");
+    personal.put("age", String.valueOf(Period.between(dob, LocalDate.now(clock)).getYears()));
+
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("name", name);
+    data.put("mobile", mobile);
+    data.put("personal_info", personal);
+    data.put(
+        "phone_info",
+        List.of(Map.of("reported_date", reported, "type_code", "M", "number", mobile)));
+    data.put(
+        "address_info",
+        List.of(
+            Map.of(
+                "address", (seed % 900 + 1) + " Simulated Street, Bengaluru",
+                "state", "Karnataka",
+                "type", "Primary",
+                "postal", "560001",
+                "reported_date", reported)));
+    data.put(
+        "email_info",
+        List.of(
+            Map.of("reported_date", reported, "email_address", "user" + mobile + "@sim.test")));
+    data.put("identity_info", Map.of("pan_number", List.of(Map.of("id_number", pan(seed)))));
+    data.put("reference", body.get("reference"));
+    return response(data, "Prefill fetched");
+  }
+
+  /** A well-formed individual PAN: 3 letters, {@code P}, 1 letter, 4 digits, 1 letter. */
+  private static String pan(int seed) {
+    StringBuilder pan = new StringBuilder();
+    for (int i = 0; i < 3; i++) {
+      pan.append((char) ('A' + (seed >> (i * 5)) % 26));
+    }
+    pan.append('P').append((char) ('A' + seed % 26));
+    pan.append("%04d".formatted(seed % 10_000));
+    pan.append((char) ('A' + (seed >> 7) % 26));
+    return pan.toString();
+  }
+
+  private static Map<String, Object> response(Map<String, Object> data, String message) {
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("status", true);
+    response.put("statusCode", 200);
+    response.put("data", data);
+    response.put("message", message);
+    return response;
+  }
+}
@@ -0,0 +1,81 @@
+package com.nested.simulator.control;
+
+import com.nested.simulator.lifecycle.OrderLifecycle;
+import java.net.URI;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Stand-ins for the pages a user visits from the providers' redirect URLs: bank login, mandate
+ * approval, eSign, DigiLocker and the UPI app. Opening a page completes the step ({@code
+ * ?outcome=failed} fails it) and then returns the browser to the app the way the provider would:
+ * a form POST to payment and mandate postbacks, a redirect for KYC steps.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CheckoutController {
+
+  private final OrderLifecycle lifecycle;
+
+  @GetMapping("/sim/checkout/payments/{id}")
+  public ResponseEntity<String> payment(
+      @PathVariable long id, @RequestParam(defaultValue = "success") String outcome) {
+    Map<String, Object> payment = lifecycle.authorizePayment(id, succeeded(outcome));
+    return postBack(payment.get("payment_postback_url"));
+  }
+
+  @GetMapping("/sim/checkout/mandates/{id}")
+  public ResponseEntity<String> mandate(
+      @PathVariable long id, @RequestParam(defaultValue = "success") String outcome) {
+    Map<String, Object> mandate = lifecycle.authorizeMandate(id, succeeded(outcome));
+    return postBack(mandate.get("payment_postback_url"));
+  }
+
+  @GetMapping("/sim/checkout/esigns/{id}")
+  public ResponseEntity<String> esign(@PathVariable String id) {
+    return redirect(lifecycle.completeEsign(id).get("postback_url"));
+  }
+
+  @GetMapping("/sim/checkout/identity_documents/{id}")
+  public ResponseEntity<String> identityDocument(@PathVariable String id) {
+    return redirect(lifecycle.completeIdentityDocument(id).get("postback_url"));
+  }
+
+  /** The user paid the reverse penny drop from their UPI app; Bulkpe's webhook follows. */
+  @PostMapping("/sim/checkout/reverse_penny_drops/{id}")
+  public Map<String, Object> reversePennyDrop(
+      @PathVariable String id, @RequestParam(defaultValue = "success") String outcome) {
+    return lifecycle.payReversePennyDrop(id, succeeded(outcome));
+  }
+
+  private static boolean succeeded(String outcome) {
+    return !"failed".equalsIgnoreCase(outcome);
+  }
+
+  private static ResponseEntity<String> postBack(Object url) {
+    if (url == null) {
+      return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body("Done");
+    }
+    String action = HtmlUtils.htmlEscape(url.toString());
+    String page =
+        "<html><body onload=\"document.forms[0].submit()\">"
+            + "<form method=\"post\" action=\"" + action + "\"></form></body></html>";
+    return ResponseEntity.ok().contentType(MediaType.TEXT_HTML).body(page);
+  }
+
+  private static ResponseEntity<String> redirect(Object url) {
+    if (url == null) {
+      return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body("Done");
+    }
+    return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(url.toString())).build();
+  }
+}
@@ -0,0 +1,32 @@
+package com.nested.simulator.control;
+
+import com.nested.simulator.store.ResourceStore;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Inspects and resets simulator state between load-test runs. */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ControlController {
+
+  private final ResourceStore store;
+
+  /** Record counts per resource type and state, e.g. {@code mf_purchases: {successful: 412}}. */
+  @GetMapping("/sim/state")
+  public Map<String, Map<String, Long>> state() {
+    return store.summary();
+  }
+
+  @PostMapping("/sim/reset")
+  public ResponseEntity<Void> reset() {
+    store.clear();
+    log.info("Simulator state cleared");
+    return ResponseEntity.noContent().build();
+  }
+}
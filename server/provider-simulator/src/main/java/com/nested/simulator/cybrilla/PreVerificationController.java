@@ -0,0 +1,40 @@
+package com.nested.simulator.cybrilla;
+
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cybrilla KYC pre-verification: {@code accepted} on creation, {@code completed} with per-check
+ * results once the lifecycle runs it after {@code verify-after}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class PreVerificationController {
+
+  private final ResourceStore store;
+  private final Clock clock;
+
+  @PostMapping("/poa/pre_verifications")
+  public Map<String, Object> create(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("status", "accepted");
+    fields.put("created_at", timestamp(clock.instant()));
+    return store.create(ResourceTypes.PRE_VERIFICATIONS, "prv", fields);
+  }
+
+  @GetMapping("/poa/pre_verifications/{id}")
+  public Map<String, Object> get(@PathVariable String id) {
+    return store.get(ResourceTypes.PRE_VERIFICATIONS, id);
+  }
+}
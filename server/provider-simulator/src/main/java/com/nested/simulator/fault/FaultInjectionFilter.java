@@ -0,0 +1,137 @@
+package com.nested.simulator.fault;
+
+import com.nested.simulator.SimulatorProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Makes provider routes behave like the remote APIs: every call waits for a delay drawn from its
+ * route group's {@link LatencyModel}, then may be answered with 429 (throttled) or a 5xx instead of
+ * reaching the controller. Checkout pages ({@code /sim/**}) and the actuator are left alone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+  private static final int[] SERVER_ERRORS = {500, 502, 503};
+
+  private final SimulatorProperties properties;
+  private final Map<String, LatencyModel> latencies = new ConcurrentHashMap<>();
+  private final AtomicLong window = new AtomicLong();
+  private final AtomicLong windowCount = new AtomicLong();
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return path.startsWith("/sim/") || path.startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String group = routeGroup(request.getRequestURI());
+    SimulatorProperties.Route route = properties.route(group);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    Duration delay =
+        latencies
+            .computeIfAbsent(group, g -> new LatencyModel(route.median(), route.p99()))
+            .sample(random);
+    sleep(delay);
+
+    if (overRateLimit() || random.nextDouble() < route.throttleRate()) {
+      response.setHeader("Retry-After", "1");
+      error(response, 429, "rate_limited", "Too many requests");
+      return;
+    }
+    if (random.nextDouble() < route.serverErrorRate()) {
+      int status = SERVER_ERRORS[random.nextInt(SERVER_ERRORS.length)];
+      log.debug("Injecting {} on {} {}", status, request.getMethod(), request.getRequestURI());
+      error(response, status, "server_error", "Simulated upstream failure");
+      return;
+    }
+    chain.doFilter(request, response);
+  }
+
+  /** Route group of a provider path, the key of its {@code simulator.routes.*} settings. */
+  static String routeGroup(String path) {
+    if (path.startsWith("/v2/auth/")) {
+      return "token";
+    } else if (path.startsWith("/v2/mf_purchase_plans")) {
+      return "plans";
+    } else if (path.startsWith("/v2/mf_purchases")) {
+      return "purchases";
+    } else if (path.startsWith("/v2/mf_redemptions")) {
+      return "redemptions";
+    } else if (path.startsWith("/v2/kyc_requests")
+        || path.startsWith("/v2/esigns")
+        || path.startsWith("/v2/identity_documents")) {
+      return "kyc";
+    } else if (path.startsWith("/v2/transactions/reports")) {
+      return "reports";
+    } else if (path.startsWith("/v2/mf_scheme_plans")) {
+      return "schemes";
+    } else if (path.startsWith("/api/pg/")) {
+      return "payments";
+    } else if (path.startsWith("/api/onb/")) {
+      return "reference";
+    } else if (path.startsWith("/poa/")) {
+      return "cybrilla";
+    } else if (path.equals("/reversePennyDrop") || path.equals("/prefill")) {
+      return "bulkpe";
+    } else if (path.startsWith("/.well-known/") || path.equals("/userinfo")) {
+      return "identity";
+    }
+    return "investors";
+  }
+
+  /** Fixed one-second windows shared by all routes, like a per-client quota. */
+  private boolean overRateLimit() {
+    int limit = properties.rateLimit();
+    if (limit <= 0) {
+      return false;
+    }
+    long second = System.currentTimeMillis() / 1000;
+    long current = window.get();
+    if (current != second && window.compareAndSet(current, second)) {
+      windowCount.set(0);
+    }
+    return windowCount.incrementAndGet() > limit;
+  }
+
+  private static void sleep(Duration delay) throws IOException {
+    if (delay.isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while simulating latency", e);
+    }
+  }
+
+  private static void error(HttpServletResponse response, int status, String code, String message)
+      throws IOException {
+    response.setStatus(status);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response
+        .getWriter()
+        .write("{\"error\":{\"code\":\"" + code + "\",\"message\":\"" + message + "\"}}");
+  }
+}
@@ -0,0 +1,36 @@
+package com.nested.simulator.fault;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Log-normal response times, the usual shape of remote API latency: most calls near the median and
+ * a long right tail. Fitted from two quantiles, so settings read as "median 60ms, p99 600ms".
+ */
+public final class LatencyModel {
+
+  /** Standard normal quantile at 0.99. */
+  private static final double Z_99 = 2.3263;
+
+  /** Upper bound on a single delay, so a mistyped p99 can not hang request threads. */
+  private static final Duration MAX_DELAY = Duration.ofSeconds(30);
+
+  private final double mu;
+  private final double sigma;
+
+  public LatencyModel(Duration median, Duration p99) {
+    double medianMillis = Math.max(median.toNanos() / 1e6, 0);
+    double p99Millis = Math.max(p99.toNanos() / 1e6, medianMillis);
+    this.mu = medianMillis > 0 ? Math.log(medianMillis) : Double.NEGATIVE_INFINITY;
+    this.sigma = medianMillis > 0 ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+  }
+
+  public Duration sample(Random random) {
+    if (mu == Double.NEGATIVE_INFINITY) {
+      return Duration.ZERO;
+    }
+    double millis = Math.exp(mu + sigma * random.nextGaussian());
+    Duration delay = Duration.ofNanos((long) (millis * 1e6));
+    return delay.compareTo(MAX_DELAY) > 0 ? MAX_DELAY : delay;
+  }
+}
@@ -0,0 +1,33 @@
+package com.nested.simulator.finprimitives;
+
+import com.nested.simulator.SimulatorProperties;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Client-credentials token endpoint, shared by the FinPrimitives and Cybrilla token providers. The
+ * app's path carries a space before the tenant ({@code /v2/auth/ tenant/token}), which arrives as
+ * part of the tenant variable. Any credentials are accepted.
+ */
+@RestController
+@RequiredArgsConstructor
+public class AuthController {
+
+  private final SimulatorProperties properties;
+
+  @PostMapping(
+      value = "/v2/auth/{tenant}/token",
+      consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+  public Map<String, Object> token(@PathVariable String tenant) {
+    return Map.of(
+        "access_token", "sim_" + UUID.randomUUID(),
+        "token_type", "Bearer",
+        "expires_in", properties.tokenTtl().toSeconds(),
+        "tenant", tenant.trim());
+  }
+}
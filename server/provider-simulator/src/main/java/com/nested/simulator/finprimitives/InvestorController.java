@@ -0,0 +1,92 @@
+package com.nested.simulator.finprimitives;
+
+import static com.nested.simulator.store.Records.apply;
+import static com.nested.simulator.store.Records.data;
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Investor onboarding resources. They have no lifecycle of their own: created records are echoed
+ * back with an id, updated by {@code PATCH} on the collection with the id in the body, and listed
+ * with equality filters on their fields (e.g. {@code ?profile=}).
+ */
+@RestController
+@RequiredArgsConstructor
+public class InvestorController {
+
+  private static final String TYPES =
+      "investor_profiles|mf_investment_accounts|bank_accounts|addresses|phone_numbers"
+          + "|email_addresses|related_parties";
+
+  private static final Map<String, String> PREFIXES =
+      Map.of(
+          "investor_profiles", "invp",
+          "mf_investment_accounts", "mfia",
+          "bank_accounts", "bac",
+          "addresses", "addr",
+          "phone_numbers", "phone",
+          "email_addresses", "email",
+          "related_parties", "relp");
+
+  private final ResourceStore store;
+  private final Clock clock;
+
+  @PostMapping("/v2/{type:" + TYPES + "}")
+  public Map<String, Object> create(
+      @PathVariable String type, @RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("created_at", timestamp(clock.instant()));
+    return store.create(type, PREFIXES.get(type), fields);
+  }
+
+  @PatchMapping("/v2/{type:" + TYPES + "}")
+  public Map<String, Object> update(
+      @PathVariable String type, @RequestBody Map<String, Object> body) {
+    return store.update(type, body.get("id"), record -> apply(record, body, clock.instant()));
+  }
+
+  @GetMapping("/v2/{type:" + TYPES + "}/{id}")
+  public Map<String, Object> get(@PathVariable String type, @PathVariable String id) {
+    return store.get(type, id);
+  }
+
+  @GetMapping("/v2/{type:" + TYPES + "}")
+  public Map<String, Object> list(
+      @PathVariable String type, @RequestParam Map<String, String> filters) {
+    return data(store.list(type, filters));
+  }
+
+  /** Keeps only the file's metadata; the content is read and dropped. */
+  @PostMapping(value = "/files", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public Map<String, Object> upload(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "purpose", required = false) String purpose) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("filename", file.getOriginalFilename());
+    fields.put("content_type", file.getContentType());
+    fields.put("size", file.getSize());
+    fields.put("purpose", purpose);
+    fields.put("created_at", timestamp(clock.instant()));
+    return store.create(ResourceTypes.FILES, "file", fields);
+  }
+
+  @GetMapping("/files/{id}")
+  public Map<String, Object> file(@PathVariable String id) {
+    return store.get(ResourceTypes.FILES, id);
+  }
+}
@@ -0,0 +1,125 @@
+package com.nested.simulator.finprimitives;
+
+import static com.nested.simulator.store.Records.apply;
+import static com.nested.simulator.store.Records.data;
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.SimulatorProperties;
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * KYC requests, eSign and Aadhaar (identity document) fetches. KYC requests start {@code pending}
+ * and change only through {@code /simulate}, as in the provider's sandbox. eSign and Aadhaar fetch
+ * hand out a {@code /sim/checkout} redirect URL and complete there, or on their own with {@code
+ * auto-authorize}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class KycController {
+
+  private final ResourceStore store;
+  private final SimulatorProperties properties;
+  private final Clock clock;
+
+  @GetMapping("/v2/kyc_requests")
+  public Map<String, Object> kycRequests(@RequestParam Map<String, String> filters) {
+    return data(store.list(ResourceTypes.KYC_REQUESTS, filters));
+  }
+
+  @PostMapping("/v2/kyc_requests")
+  public Map<String, Object> createKycRequest(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("status", "pending");
+    fields.put("created_at", timestamp(clock.instant()));
+    return store.create(ResourceTypes.KYC_REQUESTS, "kycr", fields);
+  }
+
+  @GetMapping("/v2/kyc_requests/{id}")
+  public Map<String, Object> kycRequest(@PathVariable String id) {
+    return store.get(ResourceTypes.KYC_REQUESTS, id);
+  }
+
+  @PatchMapping("/v2/kyc_requests/{id}")
+  public Map<String, Object> updateKycRequest(
+      @PathVariable String id, @RequestBody Map<String, Object> body) {
+    return store.update(
+        ResourceTypes.KYC_REQUESTS, id, record -> apply(record, body, clock.instant()));
+  }
+
+  @PostMapping("/v2/kyc_requests/{id}/simulate")
+  public Map<String, Object> simulate(
+      @PathVariable String id, @RequestBody Map<String, Object> body) {
+    return store.update(
+        ResourceTypes.KYC_REQUESTS,
+        id,
+        record -> {
+          record.put("status", body.getOrDefault("status", "successful"));
+          record.put("verified_at", timestamp(clock.instant()));
+        });
+  }
+
+  @GetMapping("/v2/esigns")
+  public Map<String, Object> esigns(@RequestParam Map<String, String> filters) {
+    return data(store.list(ResourceTypes.ESIGNS, filters));
+  }
+
+  @PostMapping("/v2/esigns")
+  public Map<String, Object> createEsign(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("status", "pending");
+    fields.put("created_at", timestamp(clock.instant()));
+    Map<String, Object> esign = store.create(ResourceTypes.ESIGNS, "esg", fields);
+    return store.update(
+        ResourceTypes.ESIGNS,
+        esign.get("id"),
+        record -> record.put("redirect_url", checkoutUrl("esigns", record.get("id"))));
+  }
+
+  @GetMapping("/v2/esigns/{id}")
+  public Map<String, Object> esign(@PathVariable String id) {
+    return store.get(ResourceTypes.ESIGNS, id);
+  }
+
+  /** Filters include nested fields, e.g. {@code ?kyc_request=...&fetch.status=successful}. */
+  @GetMapping("/v2/identity_documents")
+  public Map<String, Object> identityDocuments(@RequestParam Map<String, String> filters) {
+    return data(store.list(ResourceTypes.IDENTITY_DOCUMENTS, filters));
+  }
+
+  @PostMapping("/v2/identity_documents")
+  public Map<String, Object> createIdentityDocument(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("created_at", timestamp(clock.instant()));
+    Map<String, Object> document = store.create(ResourceTypes.IDENTITY_DOCUMENTS, "iddoc", fields);
+    return store.update(
+        ResourceTypes.IDENTITY_DOCUMENTS,
+        document.get("id"),
+        record -> {
+          Map<String, Object> fetch = new LinkedHashMap<>();
+          fetch.put("status", "pending");
+          fetch.put("redirect_url", checkoutUrl("identity_documents", record.get("id")));
+          record.put("fetch", fetch);
+        });
+  }
+
+  @GetMapping("/v2/identity_documents/{id}")
+  public Map<String, Object> identityDocument(@PathVariable String id) {
+    return store.get(ResourceTypes.IDENTITY_DOCUMENTS, id);
+  }
+
+  private String checkoutUrl(String type, Object id) {
+    return properties.publicUrl() + "/sim/checkout/" + type + "/" + id;
+  }
+}
@@ -0,0 +1,165 @@
+package com.nested.simulator.finprimitives;
+
+import static com.nested.simulator.store.Records.apply;
+import static com.nested.simulator.store.Records.data;
+import static com.nested.simulator.store.Records.items;
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Purchases, redemptions and purchase plans (SIPs). Orders are created {@code pending} and only
+ * change state when the app confirms, pays or cancels them; the rest of their lifecycle is driven
+ * by {@link com.nested.simulator.lifecycle.OrderLifecycle}. Purchases carry a numeric {@code
+ * old_id}, which payments reference in {@code amc_order_ids}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderController {
+
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+  private final ResourceStore store;
+  private final Clock clock;
+
+  @PostMapping("/v2/mf_purchases/batch")
+  public Map<String, Object> createPurchases(@RequestBody Map<String, Object> body) {
+    Instant now = clock.instant();
+    List<Map<String, Object>> created =
+        items(body, "mf_purchases").stream()
+            .map(
+                item -> {
+                  Map<String, Object> fields = order(item, now);
+                  fields.put("old_id", store.nextNumber());
+                  return store.create(ResourceTypes.PURCHASES, "mfp", fields);
+                })
+            .toList();
+    return data(created);
+  }
+
+  @PatchMapping("/v2/mf_purchases/batch")
+  public Map<String, Object> updatePurchases(@RequestBody Map<String, Object> body) {
+    return data(update(ResourceTypes.PURCHASES, items(body, "mf_purchases")));
+  }
+
+  /** Consent and single-order updates. */
+  @PatchMapping("/v2/mf_purchases")
+  public Map<String, Object> updatePurchase(@RequestBody Map<String, Object> body) {
+    return update(ResourceTypes.PURCHASES, List.of(body)).getFirst();
+  }
+
+  @GetMapping("/v2/mf_purchases/{id}")
+  public Map<String, Object> purchase(@PathVariable String id) {
+    return store.get(ResourceTypes.PURCHASES, id);
+  }
+
+  /** E.g. {@code ?plan=} for the installments of a purchase plan. */
+  @GetMapping("/v2/mf_purchases")
+  public Map<String, Object> purchases(@RequestParam Map<String, String> filters) {
+    return data(store.list(ResourceTypes.PURCHASES, filters));
+  }
+
+  @PostMapping("/v2/mf_redemptions")
+  public Map<String, Object> createRedemption(@RequestBody Map<String, Object> body) {
+    return store.create(ResourceTypes.REDEMPTIONS, "mfr", order(body, clock.instant()));
+  }
+
+  /** Consent, or {@code {"id": ..., "state": "confirmed"}}. */
+  @PatchMapping("/v2/mf_redemptions")
+  public Map<String, Object> updateRedemption(@RequestBody Map<String, Object> body) {
+    return update(ResourceTypes.REDEMPTIONS, List.of(body)).getFirst();
+  }
+
+  @GetMapping("/v2/mf_redemptions/{id}")
+  public Map<String, Object> redemption(@PathVariable String id) {
+    return store.get(ResourceTypes.REDEMPTIONS, id);
+  }
+
+  @PostMapping("/v2/mf_purchase_plans/batch")
+  public Map<String, Object> createPlans(@RequestBody Map<String, Object> body) {
+    Instant now = clock.instant();
+    List<Map<String, Object>> created =
+        items(body, "mf_purchase_plans").stream()
+            .map(
+                item -> {
+                  Map<String, Object> fields = order(item, now);
+                  fields.put("state", "created");
+                  fields.put("installments_generated", 0);
+                  fields.put("next_installment_date", firstInstallment(item, now).toString());
+                  return store.create(ResourceTypes.PURCHASE_PLANS, "mfpp", fields);
+                })
+            .toList();
+    return data(created);
+  }
+
+  /** Confirmation ({@code state}) or amount changes, one entry per plan. */
+  @PatchMapping("/v2/mf_purchase_plans/batch")
+  public Map<String, Object> updatePlans(@RequestBody Map<String, Object> body) {
+    return data(update(ResourceTypes.PURCHASE_PLANS, items(body, "mf_purchase_plans")));
+  }
+
+  @PatchMapping("/v2/mf_purchase_plans")
+  public Map<String, Object> updatePlan(@RequestBody Map<String, Object> body) {
+    return update(ResourceTypes.PURCHASE_PLANS, List.of(body)).getFirst();
+  }
+
+  @GetMapping("/v2/mf_purchase_plans/{id}")
+  public Map<String, Object> plan(@PathVariable String id) {
+    return store.get(ResourceTypes.PURCHASE_PLANS, id);
+  }
+
+  @PostMapping("/v2/mf_purchase_plans/cancel")
+  public Map<String, Object> cancelPlan(@RequestBody Map<String, Object> body) {
+    Map<String, Object> changes = new LinkedHashMap<>(body);
+    changes.put("state", "cancelled");
+    return update(ResourceTypes.PURCHASE_PLANS, List.of(changes)).getFirst();
+  }
+
+  private List<Map<String, Object>> update(String type, List<Map<String, Object>> changes) {
+    Instant now = clock.instant();
+    return changes.stream()
+        .map(change -> store.update(type, change.get("id"), record -> apply(record, change, now)))
+        .toList();
+  }
+
+  private static Map<String, Object> order(Map<String, Object> item, Instant now) {
+    Map<String, Object> fields = new LinkedHashMap<>(item);
+    fields.remove("id");
+    fields.put("state", "pending");
+    fields.put("created_at", timestamp(now));
+    return fields;
+  }
+
+  /** The first {@code installment_day} after today, clamped to the length of its month. */
+  private static LocalDate firstInstallment(Map<String, Object> plan, Instant now) {
+    LocalDate tomorrow = LocalDate.ofInstant(now, IST).plusDays(1);
+    Object day = plan.get("installment_day");
+    if (day == null) {
+      return tomorrow;
+    }
+    int dayOfMonth = Integer.parseInt(day.toString());
+    LocalDate candidate =
+        tomorrow.withDayOfMonth(Math.min(dayOfMonth, tomorrow.lengthOfMonth()));
+    if (candidate.isBefore(tomorrow)) {
+      LocalDate nextMonth = tomorrow.plusMonths(1);
+      candidate = nextMonth.withDayOfMonth(Math.min(dayOfMonth, nextMonth.lengthOfMonth()));
+    }
+    return candidate;
+  }
+}
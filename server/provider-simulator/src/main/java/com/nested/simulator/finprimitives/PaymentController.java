@@ -0,0 +1,89 @@
+package com.nested.simulator.finprimitives;
+
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.SimulatorProperties;
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Payment gateway: net banking payments and e-mandates, both with numeric ids. Each hands out a
+ * {@code token_url} pointing at {@code /sim/checkout}, where the user would pay or approve;
+ * completing it (or {@code auto-authorize}) calls the app's {@code payment_postback_url}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class PaymentController {
+
+  private final ResourceStore store;
+  private final SimulatorProperties properties;
+  private final Clock clock;
+
+  @PostMapping("/api/pg/payments/netbanking")
+  public Map<String, Object> createPayment(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("status", "PENDING");
+    fields.put("created_at", timestamp(clock.instant()));
+    Map<String, Object> payment = store.createNumbered(ResourceTypes.PAYMENTS, fields);
+    return store.update(
+        ResourceTypes.PAYMENTS,
+        payment.get("id"),
+        record -> record.put("token_url", checkoutUrl("payments", record.get("id"))));
+  }
+
+  @GetMapping("/api/pg/payments/{id}")
+  public Map<String, Object> payment(@PathVariable long id) {
+    return store.get(ResourceTypes.PAYMENTS, id);
+  }
+
+  @PostMapping("/api/pg/mandates")
+  public Map<String, Object> createMandate(@RequestBody Map<String, Object> body) {
+    Map<String, Object> fields = new LinkedHashMap<>(body);
+    fields.put("mandate_status", "CREATED");
+    fields.putIfAbsent("mandate_type", "E_MANDATE");
+    fields.putIfAbsent("provider_name", "SIMULATOR");
+    fields.putIfAbsent("valid_from", LocalDate.now(clock).toString());
+    fields.put("created_at", timestamp(clock.instant()));
+    Map<String, Object> mandate = store.createNumbered(ResourceTypes.MANDATES, fields);
+    return store.update(
+        ResourceTypes.MANDATES,
+        mandate.get("id"),
+        record -> record.put("mandate_ref", "SIMMANDATE" + record.get("id")));
+  }
+
+  @GetMapping("/api/pg/mandates/{id}")
+  public Map<String, Object> mandate(@PathVariable long id) {
+    return store.get(ResourceTypes.MANDATES, id);
+  }
+
+  /** Starts the user's approval of the mandate, {@code RECEIVED} until they complete it. */
+  @PostMapping("/api/pg/payments/emandate/auth")
+  public Map<String, Object> authorizeMandate(@RequestBody Map<String, Object> body) {
+    long id = Long.parseLong(body.get("mandate_id").toString());
+    store.update(
+        ResourceTypes.MANDATES,
+        id,
+        record -> {
+          if ("CREATED".equals(record.get("mandate_status"))) {
+            record.put("mandate_status", "RECEIVED");
+          }
+          record.put("payment_postback_url", body.get("payment_postback_url"));
+          record.put("authorization_requested_at", timestamp(clock.instant()));
+        });
+    return Map.of("token_url", checkoutUrl("mandates", id));
+  }
+
+  private String checkoutUrl(String type, Object id) {
+    return properties.publicUrl() + "/sim/checkout/" + type + "/" + id;
+  }
+}
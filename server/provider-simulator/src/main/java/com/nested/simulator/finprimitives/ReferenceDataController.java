@@ -0,0 +1,196 @@
+package com.nested.simulator.finprimitives;
+
+import static com.nested.simulator.store.Records.number;
+import static com.nested.simulator.store.Records.round;
+
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Scheme plans, scheme-wise returns, IFSC and pincode lookups. Lookups answer for any well-formed
+ * code with stable made-up details. Scheme-wise returns are computed from the account's successful
+ * purchases and redemptions at today's simulated NAV.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReferenceDataController {
+
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+  private static final List<String> REPORT_COLUMNS =
+      List.of(
+          "isin", "scheme_name", "plan_type", "investment_option", "as_on", "nav",
+          "invested_amount", "current_value", "unrealized_gain", "absolute_return",
+          "average_buying_value", "units", "xirr");
+
+  private static final Map<String, String> BANKS =
+      Map.of(
+          "HDFC", "HDFC Bank",
+          "ICIC", "ICICI Bank",
+          "SBIN", "State Bank of India",
+          "UTIB", "Axis Bank",
+          "KKBK", "Kotak Mahindra Bank");
+
+  /** State by the first digit of the pincode, i.e. its postal region. */
+  private static final String[][] REGIONS = {
+    {"New Delhi", "Delhi"},
+    {"New Delhi", "Delhi"},
+    {"Lucknow", "Uttar Pradesh"},
+    {"Jaipur", "Rajasthan"},
+    {"Mumbai", "Maharashtra"},
+    {"Hyderabad", "Telangana"},
+    {"Chennai", "Tamil Nadu"},
+    {"Kolkata", "West Bengal"},
+    {"Patna", "Bihar"},
+    {"Delhi Cantonment", "Delhi"}
+  };
+
+  private final ResourceStore store;
+  private final SchemeCatalog catalog;
+  private final Clock clock;
+
+  @GetMapping("/v2/mf_scheme_plans/{tenant}")
+  public Map<String, Object> schemePlans(
+      @RequestParam(defaultValue = "100") int size, @RequestParam(defaultValue = "0") int page) {
+    List<SchemeCatalog.Scheme> schemes = catalog.all();
+    int from = Math.min(page * size, schemes.size());
+    int to = Math.min(from + size, schemes.size());
+    List<Map<String, Object>> plans = new ArrayList<>();
+    for (SchemeCatalog.Scheme scheme : schemes.subList(from, to)) {
+      plans.add(schemePlan(scheme));
+    }
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("scheme_plans", plans);
+    response.put("count", schemes.size());
+    response.put("first", page == 0);
+    response.put("last", to >= schemes.size());
+    return response;
+  }
+
+  @PostMapping("/v2/transactions/reports/scheme_wise_returns")
+  public Map<String, Object> schemeWiseReturns(@RequestBody Map<String, Object> body) {
+    String account = String.valueOf(body.get("mf_investment_account"));
+    Map<String, double[]> holdings = new TreeMap<>();
+    for (Map<String, Object> purchase :
+        store.list(
+            ResourceTypes.PURCHASES,
+            Map.of("mf_investment_account", account, "state", "successful"))) {
+      String isin = (String) purchase.get("scheme");
+      double[] holding = holdings.computeIfAbsent(isin, s -> new double[2]);
+      holding[0] += number(purchase.get("allotted_units"));
+      holding[1] += number(purchase.get("amount"));
+    }
+    for (Map<String, Object> redemption :
+        store.list(
+            ResourceTypes.REDEMPTIONS,
+            Map.of("mf_investment_account", account, "state", "successful"))) {
+      double[] holding = holdings.get((String) redemption.get("scheme"));
+      if (holding != null && holding[0] > 0) {
+        double units = number(redemption.get("redeemed_units"));
+        // Cost of the redeemed units leaves at the average buying price
+        holding[1] -= holding[1] * Math.min(units / holding[0], 1);
+        holding[0] -= units;
+      }
+    }
+
+    LocalDate today = LocalDate.now(clock.withZone(IST));
+    List<List<Object>> rows = new ArrayList<>();
+    holdings.forEach(
+        (isin, holding) -> {
+          if (holding[0] <= 0.0005) {
+            return;
+          }
+          double nav = catalog.nav(isin, today);
+          double units = round(holding[0], 3);
+          double invested = round(holding[1], 2);
+          double current = round(units * nav, 2);
+          SchemeCatalog.Scheme scheme =
+              catalog.find(isin).orElse(new SchemeCatalog.Scheme(isin, isin, "direct", "growth"));
+          rows.add(
+              Arrays.asList(
+                  isin,
+                  scheme.name(),
+                  scheme.planType(),
+                  scheme.option(),
+                  today.toString(),
+                  nav,
+                  invested,
+                  current,
+                  round(current - invested, 2),
+                  invested > 0 ? round((current - invested) * 100 / invested, 2) : 0,
+                  round(invested / units, 4),
+                  units,
+                  null));
+        });
+    return Map.of("data", Map.of("columns", REPORT_COLUMNS, "rows", rows));
+  }
+
+  @GetMapping("/api/onb/ifsc_codes/{code}")
+  public Map<String, Object> ifsc(@PathVariable String code) {
+    String ifsc = code.toUpperCase();
+    String bank =
+        BANKS.getOrDefault(ifsc.substring(0, Math.min(4, ifsc.length())), "Simulated Bank");
+    return Map.of(
+        "ifsc_code", ifsc,
+        "bank_name", bank,
+        "branch_name", "Branch " + ifsc.substring(Math.max(0, ifsc.length() - 6)));
+  }
+
+  @GetMapping("/api/onb/pincodes/{pin}")
+  public Map<String, Object> pincode(@PathVariable String pin) {
+    String[] region = REGIONS[Character.isDigit(pin.charAt(0)) ? pin.charAt(0) - '0' : 0];
+    return Map.of(
+        "code", pin,
+        "city", region[0],
+        "district", region[0],
+        "state_name", region[1],
+        "country_ansi_code", "IN");
+  }
+
+  private static Map<String, Object> schemePlan(SchemeCatalog.Scheme scheme) {
+    Map<String, Object> plan = new LinkedHashMap<>();
+    plan.put("gateway", "cybrillapoa");
+    plan.put("isin", scheme.isin());
+    plan.put("type", scheme.planType());
+    plan.put("active", true);
+    plan.put(
+        "thresholds",
+        List.of(
+            Map.of(
+                "type", "lumpsum",
+                "amount_min", 500,
+                "amount_max", 10_000_000,
+                "amount_multiples", 1),
+            Map.of(
+                "type", "sip",
+                "amount_min", 100,
+                "amount_max", 1_000_000,
+                "amount_multiples", 1),
+            Map.of(
+                "type", "withdrawal",
+                "units_min", 0.001,
+                "units_max", 10_000_000,
+                "units_multiples", 0.001,
+                "amount_min", 100,
+                "amount_max", 10_000_000,
+                "amount_multiples", 1)));
+    plan.put("mf_scheme", Map.of("name", scheme.name()));
+    return plan;
+  }
+}
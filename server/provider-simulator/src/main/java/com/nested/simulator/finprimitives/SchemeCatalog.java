@@ -0,0 +1,82 @@
+package com.nested.simulator.finprimitives;
+
+import com.nested.simulator.SimulatorProperties;
+import com.nested.simulator.store.Records;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generated scheme plans and their NAVs. The catalog is the same on every start, ISINs are
+ * {@code INFSIM#####1}, and a scheme's NAV is a pure function of its ISIN and the date: a steady
+ * drift with a weekly wobble. ISINs the catalog does not know (e.g. funds synced from the real
+ * provider into a local database) still get a stable NAV.
+ */
+@Component
+public class SchemeCatalog {
+
+  private static final String[] AMCS = {
+    "Axis", "HDFC", "ICICI Prudential", "SBI", "Kotak", "Nippon India", "Aditya Birla Sun Life",
+    "UTI", "Mirae Asset", "Parag Parikh"
+  };
+  private static final String[] CATEGORIES = {
+    "Bluechip Fund", "Flexi Cap Fund", "Midcap Fund", "Small Cap Fund", "Liquid Fund",
+    "ELSS Tax Saver Fund", "Corporate Bond Fund", "Nifty 50 Index Fund",
+    "Balanced Advantage Fund", "Short Duration Fund"
+  };
+  private static final LocalDate EPOCH = LocalDate.of(2020, 1, 1);
+
+  public record Scheme(String isin, String name, String planType, String option) {}
+
+  private final List<Scheme> schemes;
+  private final Map<String, Scheme> byIsin = new LinkedHashMap<>();
+
+  public SchemeCatalog(SimulatorProperties properties) {
+    List<Scheme> generated = new ArrayList<>();
+    for (int i = 0; i < properties.catalog().schemes(); i++) {
+      String amc = AMCS[i % AMCS.length];
+      String category = CATEGORIES[(i / AMCS.length) % CATEGORIES.length];
+      String planType = (i / (AMCS.length * CATEGORIES.length)) % 2 == 0 ? "direct" : "regular";
+      String option = i / (2 * AMCS.length * CATEGORIES.length) % 2 == 0 ? "growth" : "idcw";
+      String isin = "INFSIM%05d1".formatted(i);
+      Scheme scheme =
+          new Scheme(
+              isin,
+              "%s %s - %s Plan %s"
+                  .formatted(amc, category, capitalize(planType), option.toUpperCase()),
+              planType,
+              option);
+      generated.add(scheme);
+      byIsin.put(isin, scheme);
+    }
+    this.schemes = Collections.unmodifiableList(generated);
+  }
+
+  public List<Scheme> all() {
+    return schemes;
+  }
+
+  public Optional<Scheme> find(String isin) {
+    return Optional.ofNullable(byIsin.get(isin));
+  }
+
+  /** NAV of the scheme on {@code date}, rounded to 4 decimals. */
+  public double nav(String isin, LocalDate date) {
+    int hash = isin.hashCode() & Integer.MAX_VALUE;
+    double base = 10 + (hash % 49_000) / 100.0;
+    double annualDrift = 0.06 + (hash % 11) / 100.0;
+    long days = ChronoUnit.DAYS.between(EPOCH, date);
+    double wobble = 0.02 * Math.sin(days / 7.0 + hash % 360);
+    return Records.round(base * Math.exp(annualDrift * days / 365.0 + wobble), 4);
+  }
+
+  private static String capitalize(String value) {
+    return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+  }
+}
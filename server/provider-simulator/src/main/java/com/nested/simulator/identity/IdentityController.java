@@ -0,0 +1,92 @@
+package com.nested.simulator.identity;
+
+import com.nested.simulator.SimulatorProperties;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Auth0 endpoints the server reads (JWKS, discovery, userinfo) and a login shortcut for load tests:
+ * {@code POST /sim/auth/token?sub=...} returns a token for any subject, e.g. a generated user's
+ * {@code firebase_uid}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class IdentityController {
+
+  private final TokenIssuer tokenIssuer;
+  private final SimulatorProperties properties;
+
+  @GetMapping("/.well-known/jwks.json")
+  public Map<String, Object> jwks() {
+    return tokenIssuer.jwks();
+  }
+
+  @GetMapping("/.well-known/openid-configuration")
+  public Map<String, Object> discovery() {
+    String base = properties.publicUrl();
+    Map<String, Object> configuration = new LinkedHashMap<>();
+    configuration.put("issuer", tokenIssuer.issuer());
+    configuration.put("authorization_endpoint", base + "/authorize");
+    configuration.put("token_endpoint", base + "/oauth/token");
+    configuration.put("userinfo_endpoint", base + "/userinfo");
+    configuration.put("jwks_uri", base + "/.well-known/jwks.json");
+    configuration.put("response_types_supported", List.of("code"));
+    configuration.put("subject_types_supported", List.of("public"));
+    configuration.put("id_token_signing_alg_values_supported", List.of("RS256"));
+    return configuration;
+  }
+
+  /** Profile claims of the bearer token, as Auth0 returns them for first-time users. */
+  @GetMapping("/userinfo")
+  public Map<String, Object> userInfo(
+      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    if (authorization == null || !authorization.startsWith("Bearer ")) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bearer token required");
+    }
+    Map<String, Object> claims;
+    try {
+      claims = tokenIssuer.claims(authorization.substring("Bearer ".length()));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, e.getMessage());
+    }
+    Map<String, Object> profile = new LinkedHashMap<>();
+    for (String claim : List.of("sub", "phone_number", "email", "name")) {
+      if (claims.containsKey(claim)) {
+        profile.put(claim, claims.get(claim));
+      }
+    }
+    return profile;
+  }
+
+  @PostMapping("/sim/auth/token")
+  public Map<String, Object> token(
+      @RequestParam String sub,
+      @RequestParam(name = "phone_number", required = false) String phoneNumber,
+      @RequestParam(required = false) String email,
+      @RequestParam(required = false) String name) {
+    Map<String, Object> claims = new LinkedHashMap<>();
+    if (phoneNumber != null) {
+      claims.put("phone_number", phoneNumber);
+    }
+    if (email != null) {
+      claims.put("email", email);
+    }
+    if (name != null) {
+      claims.put("name", name);
+    }
+    return Map.of(
+        "access_token", tokenIssuer.issue(sub, claims),
+        "token_type", "Bearer",
+        "expires_in", properties.tokenTtl().toSeconds());
+  }
+}
@@ -0,0 +1,118 @@
+package com.nested.simulator.identity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nested.simulator.SimulatorProperties;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs RS256 access tokens in place of Auth0, so load tests can log in as any generated user. The
+ * key pair lives only as long as the process; the server refetches the JWKS when it meets an
+ * unknown key id after a restart.
+ */
+@Component
+public class TokenIssuer {
+
+  private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+  private final SimulatorProperties properties;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final KeyPair keyPair;
+  private final String keyId = UUID.randomUUID().toString();
+
+  public TokenIssuer(SimulatorProperties properties, ObjectMapper objectMapper, Clock clock)
+      throws GeneralSecurityException {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    this.keyPair = generator.generateKeyPair();
+  }
+
+  /** Issuer claim, the server's {@code issuer-uri}; Auth0 issuers end with a slash. */
+  public String issuer() {
+    return properties.publicUrl() + "/";
+  }
+
+  /** Signed token for {@code subject} carrying {@code claims} (phone_number, email, name). */
+  public String issue(String subject, Map<String, Object> claims) {
+    Instant now = clock.instant();
+    Map<String, Object> payload = new LinkedHashMap<>(claims);
+    payload.put("iss", issuer());
+    payload.put("sub", subject);
+    payload.put("iat", now.getEpochSecond());
+    payload.put("exp", now.plus(properties.tokenTtl()).getEpochSecond());
+    String signingInput =
+        encode(Map.of("alg", "RS256", "typ", "JWT", "kid", keyId)) + "." + encode(payload);
+    try {
+      Signature signature = Signature.getInstance("SHA256withRSA");
+      signature.initSign(keyPair.getPrivate());
+      signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+      return signingInput + "." + BASE64URL.encodeToString(signature.sign());
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Could not sign token", e);
+    }
+  }
+
+  /** Claims of a token this issuer signed, without checking the signature. */
+  @SuppressWarnings("unchecked")
+  public Map<String, Object> claims(String token) {
+    String[] parts = token.split("\\.");
+    if (parts.length != 3) {
+      throw new IllegalArgumentException("Not a JWT");
+    }
+    try {
+      return objectMapper.readValue(Base64.getUrlDecoder().decode(parts[1]), Map.class);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Malformed JWT payload", e);
+    }
+  }
+
+  /** The public key as a JSON Web Key Set. */
+  public Map<String, Object> jwks() {
+    RSAPublicKey key = (RSAPublicKey) keyPair.getPublic();
+    Map<String, Object> jwk = new LinkedHashMap<>();
+    jwk.put("kty", "RSA");
+    jwk.put("use", "sig");
+    jwk.put("alg", "RS256");
+    jwk.put("kid", keyId);
+    jwk.put("n", unsigned(key.getModulus()));
+    jwk.put("e", unsigned(key.getPublicExponent()));
+    return Map.of("keys", List.of(jwk));
+  }
+
+  private String encode(Map<String, Object> json) {
+    try {
+      return BASE64URL.encodeToString(objectMapper.writeValueAsBytes(json));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Big-endian bytes without the sign byte {@link BigInteger#toByteArray()} may prepend. */
+  private static String unsigned(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    if (bytes.length > 1 && bytes[0] == 0) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    return BASE64URL.encodeToString(bytes);
+  }
+}
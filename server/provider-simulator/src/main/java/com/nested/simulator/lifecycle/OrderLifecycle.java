@@ -0,0 +1,442 @@
+package com.nested.simulator.lifecycle;
+
+import static com.nested.simulator.store.Records.instant;
+import static com.nested.simulator.store.Records.number;
+import static com.nested.simulator.store.Records.round;
+import static com.nested.simulator.store.Records.timestamp;
+
+import com.nested.simulator.SimulatorProperties;
+import com.nested.simulator.finprimitives.SchemeCatalog;
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves provider records through their states on a fixed tick, the way the providers do
+ * asynchronously:
+ *
+ * <ul>
+ *   <li>purchases: {@code confirmed} → {@code submitted} once paid → {@code successful} or {@code
+ *       failed} after {@code settle-after};
+ *   <li>redemptions: {@code confirmed} → {@code submitted} after {@code submit-after} → {@code
+ *       successful} or {@code failed} after {@code settle-after};
+ *   <li>purchase plans: {@code confirmed} → {@code active}, one submitted installment per due date,
+ *       {@code completed} after the last one;
+ *   <li>Cybrilla pre-verifications: {@code accepted} → {@code completed} after {@code
+ *       verify-after}.
+ * </ul>
+ *
+ * <p>With {@code auto-authorize}, checkout steps a user would finish in a browser (payments,
+ * mandates, eSign, Aadhaar fetch, reverse penny drops) complete on their own after {@code
+ * authorize-after}; otherwise they wait for the {@code /sim/checkout} pages.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderLifecycle {
+
+  private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+  private static final String BULKPE_WEBHOOK = "/public/webhooks/bulkpe/reverse-penny-drop";
+
+  private final ResourceStore store;
+  private final SchemeCatalog catalog;
+  private final Postbacks postbacks;
+  private final SimulatorProperties properties;
+  private final Clock clock;
+
+  @Scheduled(fixedDelayString = "${simulator.lifecycle.tick:1s}")
+  public void tick() {
+    tick(clock.instant());
+  }
+
+  void tick(Instant now) {
+    SimulatorProperties.Lifecycle lifecycle = properties.lifecycle();
+    settlePurchases(now, lifecycle);
+    advanceRedemptions(now, lifecycle);
+    advancePlans(now);
+    completePreVerifications(now, lifecycle);
+    if (lifecycle.autoAuthorize()) {
+      autoAuthorize(now, lifecycle.authorizeAfter());
+    }
+  }
+
+  /**
+   * Settles a pending payment; on success the purchases it pays for ({@code amc_order_ids}, their
+   * {@code old_id}) are submitted. Returning to the app is left to the caller: the checkout page
+   * posts back from the browser, auto-authorization from here.
+   */
+  public Map<String, Object> authorizePayment(Object paymentId, boolean success) {
+    settlePayment(paymentId, success, clock.instant());
+    return store.get(ResourceTypes.PAYMENTS, paymentId);
+  }
+
+  public Map<String, Object> authorizeMandate(Object mandateId, boolean success) {
+    settleMandate(mandateId, success, clock.instant());
+    return store.get(ResourceTypes.MANDATES, mandateId);
+  }
+
+  public Map<String, Object> completeEsign(Object esignId) {
+    return completeEsign(esignId, clock.instant());
+  }
+
+  public Map<String, Object> completeIdentityDocument(Object documentId) {
+    return store.update(
+        ResourceTypes.IDENTITY_DOCUMENTS,
+        documentId,
+        record -> {
+          Map<String, Object> fetch = new LinkedHashMap<>(fetch(record));
+          fetch.put("status", "successful");
+          record.put("fetch", fetch);
+        });
+  }
+
+  /** The user paid the penny: mark it and send Bulkpe's webhook to the app. */
+  public Map<String, Object> payReversePennyDrop(Object dropId, boolean success) {
+    return payReversePennyDrop(dropId, success, clock.instant());
+  }
+
+  /** @return whether this call settled the payment, false if it was no longer pending */
+  private boolean settlePayment(Object paymentId, boolean success, Instant now) {
+    AtomicBoolean settled = new AtomicBoolean();
+    Map<String, Object> payment =
+        store.update(
+            ResourceTypes.PAYMENTS,
+            paymentId,
+            record -> {
+              if (!"PENDING".equals(record.get("status"))) {
+                return;
+              }
+              settled.set(true);
+              record.put("status", success ? "SUCCESS" : "FAILED");
+              record.put("failed_reason", success ? null : "Payment declined by the bank");
+              record.put(success ? "succeeded_at" : "failed_at", timestamp(now));
+            });
+    if (!settled.get()) {
+      return false;
+    }
+    if (success && payment.get("amc_order_ids") instanceof List<?> orderIds) {
+      List<String> paidOrders = orderIds.stream().map(String::valueOf).toList();
+      for (Map<String, Object> purchase :
+          store.list(
+              ResourceTypes.PURCHASES,
+              order -> paidOrders.contains(String.valueOf(order.get("old_id"))))) {
+        store.update(ResourceTypes.PURCHASES, purchase.get("id"), record -> submit(record, now));
+      }
+    }
+    return true;
+  }
+
+  private boolean settleMandate(Object mandateId, boolean success, Instant now) {
+    AtomicBoolean settled = new AtomicBoolean();
+    store.update(
+        ResourceTypes.MANDATES,
+        mandateId,
+        record -> {
+          if (!List.of("CREATED", "RECEIVED").contains(record.get("mandate_status"))) {
+            return;
+          }
+          settled.set(true);
+          record.put("mandate_status", success ? "APPROVED" : "REJECTED");
+          record.put("approved_at", success ? timestamp(now) : null);
+        });
+    return settled.get();
+  }
+
+  private Map<String, Object> completeEsign(Object esignId, Instant now) {
+    return store.update(
+        ResourceTypes.ESIGNS,
+        esignId,
+        record -> {
+          record.put("status", "successful");
+          record.put("successful_at", timestamp(now));
+        });
+  }
+
+  private Map<String, Object> payReversePennyDrop(Object dropId, boolean success, Instant now) {
+    AtomicBoolean settled = new AtomicBoolean();
+    Map<String, Object> drop =
+        store.update(
+            ResourceTypes.REVERSE_PENNY_DROPS,
+            dropId,
+            record -> {
+              if (!"PENDING".equals(record.get("status"))) {
+                return;
+              }
+              settled.set(true);
+              record.put("status", success ? "SUCCESS" : "FAILED");
+              record.put("paid_at", timestamp(now));
+            });
+    if (!settled.get()) {
+      return drop;
+    }
+    postbacks.post(properties.appUrl() + BULKPE_WEBHOOK, bulkpeWebhook(drop, success, now));
+    return drop;
+  }
+
+  private void settlePurchases(Instant now, SimulatorProperties.Lifecycle lifecycle) {
+    for (Map<String, Object> purchase : inState(ResourceTypes.PURCHASES, "submitted")) {
+      if (elapsed(purchase, "submitted_at", lifecycle.settleAfter(), now)) {
+        store.update(
+            ResourceTypes.PURCHASES,
+            purchase.get("id"),
+            record -> {
+              if (!"submitted".equals(record.get("state"))) {
+                return;
+              }
+              if (fails(lifecycle)) {
+                fail(record, now);
+                return;
+              }
+              double nav = catalog.nav(String.valueOf(record.get("scheme")), today(now));
+              record.put("state", "successful");
+              record.put("purchased_price", nav);
+              record.put("allotted_units", round(number(record.get("amount")) / nav, 3));
+              record.put("traded_on", today(now).toString());
+              record.put("succeeded_at", timestamp(now));
+              record.putIfAbsent("folio_number", "SIM" + record.get("old_id"));
+            });
+      }
+    }
+  }
+
+  private void advanceRedemptions(Instant now, SimulatorProperties.Lifecycle lifecycle) {
+    for (Map<String, Object> redemption : inState(ResourceTypes.REDEMPTIONS, "confirmed")) {
+      if (elapsed(redemption, "confirmed_at", lifecycle.submitAfter(), now)) {
+        store.update(
+            ResourceTypes.REDEMPTIONS, redemption.get("id"), record -> submit(record, now));
+      }
+    }
+    for (Map<String, Object> redemption : inState(ResourceTypes.REDEMPTIONS, "submitted")) {
+      if (elapsed(redemption, "submitted_at", lifecycle.settleAfter(), now)) {
+        store.update(
+            ResourceTypes.REDEMPTIONS,
+            redemption.get("id"),
+            record -> {
+              if (!"submitted".equals(record.get("state"))) {
+                return;
+              }
+              if (fails(lifecycle)) {
+                fail(record, now);
+                return;
+              }
+              double nav = catalog.nav(String.valueOf(record.get("scheme")), today(now));
+              double units =
+                  record.get("units") != null
+                      ? number(record.get("units"))
+                      : round(number(record.get("amount")) / nav, 3);
+              record.put("state", "successful");
+              record.put("redeemed_price", nav);
+              record.put("redeemed_units", units);
+              record.put("redeemed_amount", round(units * nav, 2));
+              record.put("traded_on", today(now).toString());
+              record.put("succeeded_at", timestamp(now));
+            });
+      }
+    }
+  }
+
+  private void advancePlans(Instant now) {
+    for (Map<String, Object> plan : inState(ResourceTypes.PURCHASE_PLANS, "confirmed")) {
+      store.update(
+          ResourceTypes.PURCHASE_PLANS,
+          plan.get("id"),
+          record -> {
+            record.put("state", "active");
+            record.put("activated_at", timestamp(now));
+          });
+    }
+    LocalDate today = today(now);
+    for (Map<String, Object> plan : inState(ResourceTypes.PURCHASE_PLANS, "active")) {
+      boolean firstNow =
+          Boolean.TRUE.equals(plan.get("generate_first_installment_now"))
+              && number(plan.get("installments_generated")) == 0;
+      Object nextDate = plan.get("next_installment_date");
+      boolean due = nextDate != null && !LocalDate.parse(nextDate.toString()).isAfter(today);
+      if (firstNow || due) {
+        generateInstallment(plan, due, now);
+      }
+    }
+  }
+
+  private void generateInstallment(Map<String, Object> plan, boolean advanceDate, Instant now) {
+    Map<String, Object> installment = new LinkedHashMap<>();
+    installment.put("old_id", store.nextNumber());
+    installment.put("plan", plan.get("id"));
+    installment.put("mf_investment_account", plan.get("mf_investment_account"));
+    installment.put("scheme", plan.get("scheme"));
+    installment.put("folio_number", plan.get("folio_number"));
+    installment.put("amount", plan.get("amount"));
+    installment.put("state", "submitted");
+    installment.put("created_at", timestamp(now));
+    installment.put("submitted_at", timestamp(now));
+    Map<String, Object> created = store.create(ResourceTypes.PURCHASES, "mfp", installment);
+    log.debug("Installment {} generated for plan {}", created.get("id"), plan.get("id"));
+
+    store.update(
+        ResourceTypes.PURCHASE_PLANS,
+        plan.get("id"),
+        record -> {
+          int generated = (int) number(record.get("installments_generated")) + 1;
+          record.put("installments_generated", generated);
+          if (advanceDate) {
+            LocalDate next = LocalDate.parse(record.get("next_installment_date").toString());
+            record.put("next_installment_date", next.plusMonths(1).toString());
+          }
+          Object total = record.get("number_of_installments");
+          if (total != null && generated >= number(total)) {
+            record.put("state", "completed");
+            record.put("completed_at", timestamp(now));
+          }
+        });
+  }
+
+  private void completePreVerifications(Instant now, SimulatorProperties.Lifecycle lifecycle) {
+    for (Map<String, Object> verification :
+        store.list(ResourceTypes.PRE_VERIFICATIONS, Map.of("status", "accepted"))) {
+      if (!elapsed(verification, "created_at", lifecycle.verifyAfter(), now)) {
+        continue;
+      }
+      boolean panFails = fails(lifecycle);
+      store.update(
+          ResourceTypes.PRE_VERIFICATIONS,
+          verification.get("id"),
+          record -> {
+            record.put("status", "completed");
+            record.put("readiness", Map.of("status", "verified"));
+            record.put("name", Map.of("status", "verified"));
+            record.put("date_of_birth", Map.of("status", "verified"));
+            record.put(
+                "pan",
+                panFails
+                    ? Map.of(
+                        "status", "failed",
+                        "code", "aadhaar_not_linked",
+                        "reason", "PAN is not linked with Aadhaar")
+                    : Map.of("status", "verified"));
+          });
+    }
+  }
+
+  private void autoAuthorize(Instant now, Duration after) {
+    SimulatorProperties.Lifecycle lifecycle = properties.lifecycle();
+    for (Map<String, Object> payment :
+        store.list(ResourceTypes.PAYMENTS, Map.of("status", "PENDING"))) {
+      if (elapsed(payment, "created_at", after, now)
+          && settlePayment(payment.get("id"), !fails(lifecycle), now)) {
+        postbacks.post(stringValue(payment.get("payment_postback_url")), null);
+      }
+    }
+    for (Map<String, Object> mandate :
+        store.list(ResourceTypes.MANDATES, Map.of("mandate_status", "RECEIVED"))) {
+      if (elapsed(mandate, "authorization_requested_at", after, now)
+          && settleMandate(mandate.get("id"), !fails(lifecycle), now)) {
+        postbacks.post(stringValue(mandate.get("payment_postback_url")), null);
+      }
+    }
+    for (Map<String, Object> esign :
+        store.list(ResourceTypes.ESIGNS, Map.of("status", "pending"))) {
+      if (elapsed(esign, "created_at", after, now)) {
+        completeEsign(esign.get("id"), now);
+        postbacks.get(stringValue(esign.get("postback_url")));
+      }
+    }
+    for (Map<String, Object> document :
+        store.list(ResourceTypes.IDENTITY_DOCUMENTS, Map.of("fetch.status", "pending"))) {
+      if (elapsed(document, "created_at", after, now)) {
+        completeIdentityDocument(document.get("id"));
+        postbacks.get(stringValue(document.get("postback_url")));
+      }
+    }
+    for (Map<String, Object> drop :
+        store.list(ResourceTypes.REVERSE_PENNY_DROPS, Map.of("status", "PENDING"))) {
+      if (elapsed(drop, "created_at", after, now)) {
+        payReversePennyDrop(drop.get("id"), !fails(lifecycle), now);
+      }
+    }
+  }
+
+  private Map<String, Object> bulkpeWebhook(
+      Map<String, Object> drop, boolean success, Instant now) {
+    long account = 100_000_000_000L + Math.abs(String.valueOf(drop.get("id")).hashCode());
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("transcation_id", drop.get("transaction_id"));
+    data.put("trx_status", success ? "SUCCESS" : "FAILED");
+    data.put("remitter_name", "SIMULATED REMITTER");
+    data.put("remitter_account_number", String.valueOf(account));
+    data.put("remitter_ifsc", "HDFC0" + String.valueOf(account).substring(0, 6));
+    data.put("remitter_vpa", account + "@oksim");
+    data.put("amount", 1.0);
+    data.put("charge", 0.0);
+    data.put("gst", 0.0);
+    data.put("settlement_Amount", "1.00");
+    data.put("closing_balance", "0.00");
+    data.put("yetToSettle", "0.00");
+    data.put("type", "CREDIT");
+    data.put("utr", "SIM" + drop.get("transaction_id"));
+    data.put("payment_mode", "UPI");
+    data.put("payment_remark", drop.get("transcation_note"));
+    data.put("createdAt", timestamp(now));
+    data.put("reference_id", drop.get("reference_id"));
+
+    Map<String, Object> webhook = new LinkedHashMap<>();
+    webhook.put("status", true);
+    webhook.put("statusCode", 200);
+    webhook.put("message", success ? "Transaction successful" : "Transaction failed");
+    webhook.put("data", data);
+    return webhook;
+  }
+
+  private List<Map<String, Object>> inState(String type, String state) {
+    return store.list(type, Map.of("state", state));
+  }
+
+  private static void submit(Map<String, Object> record, Instant now) {
+    if (List.of("pending", "confirmed").contains(record.get("state"))) {
+      record.put("state", "submitted");
+      record.put("submitted_at", timestamp(now));
+    }
+  }
+
+  private static void fail(Map<String, Object> record, Instant now) {
+    record.put("state", "failed");
+    record.put("failed_at", timestamp(now));
+  }
+
+  private static boolean elapsed(
+      Map<String, Object> record, String since, Duration delay, Instant now) {
+    Instant start = instant(record, since);
+    return start != null && !start.plus(delay).isAfter(now);
+  }
+
+  private static boolean fails(SimulatorProperties.Lifecycle lifecycle) {
+    return ThreadLocalRandom.current().nextDouble() < lifecycle.failureRate();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> fetch(Map<String, Object> record) {
+    return record.get("fetch") instanceof Map<?, ?> fetch
+        ? (Map<String, Object>) fetch
+        : Map.of();
+  }
+
+  private static LocalDate today(Instant now) {
+    return LocalDate.ofInstant(now, IST);
+  }
+
+  private static String stringValue(Object value) {
+    return value == null ? null : value.toString();
+  }
+}
@@ -0,0 +1,61 @@
+package com.nested.simulator.lifecycle;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Calls the app back the way the providers do: payment and mandate postbacks, KYC redirects
+ * followed server-side, and Bulkpe webhooks. Calls run in the background so a slow or stopped app
+ * never stalls the lifecycle; failures are logged and not retried.
+ */
+@Slf4j
+@Component
+public class Postbacks {
+
+  private final RestClient restClient = RestClient.create();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public void post(String url, Object body) {
+    if (url == null) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          try {
+            RestClient.RequestBodySpec request = restClient.post().uri(url);
+            if (body != null) {
+              request.contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            request.retrieve().toBodilessEntity();
+            log.info("POST {} delivered", url);
+          } catch (Exception e) {
+            log.warn("POST {} failed: {}", url, e.getMessage());
+          }
+        });
+  }
+
+  public void get(String url) {
+    if (url == null) {
+      return;
+    }
+    executor.execute(
+        () -> {
+          try {
+            restClient.get().uri(url).retrieve().toBodilessEntity();
+            log.info("GET {} delivered", url);
+          } catch (Exception e) {
+            log.warn("GET {} failed: {}", url, e.getMessage());
+          }
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,60 @@
+package com.nested.simulator.store;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/** Helpers for the JSON-like records kept in the {@link ResourceStore}. */
+public final class Records {
+
+  private Records() {}
+
+  /** Timestamps are ISO-8601 instants with millisecond precision, like the providers send. */
+  public static String timestamp(Instant instant) {
+    return instant.truncatedTo(ChronoUnit.MILLIS).toString();
+  }
+
+  public static Instant instant(Map<String, Object> record, String field) {
+    Object value = record.get(field);
+    return value == null ? null : Instant.parse(value.toString());
+  }
+
+  /**
+   * Copies {@code changes} onto the record, except its id. A change of {@code state} also stamps
+   * {@code <state>_at}, e.g. {@code confirmed_at}, which the lifecycle uses to time the next step.
+   */
+  public static void apply(Map<String, Object> record, Map<String, Object> changes, Instant now) {
+    changes.forEach(
+        (key, value) -> {
+          if (!key.equals("id")) {
+            record.put(key, value);
+          }
+        });
+    Object state = changes.get("state");
+    if (state != null) {
+      record.put(state + "_at", timestamp(now));
+    }
+  }
+
+  /** List responses wrap their items in {@code data}. */
+  public static Map<String, Object> data(List<Map<String, Object>> items) {
+    return Map.of("data", items);
+  }
+
+  /** Items of a batch request body, e.g. the {@code mf_purchases} array of a purchase batch. */
+  @SuppressWarnings("unchecked")
+  public static List<Map<String, Object>> items(Map<String, Object> body, String key) {
+    Object items = body.get(key);
+    return items instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+  }
+
+  public static double number(Object value) {
+    return value == null ? 0 : Double.parseDouble(value.toString());
+  }
+
+  public static double round(double value, int decimals) {
+    double scale = Math.pow(10, decimals);
+    return Math.round(value * scale) / scale;
+  }
+}
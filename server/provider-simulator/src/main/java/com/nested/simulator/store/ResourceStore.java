@@ -0,0 +1,169 @@
+package com.nested.simulator.store;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * In-memory provider state: one collection of JSON-like records per resource type (e.g. {@code
+ * mf_purchases}). Records are mutated only through {@link #update}, under the record's own lock,
+ * and handed out as copies, so request threads and the lifecycle scheduler never see a half-applied
+ * change. Nothing is persisted; a restart or {@link #clear()} starts from scratch.
+ */
+@Component
+public class ResourceStore {
+
+  private final Map<String, Map<String, Map<String, Object>>> collections =
+      new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong(100_000);
+
+  /** Next value of a store-wide numeric sequence, for providers that use numeric ids. */
+  public long nextNumber() {
+    return sequence.incrementAndGet();
+  }
+
+  /** Stores {@code fields} under a new {@code <prefix>_<hex>} id and returns the stored record. */
+  public Map<String, Object> create(String type, String prefix, Map<String, Object> fields) {
+    byte[] random = new byte[8];
+    ThreadLocalRandom.current().nextBytes(random);
+    return create(type, (Object) (prefix + "_" + HexFormat.of().formatHex(random)), fields);
+  }
+
+  /** Stores {@code fields} under the next numeric id and returns the stored record. */
+  public Map<String, Object> createNumbered(String type, Map<String, Object> fields) {
+    return create(type, (Object) nextNumber(), fields);
+  }
+
+  private Map<String, Object> create(String type, Object id, Map<String, Object> fields) {
+    Map<String, Object> record = new LinkedHashMap<>();
+    record.put("id", id);
+    fields.forEach((key, value) -> record.putIfAbsent(key, value));
+    collection(type).put(String.valueOf(id), record);
+    return copy(record);
+  }
+
+  public Optional<Map<String, Object>> find(String type, Object id) {
+    Map<String, Object> record = collection(type).get(String.valueOf(id));
+    return Optional.ofNullable(record).map(ResourceStore::copy);
+  }
+
+  /** Like {@link #find}, answering 404 when there is no such record. */
+  public Map<String, Object> get(String type, Object id) {
+    return find(type, id).orElseThrow(() -> notFound(type, id));
+  }
+
+  /** Applies {@code change} to the record and returns the result; 404 when it does not exist. */
+  public Map<String, Object> update(String type, Object id, Consumer<Map<String, Object>> change) {
+    Map<String, Object> record = collection(type).get(String.valueOf(id));
+    if (record == null) {
+      throw notFound(type, id);
+    }
+    synchronized (record) {
+      change.accept(record);
+      return copy(record);
+    }
+  }
+
+  /**
+   * Records whose fields equal every filter value, compared as strings. Filter keys may address
+   * nested fields with dots, e.g. {@code fetch.status}.
+   */
+  public List<Map<String, Object>> list(String type, Map<String, String> filters) {
+    return list(
+        type,
+        record ->
+            filters.entrySet().stream()
+                .allMatch(
+                    filter ->
+                        filter.getValue().equals(String.valueOf(field(record, filter.getKey())))));
+  }
+
+  public List<Map<String, Object>> list(String type, Predicate<Map<String, Object>> filter) {
+    List<Map<String, Object>> matches = new ArrayList<>();
+    for (Map<String, Object> record : collection(type).values()) {
+      Map<String, Object> snapshot = copy(record);
+      if (filter.test(snapshot)) {
+        matches.add(snapshot);
+      }
+    }
+    return matches;
+  }
+
+  /** Record counts per type and state, for load-test assertions. */
+  public Map<String, Map<String, Long>> summary() {
+    Map<String, Map<String, Long>> summary = new TreeMap<>();
+    collections.forEach(
+        (type, records) -> {
+          Map<String, Long> states = new TreeMap<>();
+          for (Map<String, Object> record : records.values()) {
+            states.merge(String.valueOf(state(copy(record))), 1L, Long::sum);
+          }
+          summary.put(type, states);
+        });
+    return summary;
+  }
+
+  public void clear() {
+    collections.clear();
+  }
+
+  /** The record's {@code state}, or else its first {@code *status} field. */
+  private static Object state(Map<String, Object> record) {
+    if (record.containsKey("state")) {
+      return record.get("state");
+    }
+    return record.entrySet().stream()
+        .filter(entry -> entry.getKey().endsWith("status"))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse("n/a");
+  }
+
+  /** Value at a dotted path, or null when any part of the path is missing. */
+  @SuppressWarnings("unchecked")
+  public static Object field(Map<String, Object> record, String path) {
+    Object value = record;
+    for (String part : path.split("\\.")) {
+      if (!(value instanceof Map<?, ?> map)) {
+        return null;
+      }
+      value = ((Map<String, Object>) map).get(part);
+    }
+    return value;
+  }
+
+  private Map<String, Map<String, Object>> collection(String type) {
+    return collections.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> copy(Map<String, Object> record) {
+    synchronized (record) {
+      Map<String, Object> copy = new LinkedHashMap<>();
+      record.forEach(
+          (key, value) ->
+              copy.put(
+                  key,
+                  value instanceof Map<?, ?> nested
+                      ? copy((Map<String, Object>) nested)
+                      : value instanceof List<?> items ? new ArrayList<>(items) : value));
+      return copy;
+    }
+  }
+
+  private static ResponseStatusException notFound(String type, Object id) {
+    return new ResponseStatusException(HttpStatus.NOT_FOUND, type + " " + id + " not found");
+  }
+}
@@ -0,0 +1,19 @@
+package com.nested.simulator.store;
+
+/** Collection names in the {@link ResourceStore}, shared by controllers and the lifecycle. */
+public final class ResourceTypes {
+
+  public static final String PURCHASES = "mf_purchases";
+  public static final String REDEMPTIONS = "mf_redemptions";
+  public static final String PURCHASE_PLANS = "mf_purchase_plans";
+  public static final String PAYMENTS = "payments";
+  public static final String MANDATES = "mandates";
+  public static final String KYC_REQUESTS = "kyc_requests";
+  public static final String ESIGNS = "esigns";
+  public static final String IDENTITY_DOCUMENTS = "identity_documents";
+  public static final String FILES = "files";
+  public static final String PRE_VERIFICATIONS = "pre_verifications";
+  public static final String REVERSE_PENNY_DROPS = "reverse_penny_drops";
+
+  private ResourceTypes() {}
+}
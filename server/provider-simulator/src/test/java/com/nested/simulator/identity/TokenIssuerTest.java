@@ -0,0 +1,60 @@
+package com.nested.simulator.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nested.simulator.SimulatorProperties;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TokenIssuerTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-02T04:30:00Z");
+
+  @Test
+  void tokenVerifiesAgainstPublishedKey() throws Exception {
+    TokenIssuer issuer = issuer();
+
+    String token = issuer.issue("loadtest|000001", Map.of("phone_number", "+919800000001"));
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> jwk = ((List<Map<String, Object>>) issuer.jwks().get("keys")).getFirst();
+    Base64.Decoder decoder = Base64.getUrlDecoder();
+    PublicKey key =
+        KeyFactory.getInstance("RSA")
+            .generatePublic(
+                new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode((String) jwk.get("n"))),
+                    new BigInteger(1, decoder.decode((String) jwk.get("e")))));
+    String[] parts = token.split("\\.");
+    Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initVerify(key);
+    signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+
+    assertThat(signature.verify(decoder.decode(parts[2]))).isTrue();
+    assertThat(issuer.claims(token))
+        .containsEntry("iss", "http://sim/")
+        .containsEntry("sub", "loadtest|000001")
+        .containsEntry("phone_number", "+919800000001")
+        .containsEntry("exp", (int) NOW.plus(Duration.ofHours(1)).getEpochSecond());
+  }
+
+  private static TokenIssuer issuer() throws Exception {
+    SimulatorProperties properties =
+        new SimulatorProperties(
+            "http://sim", "http://app", Map.of(), 0, null, null, Duration.ofHours(1));
+    return new TokenIssuer(properties, new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+}
@@ -0,0 +1,143 @@
+package com.nested.simulator.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.nested.simulator.SimulatorProperties;
+import com.nested.simulator.finprimitives.SchemeCatalog;
+import com.nested.simulator.store.Records;
+import com.nested.simulator.store.ResourceStore;
+import com.nested.simulator.store.ResourceTypes;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderLifecycleTest {
+
+  private static final Instant START = Instant.parse("2026-03-02T04:30:00Z");
+
+  private final ResourceStore store = new ResourceStore();
+  private final Postbacks postbacks = mock(Postbacks.class);
+  private OrderLifecycle lifecycle;
+
+  @BeforeEach
+  void setUp() {
+    SimulatorProperties properties =
+        new SimulatorProperties(
+            "http://sim",
+            "http://app",
+            Map.of(),
+            0,
+            new SimulatorProperties.Lifecycle(
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(30),
+                0,
+                true,
+                Duration.ofSeconds(3),
+                Duration.ofSeconds(3)),
+            new SimulatorProperties.Catalog(10),
+            Duration.ofHours(1));
+    lifecycle =
+        new OrderLifecycle(
+            store,
+            new SchemeCatalog(properties),
+            postbacks,
+            properties,
+            Clock.fixed(START, ZoneOffset.UTC));
+  }
+
+  @Test
+  void paidPurchaseIsAllottedAfterSettlement() {
+    Map<String, Object> purchase = purchase(101L, "INFSIM000011", 5000.0);
+    Map<String, Object> payment =
+        store.createNumbered(
+            ResourceTypes.PAYMENTS,
+            Map.of(
+                "status", "PENDING",
+                "amc_order_ids", List.of(101L),
+                "payment_postback_url", "http://app/redirects/payment/7",
+                "created_at", Records.timestamp(START)));
+
+    lifecycle.tick(START.plusSeconds(3));
+    assertThat(state(ResourceTypes.PURCHASES, purchase)).isEqualTo("submitted");
+    assertThat(store.get(ResourceTypes.PAYMENTS, payment.get("id")).get("status"))
+        .isEqualTo("SUCCESS");
+    verify(postbacks).post(eq("http://app/redirects/payment/7"), any());
+
+    lifecycle.tick(START.plusSeconds(20));
+    assertThat(state(ResourceTypes.PURCHASES, purchase)).isEqualTo("submitted");
+
+    lifecycle.tick(START.plusSeconds(33));
+    Map<String, Object> settled = store.get(ResourceTypes.PURCHASES, purchase.get("id"));
+    assertThat(settled.get("state")).isEqualTo("successful");
+    assertThat((double) settled.get("allotted_units")).isPositive();
+    assertThat(settled.get("traded_on")).isEqualTo("2026-03-02");
+  }
+
+  @Test
+  void checkoutSettlesPaymentOnceWithoutServerSidePostback() {
+    Map<String, Object> payment =
+        store.createNumbered(
+            ResourceTypes.PAYMENTS,
+            Map.of(
+                "status", "PENDING",
+                "payment_postback_url", "http://app/redirects/payment/7",
+                "created_at", Records.timestamp(START)));
+
+    lifecycle.authorizePayment(payment.get("id"), false);
+    lifecycle.authorizePayment(payment.get("id"), true);
+    lifecycle.tick(START.plusSeconds(10));
+
+    assertThat(store.get(ResourceTypes.PAYMENTS, payment.get("id")).get("status"))
+        .isEqualTo("FAILED");
+    verify(postbacks, never()).post(any(), any());
+  }
+
+  @Test
+  void confirmedPlanGeneratesFirstInstallmentOnceAndCompletes() {
+    Map<String, Object> fields = new HashMap<>();
+    fields.put("state", "confirmed");
+    fields.put("scheme", "INFSIM000011");
+    fields.put("amount", 1000.0);
+    fields.put("generate_first_installment_now", true);
+    fields.put("number_of_installments", "1");
+    fields.put("installments_generated", 0);
+    fields.put("next_installment_date", "2026-04-05");
+    Map<String, Object> plan = store.create(ResourceTypes.PURCHASE_PLANS, "mfpp", fields);
+
+    lifecycle.tick(START);
+    lifecycle.tick(START.plusSeconds(1));
+
+    List<Map<String, Object>> installments =
+        store.list(ResourceTypes.PURCHASES, Map.of("plan", plan.get("id").toString()));
+    assertThat(installments).hasSize(1);
+    assertThat(installments.getFirst().get("state")).isEqualTo("submitted");
+    assertThat(state(ResourceTypes.PURCHASE_PLANS, plan)).isEqualTo("completed");
+  }
+
+  private Map<String, Object> purchase(long oldId, String scheme, double amount) {
+    return store.create(
+        ResourceTypes.PURCHASES,
+        "mfp",
+        Map.of(
+            "old_id", oldId,
+            "scheme", scheme,
+            "amount", amount,
+            "state", "confirmed",
+            "created_at", Records.timestamp(START)));
+  }
+
+  private Object state(String type, Map<String, Object> record) {
+    return store.get(type, record.get("id")).get("state");
+  }
+}
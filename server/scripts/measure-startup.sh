@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Starts the application once and records time to readiness and first-request latency.
+#
+#   scripts/measure-startup.sh <variant> <jar> [jvm options...]
+#
+# Needs the same environment as a normal run (DATABASE_URL, DB_USER, ...). Results go to
+# build/reports/startup/<variant>.txt, the application log next to it. Defaults to the api role;
+# to measure a worker set SPRING_PROFILES_ACTIVE=<env>,worker and point READINESS_URL at its
+# management port (FIRST_REQUEST_URL= skips the request).
+set -euo pipefail
+
+variant=$1
+jar=$2
+shift 2
+
+port=${PORT:-18080}
+report_dir=${REPORT_DIR:-build/reports/startup}
+readiness_url=${READINESS_URL:-http://localhost:$port/actuator/health/readiness}
+first_request_url=${FIRST_REQUEST_URL-http://localhost:$port/api/v1/app/version}
+timeout_s=${TIMEOUT:-180}
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-dev,api}
+
+mkdir -p "$report_dir"
+log="$report_dir/$variant.log"
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+start=$(now_ms)
+java "$@" -jar "$jar" --server.port="$port" >"$log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true; wait "$pid" 2>/dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$readiness_url"; do
+  if ! kill -0 "$pid" 2>/dev/null; then
+    echo "$variant: application exited before becoming ready, see $log" >&2
+    exit 1
+  fi
+  if (( $(now_ms) - start > timeout_s * 1000 )); then
+    echo "$variant: not ready after ${timeout_s}s, see $log" >&2
+    exit 1
+  fi
+  sleep 0.1
+done
+ready_ms=$(( $(now_ms) - start ))
+
+first_ms=-
+second_ms=-
+if [[ -n "$first_request_url" ]]; then
+  request() {
+    curl -s -o /dev/null -w '%{time_total}' -H 'X-Platform: ANDROID' -H 'X-App-Version: 1.0.0' \
+      "$first_request_url" | awk '{ printf "%d", $1 * 1000 }'
+  }
+  first_ms=$(request)
+  second_ms=$(request)
+fi
+
+# Spring's own figure excludes JVM start; ours is wall clock from launch
+started=$(grep -o 'Started AppApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1 || true)
+
+{
+  echo "variant=$variant"
+  echo "jvm_options=$*"
+  echo "profiles=$SPRING_PROFILES_ACTIVE"
+  echo "ready_ms=$ready_ms"
+  echo "spring_started_s=${started:--}"
+  echo "first_request_ms=$first_ms"
+  echo "second_request_ms=$second_ms"
+} | tee "$report_dir/$variant.txt"
@@ -1 +1,10 @@
 rootProject.name = "nested-app"
+
+// Spring Boot Admin server, deployed separately from the API and worker instances
+include("admin-server")
+
+// Offline stand-in for the FinPrimitives, Cybrilla and Bulkpe APIs, for local and load testing
+include("provider-simulator")
+
+// Bulk-loads a synthetic production-sized dataset into a local database, for load testing
+include("dataset-generator")
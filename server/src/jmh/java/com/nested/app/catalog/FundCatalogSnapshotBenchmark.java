@@ -0,0 +1,69 @@
+package com.nested.app.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * ISIN lookups and sorted listing pages served from the in-memory fund catalog at production
+ * scale (12k schemes). Run with {@code ./gradlew jmh -Pjmh.includes=FundCatalogSnapshotBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FundCatalogSnapshotBenchmark {
+
+  private static final int SCHEMES = 12_000;
+
+  private FundCatalogSnapshot snapshot;
+  private String[] isins;
+
+  @Setup
+  public void setUp() {
+    List<CatalogFund> funds = new ArrayList<>();
+    isins = new String[SCHEMES];
+    for (long id = 1; id <= SCHEMES; id++) {
+      isins[(int) id - 1] = "INF" + id;
+      funds.add(
+          new CatalogFund(
+              id,
+              "Label " + id,
+              null,
+              "Scheme " + id,
+              10.0 + (id % 97),
+              null,
+              100.0,
+              500.0,
+              id % 3 != 0,
+              "INF" + id,
+              "AMC" + (id % 40),
+              id % 2 == 0 ? "EQUITY" : "DEBT",
+              id % 5 == 0 ? null : (double) (id % 23)));
+    }
+    snapshot = new FundCatalogSnapshot(funds, 1L);
+  }
+
+  @Benchmark
+  public Optional<CatalogFund> lookupByIsin() {
+    return snapshot.findByIsin(isins[ThreadLocalRandom.current().nextInt(SCHEMES)]);
+  }
+
+  @Benchmark
+  public Page<CatalogFund> activeListingByName() {
+    return snapshot.query(
+        FundQuery.active(),
+        PageRequest.of(ThreadLocalRandom.current().nextInt(50), 100, Sort.by("name")));
+  }
+}
@@ -0,0 +1,75 @@
+package com.nested.app.geo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * GeoIP lookups with and without the result cache. Needs a MaxMind City database, e.g. {@code
+ * ./gradlew jmh -Pjmh.includes=GeoIpServiceBenchmark} with {@code databasePath} set through
+ * {@code jmh { benchmarkParameters }} or {@code -p databasePath=...} on the JMH jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class GeoIpServiceBenchmark {
+
+  @Param("")
+  public String databasePath;
+
+  /** 0 bypasses the result cache so every call walks the memory-mapped tree. */
+  @Param({"0", "50000"})
+  public long cacheSize;
+
+  private GeoIpService geoIpService;
+  private String[] addresses;
+
+  @Setup
+  public void setUp() {
+    if (databasePath.isBlank()) {
+      throw new IllegalStateException("Set -p databasePath=<GeoLite2-City.mmdb>");
+    }
+    geoIpService =
+        new GeoIpService(
+            databasePath, 4096, cacheSize, Duration.ofHours(1), new SimpleMeterRegistry());
+    geoIpService.open();
+
+    // A working set of 10k client addresses, like a busy hour of onboarding traffic
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    addresses = new String[10_000];
+    for (int i = 0; i < addresses.length; i++) {
+      addresses[i] =
+          (1 + random.nextInt(222))
+              + "."
+              + random.nextInt(256)
+              + "."
+              + random.nextInt(256)
+              + "."
+              + random.nextInt(256);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    geoIpService.close();
+  }
+
+  @Benchmark
+  public Optional<GeoIpService.GeoLocation> lookup() {
+    return geoIpService.lookup(
+        addresses[ThreadLocalRandom.current().nextInt(addresses.length)]);
+  }
+}
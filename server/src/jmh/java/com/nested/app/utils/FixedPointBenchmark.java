@@ -0,0 +1,98 @@
+package com.nested.app.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Allotted units split across a basket's items, and a goal's ledger summed. {@code
+ * bigDecimalDistribution} is the previous fulfillment jobs' proportional split over double amounts,
+ * kept as the baseline. Run with {@code ./gradlew jmh} and compare {@code gc.alloc.rate.norm} with
+ * {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FixedPointBenchmark {
+
+  private static final double[] AMOUNTS = {2500.0, 1500.0, 750.5, 4999.99, 250.0};
+  private static final double TOTAL_UNITS = 1234.5678;
+  private static final int LEDGER_SIZE = 1_000;
+
+  private long[] scaledAmounts;
+  private long scaledTotalUnits;
+  private double[] ledgerDoubles;
+  private long[] ledgerScaled;
+
+  @Setup
+  public void setUp() {
+    scaledAmounts = new long[AMOUNTS.length];
+    for (int i = 0; i < AMOUNTS.length; i++) {
+      scaledAmounts[i] = FixedPoint.amount(AMOUNTS[i]);
+    }
+    scaledTotalUnits = FixedPoint.units(TOTAL_UNITS);
+
+    ledgerDoubles = new double[LEDGER_SIZE];
+    ledgerScaled = new long[LEDGER_SIZE];
+    for (int i = 0; i < LEDGER_SIZE; i++) {
+      ledgerDoubles[i] = 100 + i * 0.37;
+      ledgerScaled[i] = FixedPoint.units(ledgerDoubles[i]);
+    }
+  }
+
+  @Benchmark
+  public long[] fixedPointDistribution() {
+    return FixedPoint.allocate(scaledTotalUnits, scaledAmounts);
+  }
+
+  @Benchmark
+  public double[] bigDecimalDistribution() {
+    double totalAmount = 0;
+    for (double amount : AMOUNTS) {
+      totalAmount += amount;
+    }
+    BigDecimal totalUnits = BigDecimal.valueOf(TOTAL_UNITS);
+    BigDecimal totalAmountBD = BigDecimal.valueOf(totalAmount);
+    BigDecimal distributed = BigDecimal.ZERO;
+    double[] shares = new double[AMOUNTS.length];
+    for (int idx = 0; idx < AMOUNTS.length; idx++) {
+      BigDecimal share;
+      if (idx == AMOUNTS.length - 1) {
+        share = totalUnits.subtract(distributed);
+      } else {
+        share =
+            totalUnits
+                .multiply(BigDecimal.valueOf(AMOUNTS[idx]))
+                .divide(totalAmountBD, 8, RoundingMode.HALF_UP);
+        distributed = distributed.add(share);
+      }
+      shares[idx] = share.setScale(4, RoundingMode.HALF_UP).doubleValue();
+    }
+    return shares;
+  }
+
+  @Benchmark
+  public long fixedPointLedgerSum() {
+    long sum = 0;
+    for (long units : ledgerScaled) {
+      sum += units;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double doubleLedgerSum() {
+    double sum = 0;
+    for (double units : ledgerDoubles) {
+      sum += units;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,69 @@
+package com.nested.app.utils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Client address extraction and literal parsing. {@code regexAndInetAddress} is the previous
+ * implementation's per-header path, kept as the baseline. Run with {@code ./gradlew jmh} and
+ * compare {@code gc.alloc.rate.norm} with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IpUtilsBenchmark {
+
+  private static final String IPV4 = "203.0.113.42";
+  private static final String IPV6 = "2001:db8:85a3::8a2e:370:7334";
+
+  private MockHttpServletRequest direct;
+  private MockHttpServletRequest proxied;
+
+  @Setup
+  public void setUp() {
+    direct = new MockHttpServletRequest();
+    direct.setRemoteAddr(IPV4);
+
+    proxied = new MockHttpServletRequest();
+    proxied.setRemoteAddr("10.0.1.15");
+    proxied.addHeader("X-Forwarded-For", "198.51.100.7, " + IPV4 + ", 10.0.0.2");
+  }
+
+  @Benchmark
+  public byte[] parseIpv4() {
+    return IpUtils.parseLiteral(IPV4);
+  }
+
+  @Benchmark
+  public byte[] parseIpv6() {
+    return IpUtils.parseLiteral(IPV6);
+  }
+
+  @Benchmark
+  public String clientIpDirect() {
+    return IpUtils.getClientIpAddress(direct);
+  }
+
+  @Benchmark
+  public String clientIpBehindProxies() {
+    return IpUtils.getClientIpAddress(proxied);
+  }
+
+  @Benchmark
+  public String regexAndInetAddress() throws UnknownHostException {
+    String ip = proxied.getHeader("X-Forwarded-For").split(",")[0].trim();
+    if (ip.matches("^(?:[0-9]{1,3}\\.){3}[0-9]{1,3}$")) {
+      return ip;
+    }
+    return InetAddress.getByName(ip).getHostAddress();
+  }
+}
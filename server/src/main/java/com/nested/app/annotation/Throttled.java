@@ -0,0 +1,22 @@
+package com.nested.app.annotation;
+
+import com.nested.app.enums.ThrottleClass;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks endpoints whose calls are rate limited per user and per client IP. The ThrottlingInterceptor
+ * rejects calls over budget with 429 before the controller runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Throttled {
+  /**
+   * Budget the endpoint draws from; endpoints of the same class share it.
+   *
+   * @return Throttle class
+   */
+  ThrottleClass value();
+}
@@ -0,0 +1,19 @@
+package com.nested.app.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Marks cron-driven components (nightly syncs, reconcilers, cleanups) that only run on worker
+ * instances. They are not registered at all when the {@code api} profile is active, so API nodes
+ * never schedule them; instances without a role profile run everything.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Profile("!api")
+public @interface WorkerOnly {}
@@ -0,0 +1,81 @@
+package com.nested.app.buckets;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reuses presigned GET URLs per bucket/key until {@code safety-margin} before they expire, so
+ * screens listing many documents do not sign every URL on every read. Entries are dropped when the
+ * object is written or deleted through {@link S3Service}.
+ *
+ * <p>A URL signed with temporary role credentials stops working when those credentials expire,
+ * whatever expiry it was signed with, so no entry is reused for longer than {@code max-ttl}. Keep
+ * it well under the role session length.
+ */
+@Component
+public class PresignedUrlCache {
+
+    private record Key(String bucket, String s3Key) {}
+
+    /** A signed URL and the instant S3 stops accepting it. */
+    public record SignedUrl(String url, Instant expiresAt) {}
+
+    private final Cache<Key, SignedUrl> cache;
+    private final Duration safetyMargin;
+    private final Duration maxTtl;
+
+    public PresignedUrlCache(@Value("${aws.s3.presigned.cache.max-size:20000}") long maxSize,
+                             @Value("${aws.s3.presigned.cache.safety-margin:15m}") Duration safetyMargin,
+                             @Value("${aws.s3.presigned.cache.max-ttl:30m}") Duration maxTtl,
+                             MeterRegistry meterRegistry) {
+        this.safetyMargin = safetyMargin;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Key, SignedUrl>() {
+                    @Override
+                    public long expireAfterCreate(Key key, SignedUrl value, long currentTime) {
+                        return reusableFor(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, SignedUrl value, long currentTime, long currentDuration) {
+                        return reusableFor(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, SignedUrl value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "s3.presignedUrls");
+    }
+
+    /** Returns a cached URL for the object or signs (and caches) a fresh one. */
+    public String get(String bucket, String s3Key, Supplier<SignedUrl> signer) {
+        return cache.get(new Key(bucket, s3Key), ignored -> signer.get()).url();
+    }
+
+    /** Drops any cached URL for an object that was replaced or deleted. */
+    public void invalidate(String bucket, String s3Key) {
+        cache.invalidate(new Key(bucket, s3Key));
+    }
+
+    private long reusableFor(SignedUrl value) {
+        Duration remaining = Duration.between(Instant.now(), value.expiresAt()).minus(safetyMargin);
+        if (remaining.isNegative()) {
+            return 0;
+        }
+        return remaining.compareTo(maxTtl) > 0 ? maxTtl.toNanos() : remaining.toNanos();
+    }
+}
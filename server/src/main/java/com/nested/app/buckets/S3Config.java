@@ -1,15 +1,28 @@
 package com.nested.app.buckets;
 
+import java.net.URI;
+
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3BaseClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+/**
+ * S3 clients. They are created on first use (S3Service injects them {@code @Lazy}): each one
+ * resolves credentials and region, and the async client also starts its Netty event loop, which
+ * would otherwise add to every startup.
+ */
 @Configuration
 @Slf4j
 public class S3Config {
@@ -22,36 +35,51 @@ public class S3Config {
     
     @Value("${aws.region:us-east-1}")
     private String region;
+
+    // Optional S3-compatible endpoint (e.g. LocalStack or MinIO); path-style access is used with it
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
     
     @Bean
+    @Lazy
     public S3Client s3Client() {
-        if (accessKey.isEmpty() || secretKey.isEmpty()) {
-            // Use default credential provider chain (for EC2, ECS, etc.)
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .build();
-        } else {
-            // Use explicit credentials
-            AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                    .build();
-        }
+        return configure(S3Client.builder()).build();
+    }
+
+    @Bean
+    @Lazy
+    public S3AsyncClient s3AsyncClient() {
+        return configure(S3AsyncClient.builder()).build();
     }
     
     @Bean
+    @Lazy
     public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider());
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
+    }
+
+    private <B extends S3BaseClientBuilder<B, ?>> B configure(B builder) {
+        builder.region(Region.of(region)).credentialsProvider(credentialsProvider());
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder;
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
         if (accessKey.isEmpty() || secretKey.isEmpty()) {
-            return S3Presigner.builder()
-                    .region(Region.of(region))
-                    .build();
-        } else {
-            AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
-            return S3Presigner.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                    .build();
+            // Use default credential provider chain (for EC2, ECS, etc.)
+            return DefaultCredentialsProvider.create();
         }
+        // Use explicit credentials
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
     }
 }
@@ -1,11 +1,19 @@
 package com.nested.app.buckets;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,83 +22,156 @@ import com.nested.app.enums.DocumentVisibility;
 import io.micrometer.common.lang.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class S3Service {
+
+    /** Prefix for objects uploaded directly by clients; the next path segment is the owner. */
+    public static final String DIRECT_UPLOAD_PREFIX = "uploads/";
     
-    private final S3Client s3Client;
-    private final S3Presigner s3Presigner;
+    @Lazy private final S3Client s3Client;
+    @Lazy private final S3AsyncClient s3AsyncClient;
+    @Lazy private final S3Presigner s3Presigner;
+    private final PresignedUrlCache presignedUrlCache;
     
     @Value("${aws.s3.presigned.url.expiration.hours:24}")
     private long presignedUrlExpirationHours;
 
+    @Value("${aws.s3.presigned.upload.expiration.minutes:15}")
+    private long presignedUploadExpirationMinutes;
+
+    // Files above the threshold are sent as multipart uploads, one part in memory at a time
+    @Value("${aws.s3.multipart.threshold:8388608}")
+    private long multipartThreshold;
+
+    // S3 requires at least 5 MB for every part but the last
+    @Value("${aws.s3.multipart.part-size:8388608}")
+    private int multipartPartSize;
+
     @Value("${aws.s3.bucket.public:}")
     private String publicBucketName;
 
     @Value("${aws.s3.bucket.private:}")
     private String privateBucketName;
+
+    /** A presigned PUT the client performs itself, sending {@code headers} with the request. */
+    public record PresignedUpload(String s3Key, String url, Map<String, String> headers, Instant expiresAt) {}
     
-    //TODO: Make this possible to handle many requests at the same time
-    public String uploadFile(@NonNull MultipartFile file, DocumentVisibility visibility) throws IOException {
-        log.info("Uploading file to s3");
-        String fileName = file.getOriginalFilename();
-        log.info("File name : {}", fileName);
-        
-        // SECURITY FIX: Safe file extension extraction with validation
-        if (fileName == null || fileName.isEmpty()) {
-            throw new IllegalArgumentException("File name cannot be null or empty");
-        }
-        
-        int lastDotIndex = fileName.lastIndexOf(".");
-        if (lastDotIndex == -1 || lastDotIndex == fileName.length() - 1) {
-            throw new IllegalArgumentException("File must have a valid extension");
-        }
-        
-        String fileExtension = fileName.substring(lastDotIndex);
-        // Sanitize extension - only allow alphanumeric and dots
-        if (!fileExtension.matches("^\\.[a-zA-Z0-9]+$")) {
-            throw new IllegalArgumentException("Invalid file extension");
-        }
-        
-        String s3Key = generateS3Key(fileExtension);
-        log.info("s3 key : {}", s3Key);
-        String bucketName = visibility == DocumentVisibility.PUBLIC ? publicBucketName : privateBucketName;
-        log.info("visibility : {}", bucketName);
-        
+    /**
+     * Uploads a file with the async S3 client. Small files go in a single PUT; larger ones are
+     * streamed as a multipart upload, so at most one part is held in memory and the calling thread
+     * never waits on S3.
+     *
+     * @return future completing with the S3 key once the object is stored
+     */
+    public CompletableFuture<String> uploadFileAsync(@NonNull MultipartFile file, DocumentVisibility visibility) {
+        String s3Key;
+        InputStream in;
         try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
-            
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-            
-            log.info("File uploaded successfully to S3 with key: {}", s3Key);
-            return s3Key;
-            
-        } catch (S3Exception e) {
-            log.error("Error uploading file to S3: {}", e.getMessage());
-            throw new RuntimeException("Failed to upload file to S3", e);
+            s3Key = generateS3Key(extractExtension(file.getOriginalFilename()));
+            in = file.getInputStream();
+        } catch (IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String bucketName = bucketName(visibility);
+        log.info("Uploading file {} to s3 bucket {} with key {}", file.getOriginalFilename(), bucketName, s3Key);
+
+        CompletableFuture<Void> upload;
+        if (file.getSize() <= multipartThreshold) {
+            upload = putSingle(bucketName, s3Key, file.getContentType(), in);
+        } else {
+            upload = putMultipart(bucketName, s3Key, file.getContentType(), in);
         }
+        return upload.whenComplete((ignored, e) -> closeQuietly(in))
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        log.error("Error uploading file to S3 with key {}: {}", s3Key, e.getMessage());
+                        throw new RuntimeException("Failed to upload file to S3", e);
+                    }
+                    presignedUrlCache.invalidate(bucketName, s3Key);
+                    log.info("File uploaded successfully to S3 with key: {}", s3Key);
+                    return s3Key;
+                });
+    }
+
+    /**
+     * Presigns a PUT so the client uploads straight to S3. Content type and length are part of the
+     * signed request; the object is validated again before a document is recorded.
+     */
+    public PresignedUpload presignUpload(String ownerId, String fileName, String contentType,
+                                         long contentLength, DocumentVisibility visibility) {
+        String s3Key = DIRECT_UPLOAD_PREFIX + ownerId + "/" + generateS3Key(extractExtension(fileName));
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName(visibility))
+                .key(s3Key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(presignedUploadExpirationMinutes))
+                .putObjectRequest(putObjectRequest)
+                .build());
+
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        // The client may overwrite the key; never serve a download URL signed for older content
+        presignedUrlCache.invalidate(bucketName(visibility), s3Key);
+        log.info("Generated presigned upload URL for S3 key: {}", s3Key);
+        return new PresignedUpload(s3Key, presigned.url().toString(), headers, presigned.expiration());
+    }
+
+    public CompletableFuture<HeadObjectResponse> headObjectAsync(String s3Key, DocumentVisibility visibility) {
+        return s3AsyncClient.headObject(b -> b.bucket(bucketName(visibility)).key(s3Key));
+    }
+
+    /** Reads only the first {@code length} bytes of an object, e.g. for content sniffing. */
+    public CompletableFuture<byte[]> readPrefixAsync(String s3Key, DocumentVisibility visibility, int length) {
+        return s3AsyncClient.getObject(
+                        b -> b.bucket(bucketName(visibility)).key(s3Key).range("bytes=0-" + (length - 1)),
+                        AsyncResponseTransformer.toBytes())
+                .thenApply(response -> response.asByteArray());
+    }
+
+    public CompletableFuture<Void> deleteFileAsync(String s3Key, DocumentVisibility visibility) {
+        String bucketName = bucketName(visibility);
+        presignedUrlCache.invalidate(bucketName, s3Key);
+        return s3AsyncClient.deleteObject(b -> b.bucket(bucketName).key(s3Key))
+                .thenAccept(response -> log.info("File deleted successfully from S3 with key: {}", s3Key));
     }
     
+    /**
+     * Returns a presigned GET URL for the object, reusing a cached one until shortly before it
+     * expires.
+     */
     public String generatePresignedUrl(String s3Key,DocumentVisibility visibility) {
 
-        String bucketName = visibility == DocumentVisibility.PUBLIC ? publicBucketName : privateBucketName;
+        String bucketName = bucketName(visibility);
+        return presignedUrlCache.get(bucketName, s3Key, () -> signGet(bucketName, s3Key));
+    }
 
+    private PresignedUrlCache.SignedUrl signGet(String bucketName, String s3Key) {
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucketName)
@@ -105,8 +186,8 @@ public class S3Service {
             PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
             URL url = presignedRequest.url();
             
-            log.info("Generated presigned URL for S3 key: {}", s3Key);
-            return url.toString();
+            log.debug("Generated presigned URL for S3 key: {}", s3Key);
+            return new PresignedUrlCache.SignedUrl(url.toString(), presignedRequest.expiration());
             
         } catch (S3Exception e) {
             log.error("Error generating presigned URL for S3 key {}: {}", s3Key, e.getMessage());
@@ -116,7 +197,7 @@ public class S3Service {
     
     public void deleteFile(String s3Key, DocumentVisibility visibility) {
 
-        String bucketName = visibility == DocumentVisibility.PUBLIC ? publicBucketName : privateBucketName;
+        String bucketName = bucketName(visibility);
 
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
@@ -124,6 +205,7 @@ public class S3Service {
                     .key(s3Key)
                     .build();
             
+            presignedUrlCache.invalidate(bucketName, s3Key);
             s3Client.deleteObject(deleteObjectRequest);
             log.info("File deleted successfully from S3 with key: {}", s3Key);
             
@@ -132,6 +214,96 @@ public class S3Service {
             throw new RuntimeException("Failed to delete file from S3", e);
         }
     }
+
+    private CompletableFuture<Void> putSingle(String bucketName, String s3Key, String contentType, InputStream in) {
+        byte[] body;
+        try {
+            body = in.readAllBytes();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return s3AsyncClient.putObject(
+                        b -> b.bucket(bucketName).key(s3Key).contentType(contentType).contentLength((long) body.length),
+                        AsyncRequestBody.fromBytes(body))
+                .thenAccept(response -> { });
+    }
+
+    private CompletableFuture<Void> putMultipart(String bucketName, String s3Key, String contentType, InputStream in) {
+        return s3AsyncClient.createMultipartUpload(b -> b.bucket(bucketName).key(s3Key).contentType(contentType))
+                .thenCompose(created -> {
+                    String uploadId = created.uploadId();
+                    return uploadParts(bucketName, s3Key, uploadId, in, 1, new ArrayList<>())
+                            .thenCompose(parts -> s3AsyncClient.completeMultipartUpload(b -> b
+                                    .bucket(bucketName)
+                                    .key(s3Key)
+                                    .uploadId(uploadId)
+                                    .multipartUpload(m -> m.parts(parts))))
+                            .<Void>thenApply(response -> null)
+                            .whenComplete((ignored, e) -> {
+                                if (e != null) {
+                                    // Parts of an unfinished upload are billed until aborted
+                                    s3AsyncClient.abortMultipartUpload(b -> b.bucket(bucketName).key(s3Key).uploadId(uploadId));
+                                }
+                            });
+                });
+    }
+
+    /** Uploads parts one after another, reading the next part only after the previous one is stored. */
+    private CompletableFuture<List<CompletedPart>> uploadParts(String bucketName, String s3Key, String uploadId,
+                                                               InputStream in, int partNumber,
+                                                               List<CompletedPart> completed) {
+        byte[] part;
+        try {
+            part = in.readNBytes(multipartPartSize);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (part.length == 0) {
+            return CompletableFuture.completedFuture(completed);
+        }
+        return s3AsyncClient.uploadPart(
+                        b -> b.bucket(bucketName).key(s3Key).uploadId(uploadId)
+                                .partNumber(partNumber).contentLength((long) part.length),
+                        AsyncRequestBody.fromBytes(part))
+                .thenCompose(response -> {
+                    completed.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+                    if (part.length < multipartPartSize) {
+                        return CompletableFuture.completedFuture(completed);
+                    }
+                    return uploadParts(bucketName, s3Key, uploadId, in, partNumber + 1, completed);
+                });
+    }
+
+    private String bucketName(DocumentVisibility visibility) {
+        return visibility == DocumentVisibility.PUBLIC ? publicBucketName : privateBucketName;
+    }
+
+    // SECURITY FIX: Safe file extension extraction with validation
+    private static String extractExtension(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException("File name cannot be null or empty");
+        }
+
+        int lastDotIndex = fileName.lastIndexOf(".");
+        if (lastDotIndex == -1 || lastDotIndex == fileName.length() - 1) {
+            throw new IllegalArgumentException("File must have a valid extension");
+        }
+
+        String fileExtension = fileName.substring(lastDotIndex);
+        // Sanitize extension - only allow alphanumeric and dots
+        if (!fileExtension.matches("^\\.[a-zA-Z0-9]+$")) {
+            throw new IllegalArgumentException("Invalid file extension");
+        }
+        return fileExtension;
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("Failed to close upload stream: {}", e.getMessage());
+        }
+    }
     
     private String generateS3Key(String fileExtension) {
         String uuid = UUID.randomUUID().toString();
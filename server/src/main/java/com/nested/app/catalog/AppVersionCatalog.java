@@ -0,0 +1,91 @@
+package com.nested.app.catalog;
+
+import com.nested.app.dto.AppVersionResponse;
+import com.nested.app.entity.AppVersion;
+import com.nested.app.enums.Platform;
+import com.nested.app.repository.AppVersionRepository;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory app-version rules. Holds the current {@link AppVersionRules} so the version check hit
+ * on every app launch never touches the database.
+ *
+ * <p>Rules are edited directly in {@code app_versions}, so the table is re-read periodically
+ * ({@code app.version.rules-refresh}, default one minute) and a new snapshot is swapped in only
+ * when the content fingerprint changes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppVersionCatalog {
+
+  private final AppVersionRepository appVersionRepository;
+
+  private final AtomicReference<AppVersionRules> current =
+      new AtomicReference<>(AppVersionRules.empty());
+
+  private volatile boolean loaded = false;
+
+  /** Returns the current rules, loading them on first use if startup has not done so yet. */
+  public AppVersionRules rules() {
+    if (!loaded) {
+      rebuild();
+    }
+    return current.get();
+  }
+
+  public AppVersionResponse evaluate(
+      Platform platform, String currentVersion, Integer buildNumber, String deviceId) {
+    return rules().evaluate(platform, currentVersion, buildNumber, deviceId);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.version.rules-refresh:1m}",
+      fixedDelayString = "${app.version.rules-refresh:1m}")
+  public void refresh() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Keep serving the last good rules; the next refresh retries
+      log.error("Failed to refresh app version rules: {}", e.getMessage(), e);
+    }
+  }
+
+  /** Reloads all platform rules and swaps in a new snapshot if they changed. */
+  public synchronized void rebuild() {
+    List<AppVersion> rows = appVersionRepository.findAll();
+    AppVersionRules previous = current.get();
+    AppVersionRules next = new AppVersionRules(rows, previous.version() + 1);
+    if (loaded && next.fingerprint().equals(previous.fingerprint())) {
+      return;
+    }
+
+    Set<Platform> missing = EnumSet.allOf(Platform.class);
+    rows.forEach(row -> missing.remove(row.getPlatform()));
+    if (!missing.isEmpty()) {
+      log.warn("Platform rules not found for {}. Using defaults.", missing);
+    }
+
+    current.set(next);
+    loaded = true;
+    log.info(
+        "App version rules rebuilt: version={}, platforms={}, fingerprint={}",
+        next.version(),
+        rows.size(),
+        next.fingerprint());
+  }
+}
@@ -0,0 +1,176 @@
+package com.nested.app.catalog;
+
+import com.nested.app.dto.AppVersionResponse;
+import com.nested.app.entity.AppVersion;
+import com.nested.app.enums.Platform;
+import com.nested.app.enums.UpdateType;
+import com.nested.app.utils.VersionUtils;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, precompiled app-version rules for all platforms. Rule versions are parsed once per
+ * refresh and the three possible responses per platform are prebuilt, so a version check is a few
+ * integer comparisons and an array lookup with no database access.
+ *
+ * <p>Prebuilt {@link AppVersionResponse} instances are shared between requests and must be treated
+ * as read-only.
+ */
+public final class AppVersionRules {
+
+  /** Platform assumed when the client does not send a recognised {@code X-Platform}. */
+  public static final Platform DEFAULT_PLATFORM = Platform.ANDROID;
+
+  private static final UpdateType[] UPDATE_TYPES = UpdateType.values();
+
+  private final Map<Platform, PlatformRule> byPlatform;
+  private final long version;
+  private final String fingerprint;
+
+  public AppVersionRules(List<AppVersion> rows, long version) {
+    this.version = version;
+    String androidUrl = find(rows, Platform.ANDROID).map(AppVersion::getStoreUrl).orElse("");
+    String iosUrl = find(rows, Platform.IOS).map(AppVersion::getStoreUrl).orElse("");
+
+    Map<Platform, PlatformRule> rules = new EnumMap<>(Platform.class);
+    for (Platform platform : Platform.values()) {
+      AppVersion row = find(rows, platform).orElseGet(AppVersionRules::defaults);
+      rules.put(platform, new PlatformRule(row, androidUrl, iosUrl));
+    }
+    this.byPlatform = rules;
+    this.fingerprint =
+        CatalogFingerprint.of(
+            rows.stream()
+                .sorted(Comparator.comparing(AppVersion::getPlatform))
+                .map(AppVersionRules::describe)
+                .toList());
+  }
+
+  public static AppVersionRules empty() {
+    return new AppVersionRules(List.of(), 0);
+  }
+
+  /**
+   * Evaluates the client against the rules for its platform.
+   *
+   * @param platform client platform, or {@code null} for {@link #DEFAULT_PLATFORM}
+   * @param currentVersion client version string
+   * @param buildNumber client build number, if sent
+   * @param deviceId stable device id used for staged rollout bucketing
+   * @return prebuilt response for the resulting update type
+   */
+  public AppVersionResponse evaluate(
+      Platform platform, String currentVersion, Integer buildNumber, String deviceId) {
+    PlatformRule rule = byPlatform.get(platform != null ? platform : DEFAULT_PLATFORM);
+    return rule.responses[rule.decide(currentVersion, buildNumber, deviceId).ordinal()];
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Rollout bucket in {@code [0, 100)} for a device id. Uses {@link String#hashCode}, which is
+   * specified and therefore stable across JVMs and restarts, so a device keeps its bucket as the
+   * rollout percentage grows.
+   */
+  static int rolloutBucket(String deviceId) {
+    return Math.abs(deviceId.hashCode() % 100);
+  }
+
+  private static Optional<AppVersion> find(List<AppVersion> rows, Platform platform) {
+    return rows.stream().filter(row -> row.getPlatform() == platform).findFirst();
+  }
+
+  private static AppVersion defaults() {
+    return AppVersion.builder()
+        .minSupportedVersion("1.0.0")
+        .latestVersion("1.0.0")
+        .minBuildNumber(0)
+        .rolloutPercentage(100)
+        .message("Please update the app to continue.")
+        .storeUrl("")
+        .releaseNotes("")
+        .build();
+  }
+
+  private static String describe(AppVersion row) {
+    return String.join(
+        "|",
+        String.valueOf(row.getPlatform()),
+        row.getMinSupportedVersion(),
+        row.getLatestVersion(),
+        String.valueOf(row.getMinBuildNumber()),
+        String.valueOf(row.getRolloutPercentage()),
+        row.getMessage(),
+        row.getStoreUrl(),
+        row.getReleaseNotes());
+  }
+
+  private static final class PlatformRule {
+    private final int[] minSupportedVersion;
+    private final int[] latestVersion;
+    private final Integer minBuildNumber;
+    private final int rolloutPercentage;
+    private final AppVersionResponse[] responses = new AppVersionResponse[UPDATE_TYPES.length];
+
+    private PlatformRule(AppVersion row, String androidUrl, String iosUrl) {
+      this.minSupportedVersion = VersionUtils.parseVersion(row.getMinSupportedVersion());
+      this.latestVersion = VersionUtils.parseVersion(row.getLatestVersion());
+      this.minBuildNumber = row.getMinBuildNumber();
+      this.rolloutPercentage =
+          row.getRolloutPercentage() != null ? row.getRolloutPercentage() : 100;
+      for (UpdateType updateType : UPDATE_TYPES) {
+        responses[updateType.ordinal()] =
+            AppVersionResponse.builder()
+                .minSupportedVersion(row.getMinSupportedVersion())
+                .latestVersion(row.getLatestVersion())
+                .updateType(updateType)
+                .message(row.getMessage())
+                .androidUrl(androidUrl)
+                .iosUrl(iosUrl)
+                .releaseNotes(row.getReleaseNotes())
+                .build();
+      }
+    }
+
+    private UpdateType decide(String currentVersion, Integer buildNumber, String deviceId) {
+      if (currentVersion == null || currentVersion.trim().isEmpty()) {
+        return UpdateType.FORCE;
+      }
+      int[] current = VersionUtils.parseVersion(currentVersion);
+
+      // 1. FORCE update based on version string
+      if (VersionUtils.compareVersions(current, minSupportedVersion) < 0) {
+        return UpdateType.FORCE;
+      }
+      // 2. FORCE update based on build number (if provided)
+      if (buildNumber != null && minBuildNumber != null && buildNumber < minBuildNumber) {
+        return UpdateType.FORCE;
+      }
+      // 3. SOFT update based on latest version, subject to staged rollout
+      if (VersionUtils.compareVersions(current, latestVersion) < 0 && inRollout(deviceId)) {
+        return UpdateType.SOFT;
+      }
+      return UpdateType.NONE;
+    }
+
+    private boolean inRollout(String deviceId) {
+      if (rolloutPercentage >= 100) {
+        return true;
+      }
+      // Without a device id a partial rollout cannot be bucketed, so stay on the safe side
+      if (rolloutPercentage <= 0 || deviceId == null || deviceId.isEmpty()) {
+        return false;
+      }
+      return rolloutBucket(deviceId) < rolloutPercentage;
+    }
+  }
+}
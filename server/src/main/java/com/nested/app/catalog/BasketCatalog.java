@@ -0,0 +1,124 @@
+package com.nested.app.catalog;
+
+import com.nested.app.events.BasketCatalogChangedEvent;
+import com.nested.app.events.FundCatalogChangedEvent;
+import com.nested.app.repository.BasketRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory basket catalog. Holds the current {@link BasketCatalogSnapshot} and replaces it after
+ * basket admin writes ({@link BasketCatalogChangedEvent}) and fund changes ({@link
+ * FundCatalogChangedEvent}), since basket minimums and fund labels depend on fund data.
+ *
+ * <p>Fund changes arrive in bursts (syncs touch many funds), so they only mark the catalog stale;
+ * one rebuild per {@code catalog.fund-change-debounce} picks up all of them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BasketCatalog {
+
+  private final BasketRepository basketRepository;
+
+  private final AtomicReference<BasketCatalogSnapshot> current =
+      new AtomicReference<>(BasketCatalogSnapshot.empty());
+
+  private volatile boolean loaded = false;
+
+  private final AtomicBoolean fundsChanged = new AtomicBoolean(false);
+
+  /** Returns the current snapshot, loading it on first use if startup has not done so yet. */
+  public BasketCatalogSnapshot snapshot() {
+    if (!loaded) {
+      rebuild();
+    }
+    return current.get();
+  }
+
+  public Optional<CatalogBasket> findById(Long id) {
+    return snapshot().findById(id);
+  }
+
+  public Optional<CatalogBasket> resolveForHorizon(double years) {
+    return snapshot().resolveForHorizon(years);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Picks up changes committed by other instances, such as fund and NAV syncs on the worker. Events
+   * only reach the catalog of the instance that published them.
+   */
+  @Scheduled(
+      initialDelayString = "${catalog.refresh-interval:5m}",
+      fixedDelayString = "${catalog.refresh-interval:5m}")
+  public void refresh() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Keep serving the last snapshot; the next refresh retries
+      log.error("Failed to refresh basket catalog: {}", e.getMessage(), e);
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void on(BasketCatalogChangedEvent event) {
+    log.info("Rebuilding basket catalog, reason={}", event.reason());
+    rebuild();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void on(FundCatalogChangedEvent event) {
+    if (fundsChanged.compareAndSet(false, true)) {
+      log.debug("Basket catalog stale, reason={}", event.reason());
+    }
+  }
+
+  /** Rebuilds once for all fund changes seen since the last rebuild. */
+  @Scheduled(
+      initialDelayString = "${catalog.fund-change-debounce:2s}",
+      fixedDelayString = "${catalog.fund-change-debounce:2s}")
+  public void rebuildIfFundsChanged() {
+    if (!fundsChanged.get()) {
+      return;
+    }
+    try {
+      log.info("Rebuilding basket catalog after fund changes");
+      rebuild();
+    } catch (Exception e) {
+      fundsChanged.set(true);
+      log.error("Failed to rebuild basket catalog: {}", e.getMessage(), e);
+    }
+  }
+
+  /** Reloads all baskets with their funds in one query and swaps in a new snapshot. */
+  public synchronized void rebuild() {
+    long start = System.nanoTime();
+    // Changes committed before this point are in the reload
+    fundsChanged.set(false);
+    List<CatalogBasket> baskets =
+        basketRepository.findAllWithFunds().stream().map(CatalogBasket::from).toList();
+    BasketCatalogSnapshot next = new BasketCatalogSnapshot(baskets, current.get().version() + 1);
+    current.set(next);
+    loaded = true;
+    log.info(
+        "Basket catalog rebuilt: version={}, baskets={}, took={}ms",
+        next.version(),
+        baskets.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
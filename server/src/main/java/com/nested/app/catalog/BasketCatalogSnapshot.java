@@ -0,0 +1,105 @@
+package com.nested.app.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable copy of all baskets with their funds and precomputed minimum amounts. Besides the id
+ * and title lookups it keeps a horizon index: baskets with a {@code years} value sorted ascending,
+ * used to resolve the basket for a goal's time horizon with a binary search.
+ */
+public final class BasketCatalogSnapshot {
+
+  private static final BasketCatalogSnapshot EMPTY = new BasketCatalogSnapshot(List.of(), 0L);
+
+  private final long version;
+  private final String fingerprint;
+  private final List<CatalogBasket> all;
+  private final Map<Long, CatalogBasket> byId;
+  private final Map<String, CatalogBasket> byTitle;
+  private final double[] horizonYears;
+  private final CatalogBasket[] horizonBaskets;
+
+  BasketCatalogSnapshot(Collection<CatalogBasket> baskets, long version) {
+    this.version = version;
+
+    List<CatalogBasket> sorted = new ArrayList<>(baskets);
+    sorted.sort(Comparator.comparing(CatalogBasket::id));
+    this.all = Collections.unmodifiableList(sorted);
+    this.fingerprint = CatalogFingerprint.of(sorted);
+
+    Map<Long, CatalogBasket> ids = new HashMap<>();
+    Map<String, CatalogBasket> titles = new HashMap<>();
+    for (CatalogBasket basket : sorted) {
+      ids.put(basket.id(), basket);
+      titles.putIfAbsent(basket.title(), basket);
+    }
+    this.byId = Collections.unmodifiableMap(ids);
+    this.byTitle = Collections.unmodifiableMap(titles);
+
+    List<CatalogBasket> withHorizon =
+        sorted.stream()
+            .filter(basket -> basket.years() != null)
+            .sorted(Comparator.comparingDouble(CatalogBasket::years))
+            .toList();
+    this.horizonYears = withHorizon.stream().mapToDouble(CatalogBasket::years).toArray();
+    this.horizonBaskets = withHorizon.toArray(CatalogBasket[]::new);
+  }
+
+  public static BasketCatalogSnapshot empty() {
+    return EMPTY;
+  }
+
+  /** Monotonic version of this snapshot; increases every time the catalog is rebuilt. */
+  public long version() {
+    return version;
+  }
+
+  /** Content hash of the catalog, identical across instances holding the same data. */
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public List<CatalogBasket> all() {
+    return all;
+  }
+
+  public Optional<CatalogBasket> findById(Long id) {
+    return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+  }
+
+  public Optional<CatalogBasket> findByTitle(String title) {
+    return title == null ? Optional.empty() : Optional.ofNullable(byTitle.get(title));
+  }
+
+  /**
+   * Resolves the basket for a goal horizon: the basket with the smallest {@code years} strictly
+   * greater than the given horizon, or the longest-horizon basket when none is greater.
+   *
+   * @param years goal horizon in whole years
+   * @return matching basket, empty only when no basket has a horizon configured
+   */
+  public Optional<CatalogBasket> resolveForHorizon(double years) {
+    if (horizonBaskets.length == 0) {
+      return Optional.empty();
+    }
+    int low = 0;
+    int high = horizonYears.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (horizonYears[mid] <= years) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int index = Math.min(low, horizonBaskets.length - 1);
+    return Optional.of(horizonBaskets[index]);
+  }
+}
@@ -0,0 +1,65 @@
+package com.nested.app.catalog;
+
+import com.nested.app.entity.Basket;
+import com.nested.app.entity.BasketFund;
+import com.nested.app.enums.BasketType;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Immutable view of a {@link Basket} held by the {@link BasketCatalog}. Minimum lumpsum, SIP and
+ * step-up amounts are computed once when the snapshot is built instead of walking the basket funds
+ * on every DTO conversion.
+ */
+public record CatalogBasket(
+    Long id,
+    String title,
+    Double years,
+    Double returns,
+    BasketType basketType,
+    Timestamp createdAt,
+    Timestamp updatedAt,
+    List<Fund> funds,
+    Double minInvestment,
+    Double minSip,
+    Double minStepUp) {
+
+  /** A fund allocation inside a basket. */
+  public record Fund(Long fundId, String name, Double cagr, Double allocationPercentage) {
+
+    static Fund from(BasketFund basketFund) {
+      var fund = basketFund.getFund();
+      return new Fund(
+          fund == null ? null : fund.getId(),
+          fund == null ? null : fund.getLabel(),
+          fund == null ? null : fund.getCagr(),
+          basketFund.getAllocationPercentage());
+    }
+  }
+
+  /**
+   * Builds the catalog view. The basket funds and their funds must already be initialized.
+   *
+   * @param basket Basket with funds fetched
+   * @return immutable catalog entry
+   */
+  public static CatalogBasket from(Basket basket) {
+    List<BasketFund> basketFunds =
+        basket.getBasketFunds() == null ? List.of() : basket.getBasketFunds();
+    // Same rule as MinifiedBasketDto.fromEntity
+    double minStepUp =
+        basket.getBasketFunds() == null ? 5000D : Math.max(basketFunds.size() * 100, 1000);
+    return new CatalogBasket(
+        basket.getId(),
+        basket.getTitle(),
+        basket.getYears(),
+        basket.getReturns(),
+        basket.getBasketType(),
+        basket.getCreatedAt(),
+        basket.getUpdatedAt(),
+        basketFunds.stream().map(Fund::from).toList(),
+        basketFunds.isEmpty() ? 0.0 : basket.getMinInvestmentAmount(),
+        basketFunds.isEmpty() ? 0.0 : basket.getMinSIPAmount(),
+        minStepUp);
+  }
+}
@@ -0,0 +1,29 @@
+package com.nested.app.catalog;
+
+import com.nested.app.entity.Education;
+
+/** Immutable view of an {@link Education} entry held by the {@link EducationCatalog}. */
+public record CatalogEducation(
+    Long id,
+    String name,
+    String category,
+    String country,
+    Double lastYearFee,
+    Double expectedFee,
+    Double expectedIncreasePercentLt10Yr,
+    Double expectedIncreasePercentGt10Yr,
+    Education.Type type) {
+
+  public static CatalogEducation from(Education education) {
+    return new CatalogEducation(
+        education.getId(),
+        education.getName(),
+        education.getCategory(),
+        education.getCountry(),
+        education.getLastYearFee(),
+        education.getExpectedFee(),
+        education.getExpectedIncreasePercentLt10Yr(),
+        education.getExpectedIncreasePercentGt10Yr(),
+        education.getType());
+  }
+}
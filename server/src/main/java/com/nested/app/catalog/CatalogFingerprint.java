@@ -0,0 +1,40 @@
+package com.nested.app.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content fingerprint for catalog snapshots. Unlike the per-process version counters, a fingerprint
+ * is identical on every instance and across restarts as long as the data is the same, which makes
+ * it safe to use as a strong ETag behind a load balancer.
+ */
+final class CatalogFingerprint {
+
+  private CatalogFingerprint() {}
+
+  /**
+   * Hashes the string form of every item in iteration order. Catalog entries are records of
+   * strings, numbers, timestamps and enums, so their {@code toString} is stable across JVMs.
+   *
+   * @param items catalog entries in a deterministic order
+   * @return first 16 hex characters of the SHA-256 digest
+   */
+  static String of(Iterable<?> items) {
+    MessageDigest digest = sha256();
+    for (Object item : items) {
+      digest.update(String.valueOf(item).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) '\n');
+    }
+    return HexFormat.of().formatHex(digest.digest(), 0, 8);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.nested.app.catalog;
+
+import com.nested.app.entity.Fund;
+import java.sql.Timestamp;
+
+/**
+ * Immutable, detached view of a {@link Fund} held by the in-memory {@link FundCatalog}. Entities
+ * are mutable and tied to a persistence context, so the catalog copies the fields it serves instead
+ * of keeping managed instances around.
+ */
+public record CatalogFund(
+    Long id,
+    String label,
+    String description,
+    String name,
+    Double nav,
+    Timestamp navDate,
+    Double minPurchaseAmount,
+    Double minSipAmount,
+    boolean active,
+    String isinCode,
+    String amcCode,
+    String schemeType,
+    Double cagr) {
+
+  public static CatalogFund from(Fund fund) {
+    return new CatalogFund(
+        fund.getId(),
+        fund.getLabel(),
+        fund.getDescription(),
+        fund.getName(),
+        fund.getNav(),
+        fund.getNavDate() == null ? null : new Timestamp(fund.getNavDate().getTime()),
+        fund.getMimPurchaseAmount(),
+        fund.getMinSipAmount(),
+        fund.isActive(),
+        fund.getIsinCode(),
+        fund.getAmcCode(),
+        fund.getSchemeType(),
+        fund.getCagr());
+  }
+}
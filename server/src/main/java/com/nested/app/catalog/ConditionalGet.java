@@ -0,0 +1,87 @@
+package com.nested.app.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET handling for catalog endpoints. The ETag is derived from the catalog fingerprint
+ * before any service work, so a matching {@code If-None-Match} is answered with 304 without
+ * building or serializing the body.
+ *
+ * <p>Every outcome is counted in {@code catalog.conditional.requests} (tags {@code resource} and
+ * {@code outcome=not_modified|full}); the ratio gives the share of polls that skipped the body.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGet {
+
+  private static final String METRIC = "catalog.conditional.requests";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Returns 304 when the client already holds the current representation, otherwise builds the
+   * response and decorates it with the ETag and cache headers.
+   *
+   * @param request current request
+   * @param resource short resource name, used for the metric tag and as ETag prefix
+   * @param fingerprint catalog fingerprint (plus any request-specific discriminator)
+   * @param cacheControl cache policy for this resource
+   * @param response builds the full response; only invoked on a miss
+   * @return 304 response or the built response with validators
+   */
+  public <T> ResponseEntity<T> respond(
+      WebRequest request,
+      String resource,
+      String fingerprint,
+      CacheControl cacheControl,
+      Supplier<ResponseEntity<T>> response) {
+    String etag = "\"" + resource + "-" + fingerprint + "\"";
+
+    if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      meterRegistry.counter(METRIC, "resource", resource, "outcome", "not_modified").increment();
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(cacheControl)
+          .build();
+    }
+
+    meterRegistry.counter(METRIC, "resource", resource, "outcome", "full").increment();
+    ResponseEntity<T> built = response.get();
+    if (built.getStatusCode().value() != HttpStatus.OK.value()) {
+      return built;
+    }
+    return ResponseEntity.status(built.getStatusCode())
+        .headers(built.getHeaders())
+        .eTag(etag)
+        .cacheControl(cacheControl)
+        .body(built.getBody());
+  }
+
+  /** RFC 9110 weak comparison, as required for If-None-Match. */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String value = candidate.trim();
+      if (value.equals("*")) {
+        return true;
+      }
+      if (value.startsWith("W/")) {
+        value = value.substring(2);
+      }
+      if (value.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,103 @@
+package com.nested.app.catalog;
+
+import com.nested.app.config.CacheConfig;
+import com.nested.app.events.EducationCatalogChangedEvent;
+import com.nested.app.repository.EducationRepository;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link EducationSearchIndex}. The index is rebuilt from the database after
+ * every education write; the typeahead response cache is cleared at the same time. Writes made
+ * through other instances are picked up by a periodic refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EducationCatalog {
+
+  private final EducationRepository educationRepository;
+  private final CacheManager cacheManager;
+
+  private final AtomicReference<EducationSearchIndex> current =
+      new AtomicReference<>(EducationSearchIndex.empty());
+
+  private volatile boolean loaded = false;
+
+  /** Returns the current index, building it on first use if startup has not done so yet. */
+  public EducationSearchIndex index() {
+    if (!loaded) {
+      rebuild();
+    }
+    return current.get();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Picks up education writes committed through other instances; change events only reach the
+   * instance that published them. The index and cached responses are kept when nothing changed.
+   */
+  @Scheduled(
+      initialDelayString = "${catalog.refresh-interval:5m}",
+      fixedDelayString = "${catalog.refresh-interval:5m}")
+  public void refresh() {
+    try {
+      reload(true);
+    } catch (Exception e) {
+      // Keep serving the last index; the next refresh retries
+      log.error("Failed to refresh education search index: {}", e.getMessage(), e);
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void on(EducationCatalogChangedEvent event) {
+    log.info("Rebuilding education search index, reason={}", event.reason());
+    rebuild();
+  }
+
+  /** Reloads all education records, swaps in a new index and clears cached search responses. */
+  public void rebuild() {
+    reload(false);
+  }
+
+  private synchronized void reload(boolean onlyIfChanged) {
+    long start = System.nanoTime();
+    List<CatalogEducation> educations =
+        educationRepository.findAll().stream()
+            .map(CatalogEducation::from)
+            .sorted(Comparator.comparing(CatalogEducation::id))
+            .toList();
+    if (onlyIfChanged
+        && loaded
+        && CatalogFingerprint.of(educations).equals(current.get().fingerprint())) {
+      return;
+    }
+    EducationSearchIndex next = new EducationSearchIndex(educations, current.get().version() + 1);
+    current.set(next);
+    loaded = true;
+
+    var cache = cacheManager.getCache(CacheConfig.EDUCATION_SEARCH);
+    if (cache != null) {
+      cache.clear();
+    }
+    log.info(
+        "Education search index rebuilt: version={}, entries={}, took={}ms",
+        next.version(),
+        next.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
@@ -0,0 +1,305 @@
+package com.nested.app.catalog;
+
+import com.nested.app.entity.Education;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable n-gram index over education names and countries, used for the course/institution
+ * typeahead.
+ *
+ * <p>Every 1-, 2- and 3-character gram of the normalized name and country maps to the sorted list
+ * of entries containing it. A query looks up the rarest of its grams, then verifies each candidate
+ * with a substring check, so results match the previous {@code LIKE '%term%'} semantics while only
+ * touching entries that share the query's least common gram.
+ *
+ * <p>Matches are ranked: exact name, name prefix, word prefix inside the name, name substring and
+ * finally country-only matches. Ties are broken by shorter name, then alphabetically.
+ */
+public final class EducationSearchIndex {
+
+  private static final int MAX_GRAM = 3;
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final int[] NO_POSTINGS = new int[0];
+
+  private static final EducationSearchIndex EMPTY = new EducationSearchIndex(List.of(), 0L);
+
+  private final long version;
+  private final String fingerprint;
+  private final CatalogEducation[] entries;
+  private final String[] names;
+  private final String[] countries;
+  private final Map<Long, CatalogEducation> byId;
+  private final Map<String, int[]> postings;
+  /** Position of each entry in (name length, name, id) order; the tie-breaker within a rank. */
+  private final int[] tieBreak;
+  private final int[] byTieBreak;
+
+  /** A page of ranked search results with the total number of matches. */
+  public record Result(List<CatalogEducation> content, int total) {}
+
+  EducationSearchIndex(Collection<CatalogEducation> educations, long version) {
+    this.version = version;
+    List<CatalogEducation> sorted = new ArrayList<>(educations);
+    sorted.sort(Comparator.comparing(CatalogEducation::id));
+    this.fingerprint = CatalogFingerprint.of(sorted);
+
+    this.entries = sorted.toArray(CatalogEducation[]::new);
+    this.names = new String[entries.length];
+    this.countries = new String[entries.length];
+    this.byId = new HashMap<>(entries.length * 2);
+
+    Map<String, IntList> grams = new HashMap<>();
+    for (int doc = 0; doc < entries.length; doc++) {
+      names[doc] = normalize(entries[doc].name());
+      countries[doc] = normalize(entries[doc].country());
+      byId.put(entries[doc].id(), entries[doc]);
+
+      Set<String> docGrams = new LinkedHashSet<>();
+      collectGrams(names[doc], docGrams);
+      collectGrams(countries[doc], docGrams);
+      for (String gram : docGrams) {
+        grams.computeIfAbsent(gram, key -> new IntList()).add(doc);
+      }
+    }
+
+    this.postings = new HashMap<>(grams.size() * 2);
+    grams.forEach((gram, docs) -> postings.put(gram, docs.toArray()));
+
+    Integer[] order = new Integer[entries.length];
+    for (int doc = 0; doc < entries.length; doc++) {
+      order[doc] = doc;
+    }
+    Arrays.sort(
+        order,
+        Comparator.<Integer>comparingInt(doc -> names[doc].length())
+            .thenComparing(doc -> names[doc])
+            .thenComparingInt(doc -> doc));
+    this.tieBreak = new int[entries.length];
+    this.byTieBreak = new int[entries.length];
+    for (int position = 0; position < order.length; position++) {
+      tieBreak[order[position]] = position;
+      byTieBreak[position] = order[position];
+    }
+  }
+
+  public static EducationSearchIndex empty() {
+    return EMPTY;
+  }
+
+  /** Monotonic version of this index; increases every time the catalog is rebuilt. */
+  public long version() {
+    return version;
+  }
+
+  /** Content hash of the catalog, identical across instances holding the same data. */
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public int size() {
+    return entries.length;
+  }
+
+  public Optional<CatalogEducation> findById(Long id) {
+    return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+  }
+
+  /**
+   * Searches names and countries.
+   *
+   * @param query search term; blank returns every entry of the requested type ordered by id
+   * @param type optional type filter
+   * @param offset number of ranked results to skip
+   * @param limit maximum number of results to return
+   * @return ranked page of matches
+   */
+  public Result search(String query, Education.Type type, int offset, int limit) {
+    String term = normalize(query);
+    int from = Math.max(offset, 0);
+    int wanted = (int) Math.min((long) from + Math.max(limit, 0), Integer.MAX_VALUE);
+
+    if (term.isEmpty()) {
+      List<CatalogEducation> content = new ArrayList<>();
+      int total = 0;
+      for (CatalogEducation entry : entries) {
+        if (type == null || entry.type() == type) {
+          if (total >= from && total < wanted) {
+            content.add(entry);
+          }
+          total++;
+        }
+      }
+      return new Result(content, total);
+    }
+
+    // Keep only the best `wanted` matches in a bounded heap keyed by (rank, tie-break position)
+    TopK top = new TopK(wanted);
+    int total = 0;
+    for (int doc : candidates(term)) {
+      if ((type == null || entries[doc].type() == type)
+          && (names[doc].contains(term) || countries[doc].contains(term))) {
+        top.offer(((long) rank(doc, term) << 32) | tieBreak[doc]);
+        total++;
+      }
+    }
+
+    long[] ranked = top.sorted();
+    List<CatalogEducation> content = new ArrayList<>(Math.max(ranked.length - from, 0));
+    for (int i = from; i < ranked.length; i++) {
+      content.add(entries[docAt((int) ranked[i])]);
+    }
+    return new Result(content, total);
+  }
+
+  /** Returns the postings of the query's rarest gram; every match must be in this list. */
+  private int[] candidates(String term) {
+    int gramLength = Math.min(MAX_GRAM, term.length());
+    int[] best = null;
+    for (int i = 0; i + gramLength <= term.length(); i++) {
+      int[] docs = postings.getOrDefault(term.substring(i, i + gramLength), NO_POSTINGS);
+      if (best == null || docs.length < best.length) {
+        best = docs;
+        if (best.length == 0) {
+          break;
+        }
+      }
+    }
+    return best == null ? NO_POSTINGS : best;
+  }
+
+  private int docAt(int tieBreakPosition) {
+    return byTieBreak[tieBreakPosition];
+  }
+
+  private int rank(int doc, String term) {
+    String name = names[doc];
+    if (name.equals(term)) {
+      return 0;
+    }
+    if (name.startsWith(term)) {
+      return 1;
+    }
+    int index = name.indexOf(term);
+    if (index < 0) {
+      return 4;
+    }
+    return name.charAt(index - 1) == ' ' || name.contains(" " + term) ? 2 : 3;
+  }
+
+  private static void collectGrams(String value, Set<String> grams) {
+    for (int length = 1; length <= MAX_GRAM; length++) {
+      for (int i = 0; i + length <= value.length(); i++) {
+        grams.add(value.substring(i, i + length));
+      }
+    }
+  }
+
+  /** Lower-cases, strips diacritics and collapses whitespace. */
+  static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+    String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+    return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+
+  /** Growable int array used while building postings, avoiding boxed integers. */
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+  /** Bounded max-heap keeping the k smallest keys seen. */
+  private static final class TopK {
+    private final int capacity;
+    private long[] heap = new long[16];
+    private int size;
+
+    TopK(int capacity) {
+      this.capacity = capacity;
+    }
+
+    void offer(long key) {
+      if (capacity == 0) {
+        return;
+      }
+      if (size < capacity) {
+        if (size == heap.length) {
+          heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, capacity));
+        }
+        heap[size] = key;
+        siftUp(size++);
+      } else if (key < heap[0]) {
+        heap[0] = key;
+        siftDown(0);
+      }
+    }
+
+    long[] sorted() {
+      long[] result = Arrays.copyOf(heap, size);
+      Arrays.sort(result);
+      return result;
+    }
+
+    private void siftUp(int index) {
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (heap[parent] >= heap[index]) {
+          return;
+        }
+        swap(parent, index);
+        index = parent;
+      }
+    }
+
+    private void siftDown(int index) {
+      while (true) {
+        int largest = index;
+        int left = 2 * index + 1;
+        int right = left + 1;
+        if (left < size && heap[left] > heap[largest]) {
+          largest = left;
+        }
+        if (right < size && heap[right] > heap[largest]) {
+          largest = right;
+        }
+        if (largest == index) {
+          return;
+        }
+        swap(index, largest);
+        index = largest;
+      }
+    }
+
+    private void swap(int a, int b) {
+      long tmp = heap[a];
+      heap[a] = heap[b];
+      heap[b] = tmp;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.nested.app.catalog;
+
+import com.nested.app.events.FundCatalogChangedEvent;
+import com.nested.app.repository.FundRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory fund catalog. Holds the current {@link FundCatalogSnapshot} and atomically replaces it
+ * whenever a {@link FundCatalogChangedEvent} is published (fund sync, NAV sync, admin edits).
+ *
+ * <p>Readers never touch the database: they grab the current snapshot reference and work on it.
+ * The whole fund table (10k+ schemes) fits comfortably in memory and reloads in one query, so a
+ * full reload per change is cheaper and simpler than incremental patching.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FundCatalog {
+
+  private final FundRepository fundRepository;
+
+  private final AtomicReference<FundCatalogSnapshot> current =
+      new AtomicReference<>(FundCatalogSnapshot.empty());
+
+  private volatile boolean loaded = false;
+
+  /** Returns the current snapshot, loading it on first use if startup has not done so yet. */
+  public FundCatalogSnapshot snapshot() {
+    if (!loaded) {
+      rebuild();
+    }
+    return current.get();
+  }
+
+  public Optional<CatalogFund> findById(Long id) {
+    return snapshot().findById(id);
+  }
+
+  public Optional<CatalogFund> findByIsin(String isinCode) {
+    return snapshot().findByIsin(isinCode);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    rebuild();
+  }
+
+  /**
+   * Picks up changes committed by other instances, such as fund and NAV syncs on the worker. Events
+   * only reach the catalog of the instance that published them.
+   */
+  @Scheduled(
+      initialDelayString = "${catalog.refresh-interval:5m}",
+      fixedDelayString = "${catalog.refresh-interval:5m}")
+  public void refresh() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Keep serving the last snapshot; the next refresh retries
+      log.error("Failed to refresh fund catalog: {}", e.getMessage(), e);
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void on(FundCatalogChangedEvent event) {
+    log.info("Rebuilding fund catalog, reason={}", event.reason());
+    rebuild();
+  }
+
+  /** Reloads all funds and swaps in a new snapshot. Concurrent rebuilds are serialized. */
+  public synchronized void rebuild() {
+    long start = System.nanoTime();
+    List<CatalogFund> funds = fundRepository.findAll().stream().map(CatalogFund::from).toList();
+    FundCatalogSnapshot next = new FundCatalogSnapshot(funds, current.get().version() + 1);
+    current.set(next);
+    loaded = true;
+    log.info(
+        "Fund catalog rebuilt: version={}, funds={}, took={}ms",
+        next.version(),
+        next.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
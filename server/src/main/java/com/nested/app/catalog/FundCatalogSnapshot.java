@@ -0,0 +1,252 @@
+package com.nested.app.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Immutable, fully indexed copy of the fund table. A snapshot is built once from the database and
+ * then only read; {@link FundCatalog} swaps in a new instance after every fund/NAV sync.
+ *
+ * <p>Funds are indexed by id, ISIN, AMC code, scheme type and active flag. For every sortable
+ * property the full and the active-only lists are pre-sorted, so an unfiltered listing is a walk
+ * over an array with early exit once the requested page is filled.
+ */
+public final class FundCatalogSnapshot {
+
+  /** Properties that can be used in the {@code sort} request parameter. */
+  enum SortKey {
+    ID(CatalogFund::id),
+    NAME(CatalogFund::name),
+    LABEL(CatalogFund::label),
+    NAV(CatalogFund::nav),
+    CAGR(CatalogFund::cagr),
+    MIN_AMOUNT(CatalogFund::minPurchaseAmount),
+    NAV_DATE(CatalogFund::navDate);
+
+    private final Comparator<CatalogFund> comparator;
+
+    <T extends Comparable<? super T>> SortKey(Function<CatalogFund, T> extractor) {
+      this.comparator =
+          Comparator.comparing(extractor, Comparator.nullsLast(Comparator.naturalOrder()))
+              .thenComparing(CatalogFund::id);
+    }
+
+    static SortKey of(String property) {
+      return switch (property) {
+        case "id" -> ID;
+        case "name" -> NAME;
+        case "label", "displayName" -> LABEL;
+        case "nav" -> NAV;
+        case "cagr" -> CAGR;
+        case "minAmount", "mimPurchaseAmount" -> MIN_AMOUNT;
+        case "navDate" -> NAV_DATE;
+        default ->
+            throw new IllegalArgumentException("Unsupported fund sort property: " + property);
+      };
+    }
+  }
+
+  private static final FundCatalogSnapshot EMPTY = new FundCatalogSnapshot(List.of(), 0L);
+
+  private final long version;
+  private final String fingerprint;
+  private final Map<Long, CatalogFund> byId;
+  private final Map<String, CatalogFund> byIsin;
+  private final Map<String, List<CatalogFund>> byAmc;
+  private final Map<String, List<CatalogFund>> bySchemeType;
+  private final Map<SortKey, List<CatalogFund>> allSorted;
+  private final Map<SortKey, List<CatalogFund>> activeSorted;
+
+  FundCatalogSnapshot(Collection<CatalogFund> funds, long version) {
+    this.version = version;
+
+    List<CatalogFund> all = new ArrayList<>(funds);
+    all.sort(SortKey.ID.comparator);
+    List<CatalogFund> active = all.stream().filter(CatalogFund::active).toList();
+    this.fingerprint = CatalogFingerprint.of(all);
+
+    Map<Long, CatalogFund> ids = new HashMap<>(all.size() * 2);
+    Map<String, CatalogFund> isins = new HashMap<>(all.size() * 2);
+    for (CatalogFund fund : all) {
+      ids.put(fund.id(), fund);
+      if (fund.isinCode() != null) {
+        isins.put(fund.isinCode(), fund);
+      }
+    }
+    this.byId = Collections.unmodifiableMap(ids);
+    this.byIsin = Collections.unmodifiableMap(isins);
+    this.byAmc = groupBy(all, CatalogFund::amcCode);
+    this.bySchemeType = groupBy(all, CatalogFund::schemeType);
+
+    this.allSorted = new EnumMap<>(SortKey.class);
+    this.activeSorted = new EnumMap<>(SortKey.class);
+    for (SortKey key : SortKey.values()) {
+      allSorted.put(key, sortedCopy(all, key));
+      activeSorted.put(key, sortedCopy(active, key));
+    }
+  }
+
+  public static FundCatalogSnapshot empty() {
+    return EMPTY;
+  }
+
+  /** Monotonic version of this snapshot; increases every time the catalog is rebuilt. */
+  public long version() {
+    return version;
+  }
+
+  /** Content hash of the catalog, identical across instances holding the same data. */
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public int size() {
+    return byId.size();
+  }
+
+  public Optional<CatalogFund> findById(Long id) {
+    return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+  }
+
+  public Optional<CatalogFund> findByIsin(String isinCode) {
+    return isinCode == null ? Optional.empty() : Optional.ofNullable(byIsin.get(isinCode));
+  }
+
+  /**
+   * Filters, sorts and paginates the catalog.
+   *
+   * @param query filter criteria
+   * @param pageable page, size and sort; an unsorted pageable sorts by id
+   * @return requested page of funds with the total number of matches
+   * @throws IllegalArgumentException if a sort property is not supported
+   */
+  public Page<CatalogFund> query(FundQuery query, Pageable pageable) {
+    Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+    List<Sort.Order> orders = sort.toList();
+
+    if (query.amcCode() == null && query.schemeType() == null && orders.size() == 1) {
+      Sort.Order order = orders.get(0);
+      List<CatalogFund> sorted =
+          (query.activeOnly() ? activeSorted : allSorted).get(SortKey.of(order.getProperty()));
+      return slice(sorted, order.isDescending(), pageable);
+    }
+
+    List<CatalogFund> candidates = new ArrayList<>();
+    for (CatalogFund fund : narrowestIndex(query)) {
+      if (matches(fund, query)) {
+        candidates.add(fund);
+      }
+    }
+    candidates.sort(comparatorFor(orders));
+    return slice(candidates, false, pageable);
+  }
+
+  private List<CatalogFund> narrowestIndex(FundQuery query) {
+    List<CatalogFund> candidates =
+        (query.activeOnly() ? activeSorted : allSorted).get(SortKey.ID);
+    if (query.amcCode() != null) {
+      List<CatalogFund> amc = byAmc.getOrDefault(normalize(query.amcCode()), List.of());
+      if (amc.size() < candidates.size()) {
+        candidates = amc;
+      }
+    }
+    if (query.schemeType() != null) {
+      List<CatalogFund> type = bySchemeType.getOrDefault(normalize(query.schemeType()), List.of());
+      if (type.size() < candidates.size()) {
+        candidates = type;
+      }
+    }
+    return candidates;
+  }
+
+  private static boolean matches(CatalogFund fund, FundQuery query) {
+    if (query.activeOnly() && !fund.active()) {
+      return false;
+    }
+    if (query.amcCode() != null && !normalize(query.amcCode()).equals(normalize(fund.amcCode()))) {
+      return false;
+    }
+    return query.schemeType() == null
+        || normalize(query.schemeType()).equals(normalize(fund.schemeType()));
+  }
+
+  private static Comparator<CatalogFund> comparatorFor(List<Sort.Order> orders) {
+    Comparator<CatalogFund> comparator = null;
+    for (Sort.Order order : orders) {
+      Comparator<CatalogFund> next = SortKey.of(order.getProperty()).comparator;
+      if (order.isDescending()) {
+        next = next.reversed();
+      }
+      comparator = comparator == null ? next : comparator.thenComparing(next);
+    }
+    return comparator;
+  }
+
+  private static Page<CatalogFund> slice(
+      List<CatalogFund> sorted, boolean descending, Pageable pageable) {
+    int total = sorted.size();
+    if (pageable.isUnpaged()) {
+      List<CatalogFund> content = descending ? reversed(sorted) : sorted;
+      return new PageImpl<>(content, pageable, total);
+    }
+    long offset = pageable.getOffset();
+    if (offset >= total) {
+      return new PageImpl<>(List.of(), pageable, total);
+    }
+    int from = (int) offset;
+    int to = Math.min(total, from + pageable.getPageSize());
+    List<CatalogFund> content;
+    if (descending) {
+      content = new ArrayList<>(to - from);
+      for (int i = total - 1 - from; i > total - 1 - to; i--) {
+        content.add(sorted.get(i));
+      }
+    } else {
+      content = sorted.subList(from, to);
+    }
+    return new PageImpl<>(content, pageable, total);
+  }
+
+  private static List<CatalogFund> reversed(List<CatalogFund> list) {
+    List<CatalogFund> copy = new ArrayList<>(list);
+    Collections.reverse(copy);
+    return copy;
+  }
+
+  private static List<CatalogFund> sortedCopy(List<CatalogFund> funds, SortKey key) {
+    List<CatalogFund> copy = new ArrayList<>(funds);
+    copy.sort(key.comparator);
+    return Collections.unmodifiableList(copy);
+  }
+
+  private static Map<String, List<CatalogFund>> groupBy(
+      List<CatalogFund> funds, Function<CatalogFund, String> key) {
+    return funds.stream()
+        .filter(fund -> key.apply(fund) != null)
+        .collect(
+            Collectors.collectingAndThen(
+                Collectors.groupingBy(
+                    fund -> normalize(key.apply(fund)),
+                    Collectors.collectingAndThen(
+                        Collectors.toList(), Collections::unmodifiableList)),
+                Collections::unmodifiableMap));
+  }
+
+  private static String normalize(String value) {
+    return value == null ? null : value.trim().toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,20 @@
+package com.nested.app.catalog;
+
+/**
+ * Filter criteria for listing funds from the {@link FundCatalog}. A {@code null} component means
+ * "do not filter on this field".
+ *
+ * @param activeOnly when true only active funds are returned
+ * @param amcCode AMC code to match (case-insensitive)
+ * @param schemeType scheme type / category to match (case-insensitive)
+ */
+public record FundQuery(boolean activeOnly, String amcCode, String schemeType) {
+
+  public static FundQuery all() {
+    return new FundQuery(false, null, null);
+  }
+
+  public static FundQuery active() {
+    return new FundQuery(true, null, null);
+  }
+}
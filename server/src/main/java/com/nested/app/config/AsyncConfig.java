@@ -1,12 +1,31 @@
 package com.nested.app.config;
 
+import com.nested.app.datasource.Workload;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorCustomizer;
+import org.springframework.boot.task.ThreadPoolTaskExecutorCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * Configuration for enabling async processing in the application. Allows event listeners and other
  * components to run asynchronously without blocking the main thread.
+ *
+ * <p>Async tasks keep the {@link Workload} of the thread that submitted them, so listeners fired
+ * by background jobs use the jobs connection pool.
  */
 @Configuration
 @EnableAsync
-public class AsyncConfig {}
+public class AsyncConfig {
+
+  @Bean
+  ThreadPoolTaskExecutorCustomizer workloadPropagatingExecutorCustomizer() {
+    return executor -> executor.setTaskDecorator(Workload::propagate);
+  }
+
+  /** Same, for the executor Boot builds instead when virtual threads are enabled. */
+  @Bean
+  SimpleAsyncTaskExecutorCustomizer workloadPropagatingVirtualExecutorCustomizer() {
+    return executor -> executor.setTaskDecorator(Workload::propagate);
+  }
+}
@@ -14,7 +14,9 @@ public class CacheConfig {
 
   public static final String GOAL_PORTFOLIO = "goalPortfolio";
   public static final String GOAL_MONTHLY_SIP = "goalMonthlySip";
-  public static final String APP_VERSION = "appVersion";
+  public static final String EDUCATION_SEARCH = "educationSearch";
+  /** Provider file URLs carry no expiry, so keep them well inside the provider's signing window. */
+  public static final String SIGNATURE_URL = "signatureUrl";
 
   @Bean
   CacheManager cacheManager() {
@@ -22,7 +24,8 @@ public class CacheConfig {
     manager.setCaches(List.of(
         buildCache(GOAL_PORTFOLIO, 5, 2_000),
         buildCache(GOAL_MONTHLY_SIP, 5, 2_000),
-        buildCache(APP_VERSION, 60, 100)
+        buildCache(EDUCATION_SEARCH, 10, 5_000),
+        buildCache(SIGNATURE_URL, 10, 10_000)
     ));
     return manager;
   }
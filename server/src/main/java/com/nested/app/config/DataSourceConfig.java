@@ -0,0 +1,160 @@
+package com.nested.app.config;
+
+import com.nested.app.datasource.ReplicaLagMonitor;
+import com.nested.app.datasource.Workload;
+import com.nested.app.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
+import org.springframework.boot.autoconfigure.quartz.QuartzTransactionManager;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Connection pools, each sized independently so that one workload can not starve another:
+ *
+ * <ul>
+ *   <li>{@code api}: interactive requests ({@code spring.datasource.hikari.*});
+ *   <li>{@code jobs}: Quartz jobs, {@code @Scheduled} tasks and the Spring Batch steps they launch
+ *       ({@code app.datasource.jobs.hikari.*});
+ *   <li>{@code quartz}: the Quartz JDBC job store, i.e. trigger acquisition and cluster check-ins
+ *       ({@code app.datasource.quartz.hikari.*});
+ *   <li>{@code replica}: read-only transactions, only when {@code app.datasource.replica.url} is
+ *       set ({@code app.datasource.replica.*}).
+ * </ul>
+ *
+ * <p>All primary pools connect with {@code spring.datasource.url/username/password}. JPA, JDBC
+ * templates and Spring Batch use the {@link WorkloadRoutingDataSource}, which picks the pool per
+ * connection. Flyway migrates through the API pool directly. Pool waits are exported per pool by
+ * Hikari ({@code hikaricp.connections.acquire}, {@code hikaricp.connections.pending}, tag {@code
+ * pool}).
+ */
+@Configuration
+public class DataSourceConfig {
+
+  @Bean
+  @Primary
+  @ConfigurationProperties("spring.datasource")
+  public DataSourceProperties primaryDataSourceProperties() {
+    return new DataSourceProperties();
+  }
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource apiPool(
+      @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+    return pool(properties, "api");
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.jobs.hikari")
+  public HikariDataSource jobsPool(
+      @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+    return pool(properties, "jobs");
+  }
+
+  @Bean
+  @QuartzDataSource
+  @ConfigurationProperties("app.datasource.quartz.hikari")
+  public HikariDataSource quartzPool(
+      @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+    return pool(properties, "quartz");
+  }
+
+  /**
+   * JPA transactions for services, repositories and Spring Batch. Declared explicitly because Boot
+   * only creates its own when no other transaction manager exists, and the Quartz one below would
+   * otherwise take its place.
+   */
+  @Bean
+  @Primary
+  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+    return new JpaTransactionManager(entityManagerFactory);
+  }
+
+  /** Quartz must commit job store changes on the same pool it reads them from. */
+  @Bean
+  @QuartzTransactionManager
+  public PlatformTransactionManager quartzTransactionManager(
+      @Qualifier("quartzPool") DataSource quartzPool) {
+    return new DataSourceTransactionManager(quartzPool);
+  }
+
+  @Bean
+  @ConditionalOnProperty("app.datasource.replica.url")
+  @ConfigurationProperties("app.datasource.replica")
+  public DataSourceProperties replicaDataSourceProperties() {
+    return new DataSourceProperties();
+  }
+
+  @Bean
+  @ConditionalOnProperty("app.datasource.replica.url")
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaPool(
+      @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+    HikariDataSource pool = pool(properties, "replica");
+    pool.setReadOnly(true);
+    return pool;
+  }
+
+  @Bean
+  @ConditionalOnProperty("app.datasource.replica.url")
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaPool") DataSource replicaPool,
+      @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+      MeterRegistry meterRegistry) {
+    return new ReplicaLagMonitor(replicaPool, maxLag, meterRegistry);
+  }
+
+  /** The data source used by JPA, JDBC templates and Spring Batch. */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("apiPool") DataSource apiPool,
+      @Qualifier("jobsPool") DataSource jobsPool,
+      @Qualifier("replicaPool") ObjectProvider<DataSource> replicaPool,
+      ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+      @Value("${app.datasource.replica.sticky-window:10s}") Duration stickyWindow,
+      MeterRegistry meterRegistry) {
+    WorkloadRoutingDataSource routing =
+        new WorkloadRoutingDataSource(
+            apiPool,
+            jobsPool,
+            replicaPool.getIfAvailable(),
+            replicaLagMonitor.getIfAvailable(),
+            stickyWindow,
+            meterRegistry);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  /** {@code @Scheduled} tasks (nightly syncs, pollers, cleanups) run as background work. */
+  @Bean
+  ThreadPoolTaskSchedulerCustomizer backgroundWorkloadSchedulerCustomizer() {
+    return scheduler -> scheduler.setTaskDecorator(Workload::background);
+  }
+
+  private static HikariDataSource pool(DataSourceProperties properties, String name) {
+    HikariDataSource pool =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    pool.setPoolName(name);
+    return pool;
+  }
+}
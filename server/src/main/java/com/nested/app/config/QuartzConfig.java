@@ -1,48 +1,43 @@
 package com.nested.app.config;
 
+import com.nested.app.listeners.BackgroundWorkloadJobListener;
 import com.nested.app.listeners.JobHistoryListener;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
-import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration for Quartz Scheduler. Registers global job listeners for execution history tracking
  * and monitoring.
  */
 @Slf4j
-@RequiredArgsConstructor
+@Configuration
 public class QuartzConfig {
 
-  private final JobHistoryListener jobHistoryListener;
-
   /**
-   * Configures the Quartz SchedulerFactoryBean with global job listeners. The JobHistoryListener is
-   * registered to track execution history for all jobs.
+   * Customizes the auto-configured SchedulerFactoryBean, which keeps the JDBC job store and
+   * clustering settings from application.properties. The JobHistoryListener is registered to track
+   * execution history for all jobs, and the BackgroundWorkloadJobListener routes job database work
+   * to the jobs connection pool.
    *
-   * @param applicationContext the Spring application context
-   * @param quartzProperties the Quartz properties from application.properties
-   * @return configured SchedulerFactoryBean
+   * @param jobHistoryListener the global job history listener
+   * @param backgroundWorkloadJobListener marks worker threads as background work
+   * @return customizer applied to the SchedulerFactoryBean
    */
-  public SchedulerFactoryBean schedulerFactoryBean(
-      ApplicationContext applicationContext, QuartzProperties quartzProperties) {
-    SchedulerFactoryBean schedulerFactoryBean = new SchedulerFactoryBean();
-
-    // Set the application context to enable Spring-managed job beans
-    schedulerFactoryBean.setApplicationContext(applicationContext);
-
-    // Register global job listener for execution history
-    schedulerFactoryBean.setGlobalJobListeners(jobHistoryListener);
-
-    // Wait for jobs to complete on shutdown (graceful shutdown)
-    schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
-
-    // Set autoStartup to true (default behavior)
-    schedulerFactoryBean.setAutoStartup(true);
-
-    log.info("Quartz SchedulerFactoryBean configured with JobHistoryListener");
-
-    return schedulerFactoryBean;
+  @Bean
+  SchedulerFactoryBeanCustomizer jobHistoryListenerCustomizer(
+      JobHistoryListener jobHistoryListener,
+      BackgroundWorkloadJobListener backgroundWorkloadJobListener) {
+    return schedulerFactoryBean -> {
+      // Register global job listeners for execution history and connection pool selection
+      schedulerFactoryBean.setGlobalJobListeners(
+          backgroundWorkloadJobListener, jobHistoryListener);
+
+      // Wait for jobs to complete on shutdown (graceful shutdown)
+      schedulerFactoryBean.setWaitForJobsToCompleteOnShutdown(true);
+
+      log.info("Quartz SchedulerFactoryBean configured with JobHistoryListener");
+    };
   }
 }
@@ -4,6 +4,7 @@ import com.sendgrid.SendGrid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class SendGridConfig {
@@ -11,7 +12,9 @@ public class SendGridConfig {
   @Value("${sendgrid.api_key}")
   private String apiKey;
 
+  /** Built on first send; injection points are {@code @Lazy} too. */
   @Bean
+  @Lazy
   public SendGrid init() {
     return new SendGrid(apiKey);
   }
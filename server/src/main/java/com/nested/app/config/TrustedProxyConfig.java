@@ -0,0 +1,32 @@
+package com.nested.app.config;
+
+import com.nested.app.utils.IpUtils;
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@code network.trusted-proxies} to {@link IpUtils}: only connections from these ranges
+ * may set the client address through forwarding headers. Left empty, private and loopback ranges
+ * are trusted.
+ */
+@Slf4j
+@Configuration
+public class TrustedProxyConfig {
+
+  @Value("${network.trusted-proxies:}")
+  private List<String> trustedProxies;
+
+  @PostConstruct
+  void configure() {
+    List<String> ranges =
+        trustedProxies.stream().map(String::trim).filter(s -> !s.isEmpty()).toList();
+    if (ranges.isEmpty()) {
+      return;
+    }
+    IpUtils.configureTrustedProxies(ranges);
+    log.info("Trusting forwarding headers from {}", ranges);
+  }
+}
@@ -1,9 +1,10 @@
 package com.nested.app.config;
 
-import com.twilio.Twilio;
-import jakarta.annotation.PostConstruct;
+import com.twilio.http.TwilioRestClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class TwilioConfig {
@@ -14,8 +15,10 @@ public class TwilioConfig {
   @Value("${twilio.auth-token}")
   private String authToken;
 
-  @PostConstruct
-  public void init() {
-    Twilio.init(accountSid, authToken);
+  /** Only WhatsApp OTPs use Twilio, so the client is built on first send instead of at startup. */
+  @Bean
+  @Lazy
+  public TwilioRestClient twilioRestClient() {
+    return new TwilioRestClient.Builder(accountSid, authToken).build();
   }
 }
@@ -1,5 +1,7 @@
 package com.nested.app.controllers;
 
+import com.nested.app.catalog.AppVersionRules;
+import com.nested.app.catalog.ConditionalGet;
 import com.nested.app.dto.AppVersionResponse;
 import com.nested.app.enums.Platform;
 import com.nested.app.services.AppVersionService;
@@ -7,11 +9,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Slf4j
 @RestController
@@ -20,7 +24,11 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "App", description = "App related endpoints")
 public class AppVersionController {
 
+  private static final CacheControl APP_VERSION_CACHE_CONTROL =
+      CacheControl.noCache().cachePrivate();
+
   private final AppVersionService appVersionService;
+  private final ConditionalGet conditionalGet;
 
   @GetMapping("/version")
   @Operation(
@@ -30,9 +38,10 @@ public class AppVersionController {
       @RequestHeader(value = "X-App-Version", required = false) String version,
       @RequestHeader(value = "X-Platform", required = false) String platformStr,
       @RequestHeader(value = "X-Build-Number", required = false) Integer buildNumber,
-      @RequestHeader(value = "X-Device-Id", required = false) String deviceId) {
+      @RequestHeader(value = "X-Device-Id", required = false) String deviceId,
+      WebRequest request) {
 
-    log.info(
+    log.debug(
         "App version check request: version={}, platform={}, build={}, deviceId={}",
         version,
         platformStr,
@@ -50,6 +59,20 @@ public class AppVersionController {
 
     AppVersionResponse response =
         appVersionService.getVersionInfo(version, platform, buildNumber, deviceId);
-    return ResponseEntity.ok(response);
+    // Same rules, platform and decision always produce the same body
+    Platform effectivePlatform = platform != null ? platform : AppVersionRules.DEFAULT_PLATFORM;
+    return conditionalGet.respond(
+        request,
+        "app-version",
+        appVersionService.getRulesFingerprint()
+            + "-"
+            + effectivePlatform.name().toLowerCase()
+            + "-"
+            + response.getUpdateType().name().toLowerCase(),
+        APP_VERSION_CACHE_CONTROL,
+        () ->
+            ResponseEntity.ok()
+                .varyBy("X-App-Version", "X-Platform", "X-Build-Number", "X-Device-Id")
+                .body(response));
   }
 }
@@ -1,6 +1,7 @@
 package com.nested.app.controllers;
 
 import com.nested.app.annotation.AdminOnly;
+import com.nested.app.catalog.ConditionalGet;
 import com.nested.app.dto.BasketDTO;
 import com.nested.app.dto.Entity;
 import com.nested.app.services.BasketService;
@@ -12,10 +13,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,6 +29,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST Controller for managing Basket entities Provides endpoints for CRUD operations on baskets
@@ -40,7 +44,12 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Baskets", description = "API endpoints for managing investment baskets")
 public class BasketController {
 
+  /** Baskets only change on admin edits; a few minutes of staleness is acceptable. */
+  private static final CacheControl BASKETS_CACHE_CONTROL =
+      CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate();
+
   private final BasketService basketService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Retrieves all baskets
@@ -64,17 +73,24 @@ public class BasketController {
         @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
       })
-  public ResponseEntity<Entity<BasketDTO>> getAllBaskets() {
+  public ResponseEntity<Entity<BasketDTO>> getAllBaskets(WebRequest request) {
     log.info("GET /api/v1/bucket - Retrieving all baskets");
 
-    try {
-      List<BasketDTO> baskets = basketService.getAllBaskets();
-      log.info("Successfully retrieved {} baskets", baskets.size());
-      return ResponseEntity.ok(Entity.of(baskets));
-    } catch (Exception e) {
-      log.error("Error retrieving baskets: {}", e.getMessage(), e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-    }
+    return conditionalGet.respond(
+        request,
+        "baskets",
+        basketService.getCatalogFingerprint(),
+        BASKETS_CACHE_CONTROL,
+        () -> {
+          try {
+            List<BasketDTO> baskets = basketService.getAllBaskets();
+            log.info("Successfully retrieved {} baskets", baskets.size());
+            return ResponseEntity.ok(Entity.of(baskets));
+          } catch (Exception e) {
+            log.error("Error retrieving baskets: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
   }
 
   /**
@@ -107,25 +123,33 @@ public class BasketController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
       })
   public ResponseEntity<?> getBasketById(
-      @Parameter(description = "Basket ID", required = true) @PathVariable String id) {
+      @Parameter(description = "Basket ID", required = true) @PathVariable String id,
+      WebRequest request) {
 
     log.info("GET /api/v1/bucket/{} - Retrieving basket details", id);
 
-    try {
-      BasketDTO basket = basketService.getBasketById(id);
-      if (basket == null) {
-        log.warn("Basket not found with ID: {}", id);
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-            .body(Map.<String, Object>of("error", "Basket not found"));
-      }
+    return conditionalGet.respond(
+        request,
+        "baskets",
+        basketService.getCatalogFingerprint(),
+        BASKETS_CACHE_CONTROL,
+        () -> {
+          try {
+            BasketDTO basket = basketService.getBasketById(id);
+            if (basket == null) {
+              log.warn("Basket not found with ID: {}", id);
+              return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                  .body(Map.<String, Object>of("error", "Basket not found"));
+            }
 
-      log.info("Successfully retrieved basket details for ID: {}", id);
-      return ResponseEntity.ok(Entity.of(List.of(basket)));
+            log.info("Successfully retrieved basket details for ID: {}", id);
+            return ResponseEntity.ok(Entity.of(List.of(basket)));
 
-    } catch (Exception e) {
-      log.error("Error retrieving basket with ID {}: {}", id, e.getMessage(), e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-    }
+          } catch (Exception e) {
+            log.error("Error retrieving basket with ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
   }
 
   /**
@@ -158,24 +182,32 @@ public class BasketController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
       })
   public ResponseEntity<BasketDTO> getBasketByName(
-      @Parameter(description = "Basket name (title)", required = true) @PathVariable String name) {
+      @Parameter(description = "Basket name (title)", required = true) @PathVariable String name,
+      WebRequest request) {
 
     log.info("GET /api/v1/bucket/name/{} - Retrieving basket details by name", name);
 
-    try {
-      BasketDTO basket = basketService.getBasketByName(name);
-      if (basket == null) {
-        log.warn("Basket not found with name: {}", name);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
-      }
+    return conditionalGet.respond(
+        request,
+        "baskets",
+        basketService.getCatalogFingerprint(),
+        BASKETS_CACHE_CONTROL,
+        () -> {
+          try {
+            BasketDTO basket = basketService.getBasketByName(name);
+            if (basket == null) {
+              log.warn("Basket not found with name: {}", name);
+              return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
 
-      log.info("Successfully retrieved basket details for name: {}", name);
-      return ResponseEntity.ok(basket);
+            log.info("Successfully retrieved basket details for name: {}", name);
+            return ResponseEntity.ok(basket);
 
-    } catch (Exception e) {
-      log.error("Error retrieving basket with name {}: {}", name, e.getMessage(), e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-    }
+          } catch (Exception e) {
+            log.error("Error retrieving basket with name {}: {}", name, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
   }
 
   /**
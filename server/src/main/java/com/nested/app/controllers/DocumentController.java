@@ -1,5 +1,8 @@
 package com.nested.app.controllers;
 
+import com.nested.app.dto.CompleteUploadRequest;
+import com.nested.app.dto.DirectUploadRequest;
+import com.nested.app.dto.DirectUploadResponse;
 import com.nested.app.dto.DocumentDto;
 import com.nested.app.dto.UploadResponse;
 import com.nested.app.enums.DocumentVisibility;
@@ -11,9 +14,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -45,7 +50,7 @@ public class DocumentController {
                     content = @Content(schema = @Schema(implementation = UploadResponse.class)))
     })
     @PostMapping("/upload/{userId}")
-    public ResponseEntity<UploadResponse> uploadDocument(
+    public CompletableFuture<ResponseEntity<UploadResponse>> uploadDocument(
             @Parameter(description = "User ID who owns the document", required = true)
             @PathVariable("userId") String userId,
             @Parameter(description = "File to upload", required = true)
@@ -59,39 +64,88 @@ public class DocumentController {
                 visibilityStr);
 
         if (!StringUtils.hasText(userId)) {
-            return ResponseEntity.badRequest().body(UploadResponse.failure("userId is required"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(UploadResponse.failure("userId is required")));
         }
 
         // SECURITY FIX: Authorization check - users can only upload documents for themselves
         if (!authorizationUtils.isAuthorized(userContext, userId)) {
             log.warn("Unauthorized document upload attempt: user={} attempted to upload for userId={}", 
                     userContext.getUser() != null ? userContext.getUser().getId() : "anonymous", userId);
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(UploadResponse.failure("Access denied: You can only upload documents for yourself"));
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(UploadResponse.failure("Access denied: You can only upload documents for yourself")));
         }
         if (file == null || file.isEmpty()) {
-            return ResponseEntity.badRequest().body(UploadResponse.failure("file is required and cannot be empty"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(UploadResponse.failure("file is required and cannot be empty")));
         }
         if (!StringUtils.hasText(file.getOriginalFilename())) {
-            return ResponseEntity.badRequest().body(UploadResponse.failure("file name is required"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(UploadResponse.failure("file name is required")));
         }
 
         DocumentVisibility visibility = parseVisibilityOrThrow(visibilityStr);
 
-        UploadResponse response = documentService.uploadDocument(userId, file, visibility);
+        return documentService.uploadDocument(userId, file, visibility)
+                .thenApply(response -> toCreatedResponse(userId, response));
+    }
 
-        if (response == null) {
-            log.error("uploadDocument returned null for userId={}, file={}", userId, file.getOriginalFilename());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(UploadResponse.failure("Internal error"));
+    @Operation(summary = "Presign a direct upload",
+            description = "Returns a presigned PUT URL so the client uploads the file straight to S3")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload URL issued",
+                    content = @Content(schema = @Schema(implementation = DirectUploadResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid file metadata"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/uploads/{userId}/presign")
+    public ResponseEntity<DirectUploadResponse> presignUpload(
+            @Parameter(description = "User ID who owns the document", required = true)
+            @PathVariable("userId") String userId,
+            @Valid @RequestBody DirectUploadRequest request) {
+
+        log.info("Received presign request for user={} file={} size={}",
+                userId, request.getFileName(), request.getFileSize());
+
+        if (!authorizationUtils.isAuthorized(userContext, userId)) {
+            log.warn("Unauthorized presign attempt: user={} attempted to upload for userId={}",
+                    userContext.getUser() != null ? userContext.getUser().getId() : "anonymous", userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        if (response.isSuccess()) {
-            String location = "/api/documents/" + userId + "/" + response.getDocumentId();
-            return ResponseEntity.created(URI.create(location)).body(response);
-        } else {
-            return ResponseEntity.badRequest().body(response);
+        DocumentVisibility visibility = parseVisibilityOrThrow(request.getVisibility());
+        return ResponseEntity.ok(documentService.createDirectUpload(userId, request, visibility));
+    }
+
+    @Operation(summary = "Complete a direct upload",
+            description = "Validates the uploaded object and records the document metadata")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Document recorded",
+                    content = @Content(schema = @Schema(implementation = UploadResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Upload missing or failed validation",
+                    content = @Content(schema = @Schema(implementation = UploadResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/uploads/{userId}/complete")
+    public CompletableFuture<ResponseEntity<UploadResponse>> completeUpload(
+            @Parameter(description = "User ID who owns the document", required = true)
+            @PathVariable("userId") String userId,
+            @Valid @RequestBody CompleteUploadRequest request) {
+
+        log.info("Received upload completion for user={} key={}", userId, request.getS3Key());
+
+        if (!authorizationUtils.isAuthorized(userContext, userId)) {
+            log.warn("Unauthorized upload completion attempt: user={} attempted to complete for userId={}",
+                    userContext.getUser() != null ? userContext.getUser().getId() : "anonymous", userId);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(UploadResponse.failure("Access denied: You can only upload documents for yourself")));
         }
+
+        DocumentVisibility visibility = parseVisibilityOrThrow(request.getVisibility());
+
+        return documentService
+                .completeDirectUpload(userId, request.getS3Key(), request.getFileName(), visibility)
+                .thenApply(response -> toCreatedResponse(userId, response));
     }
 
     @Operation(summary = "Get a document", description = "Retrieve a specific document by user ID and document ID")
@@ -154,6 +208,21 @@ public class DocumentController {
     }
 
     // --- helpers ---
+    private ResponseEntity<UploadResponse> toCreatedResponse(String userId, UploadResponse response) {
+        if (response == null) {
+            log.error("Document upload returned null for userId={}", userId);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(UploadResponse.failure("Internal error"));
+        }
+
+        if (response.isSuccess()) {
+            String location = "/api/documents/" + userId + "/" + response.getDocumentId();
+            return ResponseEntity.created(URI.create(location)).body(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     private DocumentVisibility parseVisibilityOrThrow(String visibilityStr) {
         if (!StringUtils.hasText(visibilityStr)) {
             throw new IllegalArgumentException("visibility parameter is required and must be 'public' or 'private'");
@@ -1,6 +1,7 @@
 package com.nested.app.controllers;
 
 import com.nested.app.annotation.AdminOnly;
+import com.nested.app.catalog.ConditionalGet;
 import com.nested.app.dto.EducationDTO;
 import com.nested.app.dto.Entity;
 import com.nested.app.entity.Education;
@@ -13,11 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST Controller for managing Education entities
@@ -44,13 +48,20 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Education", description = "API endpoints for managing education records (colleges and courses)")
 public class EducationController {
 
+    /** The education catalog rarely changes; let clients reuse typeahead results for an hour. */
+    private static final CacheControl EDUCATION_CACHE_CONTROL =
+        CacheControl.maxAge(Duration.ofHours(1)).cachePrivate();
+
     private final EducationService educationService;
+    private final ConditionalGet conditionalGet;
 
   /**
    * Retrieves all education records
    *
    * @param type Optional filter by education type (INSTITUTION or COURSE)
    * @param search Optional search term to filter by name or country
+   * @param page Optional zero-based page number for typeahead paging
+   * @param size Optional page size (max 100)
    * @return ResponseEntity containing list of education records
    */
   @GetMapping
@@ -58,18 +69,34 @@ public class EducationController {
       @Parameter(description = "Filter by education type (INSTITUTION or COURSE)") 
       @RequestParam(required = false) Education.Type type,
       @Parameter(description = "Search term to filter by name or country (case-insensitive)") 
-      @RequestParam(required = false) String search) {
-        log.info("GET /api/v1/education - Retrieving all education records with type: {}, search: {}", type, search);
+      @RequestParam(required = false) String search,
+      @Parameter(description = "Zero-based page number; omit page and size to get all matches")
+      @RequestParam(required = false) Integer page,
+      @Parameter(description = "Page size (max 100)")
+      @RequestParam(required = false) Integer size,
+      WebRequest request) {
+    log.info(
+        "GET /api/v1/education - Retrieving all education records with type: {}, search: {}",
+        type,
+        search);
 
-        try {
-      List<EducationDTO> education = educationService.getAllEducation(type, search);
+    return conditionalGet.respond(
+        request,
+        "education",
+        educationService.getCatalogFingerprint(),
+        EDUCATION_CACHE_CONTROL,
+        () -> {
+          try {
+            List<EducationDTO> education =
+                educationService.searchEducation(type, search, page, size);
             log.info("Successfully retrieved {} education records", education.size());
             return ResponseEntity.ok(Entity.of(education));
-        } catch (Exception e) {
+          } catch (Exception e) {
             log.error("Error retrieving education records: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
+          }
+        });
+  }
 
     /**
      * Retrieves education record by ID
@@ -95,20 +122,28 @@ public class EducationController {
           @ApiResponse(responseCode = "500", description = "Internal server error")
         })
     public ResponseEntity<?> getEducationById(
-        @Parameter(description = "ID of the education record", required = true) @PathVariable Long id) {
+        @Parameter(description = "ID of the education record", required = true) @PathVariable Long id,
+        WebRequest request) {
         log.info("GET /api/v1/education/{} - Retrieving education record details", id);
 
-        try {
-            EducationDTO education = educationService.getEducationById(id);
-            return ResponseEntity.ok(Entity.of(List.of(education)));
-        } catch (IllegalArgumentException e) {
-            log.warn("Education record not found with id: {}", id);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(Map.<String, Object>of("error", e.getMessage()));
-        } catch (Exception e) {
-            log.error("Error retrieving education record: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        return conditionalGet.respond(
+            request,
+            "education",
+            educationService.getCatalogFingerprint(),
+            EDUCATION_CACHE_CONTROL,
+            () -> {
+              try {
+                EducationDTO education = educationService.getEducationById(id);
+                return ResponseEntity.ok(Entity.of(List.of(education)));
+              } catch (IllegalArgumentException e) {
+                log.warn("Education record not found with id: {}", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.<String, Object>of("error", e.getMessage()));
+              } catch (Exception e) {
+                log.error("Error retrieving education record: {}", e.getMessage(), e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+              }
+            });
     }
 
     /**
@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +15,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.nested.app.annotation.AdminOnly;
+import com.nested.app.catalog.ConditionalGet;
+import com.nested.app.catalog.FundQuery;
 import com.nested.app.dto.Entity;
 import com.nested.app.dto.FundDTO;
 import com.nested.app.services.FundService;
@@ -44,13 +48,19 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Funds", description = "API endpoints for managing investment funds")
 public class FundController {
 
+  /** NAVs change daily and labels on admin edits: always revalidate, which is a cheap 304. */
+  private static final CacheControl FUNDS_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
   private final FundService fundService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Retrieves all funds
    *
    * @param pageable Pagination information
    * @param activeOnly Filter for active funds only
+   * @param amcCode Filter by AMC code
+   * @param schemeType Filter by scheme type (category)
    * @return ResponseEntity containing list of funds
    */
   @GetMapping
@@ -65,27 +75,40 @@ public class FundController {
                 @Content(
                     mediaType = "application/json",
                     schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort property"),
         @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
       })
   public ResponseEntity<Entity<FundDTO>> getAllFunds(
       @PageableDefault(sort = "id", size = 100) Pageable pageable,
-      @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
+      @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+      @RequestParam(required = false) String amcCode,
+      @RequestParam(required = false) String schemeType,
+      WebRequest request) {
     
     log.info("GET /api/v1/funds - Retrieving {} funds", activeOnly ? "active" : "all");
 
-    try {
-      List<FundDTO> funds = activeOnly 
-          ? fundService.getActiveFunds(pageable)
-          : fundService.getAllFunds(pageable);
+    return conditionalGet.respond(
+        request,
+        "funds",
+        fundService.getCatalogFingerprint(),
+        FUNDS_CACHE_CONTROL,
+        () -> {
+          try {
+            List<FundDTO> funds =
+                fundService.getFunds(new FundQuery(activeOnly, amcCode, schemeType), pageable);
       
-      log.info("Successfully retrieved {} funds", funds.size());
-      return ResponseEntity.ok(Entity.of(funds));
+            log.info("Successfully retrieved {} funds", funds.size());
+            return ResponseEntity.ok(Entity.of(funds));
       
-    } catch (Exception e) {
-      log.error("Error retrieving funds: {}", e.getMessage(), e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-    }
+          } catch (IllegalArgumentException e) {
+            log.warn("Invalid fund listing request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+          } catch (Exception e) {
+            log.error("Error retrieving funds: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
   }
 
   /**
@@ -113,22 +136,30 @@ public class FundController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
       })
   public ResponseEntity<?> getFundById(
-      @Parameter(description = "Fund ID", required = true) @PathVariable Long id) {
+      @Parameter(description = "Fund ID", required = true) @PathVariable Long id,
+      WebRequest request) {
 
     log.info("GET /api/v1/funds/{} - Retrieving fund details", id);
 
-    try {
-      FundDTO fund = fundService.getFundById(id);
-      return ResponseEntity.ok(Entity.of(List.of(fund)));
+    return conditionalGet.respond(
+        request,
+        "funds",
+        fundService.getCatalogFingerprint(),
+        FUNDS_CACHE_CONTROL,
+        () -> {
+          try {
+            FundDTO fund = fundService.getFundById(id);
+            return ResponseEntity.ok(Entity.of(List.of(fund)));
       
-    } catch (IllegalArgumentException e) {
-      log.warn("Fund not found with ID: {}", id);
-      return ResponseEntity.status(HttpStatus.NOT_FOUND)
-          .body(Map.<String, Object>of("error", e.getMessage()));
-    } catch (Exception e) {
-      log.error("Error retrieving fund with ID {}: {}", id, e.getMessage(), e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-    }
+          } catch (IllegalArgumentException e) {
+            log.warn("Fund not found with ID: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.<String, Object>of("error", e.getMessage()));
+          } catch (Exception e) {
+            log.error("Error retrieving fund with ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+          }
+        });
   }
 
   /**
@@ -1,9 +1,12 @@
 package com.nested.app.controllers;
 
+import com.nested.app.annotation.Throttled;
+import com.nested.app.dto.MfaDeliveryStatusResponse;
 import com.nested.app.dto.MfaStartRequest;
 import com.nested.app.dto.MfaStartResponse;
 import com.nested.app.dto.MfaVerifyRequest;
 import com.nested.app.dto.MfaVerifyResponse;
+import com.nested.app.enums.ThrottleClass;
 import com.nested.app.services.MfaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,6 +23,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -34,6 +39,7 @@ public class MfaController {
 
   private final MfaService mfaService;
 
+  @Throttled(ThrottleClass.OTP)
   @PostMapping("/start")
   @Operation(
       summary = "Start MFA session",
@@ -60,10 +66,12 @@ public class MfaController {
         mfaService.startMfaSession(
             userId, request.getAction(), request.getChannel(), httpRequest, request.getEmail());
 
-    MfaStartResponse response = new MfaStartResponse(sessionId, "OTP sent successfully");
+    // Delivery completes after this response; see GET /{sessionId}/delivery
+    MfaStartResponse response = new MfaStartResponse(sessionId, "OTP is being sent");
     return ResponseEntity.ok(response);
   }
 
+  @Throttled(ThrottleClass.MFA_VERIFY)
   @PostMapping("/verify")
   @Operation(
       summary = "Verify MFA OTP",
@@ -90,6 +98,24 @@ public class MfaController {
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/{sessionId}/delivery")
+  @Operation(
+      summary = "Get OTP delivery status",
+      description =
+          "Returns whether the OTP of an MFA session was sent, sent via email fallback, or failed")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Delivery status returned",
+        content = @Content(schema = @Schema(implementation = MfaDeliveryStatusResponse.class))),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Invalid MFA session")
+  })
+  public ResponseEntity<MfaDeliveryStatusResponse> getDeliveryStatus(
+      @PathVariable("sessionId") UUID sessionId) {
+    return ResponseEntity.ok(mfaService.getOtpDeliveryStatus(getCurrentUserId(), sessionId));
+  }
+
   /**
    * Gets the current authenticated user's Firebase UID
    *
@@ -1,8 +1,10 @@
 package com.nested.app.controllers;
 
+import com.nested.app.annotation.Throttled;
 import com.nested.app.client.bulkpe.dto.ReversePennyDropResponse;
 import com.nested.app.context.UserContext;
 import com.nested.app.dto.UserActionRequest;
+import com.nested.app.enums.ThrottleClass;
 import com.nested.app.services.ReversePennyDropService;
 import com.nested.app.utils.AuthorizationUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +37,7 @@ public class ReversePennyDropController {
   private final UserContext userContext;
   private final AuthorizationUtils authorizationUtils;
 
+  @Throttled(ThrottleClass.BANK_VERIFICATION)
   @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   @Operation(
       summary = "Initiate reverse penny drop",
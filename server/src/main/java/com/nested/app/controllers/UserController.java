@@ -1,6 +1,7 @@
 package com.nested.app.controllers;
 
 import com.nested.app.annotation.RequiresMfa;
+import com.nested.app.annotation.Throttled;
 import com.nested.app.context.UserContext;
 import com.nested.app.dto.BankAccountDto;
 import com.nested.app.dto.EmailUpdateRequest;
@@ -11,6 +12,7 @@ import com.nested.app.dto.PreVerificationData;
 import com.nested.app.dto.UserActionRequest;
 import com.nested.app.dto.UserDTO;
 import com.nested.app.entity.User;
+import com.nested.app.enums.ThrottleClass;
 import com.nested.app.services.InvestorService;
 import com.nested.app.services.KycService;
 import com.nested.app.services.PreVerificationService;
@@ -116,6 +118,7 @@ public class UserController {
     return ResponseEntity.ok(updatedUser);
   }
 
+  @Throttled(ThrottleClass.ONBOARDING)
   @PostMapping("/{user_id}/actions/create_investor")
   @Operation(
       tags = "user",
@@ -153,6 +156,7 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).build();
   }
 
+  @Throttled(ThrottleClass.ONBOARDING)
   @PostMapping("/{user_id}/actions/init_kyc")
   @Operation(
       tags = "user",
@@ -185,6 +189,7 @@ public class UserController {
     return ResponseEntity.ok().build();
   }
 
+  @Throttled(ThrottleClass.ONBOARDING)
   @PostMapping(
       value = "/{user_id}/actions/aadhaar_upload",
       produces = MediaType.APPLICATION_JSON_VALUE)
@@ -225,6 +230,7 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  @Throttled(ThrottleClass.ONBOARDING)
   @PostMapping(
       value = "/{user_id}/actions/esign_upload",
       produces = MediaType.APPLICATION_JSON_VALUE)
@@ -261,6 +267,7 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  @Throttled(ThrottleClass.BANK_VERIFICATION)
   @PostMapping(value = "/{user_id}/banks", consumes = MediaType.APPLICATION_JSON_VALUE)
   @Operation(
       tags = "bank-account",
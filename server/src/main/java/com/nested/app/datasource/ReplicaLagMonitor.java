@@ -0,0 +1,80 @@
+package com.nested.app.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures how far the read replica is behind the primary and whether it is usable for reads.
+ * The replica is usable while the last check succeeded and its replay lag is at most {@code
+ * app.datasource.replica.max-lag}; otherwise {@link WorkloadRoutingDataSource} sends read-only
+ * work to the primary until a later check passes again. The lag is exported as {@code
+ * db.replica.lag} (seconds, NaN while unreachable, infinite while not replicating).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+  /**
+   * Seconds since the last replayed transaction, or 0 when everything received has been replayed
+   * (an idle primary produces no new transactions, so the replay timestamp alone would grow). The
+   * equal-LSN shortcut only holds while the WAL receiver is streaming: a disconnected or stalled
+   * receiver also leaves the two positions equal, so without a streaming receiver the replica
+   * counts as infinitely behind. A stalled stream ends within {@code wal_receiver_timeout}.
+   */
+  private static final String LAG_QUERY =
+      "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+          + " WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')"
+          + " THEN 'Infinity'::float8"
+          + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)"
+          + " END";
+
+  private final JdbcTemplate replica;
+  private final double maxLagSeconds;
+
+  private volatile double lagSeconds = Double.NaN;
+  private volatile boolean usable;
+
+  public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+    this.replica = new JdbcTemplate(replica);
+    this.replica.setQueryTimeout(2);
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    Gauge.builder("db.replica.lag", this, monitor -> monitor.lagSeconds)
+        .baseUnit("seconds")
+        .description("Replication lag of the read replica")
+        .register(meterRegistry);
+  }
+
+  /** Whether read-only work may currently go to the replica. */
+  public boolean isUsable() {
+    return usable;
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+  public void check() {
+    boolean wasUsable = usable;
+    try {
+      Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+      lagSeconds = lag != null ? lag : Double.NaN;
+      usable = lag != null && lag <= maxLagSeconds;
+    } catch (RuntimeException e) {
+      lagSeconds = Double.NaN;
+      usable = false;
+      if (wasUsable) {
+        log.warn("Read replica unreachable, routing reads to primary: {}", e.getMessage());
+      }
+      return;
+    }
+    if (wasUsable != usable) {
+      log.warn(
+          "Read replica {} (lag {}s, max {}s)",
+          usable ? "back in rotation" : "lagging, routing reads to primary",
+          lagSeconds,
+          maxLagSeconds);
+    }
+  }
+}
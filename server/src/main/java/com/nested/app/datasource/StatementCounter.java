@@ -0,0 +1,55 @@
+package com.nested.app.datasource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares, for load tests ({@code app.load-test.enabled}).
+ * Keeps a process-wide total and, between {@link #start()} and {@link #stop()}, a count for the
+ * current thread. Statements issued through {@code JdbcTemplate} or Spring Batch are not seen.
+ */
+@Component
+@ConditionalOnProperty("app.load-test.enabled")
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+  private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+  private final LongAdder total = new LongAdder();
+
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+  }
+
+  @Override
+  public String inspect(String sql) {
+    total.increment();
+    long[] current = CURRENT.get();
+    if (current != null) {
+      current[0]++;
+    }
+    return sql;
+  }
+
+  /** Starts counting the statements of the current thread, e.g. for one request. */
+  public void start() {
+    CURRENT.set(new long[1]);
+  }
+
+  /** Statements since {@link #start()} on this thread; 0 when counting was not started. */
+  public long stop() {
+    long[] current = CURRENT.get();
+    CURRENT.remove();
+    return current == null ? 0 : current[0];
+  }
+
+  /** Statements prepared by all threads since startup. */
+  public long total() {
+    return total.sum();
+  }
+}
@@ -0,0 +1,80 @@
+package com.nested.app.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Kind of work the current thread is doing, used by {@link WorkloadRoutingDataSource} to pick the
+ * connection pool. Threads are {@link #INTERACTIVE} unless marked otherwise; Quartz workers and
+ * {@code @Scheduled} tasks are marked {@link #BACKGROUND} (see {@code DataSourceConfig} and {@code
+ * QuartzConfig}) so nightly jobs draw from their own pool and never queue up request threads.
+ * {@code @Async} executors carry the submitting thread's workload ({@link #propagate}).
+ */
+public enum Workload {
+  INTERACTIVE,
+  BACKGROUND;
+
+  private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+  /** Workload of the current thread. */
+  public static Workload current() {
+    Workload workload = CURRENT.get();
+    return workload != null ? workload : INTERACTIVE;
+  }
+
+  /**
+   * Marks the current thread; callers restore the previous value with {@link #restore}.
+   *
+   * @return previous workload, or null if none was set
+   */
+  public static Workload enter(Workload workload) {
+    Workload previous = CURRENT.get();
+    CURRENT.set(workload);
+    return previous;
+  }
+
+  public static void restore(Workload previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /** Wraps a task so it runs as background work. */
+  public static Runnable background(Runnable task) {
+    return with(BACKGROUND, task);
+  }
+
+  /**
+   * Wraps a task so it runs with the workload of the thread that wraps it. Used as the task
+   * decorator of executors, so {@code @Async} work started by a job stays on the jobs pool.
+   */
+  public static Runnable propagate(Runnable task) {
+    return with(current(), task);
+  }
+
+  public static Runnable with(Workload workload, Runnable task) {
+    return () -> {
+      Workload previous = enter(workload);
+      try {
+        task.run();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * Runs a task as {@code workload} on the current thread. For callbacks on threads no decorator
+   * reaches, such as Reactor Netty event loops: capture {@link #current()} when assembling the
+   * pipeline and run the callback's database work through this.
+   */
+  public static <T> T call(Workload workload, Supplier<T> task) {
+    Workload previous = enter(workload);
+    try {
+      return task.get();
+    } finally {
+      restore(previous);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.nested.app.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the connection pool for each connection:
+ *
+ * <ul>
+ *   <li>{@code @Transactional(readOnly = true)} work goes to the read replica, when one is
+ *       configured;
+ *   <li>everything else goes to the primary, through the jobs pool for {@link Workload#BACKGROUND}
+ *       threads and the API pool otherwise.
+ * </ul>
+ *
+ * <p>Reads stay on the primary when:
+ *
+ * <ul>
+ *   <li>the replica is lagging or unreachable ({@link ReplicaLagMonitor}), or
+ *   <li>the current user committed a write within {@code sticky-window}, so they read their own
+ *       writes. Stickiness is tracked per instance, keyed by the caller's Firebase UID.
+ * </ul>
+ *
+ * <p>Must be wrapped in a {@link LazyConnectionDataSourceProxy}: the transaction manager opens the
+ * connection before the read-only flag is bound to the thread, and the proxy defers choosing a
+ * target until the first statement. Routing decisions are counted in {@code
+ * db.routing.connections} (tags {@code target} and {@code reason}).
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+  private enum Target {
+    API,
+    JOBS,
+    REPLICA
+  }
+
+  private static final String METRIC = "db.routing.connections";
+
+  private final ReplicaLagMonitor lagMonitor;
+  private final Cache<String, Boolean> recentWriters;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * @param apiPool primary pool for interactive requests
+   * @param jobsPool primary pool for background work
+   * @param replica read replica pool, or null to serve reads from the primary
+   * @param lagMonitor replica lag monitor, required when {@code replica} is set
+   * @param stickyWindow how long a user's reads stay on the primary after their commit
+   */
+  public WorkloadRoutingDataSource(
+      DataSource apiPool,
+      DataSource jobsPool,
+      DataSource replica,
+      ReplicaLagMonitor lagMonitor,
+      Duration stickyWindow,
+      MeterRegistry meterRegistry) {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Target.API, apiPool);
+    targets.put(Target.JOBS, jobsPool);
+    if (replica != null) {
+      targets.put(Target.REPLICA, replica);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(apiPool);
+    setLenientFallback(false);
+
+    this.lagMonitor = replica != null ? lagMonitor : null;
+    this.recentWriters =
+        Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(stickyWindow).build();
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    String userId = currentUserId();
+    String reason;
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      rememberWrite(userId);
+      reason = "write";
+    } else if (lagMonitor == null) {
+      reason = "read";
+    } else if (userId != null && recentWriters.getIfPresent(userId) != null) {
+      reason = "sticky";
+    } else if (!lagMonitor.isUsable()) {
+      reason = "lagging";
+    } else {
+      return count(Target.REPLICA, "read");
+    }
+    return count(Workload.current() == Workload.BACKGROUND ? Target.JOBS : Target.API, reason);
+  }
+
+  private Target count(Target target, String reason) {
+    meterRegistry
+        .counter(METRIC, "target", target.name().toLowerCase(), "reason", reason)
+        .increment();
+    return target;
+  }
+
+  /** Makes the user's reads sticky to the primary once this write transaction commits. */
+  private void rememberWrite(String userId) {
+    if (userId == null || lagMonitor == null) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Auto-commit statement outside a managed transaction: visible on the primary right away
+      recentWriters.put(userId, Boolean.TRUE);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            recentWriters.put(userId, Boolean.TRUE);
+          }
+        });
+  }
+
+  private static String currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+      return jwt.getSubject();
+    }
+    return null;
+  }
+}
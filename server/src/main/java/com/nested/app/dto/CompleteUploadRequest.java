@@ -0,0 +1,26 @@
+package com.nested.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Confirms a direct upload so the document is recorded")
+public class CompleteUploadRequest {
+
+  @NotBlank(message = "Storage key is required")
+  @Schema(description = "Storage key returned by the presign call")
+  private String s3Key;
+
+  @NotBlank(message = "File name is required")
+  @Schema(description = "Original file name", example = "pan-card.pdf")
+  private String fileName;
+
+  @NotBlank(message = "Visibility is required")
+  @Schema(description = "Document visibility (PUBLIC or PRIVATE)", example = "PRIVATE")
+  private String visibility;
+}
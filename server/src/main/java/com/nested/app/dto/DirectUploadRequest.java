@@ -0,0 +1,33 @@
+package com.nested.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request for a presigned URL to upload a document directly to storage")
+public class DirectUploadRequest {
+
+  @NotBlank(message = "File name is required")
+  @Schema(description = "Original file name", example = "pan-card.pdf")
+  private String fileName;
+
+  @NotBlank(message = "Content type is required")
+  @Schema(description = "Content type of the file", example = "application/pdf")
+  private String contentType;
+
+  @NotNull(message = "File size is required")
+  @Positive(message = "File size must be positive")
+  @Schema(description = "File size in bytes", example = "245760")
+  private Long fileSize;
+
+  @NotBlank(message = "Visibility is required")
+  @Schema(description = "Document visibility (PUBLIC or PRIVATE)", example = "PRIVATE")
+  private String visibility;
+}
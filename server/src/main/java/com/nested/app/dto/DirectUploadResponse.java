@@ -0,0 +1,27 @@
+package com.nested.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Presigned PUT for uploading a document directly to storage")
+public class DirectUploadResponse {
+
+  @Schema(description = "Storage key to send back when completing the upload")
+  private String s3Key;
+
+  @Schema(description = "URL to PUT the file body to")
+  private String uploadUrl;
+
+  @Schema(description = "Headers that must be sent with the PUT")
+  private Map<String, String> headers;
+
+  @Schema(description = "When the upload URL expires")
+  private Instant expiresAt;
+}
@@ -0,0 +1,12 @@
+package com.nested.app.dto;
+
+import java.math.BigDecimal;
+
+/** Units summed per goal and fund, for holdings and sell reservations. */
+public interface GoalFundUnitsProjection {
+  Long getGoalId();
+
+  Long getFundId();
+
+  BigDecimal getUnits();
+}
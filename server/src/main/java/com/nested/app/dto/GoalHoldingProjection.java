@@ -1,11 +1,11 @@
 package com.nested.app.dto;
 
-import com.nested.app.entity.Transaction;
-import com.nested.app.enums.TransactionStatus;
+import java.math.BigDecimal;
 
 /**
  * Projection interface for goal holdings aggregated at the database level Used to efficiently
- * retrieve fund-wise holdings data with a single SQL query
+ * retrieve fund-wise holdings data with a single SQL query. Sums over the ledger columns are exact
+ * decimals.
  *
  * @author Nested App Team
  * @version 1.0
@@ -15,13 +15,13 @@ public interface GoalHoldingProjection {
 
   String getFundLabel();
 
-  Double getTotalUnits();
+  BigDecimal getTotalUnits();
 
-  Double getInvestedAmount();
+  BigDecimal getInvestedAmount();
 
   Double getCurrentNav();
 
-  Double getAverageNav();
+  BigDecimal getAverageNav();
 
-  Double getCurrentValue();
+  BigDecimal getCurrentValue();
 }
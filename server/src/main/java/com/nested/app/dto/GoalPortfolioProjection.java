@@ -1,5 +1,7 @@
 package com.nested.app.dto;
 
+import java.math.BigDecimal;
+
 /**
  * Projection interface for goal portfolio aggregated at the database level. Used to efficiently
  * retrieve goal-level portfolio metrics with a single SQL query.
@@ -14,5 +16,5 @@ public interface GoalPortfolioProjection {
 
   Double getTargetAmount();
 
-  Double getInvestedAmount();
+  BigDecimal getInvestedAmount();
 }
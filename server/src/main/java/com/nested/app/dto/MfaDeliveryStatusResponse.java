@@ -0,0 +1,21 @@
+package com.nested.app.dto;
+
+import com.nested.app.enums.MfaChannel;
+import com.nested.app.enums.OtpDeliveryStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "OTP delivery status of an MFA session")
+public class MfaDeliveryStatusResponse {
+
+  @Schema(description = "Delivery status", example = "SENT")
+  private OtpDeliveryStatus deliveryStatus;
+
+  @Schema(description = "Channel the OTP was sent on, set once delivered", example = "SMS")
+  private MfaChannel deliveryChannel;
+}
@@ -2,6 +2,7 @@ package com.nested.app.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nested.app.catalog.CatalogBasket;
 import com.nested.app.entity.Basket;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -37,4 +38,13 @@ public class MinifiedBasketDto {
         basket.getMinSIPAmount(),
         minStepUp);
   }
+
+  public static MinifiedBasketDto fromCatalog(CatalogBasket basket) {
+    return new MinifiedBasketDto(
+        basket.id(),
+        basket.title(),
+        basket.minInvestment(),
+        basket.minSip(),
+        basket.minStepUp());
+  }
 }
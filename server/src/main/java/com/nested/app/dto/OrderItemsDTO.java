@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nested.app.entity.OrderItems;
 import com.nested.app.entity.SIPOrder;
 import com.nested.app.enums.TransactionStatus;
+import com.nested.app.utils.FixedPoint;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import lombok.Data;
 
@@ -26,7 +28,7 @@ public class OrderItemsDTO {
   private String fundName;
 
   @JsonProperty("amount")
-  private Double amount;
+  private BigDecimal amount;
 
   @JsonProperty("ref")
   private String ref;
@@ -35,10 +37,10 @@ public class OrderItemsDTO {
   private Long paymentRef;
 
   @JsonProperty("units")
-  private Double units;
+  private BigDecimal units;
 
   @JsonProperty("unit_price")
-  private Double unitPrice;
+  private BigDecimal unitPrice;
 
   @JsonProperty("order_id")
   private Long orderId;
@@ -65,11 +67,12 @@ public class OrderItemsDTO {
     dto.setId(orderItems.getId());
     dto.setFundId(orderItems.getFund() != null ? orderItems.getFund().getId() : null);
     dto.setFundName(orderItems.getFund() != null ? orderItems.getFund().getName() : null);
-    dto.setAmount(orderItems.getAmount());
+    dto.setAmount(FixedPoint.toDecimal(orderItems.getAmount(), FixedPoint.AMOUNT_SCALE));
     dto.setRef(orderItems.getRef());
     dto.setPaymentRef(orderItems.getPaymentRef());
-    dto.setUnits(orderItems.getUnits());
-    dto.setUnitPrice(orderItems.getUnitPrice());
+    dto.setUnits(FixedPoint.toDecimalOrNull(orderItems.getUnits(), FixedPoint.UNITS_SCALE));
+    dto.setUnitPrice(
+        FixedPoint.toDecimalOrNull(orderItems.getUnitPrice(), FixedPoint.PRICE_SCALE));
     dto.setOrderId(orderItems.getOrder() != null ? orderItems.getOrder().getId() : null);
     dto.setUserId(orderItems.getUser() != null ? orderItems.getUser().getId() : null);
     dto.setProcessingState(
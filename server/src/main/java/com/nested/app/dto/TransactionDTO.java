@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.enums.TransactionType;
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,13 +27,13 @@ public class TransactionDTO {
   private String fundLabel;
 
   private TransactionType type;
-  private Double units;
+  private BigDecimal units;
   private TransactionStatus status;
 
   @JsonProperty("unit_price")
-  private Double unitPrice;
+  private BigDecimal unitPrice;
 
-  private Double amount;
+  private BigDecimal amount;
 
   @JsonProperty("executed_at")
   @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
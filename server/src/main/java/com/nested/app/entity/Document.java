@@ -41,7 +41,7 @@ public class Document {
     @Column(nullable = false)
     private String fileName;
     
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String s3Key;
     
     @Column(nullable = false)
@@ -0,0 +1,53 @@
+package com.nested.app.entity;
+
+import com.nested.app.utils.FixedPoint;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Maps scaled longs (see {@link FixedPoint}) to NUMERIC columns of the same scale. Pick the
+ * subclass matching the column: {@link Amount}, {@link Units} or {@link Price}.
+ */
+public abstract class FixedPointConverter implements AttributeConverter<Long, BigDecimal> {
+
+  private final int scale;
+
+  protected FixedPointConverter(int scale) {
+    this.scale = scale;
+  }
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long attribute) {
+    return attribute == null ? null : FixedPoint.toDecimal(attribute, scale);
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal column) {
+    return column == null ? null : FixedPoint.of(column, scale);
+  }
+
+  /** Rupees as paise, NUMERIC(15, 2) */
+  @Converter
+  public static class Amount extends FixedPointConverter {
+    public Amount() {
+      super(FixedPoint.AMOUNT_SCALE);
+    }
+  }
+
+  /** Fund units, NUMERIC(18, 4) */
+  @Converter
+  public static class Units extends FixedPointConverter {
+    public Units() {
+      super(FixedPoint.UNITS_SCALE);
+    }
+  }
+
+  /** NAV, NUMERIC(14, 4) */
+  @Converter
+  public static class Price extends FixedPointConverter {
+    public Price() {
+      super(FixedPoint.PRICE_SCALE);
+    }
+  }
+}
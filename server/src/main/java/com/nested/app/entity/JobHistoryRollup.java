@@ -0,0 +1,69 @@
+package com.nested.app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-minute execution summary for one high-frequency job class on one scheduler instance. Replaces
+ * individual {@link JobHistory} rows for successful poller executions; failures are still recorded
+ * in full.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(
+    name = "job_history_rollup",
+    indexes = {
+      @Index(
+          name = "idx_job_history_rollup_job_class_bucket",
+          columnList = "job_class, bucket_start"),
+      @Index(name = "idx_job_history_rollup_bucket_start", columnList = "bucket_start")
+    })
+public class JobHistoryRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "job_class", nullable = false, length = 255)
+  private String jobClass;
+
+  @Column(name = "bucket_start", nullable = false)
+  private Timestamp bucketStart;
+
+  @Column(name = "instance_id", nullable = false, length = 255)
+  private String instanceId;
+
+  @Column(nullable = false)
+  private Integer executions;
+
+  @Column(nullable = false)
+  private Integer failures;
+
+  @Column(name = "total_duration_ms", nullable = false)
+  private Long totalDurationMs;
+
+  @Column(name = "p50_ms", nullable = false)
+  private Long p50Ms;
+
+  @Column(name = "p95_ms", nullable = false)
+  private Long p95Ms;
+
+  @Column(name = "p99_ms", nullable = false)
+  private Long p99Ms;
+
+  @Column(name = "max_ms", nullable = false)
+  private Long maxMs;
+}
@@ -2,6 +2,7 @@ package com.nested.app.entity;
 
 import com.nested.app.enums.MfaChannel;
 import com.nested.app.enums.MfaStatus;
+import com.nested.app.enums.OtpDeliveryStatus;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -75,6 +76,22 @@ public class MfaSession {
   @Builder.Default
   private MfaStatus status = MfaStatus.PENDING;
 
+  @Enumerated(EnumType.STRING)
+  @Column(name = "delivery_status", nullable = false, length = 20)
+  @Builder.Default
+  private OtpDeliveryStatus deliveryStatus = OtpDeliveryStatus.PENDING;
+
+  /** Channel the OTP actually went out on; differs from {@code channel} after a fallback. */
+  @Enumerated(EnumType.STRING)
+  @Column(name = "delivery_channel", length = 20)
+  private MfaChannel deliveryChannel;
+
+  @Column(name = "delivered_at")
+  private Timestamp deliveredAt;
+
+  @Column(name = "delivery_error")
+  private String deliveryError;
+
   @Column(name = "device_id", length = 64)
   private String deviceId;
 
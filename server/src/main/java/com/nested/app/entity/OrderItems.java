@@ -1,6 +1,7 @@
 package com.nested.app.entity;
 
 import com.nested.app.enums.TransactionStatus;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -17,6 +18,7 @@ import org.hibernate.annotations.Filter;
 /**
  * Represents an individual allocation within an Order. Units and unitPrice are populated
  * post-success (after external confirmation). processingState tracks internal enrichment lifecycle.
+ * Amounts, units and prices are fixed-point longs, see {@link com.nested.app.utils.FixedPoint}.
  */
 @Data
 @Entity
@@ -31,8 +33,9 @@ public class OrderItems {
   @JoinColumn(name = "fund_id")
   private Fund fund;
 
-  /** Monetary amount allocated to this fund for the parent order */
-  private double amount;
+  /** Monetary amount allocated to this fund for the parent order, in paise */
+  @Convert(converter = FixedPointConverter.Amount.class)
+  private long amount;
 
   /** Provider reference id once order is placed */
   private String ref;
@@ -41,10 +44,19 @@ public class OrderItems {
   private Long paymentRef;
 
   /** Executed units (set after order success) */
-  private Double units;
+  @Convert(converter = FixedPointConverter.Units.class)
+  private Long units;
 
   /** Execution NAV (price per unit) */
-  private Double unitPrice;
+  @Convert(converter = FixedPointConverter.Price.class)
+  private Long unitPrice;
+
+  /**
+   * Units a sell item holds back from its goal's holdings while in flight: the requested units, or
+   * the amount at the NAV of the day it was placed. Null for purchases.
+   */
+  @Convert(converter = FixedPointConverter.Units.class)
+  private Long reservedUnits;
 
   @ManyToOne
   @JoinColumn(name = "order_id")
@@ -3,6 +3,7 @@ package com.nested.app.entity;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.enums.TransactionType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -22,7 +23,8 @@ import org.hibernate.annotations.UpdateTimestamp;
  * Investment transaction ledger row capturing all executed investment activities. Represents a
  * single immutable ledger entry for an investment action (BUY, SIP, SELL, SWP). Each row captures
  * the executed units and price at the time of fulfillment to preserve historical cost basis and
- * enable accurate portfolio aggregation.
+ * enable accurate portfolio aggregation. Units, prices and amounts are fixed-point longs, see
+ * {@link com.nested.app.utils.FixedPoint}.
  */
 @Data
 @Entity
@@ -66,20 +68,26 @@ public class Transaction {
 
   /** Signed units: positive for acquisitions (BUY/SIP), negative for disposals (SELL/SWP) */
   @Column(nullable = false)
-  private Double units;
+  @Convert(converter = FixedPointConverter.Units.class)
+  private Long units;
 
   /** Per-unit execution price (NAV) captured at trade time */
   @Column(nullable = false)
-  private Double unitPrice;
+  @Convert(converter = FixedPointConverter.Price.class)
+  private Long unitPrice;
 
-  /** Absolute monetary value = |units * unitPrice| */
+  /** Absolute monetary value = |units * unitPrice|, in paise */
   @Column(nullable = false)
-  private Double amount;
+  @Convert(converter = FixedPointConverter.Amount.class)
+  private Long amount;
 
   /** External reference (provider order id / payment ref) backing this transaction */
   private String externalRef;
 
-  /** Source order item id (for mapping legacy order items to transactions) */
+  /**
+   * Source order item id (for mapping legacy order items to transactions). Unique together with
+   * {@link #externalRef}; fulfillment jobs upsert on that pair.
+   */
   private Long sourceOrderItemId;
 
   /** Actual execution timestamp (can differ from row creation if backfilled) */
@@ -0,0 +1,8 @@
+package com.nested.app.enums;
+
+/** Delivery channel of an outgoing notification; each channel has its own rate limit. */
+public enum NotificationChannel {
+  EMAIL,
+  SMS,
+  WHATSAPP
+}
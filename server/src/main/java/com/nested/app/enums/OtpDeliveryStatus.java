@@ -0,0 +1,16 @@
+package com.nested.app.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Delivery state of the OTP of an MFA session; delivery happens after the session commits. */
+@RequiredArgsConstructor
+public enum OtpDeliveryStatus {
+  PENDING("PENDING"),
+  SENT("SENT"),
+  FALLBACK_SENT("FALLBACK_SENT"),
+  FAILED("FAILED");
+
+  @JsonValue @Getter private final String value;
+}
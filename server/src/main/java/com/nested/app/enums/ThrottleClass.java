@@ -0,0 +1,31 @@
+package com.nested.app.enums;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Endpoint classes sharing a request budget. Each class allows {@code userLimit} requests per
+ * Firebase UID and {@code ipLimit} per client IP within {@code period}; both can be overridden
+ * with {@code throttle.<property>.user-limit}, {@code .ip-limit} and {@code .period}.
+ *
+ * <p>The per-UID budget is the real limit. Mobile carriers put thousands of subscribers behind one
+ * CGNAT address, so {@code ipLimit} is only a loose ceiling against a single host cycling through
+ * accounts.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ThrottleClass {
+  /** Starting MFA sessions; every call sends a paid SMS/WhatsApp/email. */
+  OTP("otp", 5, 500, Duration.ofMinutes(10)),
+  MFA_VERIFY("mfa-verify", 20, 1000, Duration.ofMinutes(10)),
+  /** Investor creation, KYC and e-sign/Aadhaar steps backed by the KYC provider. */
+  ONBOARDING("onboarding", 10, 500, Duration.ofHours(1)),
+  /** Bank account additions and penny drops. */
+  BANK_VERIFICATION("bank-verification", 5, 300, Duration.ofHours(1));
+
+  private final String property;
+  private final int userLimit;
+  private final int ipLimit;
+  private final Duration period;
+}
@@ -0,0 +1,7 @@
+package com.nested.app.events;
+
+/**
+ * Published after baskets or their fund allocations are written, so the in-memory basket catalog
+ * can be rebuilt. Delivered after commit when published inside a transaction.
+ */
+public record BasketCatalogChangedEvent(String reason) {}
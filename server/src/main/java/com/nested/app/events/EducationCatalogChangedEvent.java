@@ -0,0 +1,7 @@
+package com.nested.app.events;
+
+/**
+ * Published after education records are created, updated or deleted, so the in-memory search
+ * index can be rebuilt. Delivered after commit when published inside a transaction.
+ */
+public record EducationCatalogChangedEvent(String reason) {}
@@ -0,0 +1,7 @@
+package com.nested.app.events;
+
+/**
+ * Published after funds or their NAVs are written, so the in-memory fund catalog can be rebuilt.
+ * Delivered after commit when published inside a transaction, immediately otherwise.
+ */
+public record FundCatalogChangedEvent(String reason) {}
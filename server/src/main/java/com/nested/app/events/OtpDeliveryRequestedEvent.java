@@ -0,0 +1,17 @@
+package com.nested.app.events;
+
+import com.nested.app.enums.MfaChannel;
+import java.util.UUID;
+
+/**
+ * Published when an MFA session is created. Carries the plain OTP in memory only; it is delivered
+ * once the session has committed and is never persisted.
+ */
+public record OtpDeliveryRequestedEvent(
+    UUID sessionId, String userId, MfaChannel channel, String destination, String otp) {
+
+  @Override
+  public String toString() {
+    return "OtpDeliveryRequestedEvent[sessionId=" + sessionId + ", channel=" + channel + "]";
+  }
+}
@@ -8,6 +8,7 @@ import java.util.List;
  * confirmation email to the user.
  */
 public record SipActivatedEvent(
+    Long paymentId,
     User user,
     Double totalSipAmount,
     String goalOrChildName,
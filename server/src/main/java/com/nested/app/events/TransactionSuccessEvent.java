@@ -8,4 +8,4 @@ import com.nested.app.enums.TransactionType;
  * email notifications to users.
  */
 public record TransactionSuccessEvent(
-    User user, String fundName, Double amount, TransactionType type) {}
+    Long transactionId, User user, String fundName, Double amount, TransactionType type) {}
@@ -3,12 +3,16 @@ package com.nested.app.filter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nested.app.annotation.RequiresMfa;
 import com.nested.app.services.MfaService;
+import com.nested.app.services.MfaTokenSigner;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
@@ -16,6 +20,7 @@ import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -32,9 +37,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Slf4j
 public class MfaEnforcementFilter implements WebMvcConfigurer, HandlerInterceptor {
 
+  private static final String MFA_CLAIMS_ATTRIBUTE =
+      MfaEnforcementFilter.class.getName() + ".claims";
+
   private final MfaService mfaService;
   private final ObjectMapper objectMapper;
 
+  /** {@code @RequiresMfa} per handler method; empty when the method is not protected. */
+  private final Map<Method, Optional<RequiresMfa>> requiresMfaByMethod = new ConcurrentHashMap<>();
+
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     registry
@@ -57,7 +68,13 @@ public class MfaEnforcementFilter implements WebMvcConfigurer, HandlerIntercepto
 
     // Check if handler method has @RequiresMfa annotation
     RequiresMfa requiresMfa =
-        AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequiresMfa.class);
+        requiresMfaByMethod
+            .computeIfAbsent(
+                handlerMethod.getMethod(),
+                method ->
+                    Optional.ofNullable(
+                        AnnotatedElementUtils.findMergedAnnotation(method, RequiresMfa.class)))
+            .orElse(null);
     if (requiresMfa == null) {
       // No MFA required for this endpoint
       return true;
@@ -80,9 +97,12 @@ public class MfaEnforcementFilter implements WebMvcConfigurer, HandlerIntercepto
 
     // Validate MFA token
     String requiredAction = requiresMfa.action();
-    boolean isValid = mfaService.validateMfaToken(mfaToken, requiredAction);
+    String userId =
+        authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : null;
+    Optional<MfaTokenSigner.Claims> claims =
+        mfaService.validateMfaToken(mfaToken, requiredAction, userId);
 
-    if (!isValid) {
+    if (claims.isEmpty()) {
       log.warn(
           "Invalid MFA token for endpoint: {}, action: {}",
           request.getRequestURI(),
@@ -91,10 +111,35 @@ public class MfaEnforcementFilter implements WebMvcConfigurer, HandlerIntercepto
       return false;
     }
 
-    // MFA token is valid, continue
+    // MFA token is valid, continue; it is consumed once the action succeeds
+    request.setAttribute(MFA_CLAIMS_ATTRIBUTE, claims.get());
     return true;
   }
 
+  @Override
+  public void afterCompletion(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler,
+      Exception ex) {
+    if (!(request.getAttribute(MFA_CLAIMS_ATTRIBUTE) instanceof MfaTokenSigner.Claims claims)) {
+      return;
+    }
+    // Failed requests keep the token so the client can retry without a new OTP
+    if (ex != null || response.getStatus() >= 400) {
+      return;
+    }
+    try {
+      mfaService.consumeMfaToken(claims);
+    } catch (Exception e) {
+      log.error(
+          "Failed to record MFA token use: sessionId={}: {}",
+          claims.sessionId(),
+          e.getMessage(),
+          e);
+    }
+  }
+
   /**
    * Sends 403 response with MFA_REQUIRED error code
    *
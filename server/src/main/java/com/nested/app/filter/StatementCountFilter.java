@@ -0,0 +1,60 @@
+package com.nested.app.filter;
+
+import com.nested.app.datasource.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the number of statements each load-test request issues, as the {@code
+ * loadtest.db.statements} summary tagged with the request's {@value #SCENARIO_HEADER} header. Only
+ * requests carrying the header are counted; read the results from {@code
+ * /actuator/metrics/loadtest.db.statements?tag=scenario:<name>}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty("app.load-test.enabled")
+public class StatementCountFilter extends OncePerRequestFilter {
+
+  public static final String SCENARIO_HEADER = "X-Load-Scenario";
+
+  // Scenario names become tag values; anything else is folded into one tag
+  private static final Pattern SCENARIO_NAME = Pattern.compile("[a-z0-9_]{1,40}");
+
+  private final StatementCounter statementCounter;
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return request.getHeader(SCENARIO_HEADER) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    String scenario = request.getHeader(SCENARIO_HEADER);
+    statementCounter.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      DistributionSummary.builder("loadtest.db.statements")
+          .description("SQL statements prepared per request")
+          .tag("scenario", SCENARIO_NAME.matcher(scenario).matches() ? scenario : "other")
+          .register(meterRegistry)
+          .record(statementCounter.stop());
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package com.nested.app.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nested.app.annotation.Throttled;
+import com.nested.app.enums.ThrottleClass;
+import com.nested.app.utils.IpUtils;
+import com.nested.app.utils.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Rate limits endpoints annotated with {@link Throttled}. Each call draws one token from the
+ * bucket of the caller's Firebase UID and one from the bucket of its client IP ({@link IpUtils});
+ * if either is empty the call is rejected with 429 and a {@code Retry-After} hint before any
+ * controller, database or provider work happens. Rejections are counted in {@code
+ * throttle.rejected} (tags {@code class} and {@code scope=user|ip}).
+ *
+ * <p>Buckets live in memory per pod, one per key, each with its own lock, and are evicted once
+ * idle for a full period (when they would be full again anyway).
+ */
+@Slf4j
+@Component
+public class ThrottlingInterceptor implements WebMvcConfigurer, HandlerInterceptor {
+
+  private record Limit(int userLimit, int ipLimit, Duration period) {}
+
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final Map<ThrottleClass, Limit> limits = new EnumMap<>(ThrottleClass.class);
+  private final Cache<String, TokenBucket> buckets;
+
+  /** {@code @Throttled} per handler method; empty when the method is not throttled. */
+  private final Map<Method, Optional<Throttled>> throttledByMethod = new ConcurrentHashMap<>();
+
+  public ThrottlingInterceptor(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      Environment environment,
+      @Value("${throttle.enabled:true}") boolean enabled,
+      @Value("${throttle.max-tracked-keys:200000}") long maxTrackedKeys) {
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    for (ThrottleClass throttleClass : ThrottleClass.values()) {
+      String prefix = "throttle." + throttleClass.getProperty() + ".";
+      limits.put(
+          throttleClass,
+          new Limit(
+              environment.getProperty(
+                  prefix + "user-limit", Integer.class, throttleClass.getUserLimit()),
+              environment.getProperty(prefix + "ip-limit", Integer.class, throttleClass.getIpLimit()),
+              environment.getProperty(prefix + "period", Duration.class, throttleClass.getPeriod())));
+    }
+    Duration longestPeriod =
+        limits.values().stream().map(Limit::period).max(Duration::compareTo).orElseThrow();
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .expireAfterAccess(longestPeriod.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // Ahead of MFA enforcement so rejected calls do no token validation either
+    registry.addInterceptor(this).addPathPatterns("/**").order(Ordered.HIGHEST_PRECEDENCE);
+  }
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler)
+      throws Exception {
+    if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+
+    Throttled throttled =
+        throttledByMethod
+            .computeIfAbsent(
+                handlerMethod.getMethod(),
+                method ->
+                    Optional.ofNullable(
+                        AnnotatedElementUtils.findMergedAnnotation(method, Throttled.class)))
+            .orElse(null);
+    if (throttled == null) {
+      return true;
+    }
+
+    String clientAddress = IpUtils.getClientAddress(request);
+    OptionalLong retryAfter =
+        tryAcquire(
+            throttled.value(), currentUserId(), clientAddress != null ? clientAddress : "unknown");
+    if (retryAfter.isEmpty()) {
+      return true;
+    }
+
+    log.warn(
+        "Throttled {} request to {} (retry after {}s)",
+        throttled.value(),
+        request.getRequestURI(),
+        retryAfter.getAsLong());
+    sendTooManyRequests(response, retryAfter.getAsLong());
+    return false;
+  }
+
+  /**
+   * Takes a token from the user bucket (when authenticated) and the IP bucket.
+   *
+   * @return empty if the call may proceed, otherwise seconds until it may be retried
+   */
+  OptionalLong tryAcquire(ThrottleClass throttleClass, String userId, String ip) {
+    Limit limit = limits.get(throttleClass);
+    TokenBucket userBucket =
+        userId == null ? null : bucket(throttleClass, "uid:" + userId, limit.userLimit(), limit);
+    if (userBucket != null && !userBucket.tryAcquire()) {
+      return rejected(throttleClass, "user", userBucket);
+    }
+    TokenBucket ipBucket = bucket(throttleClass, "ip:" + ip, limit.ipLimit(), limit);
+    if (!ipBucket.tryAcquire()) {
+      if (userBucket != null) {
+        // The call does not happen, so it must not count against the user either
+        userBucket.release(1);
+      }
+      return rejected(throttleClass, "ip", ipBucket);
+    }
+    return OptionalLong.empty();
+  }
+
+  private TokenBucket bucket(ThrottleClass throttleClass, String key, int capacity, Limit limit) {
+    return buckets.get(
+        throttleClass.name() + ":" + key,
+        k -> new TokenBucket(capacity, capacity / (double) limit.period().toSeconds()));
+  }
+
+  private OptionalLong rejected(ThrottleClass throttleClass, String scope, TokenBucket bucket) {
+    meterRegistry
+        .counter("throttle.rejected", "class", throttleClass.getProperty(), "scope", scope)
+        .increment();
+    return OptionalLong.of(
+        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable()) + 1));
+  }
+
+  private static String currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
+      return jwt.getSubject();
+    }
+    return null;
+  }
+
+  private void sendTooManyRequests(HttpServletResponse response, long retryAfterSeconds)
+      throws IOException {
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType("application/json");
+    response.setCharacterEncoding("UTF-8");
+
+    Map<String, Object> errorResponse = new HashMap<>();
+    errorResponse.put("timestamp", LocalDateTime.now());
+    errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+    errorResponse.put("error", "TOO_MANY_REQUESTS");
+    errorResponse.put("message", "Too many requests, retry after " + retryAfterSeconds + "s");
+    errorResponse.put("retryAfterSeconds", retryAfterSeconds);
+
+    objectMapper.writeValue(response.getWriter(), errorResponse);
+  }
+}
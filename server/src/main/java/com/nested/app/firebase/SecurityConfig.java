@@ -7,6 +7,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
@@ -24,22 +25,19 @@ public class SecurityConfig {
     this.corsConfigurationSource = corsConfigurationSource;
   }
 
+  /** Actuator, called by probes and by the admin server with HTTP basic. */
   @Order(1)
   @Bean
-  public SecurityFilterChain adminSecurityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
     http
-        .securityMatcher("/admin-monitor/**", "/actuator/**")
+        .securityMatcher("/actuator/**")
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
             .anyRequest().authenticated()
         )
-        .formLogin(form -> form.loginPage("/admin-monitor/login").permitAll())
-        .logout(logout -> logout
-            .logoutUrl("/admin-monitor/logout")
-            .logoutSuccessUrl("/admin-monitor/login")
-        )
         .httpBasic(Customizer.withDefaults())
-        .csrf(csrf -> csrf.ignoringRequestMatchers("/admin-monitor/**", "/actuator/**"))
+        .csrf(AbstractHttpConfigurer::disable)
+        .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .userDetailsService(new InMemoryUserDetailsManager(
             User.withUsername(adminUsername)
                 .password("{noop}" + adminPassword)
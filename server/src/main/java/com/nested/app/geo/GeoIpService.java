@@ -0,0 +1,178 @@
+package com.nested.app.geo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
+import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.GeoIp2Exception;
+import com.maxmind.geoip2.model.CityResponse;
+import com.nested.app.utils.IpUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * City-level GeoIP lookups against a local MaxMind database ({@code geoip.database-path}); without
+ * one configured every lookup is empty and callers fall back to their remote lookup.
+ *
+ * <p>The database is opened memory-mapped, so lookups are served from the page cache without
+ * reading the file onto the heap, and decoded nodes are kept in MaxMind's bounded node cache.
+ * Results per address are cached in front of that ({@code geoip.cache.*}, metrics under {@code
+ * geoip.lookups}). The file is checked every {@code geoip.reload-interval}; when its timestamp or
+ * size changes a new reader is opened and swapped in and the result cache is cleared.
+ * geoipupdate replaces the file by rename, so the old mapping stays valid for in-flight lookups and
+ * is only closed one check later.
+ *
+ * <p>Only KYC creation looks addresses up, so the service (and the database mapping) is created on
+ * the first lookup rather than at startup.
+ */
+@Slf4j
+@Lazy
+@Component
+public class GeoIpService {
+
+  /** Location of an address; fields are null when the database has no value for them. */
+  public record GeoLocation(Double latitude, Double longitude, String countryIsoCode, String city) {}
+
+  private record Database(DatabaseReader reader, long lastModified, long size) {}
+
+  private final Path databasePath;
+  private final int nodeCacheSize;
+  private final Cache<InetAddress, Optional<GeoLocation>> lookups;
+
+  private volatile Database current;
+  private Database retired;
+
+  public GeoIpService(
+      @Value("${geoip.database-path:}") String databasePath,
+      @Value("${geoip.node-cache-size:4096}") int nodeCacheSize,
+      @Value("${geoip.cache.max-size:50000}") long maxSize,
+      @Value("${geoip.cache.ttl:1h}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.databasePath = databasePath.isBlank() ? null : Path.of(databasePath);
+    this.nodeCacheSize = nodeCacheSize;
+    this.lookups =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, lookups, "geoip.lookups");
+  }
+
+  @PostConstruct
+  void open() {
+    if (databasePath == null) {
+      log.info("No GeoIP database configured (geoip.database-path), GeoIP lookups disabled");
+      return;
+    }
+    reloadIfChanged();
+  }
+
+  /** Returns true when a database is loaded. */
+  public boolean isAvailable() {
+    return current != null;
+  }
+
+  /**
+   * Looks up an address literal. Host names are never resolved.
+   *
+   * @param ip IPv4 or IPv6 literal
+   * @return location, empty if no database is loaded or the address is unknown or not a literal
+   */
+  public Optional<GeoLocation> lookup(String ip) {
+    Database database = current;
+    if (database == null) {
+      return Optional.empty();
+    }
+    InetAddress address = IpUtils.toInetAddress(ip);
+    if (address == null) {
+      return Optional.empty();
+    }
+    // Failed lookups return null and are not cached
+    Optional<GeoLocation> location = lookups.get(address, key -> find(database, key));
+    return location != null ? location : Optional.empty();
+  }
+
+  private Optional<GeoLocation> find(Database database, InetAddress address) {
+    try {
+      return database.reader().tryCity(address).map(GeoIpService::toLocation);
+    } catch (IOException | GeoIp2Exception | UnsupportedOperationException e) {
+      log.warn("GeoIP lookup failed for {}: {}", address.getHostAddress(), e.getMessage());
+      return null;
+    }
+  }
+
+  private static GeoLocation toLocation(CityResponse response) {
+    return new GeoLocation(
+        response.getLocation().getLatitude(),
+        response.getLocation().getLongitude(),
+        response.getCountry().getIsoCode(),
+        response.getCity().getName());
+  }
+
+  /** Opens the database again if the file changed since it was last opened. */
+  @Scheduled(
+      initialDelayString = "${geoip.reload-interval:5m}",
+      fixedDelayString = "${geoip.reload-interval:5m}")
+  public synchronized void reloadIfChanged() {
+    if (databasePath == null) {
+      return;
+    }
+    closeQuietly(retired);
+    retired = null;
+
+    Database loaded = current;
+    try {
+      long lastModified = Files.getLastModifiedTime(databasePath).toMillis();
+      long size = Files.size(databasePath);
+      if (loaded != null && loaded.lastModified() == lastModified && loaded.size() == size) {
+        return;
+      }
+
+      DatabaseReader reader =
+          new DatabaseReader.Builder(databasePath.toFile())
+              .fileMode(Reader.FileMode.MEMORY_MAPPED)
+              .withCache(new CHMCache(nodeCacheSize))
+              .build();
+      current = new Database(reader, lastModified, size);
+      lookups.invalidateAll();
+      retired = loaded;
+      log.info(
+          "Loaded GeoIP database {} ({}, built {})",
+          databasePath,
+          reader.getMetadata().getDatabaseType(),
+          reader.getMetadata().getBuildDate());
+    } catch (IOException e) {
+      log.error("Failed to load GeoIP database {}: {}", databasePath, e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  synchronized void close() {
+    closeQuietly(retired);
+    closeQuietly(current);
+    retired = null;
+    current = null;
+  }
+
+  private static void closeQuietly(Database database) {
+    if (database == null) {
+      return;
+    }
+    try {
+      database.reader().close();
+    } catch (IOException e) {
+      log.debug("Failed to close GeoIP database: {}", e.getMessage());
+    }
+  }
+}
@@ -10,16 +10,14 @@ import com.nested.app.entity.OrderItems;
 import com.nested.app.entity.Transaction;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.enums.TransactionType;
-import com.nested.app.events.GoalSyncEvent;
-import com.nested.app.events.TransactionSuccessEvent;
 import com.nested.app.mapper.OrderStateMapper;
 import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.OrderItemsRepository;
-import com.nested.app.repository.TransactionRepository;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import com.nested.app.services.TransactionIngestService;
+import com.nested.app.utils.FixedPoint;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -33,15 +31,14 @@ import org.quartz.JobExecutionException;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.slf4j.MDC;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
  * Quartz job that periodically checks the status of an external BUY order and, upon success,
  * distributes allotted units and records Transaction entries. It ensures: - Idempotent unit/price
- * population (skips if already set) - Precise unit distribution (equal or proportional) with
- * rounding remainder adjustment - Safe transaction creation guarded by duplicate checks
- * (sourceOrderItemId)
+ * population (skips if already set) - Exact fixed-point unit distribution (equal or proportional)
+ * with rounding remainder adjustment - Idempotent transaction upserts through {@link
+ * TransactionIngestService}, keyed on the order item and its ref
  */
 @Slf4j
 @Component
@@ -49,15 +46,11 @@ import org.springframework.stereotype.Component;
 @DisallowConcurrentExecution
 public class BuyOrderFulfillmentJob implements Job {
 
-  private static final int DECIMAL_SCALE = 4;
-  private static final int CALCULATION_SCALE = 8;
-
   private final BuyOrderApiClient buyOrderAPIClient;
   private final OrderItemsRepository orderItemsRepository;
   private final Scheduler scheduler;
-  private final TransactionRepository transactionRepository;
+  private final TransactionIngestService transactionIngestService;
   private final FolioRepository folioRepository;
-  private final ApplicationEventPublisher publisher;
 
   @Override
   public void execute(JobExecutionContext context) throws JobExecutionException {
@@ -133,67 +126,21 @@ public class BuyOrderFulfillmentJob implements Job {
       return;
     }
 
-    double totalAmount = calculateTotalAmount(orderItems);
-    BigDecimal totalUnitsBD = BigDecimal.valueOf(totalAllottedUnits);
-
-    if (totalAmount <= 0) {
-      distributeUnitsEqually(orderItems, totalUnitsBD);
-    } else {
-      distributeUnitsProportionally(orderItems, totalUnitsBD, totalAmount);
-    }
-  }
-
-  private double calculateTotalAmount(List<OrderItems> orderItems) {
-    return orderItems.stream().mapToDouble(i -> i.getAmount() != 0 ? i.getAmount() : 0).sum();
+    distributeUnits(orderItems, FixedPoint.units(totalAllottedUnits));
   }
 
   /**
-   * Split total units evenly; last item absorbs any rounding drift ensuring exact sum conservation.
-   * CALCULATION_SCALE provides high precision during division; DECIMAL_SCALE is final persisted
-   * precision.
+   * Allocate units proportional to monetary amount per item, or evenly when no item has an amount;
+   * last item receives the remainder so the shares add up to the allotment exactly.
    */
-  protected void distributeUnitsEqually(List<OrderItems> orderItems, BigDecimal totalUnits) {
-    BigDecimal sizeBD = BigDecimal.valueOf(orderItems.size());
-    BigDecimal baseShareRaw = totalUnits.divide(sizeBD, CALCULATION_SCALE, RoundingMode.HALF_UP);
-    BigDecimal distributed = BigDecimal.ZERO;
-    for (int idx = 0; idx < orderItems.size(); idx++) {
-      BigDecimal unitsForItem;
-      if (idx == orderItems.size() - 1) {
-        unitsForItem = totalUnits.subtract(distributed); // exact remainder
-      } else {
-        unitsForItem = baseShareRaw.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP);
-        distributed = distributed.add(unitsForItem);
-      }
-      orderItems.get(idx).setUnits(unitsForItem.doubleValue());
+  protected void distributeUnits(List<OrderItems> orderItems, long totalUnits) {
+    long[] amounts = new long[orderItems.size()];
+    for (int idx = 0; idx < amounts.length; idx++) {
+      amounts[idx] = orderItems.get(idx).getAmount();
     }
-  }
-
-  /**
-   * Allocate units proportional to monetary amount per item; last item receives remainder to handle
-   * rounding.
-   */
-  protected void distributeUnitsProportionally(
-      List<OrderItems> orderItems, BigDecimal totalUnits, double totalAmount) {
-    BigDecimal distributed = BigDecimal.ZERO;
-    BigDecimal totalAmountBD = BigDecimal.valueOf(totalAmount);
-
-    for (int idx = 0; idx < orderItems.size(); idx++) {
-      var item = orderItems.get(idx);
-      double amount = item.getAmount() != 0 ? item.getAmount() : 0;
-      BigDecimal unitsForItem;
-
-      if (idx == orderItems.size() - 1) {
-        // Assign remainder to last item to fix rounding drift
-        unitsForItem = totalUnits.subtract(distributed);
-      } else {
-        unitsForItem =
-            totalUnits
-                .multiply(BigDecimal.valueOf(amount))
-                .divide(totalAmountBD, CALCULATION_SCALE, RoundingMode.HALF_UP);
-        distributed = distributed.add(unitsForItem);
-      }
-
-      item.setUnits(unitsForItem.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP).doubleValue());
+    long[] shares = FixedPoint.allocate(totalUnits, amounts);
+    for (int idx = 0; idx < shares.length; idx++) {
+      orderItems.get(idx).setUnits(shares[idx]);
     }
   }
 
@@ -205,13 +152,13 @@ public class BuyOrderFulfillmentJob implements Job {
       return;
     }
 
-    orderItems.forEach(item -> item.setUnitPrice(purchasedPrice));
+    long unitPrice = FixedPoint.price(purchasedPrice);
+    orderItems.forEach(item -> item.setUnitPrice(unitPrice));
   }
 
   private void createTransactionsForOrderItems(List<OrderItems> orderItems, OrderData order) {
-    // Idempotent transaction creation: skip if repository missing (test context) or already exists.
     // Negative units logic for SELL/SWP can be added here when disposal flows are implemented.
-    if (transactionRepository == null) { // test context may not inject
+    if (transactionIngestService == null) { // test context may not inject
       return;
     }
 
@@ -221,56 +168,41 @@ public class BuyOrderFulfillmentJob implements Job {
       folio = getOrCreateFolio(order.getFolioRef(), orderItems);
     }
 
-    int created = 0;
+    var status = OrderStateMapper.toTransactionStatus(order.getState());
+    // TODO: fix executedAt handling
+    var executedAt = Timestamp.from(Instant.now());
+    List<Transaction> transactions = new ArrayList<>(orderItems.size());
     for (var item : orderItems) {
-      log.info("Creating transaction for item {}", item.getId());
-
-      var txn =
-          transactionRepository.findBySourceOrderItemId(item.getId()).orElseGet(Transaction::new);
-
-      if (txn.getId() != null) {
-        log.info("transaction {} already exists for orderItemId {} ", txn.getId(), item.getId());
-      }
-
+      var txn = new Transaction();
       txn.setUser(item.getUser());
       txn.setGoal(item.getOrder() != null ? item.getOrder().getGoal() : null);
       txn.setFund(item.getFund());
       txn.setFolio(folio); // associate with folio
       txn.setType(TransactionType.BUY);
-      txn.setUnits(Objects.requireNonNullElse(item.getUnits(), 0d));
-      txn.setUnitPrice(Objects.requireNonNullElse(item.getUnitPrice(), 0d));
+      txn.setUnits(Objects.requireNonNullElse(item.getUnits(), 0L));
+      txn.setUnitPrice(Objects.requireNonNullElse(item.getUnitPrice(), 0L));
       txn.setExternalRef(item.getRef());
       txn.setSourceOrderItemId(item.getId());
-      // TODO: fix executedAt handling
-      txn.setExecutedAt(Timestamp.from(Instant.now()));
-      txn.setStatus(OrderStateMapper.toTransactionStatus(order.getState()));
-      if (!Objects.equals(TransactionStatus.COMPLETED, txn.getStatus())) {
+      txn.setExecutedAt(executedAt);
+      txn.setStatus(status);
+      if (!Objects.equals(TransactionStatus.COMPLETED, status)) {
         txn.setAmount(item.getAmount());
       } else {
-        txn.setAmount(Math.abs(txn.getUnits() * txn.getUnitPrice()));
+        txn.setAmount(Math.abs(FixedPoint.amountFor(txn.getUnits(), txn.getUnitPrice())));
       }
-      txn.setGoal(item.getOrder() != null ? item.getOrder().getGoal() : null);
-      transactionRepository.save(txn);
-      if (txn.getGoal() != null) {
-        publisher.publishEvent(new GoalSyncEvent(txn.getGoal().getId(), txn.getUser()));
-      } else {
-        log.warn("goal not populated for transaction {}", txn.getId());
-      }
-      if (txn.getStatus() == TransactionStatus.COMPLETED) {
-        // Send transaction success email notification
-        publisher.publishEvent(
-            new TransactionSuccessEvent(
-                txn.getUser(),
-                txn.getFund() != null ? txn.getFund().getName() : null,
-                txn.getAmount(),
-                txn.getType()));
-        log.info("Transaction {} has been completed", txn.getId());
-      }
-      log.info("Transaction {} synced with status {}", txn.getId(), txn.getStatus());
-      created++;
+      transactions.add(txn);
     }
-    if (created > 0) {
-      log.info("Created {} transaction(s) from order items", created);
+
+    // Replays of an unchanged order are a single read; goals are synced once each
+    var written =
+        transactionIngestService.ingest(transactions, TransactionIngestService.Mode.UPSERT);
+    if (!written.isEmpty()) {
+      log.info(
+          "Synced {} of {} transaction(s) with status {} for order {}",
+          written.size(),
+          transactions.size(),
+          status,
+          order.getRef());
     }
   }
 
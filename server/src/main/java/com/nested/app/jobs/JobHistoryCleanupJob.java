@@ -1,6 +1,8 @@
 package com.nested.app.jobs;
 
+import com.nested.app.annotation.WorkerOnly;
 import com.nested.app.repository.JobHistoryRepository;
+import com.nested.app.repository.JobHistoryRollupRepository;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -18,10 +20,13 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
+@WorkerOnly
 public class JobHistoryCleanupJob {
 
   @Autowired private JobHistoryRepository jobHistoryRepository;
 
+  @Autowired private JobHistoryRollupRepository jobHistoryRollupRepository;
+
   @Value("${job.history.retention.days:30}")
   private int retentionDays;
 
@@ -36,10 +41,12 @@ public class JobHistoryCleanupJob {
           Timestamp.from(Instant.now().minus(retentionDays, ChronoUnit.DAYS));
 
       int deletedCount = jobHistoryRepository.deleteByStartTimeBefore(cutoffTimestamp);
+      int deletedRollups = jobHistoryRollupRepository.deleteByBucketStartBefore(cutoffTimestamp);
 
       log.info(
-          "Job history cleanup completed. Deleted {} records older than {}",
+          "Job history cleanup completed. Deleted {} records and {} rollups older than {}",
           deletedCount,
+          deletedRollups,
           cutoffTimestamp);
 
     } catch (Exception e) {
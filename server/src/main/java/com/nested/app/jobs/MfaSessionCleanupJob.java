@@ -1,56 +1,94 @@
 package com.nested.app.jobs;
 
-import com.nested.app.entity.MfaSession;
-import com.nested.app.enums.MfaStatus;
+import com.nested.app.annotation.WorkerOnly;
+import com.nested.app.repository.MfaAttemptRepository;
 import com.nested.app.repository.MfaSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.function.IntSupplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-/** Scheduled job to clean up expired MFA sessions older than 24 hours. Runs every 6 hours. */
+/**
+ * Scheduled job to clean up MFA sessions and attempts older than the retention period (24 hours by
+ * default). Runs every 6 hours.
+ *
+ * <p>Rows are deleted set-based in chunks of {@code mfa.cleanup.batch-size}, each chunk in its own
+ * short transaction, and a run stops after {@code mfa.cleanup.max-batches} chunks per table, so
+ * time and memory stay bounded regardless of backlog; the next run continues where this one
+ * stopped. Rows purged per table ({@code mfa.cleanup.rows}) and run duration ({@code
+ * mfa.cleanup.duration}) are published as metrics.
+ */
 @Slf4j
 @Component
+@WorkerOnly
 @RequiredArgsConstructor
 public class MfaSessionCleanupJob {
 
   private final MfaSessionRepository mfaSessionRepository;
+  private final MfaAttemptRepository mfaAttemptRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${mfa.cleanup.retention-hours:24}")
+  private int retentionHours;
+
+  @Value("${mfa.cleanup.batch-size:5000}")
+  private int batchSize;
+
+  @Value("${mfa.cleanup.max-batches:200}")
+  private int maxBatches;
 
   @Scheduled(fixedDelayString = "6h")
-  @Transactional
   public void cleanupExpiredSessions() {
+    Timer.Sample sample = Timer.start(meterRegistry);
     try {
       log.info("Starting MFA session cleanup job");
 
-      // Calculate cutoff time (24 hours ago)
-      Timestamp cutoffTime = Timestamp.from(Instant.now().minusSeconds(24 * 60 * 60));
-
-      // Find expired sessions
-      List<MfaSession> expiredSessions =
-          mfaSessionRepository.findExpiredSessions(MfaStatus.PENDING, cutoffTime);
-      expiredSessions.addAll(
-          mfaSessionRepository.findExpiredSessions(MfaStatus.VERIFIED, cutoffTime));
-      expiredSessions.addAll(
-          mfaSessionRepository.findExpiredSessions(MfaStatus.FAILED, cutoffTime));
-      expiredSessions.addAll(
-          mfaSessionRepository.findExpiredSessions(MfaStatus.EXPIRED, cutoffTime));
-
-      // Delete expired sessions (cascade will delete attempts)
-      int deletedCount = 0;
-      for (MfaSession session : expiredSessions) {
-        if (session.getCreatedAt().before(cutoffTime)) {
-          mfaSessionRepository.delete(session);
-          deletedCount++;
-        }
-      }
+      Timestamp cutoffTime = Timestamp.from(Instant.now().minus(retentionHours, ChronoUnit.HOURS));
+
+      // Attempts first so sessions delete cheaply; any stragglers go through the cascade
+      long attempts =
+          purge(
+              "mfa_attempts",
+              () -> mfaAttemptRepository.deleteChunkAttemptedBefore(cutoffTime, batchSize));
+      long sessions =
+          purge(
+              "mfa_sessions",
+              () -> mfaSessionRepository.deleteChunkCreatedBefore(cutoffTime, batchSize));
 
-      log.info("MFA session cleanup completed: deleted {} sessions", deletedCount);
+      log.info(
+          "MFA session cleanup completed: deleted {} sessions and {} attempts older than {}",
+          sessions,
+          attempts,
+          cutoffTime);
     } catch (Exception e) {
       log.error("Error executing MFA session cleanup job: {}", e.getMessage(), e);
+    } finally {
+      sample.stop(meterRegistry.timer("mfa.cleanup.duration"));
+    }
+  }
+
+  /** Runs chunked deletes until a chunk comes back short or the per-run cap is reached. */
+  private long purge(String table, IntSupplier deleteChunk) {
+    long total = 0;
+    for (int batch = 0; batch < maxBatches; batch++) {
+      int deleted = deleteChunk.getAsInt();
+      total += deleted;
+      meterRegistry.counter("mfa.cleanup.rows", "table", table).increment(deleted);
+      if (deleted < batchSize) {
+        return total;
+      }
     }
+    log.warn(
+        "MFA cleanup of {} stopped after {} batches; the backlog continues next run",
+        table,
+        maxBatches);
+    return total;
   }
 }
@@ -0,0 +1,86 @@
+package com.nested.app.jobs;
+
+import com.nested.app.annotation.WorkerOnly;
+import com.nested.app.datasource.StatementCounter;
+import com.nested.app.services.FundSyncScheduler;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobExecutionException;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the nightly jobs on demand for load tests ({@code app.load-test.enabled}): {@code POST
+ * /actuator/nightlyjobs/{job}} runs the job on the calling thread and reports its duration and the
+ * statements prepared meanwhile. The count is process-wide, so run jobs while no other load is
+ * applied.
+ */
+@Slf4j
+@Component
+@WorkerOnly
+@Endpoint(id = "nightlyjobs")
+@ConditionalOnProperty("app.load-test.enabled")
+public class NightlyJobsEndpoint {
+
+  /** A job's entry point; some declare {@link JobExecutionException}. */
+  @FunctionalInterface
+  interface JobRun {
+    void run() throws JobExecutionException;
+  }
+
+  private final Map<String, JobRun> jobs = new LinkedHashMap<>();
+  private final StatementCounter statementCounter;
+
+  public NightlyJobsEndpoint(
+      FundSyncScheduler fundSyncScheduler,
+      SchemeWiseReportSyncJob schemeWiseReportSyncJob,
+      SipCycleReconcilerJob sipCycleReconcilerJob,
+      SipDueSchedulesJob sipDueSchedulesJob,
+      JobHistoryCleanupJob jobHistoryCleanupJob,
+      StatementCounter statementCounter) {
+    this.statementCounter = statementCounter;
+    // In nightly order
+    jobs.put("fund-sync", fundSyncScheduler::syncFunds);
+    jobs.put("scheme-wise-report", schemeWiseReportSyncJob::execute);
+    jobs.put("job-history-cleanup", jobHistoryCleanupJob::execute);
+    jobs.put("sip-cycle-reconciler", sipCycleReconcilerJob::execute);
+    jobs.put("sip-due-schedules", sipDueSchedulesJob::execute);
+  }
+
+  @ReadOperation
+  public Set<String> jobs() {
+    return jobs.keySet();
+  }
+
+  @WriteOperation
+  public Map<String, Object> run(@Selector String job) {
+    JobRun run = jobs.get(job);
+    if (run == null) {
+      String message = "Unknown job " + job + ", expected one of " + jobs();
+      throw new InvalidEndpointRequestException(message, message);
+    }
+    log.info("Running nightly job {} on demand", job);
+    long statementsBefore = statementCounter.total();
+    long startTime = System.currentTimeMillis();
+    String error = null;
+    try {
+      run.run();
+    } catch (Exception e) {
+      log.error("Nightly job {} failed: {}", job, e.getMessage(), e);
+      error = e.getMessage();
+    }
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("job", job);
+    result.put("durationMs", System.currentTimeMillis() - startTime);
+    result.put("statements", statementCounter.total() - statementsBefore);
+    result.put("error", error);
+    return result;
+  }
+}
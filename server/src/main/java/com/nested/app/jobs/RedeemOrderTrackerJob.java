@@ -8,6 +8,7 @@ import com.nested.app.enums.TransactionType;
 import com.nested.app.events.GoalSyncEvent;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
 import java.util.List;
 import java.util.Objects;
 import lombok.AllArgsConstructor;
@@ -103,9 +104,9 @@ public class RedeemOrderTrackerJob implements Job {
       transactions.forEach(
           transaction -> {
             TransactionStatus previousStatus = transaction.getStatus();
-            transaction.setUnits(-Objects.requireNonNullElse(orderData.getRedeemedUnits(), 0d));
-            transaction.setUnitPrice(Objects.requireNonNullElse(orderData.getRedeemedPrice(), 0d));
-            transaction.setAmount(-Objects.requireNonNullElse(orderData.getRedeemedAmount(), 0d));
+            transaction.setUnits(-redeemedUnits(orderData));
+            transaction.setUnitPrice(redeemedPrice(orderData));
+            transaction.setAmount(-redeemedAmount(orderData));
 
             switch (orderData.getState()) {
               case CREATED, PENDING, UNDER_REVIEW:
@@ -217,12 +218,9 @@ public class RedeemOrderTrackerJob implements Job {
                   transaction.setFund(oi.getFund());
                   transaction.setType(TransactionType.SELL);
                   transaction.setStatus(TransactionStatus.VERIFICATION_PENDING);
-                  transaction.setUnits(
-                      -Objects.requireNonNullElse(orderData.getRedeemedUnits(), 0d));
-                  transaction.setUnitPrice(
-                      Objects.requireNonNullElse(orderData.getRedeemedPrice(), 0d));
-                  transaction.setAmount(
-                      -Objects.requireNonNullElse(orderData.getRedeemedAmount(), 0d));
+                  transaction.setUnits(-redeemedUnits(orderData));
+                  transaction.setUnitPrice(redeemedPrice(orderData));
+                  transaction.setAmount(-redeemedAmount(orderData));
                   transaction.setExecutedAt(orderData.getSubmittedAt());
                   transaction.setSourceOrderItemId(oi.getId());
 
@@ -250,6 +248,18 @@ public class RedeemOrderTrackerJob implements Job {
     return transactions;
   }
 
+  private static long redeemedUnits(OrderData orderData) {
+    return FixedPoint.units(Objects.requireNonNullElse(orderData.getRedeemedUnits(), 0d));
+  }
+
+  private static long redeemedPrice(OrderData orderData) {
+    return FixedPoint.price(Objects.requireNonNullElse(orderData.getRedeemedPrice(), 0d));
+  }
+
+  private static long redeemedAmount(OrderData orderData) {
+    return FixedPoint.amount(Objects.requireNonNullElse(orderData.getRedeemedAmount(), 0d));
+  }
+
   private void deleteJob(JobExecutionContext context) throws JobExecutionException {
     try {
       scheduler.deleteJob(context.getJobDetail().getKey());
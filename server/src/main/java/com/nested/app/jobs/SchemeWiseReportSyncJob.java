@@ -1,5 +1,6 @@
 package com.nested.app.jobs;
 
+import com.nested.app.annotation.WorkerOnly;
 import com.nested.app.services.SchemeWiseReportService;
 import com.nested.app.services.SchemeWiseReportService.ReportFetchSummary;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
  */
 @Slf4j
 @Component
+@WorkerOnly
 @RequiredArgsConstructor
 @DisallowConcurrentExecution
 public class SchemeWiseReportSyncJob {
@@ -24,7 +26,7 @@ public class SchemeWiseReportSyncJob {
    * Executes daily at 2:00 AM to fetch scheme-wise reports for all investors. Cron expression: "0 0
    * 2 * * ?" = Every day at 2:00:00 AM
    */
-  @Scheduled(cron = "0 0 2 * * ?")
+  @Scheduled(cron = "${jobs.scheme-wise-report.cron:0 0 2 * * ?}")
   public void execute() {
     log.info("Starting SchemeWiseReportSyncJob execution");
     long startTime = System.currentTimeMillis();
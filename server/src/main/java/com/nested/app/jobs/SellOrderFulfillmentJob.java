@@ -11,8 +11,7 @@ import com.nested.app.events.TransactionSuccessEvent;
 import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.TransactionRepository;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import com.nested.app.utils.FixedPoint;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
@@ -42,9 +41,6 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SellOrderFulfillmentJob implements Job {
 
-  private static final int DECIMAL_SCALE = 4;
-  private static final int CALCULATION_SCALE = 8;
-
   private final SellOrderApiClient sellOrderApiClient;
   private final OrderItemsRepository orderItemsRepository;
   private final Scheduler scheduler;
@@ -122,65 +118,21 @@ public class SellOrderFulfillmentJob implements Job {
     }
 
     // For sell orders, units should be negative
-    double totalAmount = calculateTotalAmount(orderItems);
-    BigDecimal totalUnitsBD = BigDecimal.valueOf(-Math.abs(totalAllottedUnits)); // Ensure negative
-
-    if (totalAmount <= 0) {
-      distributeUnitsEqually(orderItems, totalUnitsBD);
-    } else {
-      distributeUnitsProportionally(orderItems, totalUnitsBD, totalAmount);
-    }
-  }
-
-  private double calculateTotalAmount(List<OrderItems> orderItems) {
-    return orderItems.stream().mapToDouble(i -> i.getAmount() != 0 ? i.getAmount() : 0).sum();
+    distributeUnits(orderItems, -Math.abs(FixedPoint.units(totalAllottedUnits)));
   }
 
   /**
-   * Split total units evenly; last item absorbs any rounding drift ensuring exact sum conservation.
+   * Allocate units proportional to monetary amount per item, or evenly when no item has an amount;
+   * last item receives the remainder so the shares add up to the allotment exactly.
    */
-  protected void distributeUnitsEqually(List<OrderItems> orderItems, BigDecimal totalUnits) {
-    BigDecimal sizeBD = BigDecimal.valueOf(orderItems.size());
-    BigDecimal baseShareRaw = totalUnits.divide(sizeBD, CALCULATION_SCALE, RoundingMode.HALF_UP);
-    BigDecimal distributed = BigDecimal.ZERO;
-    for (int idx = 0; idx < orderItems.size(); idx++) {
-      BigDecimal unitsForItem;
-      if (idx == orderItems.size() - 1) {
-        unitsForItem = totalUnits.subtract(distributed); // exact remainder
-      } else {
-        unitsForItem = baseShareRaw.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP);
-        distributed = distributed.add(unitsForItem);
-      }
-      orderItems.get(idx).setUnits(unitsForItem.doubleValue());
+  protected void distributeUnits(List<OrderItems> orderItems, long totalUnits) {
+    long[] amounts = new long[orderItems.size()];
+    for (int idx = 0; idx < amounts.length; idx++) {
+      amounts[idx] = orderItems.get(idx).getAmount();
     }
-  }
-
-  /**
-   * Allocate units proportional to monetary amount per item; last item receives remainder to handle
-   * rounding.
-   */
-  protected void distributeUnitsProportionally(
-      List<OrderItems> orderItems, BigDecimal totalUnits, double totalAmount) {
-    BigDecimal distributed = BigDecimal.ZERO;
-    BigDecimal totalAmountBD = BigDecimal.valueOf(totalAmount);
-
-    for (int idx = 0; idx < orderItems.size(); idx++) {
-      var item = orderItems.get(idx);
-      double amount = item.getAmount() != 0 ? item.getAmount() : 0;
-      BigDecimal unitsForItem;
-
-      if (idx == orderItems.size() - 1) {
-        // Assign remainder to last item to fix rounding drift
-        unitsForItem = totalUnits.subtract(distributed);
-      } else {
-        unitsForItem =
-            totalUnits
-                .multiply(BigDecimal.valueOf(amount))
-                .divide(totalAmountBD, CALCULATION_SCALE, RoundingMode.HALF_UP);
-        distributed = distributed.add(unitsForItem);
-      }
-
-      item.setUnits(unitsForItem.setScale(DECIMAL_SCALE, RoundingMode.HALF_UP).doubleValue());
+    long[] shares = FixedPoint.allocate(totalUnits, amounts);
+    for (int idx = 0; idx < shares.length; idx++) {
+      orderItems.get(idx).setUnits(shares[idx]);
     }
   }
 
@@ -193,7 +145,8 @@ public class SellOrderFulfillmentJob implements Job {
       return;
     }
 
-    orderItems.forEach(item -> item.setUnitPrice(purchasedPrice));
+    long unitPrice = FixedPoint.price(purchasedPrice);
+    orderItems.forEach(item -> item.setUnitPrice(unitPrice));
   }
 
   private void createTransactionsForOrderItems(List<OrderItems> orderItems, OrderData order) {
@@ -224,7 +177,8 @@ public class SellOrderFulfillmentJob implements Job {
       txn.setType(TransactionType.SELL); // SELL transaction
       txn.setUnits(item.getUnits()); // Should be negative from distributeUnits
       txn.setUnitPrice(item.getUnitPrice());
-      txn.setAmount(Math.abs(item.getUnits() * item.getUnitPrice())); // Absolute value for amount
+      // Absolute value for amount
+      txn.setAmount(Math.abs(FixedPoint.amountFor(item.getUnits(), item.getUnitPrice())));
       txn.setExternalRef(item.getRef());
       txn.setSourceOrderItemId(item.getId());
       txn.setExecutedAt(Timestamp.from(Instant.now()));
@@ -238,9 +192,10 @@ public class SellOrderFulfillmentJob implements Job {
       // Send transaction success email notification
       publisher.publishEvent(
           new TransactionSuccessEvent(
+              txn.getId(),
               txn.getUser(),
               txn.getFund() != null ? txn.getFund().getName() : null,
-              txn.getAmount(),
+              FixedPoint.toDouble(txn.getAmount(), FixedPoint.AMOUNT_SCALE),
               txn.getType()));
       created++;
     }
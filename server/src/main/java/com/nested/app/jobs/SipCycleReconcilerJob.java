@@ -1,5 +1,6 @@
 package com.nested.app.jobs;
 
+import com.nested.app.annotation.WorkerOnly;
 import com.nested.app.services.SipCycleReconcilerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 /** Advances stuck RUNNING SIPOrders daily at 04:50, 10 minutes before the dispatcher job. */
 @Slf4j
 @Component
+@WorkerOnly
 @RequiredArgsConstructor
 public class SipCycleReconcilerJob {
   private final SipCycleReconcilerService sipCycleReconcilerService;
@@ -1,5 +1,6 @@
 package com.nested.app.jobs;
 
+import com.nested.app.annotation.WorkerOnly;
 import com.nested.app.services.SipOrderSchedulerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 /** Dispatches due ACTIVE SIPOrders to RUNNING state each day at 05:00. */
 @Slf4j
 @Component
+@WorkerOnly
 @RequiredArgsConstructor
 @DisallowConcurrentExecution
 public class SipDueSchedulesJob {
@@ -9,6 +9,7 @@ import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.SIPOrderRepository;
 import com.nested.app.repository.SipModificationItemRepository;
 import com.nested.app.repository.SipModificationRepository;
+import com.nested.app.utils.FixedPoint;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -123,7 +124,7 @@ public class SipModificationTrackerJob implements Job {
         switch (detail.getState()) {
           case ACTIVE -> {
             var orderItem = item.getOrderItem();
-            orderItem.setAmount(item.getNewAmount());
+            orderItem.setAmount(FixedPoint.amount(item.getNewAmount()));
             orderItemsRepository.save(orderItem);
             item.setStatus(SipModificationItem.Status.COMPLETED);
             sipModificationItemRepository.save(item);
@@ -157,14 +158,14 @@ public class SipModificationTrackerJob implements Job {
   }
 
   private void reconcileModification(SipModification modification, List<SipModificationItem> items) {
-    double newTotal = 0;
+    long newTotal = 0;
     for (SipModificationItem mi : items) {
       // Amount was already synced to orderItem for COMPLETED items; reload actual amount
       newTotal += mi.getOrderItem().getAmount();
     }
 
     var sipOrder = modification.getSipOrder();
-    sipOrder.setAmount(newTotal);
+    sipOrder.setAmount(FixedPoint.toDouble(newTotal, FixedPoint.AMOUNT_SCALE));
     sipOrderRepository.save(sipOrder);
 
     boolean anyFailed = items.stream().anyMatch(i -> i.getStatus() == SipModificationItem.Status.FAILED);
@@ -12,6 +12,7 @@ import com.nested.app.mapper.OrderStateMapper;
 import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
 
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -79,9 +80,10 @@ public class SipTransactionFulfillmentJob implements Job {
             if (txn.getStatus() == TransactionStatus.COMPLETED) {
                 publisher.publishEvent(
                         new TransactionSuccessEvent(
+                                txn.getId(),
                                 txn.getUser(),
                                 txn.getFund() != null ? txn.getFund().getName() : null,
-                                txn.getAmount(),
+                                FixedPoint.toDouble(txn.getAmount(), FixedPoint.AMOUNT_SCALE),
                                 txn.getType()));
                 log.info("Transaction {} has been completed", txn.getId());
             }
@@ -92,13 +94,15 @@ public class SipTransactionFulfillmentJob implements Job {
     private void updateTransaction(Transaction txn, OrderData orderData) {
         txn.setStatus(OrderStateMapper.toTransactionStatus(orderData.getState()));
 
-        double units = Objects.requireNonNullElse(orderData.getAllottedUnits(), 0d);
-        double unitPrice = Objects.requireNonNullElse(orderData.getPurchasedPrice(), 0d);
+        long units = FixedPoint.units(Objects.requireNonNullElse(orderData.getAllottedUnits(), 0d));
+        long unitPrice =
+                FixedPoint.price(Objects.requireNonNullElse(orderData.getPurchasedPrice(), 0d));
         txn.setUnits(units);
         txn.setUnitPrice(unitPrice);
-        var amount = Math.abs(units * unitPrice);
+        var amount = Math.abs(FixedPoint.amountFor(units, unitPrice));
         if (orderData.getState() == OrderData.OrderState.SUBMITTED || amount == 0) {
-            txn.setAmount(orderData.getAmount());
+            Double submitted = orderData.getAmount();
+            txn.setAmount(submitted != null ? FixedPoint.amount(submitted) : null);
         } else {
             txn.setAmount(amount);
         }
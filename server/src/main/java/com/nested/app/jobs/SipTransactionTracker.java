@@ -13,14 +13,18 @@ import com.nested.app.mapper.OrderStateMapper;
 import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.SIPOrderRepository;
-import com.nested.app.repository.TransactionRepository;
+import com.nested.app.services.TransactionIngestService;
+import com.nested.app.utils.FixedPoint;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -47,7 +51,7 @@ public class SipTransactionTracker implements Job {
 
     private final OrderItemsRepository orderItemsRepository;
     private final SipOrderApiClient sipOrderApiClient;
-    private final TransactionRepository transactionRepository;
+    private final TransactionIngestService transactionIngestService;
     private final FolioRepository folioRepository;
     private final SIPOrderRepository sipOrderRepository;
     private final Scheduler scheduler;
@@ -115,14 +119,20 @@ public class SipTransactionTracker implements Job {
 
         // Process oldest-first so lastProcessedTransactionRef ends up pointing at the newest
         newInstallments = newInstallments.reversed();
+        Map<String, Folio> folios = new HashMap<>();
+        List<Transaction> ledgerRows = new ArrayList<>(newInstallments.size());
+        for (var installment : newInstallments) {
+            ledgerRows.add(buildTransaction(installment, orderItem, folios));
+        }
+        // One existence check and one insert for the batch; installments seen before are skipped
+        var written = transactionIngestService.ingest(ledgerRows, TransactionIngestService.Mode.INSERT_MISSING);
+        log.info("Saved {} of {} installment transaction(s) for orderRef {}",
+                written.size(), ledgerRows.size(), orderItem.getRef());
         for (var installment : newInstallments) {
-            var txn = createOrFetchTransaction(installment, orderItem);
-            transactionRepository.save(txn);
             scheduleFulfillmentJob(installment.getRef());
-            log.info("Saved transaction externalRef={}", txn.getExternalRef());
         }
 
-        orderItem.setLastProcessedTransactionRef(newInstallments.getFirst().getRef());
+        orderItem.setLastProcessedTransactionRef(newInstallments.getLast().getRef());
     }
 
     /**
@@ -147,15 +157,11 @@ public class SipTransactionTracker implements Job {
         return all.subList(0, lastIndex); // entries before lastIndex are newer
     }
 
-    private Transaction createOrFetchTransaction(OrderData installment, OrderItems orderItem) {
-        var existing = transactionRepository.findByExternalRef(installment.getRef());
-        if (!existing.isEmpty()) {
-            return existing.getFirst();
-        }
-
+    private Transaction buildTransaction(OrderData installment, OrderItems orderItem, Map<String, Folio> folios) {
         Folio folio = null;
         if (installment.getFolioRef() != null && !installment.getFolioRef().isEmpty()) {
-            folio = getOrCreateFolio(installment.getFolioRef(), List.of(orderItem));
+            folio = folios.computeIfAbsent(
+                    installment.getFolioRef(), ref -> getOrCreateFolio(ref, List.of(orderItem)));
         }
 
         var txn = new Transaction();
@@ -164,8 +170,10 @@ public class SipTransactionTracker implements Job {
         txn.setFund(orderItem.getFund());
         txn.setFolio(folio);
         txn.setType(TransactionType.SIP);
-        txn.setUnits(Objects.requireNonNullElse(installment.getAllottedUnits(), 0d));
-        txn.setUnitPrice(Objects.requireNonNullElse(installment.getPurchasedPrice(), 0d));
+        txn.setUnits(
+                FixedPoint.units(Objects.requireNonNullElse(installment.getAllottedUnits(), 0d)));
+        txn.setUnitPrice(
+                FixedPoint.price(Objects.requireNonNullElse(installment.getPurchasedPrice(), 0d)));
         txn.setExternalRef(installment.getRef());
         txn.setSourceOrderItemId(orderItem.getId());
         txn.setExecutedAt(
@@ -178,7 +186,7 @@ public class SipTransactionTracker implements Job {
         var status = txn.getStatus();
         txn.setAmount(
                 status == TransactionStatus.COMPLETED
-                        ? Math.abs(txn.getUnits() * txn.getUnitPrice())
+                        ? Math.abs(FixedPoint.amountFor(txn.getUnits(), txn.getUnitPrice()))
                         : orderItem.getAmount());
 
         return txn;
@@ -0,0 +1,32 @@
+package com.nested.app.listeners;
+
+import com.nested.app.datasource.Workload;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks Quartz worker threads as {@link Workload#BACKGROUND} before each job runs, so job database
+ * work (and Spring Batch steps launched from it) uses the jobs connection pool. Worker threads
+ * only ever run jobs, so the mark is never cleared.
+ */
+@Component
+public class BackgroundWorkloadJobListener implements JobListener {
+
+  @Override
+  public String getName() {
+    return "BackgroundWorkloadJobListener";
+  }
+
+  @Override
+  public void jobToBeExecuted(JobExecutionContext context) {
+    Workload.enter(Workload.BACKGROUND);
+  }
+
+  @Override
+  public void jobExecutionVetoed(JobExecutionContext context) {}
+
+  @Override
+  public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {}
+}
@@ -2,19 +2,27 @@ package com.nested.app.listeners;
 
 import com.nested.app.entity.JobHistory;
 import com.nested.app.enums.JobExecutionStatus;
-import com.nested.app.repository.JobHistoryRepository;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.quartz.JobListener;
+import org.quartz.SimpleTrigger;
+import org.quartz.Trigger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Global Quartz JobListener that records execution history for all jobs. Captures start time, end
  * time, duration, status, and error messages for monitoring and auditing.
+ *
+ * <p>Jobs on simple triggers repeating at least every {@code job.history.rollup.max-interval}
+ * (per-entity pollers) are recorded as per-minute rollups; their failures, and every execution of
+ * other jobs, are recorded in full. Rows are handed to {@link JobHistoryWriter} and written
+ * asynchronously.
  */
 @Slf4j
 @Component
@@ -25,7 +33,10 @@ public class JobHistoryListener implements JobListener {
   private static final String START_TIME_KEY = "jobHistoryStartTime";
   private static final int MAX_ERROR_MESSAGE_LENGTH = 4000;
 
-  private final JobHistoryRepository jobHistoryRepository;
+  private final JobHistoryWriter jobHistoryWriter;
+
+  @Value("${job.history.rollup.max-interval:60s}")
+  private Duration rollupMaxInterval;
 
   @Override
   public String getName() {
@@ -49,7 +60,7 @@ public class JobHistoryListener implements JobListener {
   }
 
   /**
-   * Called after a job has been executed. Calculates duration and saves execution history.
+   * Called after a job has been executed. Calculates duration and queues execution history.
    *
    * @param context the job execution context
    * @param jobException the exception thrown by the job (null if successful)
@@ -68,6 +79,15 @@ public class JobHistoryListener implements JobListener {
       }
 
       long durationMs = endTime - startTime;
+      boolean failed = jobException != null;
+
+      if (isHighFrequency(context.getTrigger())) {
+        jobHistoryWriter.recordRollup(
+            context.getJobDetail().getJobClass().getSimpleName(), endTime, durationMs, failed);
+        if (!failed) {
+          return;
+        }
+      }
 
       JobHistory jobHistory =
           JobHistory.builder()
@@ -76,12 +96,11 @@ public class JobHistoryListener implements JobListener {
               .startTime(Timestamp.from(Instant.ofEpochMilli(startTime)))
               .endTime(Timestamp.from(Instant.ofEpochMilli(endTime)))
               .durationMs(durationMs)
-              .status(
-                  jobException == null ? JobExecutionStatus.SUCCESS : JobExecutionStatus.FAILURE)
-              .errorMessage(jobException != null ? truncateErrorMessage(jobException) : null)
+              .status(failed ? JobExecutionStatus.FAILURE : JobExecutionStatus.SUCCESS)
+              .errorMessage(failed ? truncateErrorMessage(jobException) : null)
               .build();
 
-      jobHistoryRepository.save(jobHistory);
+      jobHistoryWriter.record(jobHistory);
 
       log.debug(
           "Job {} completed with status {} in {}ms",
@@ -112,6 +131,19 @@ public class JobHistoryListener implements JobListener {
         context.getTrigger().getKey().getName());
   }
 
+  /**
+   * Whether the trigger fires often enough for its executions to be rolled up instead of recorded
+   * one row each.
+   *
+   * @param trigger the trigger that fired the job
+   * @return true for repeating simple triggers at or below the rollup interval
+   */
+  private boolean isHighFrequency(Trigger trigger) {
+    return trigger instanceof SimpleTrigger simpleTrigger
+        && simpleTrigger.getRepeatInterval() > 0
+        && simpleTrigger.getRepeatInterval() <= rollupMaxInterval.toMillis();
+  }
+
   /**
    * Truncates error message to prevent database issues with very long stack traces.
    *
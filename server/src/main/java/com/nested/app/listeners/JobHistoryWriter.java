@@ -0,0 +1,271 @@
+package com.nested.app.listeners;
+
+import com.nested.app.entity.JobHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes job execution history off the scheduler threads. Full-detail rows go through a bounded
+ * queue and are inserted with JDBC batches, flushed when {@code job.history.writer.batch-size} rows
+ * are pending or every {@code job.history.writer.flush-interval}. When the queue is full rows are
+ * dropped and counted rather than blocking a job.
+ *
+ * <p>High-frequency executions are folded into per-minute, per-job-class rollups (count, failures,
+ * latency percentiles) that are written once their minute has passed.
+ *
+ * <p>Stops after the Quartz scheduler so executions finishing during shutdown are still flushed.
+ */
+@Slf4j
+@Component
+public class JobHistoryWriter implements SmartLifecycle {
+
+  private static final String INSERT_HISTORY_SQL =
+      "INSERT INTO job_history (job_name, trigger_name, start_time, end_time, duration_ms, status,"
+          + " error_message) VALUES (?, ?, ?, ?, ?, ?, ?)";
+  private static final String INSERT_ROLLUP_SQL =
+      "INSERT INTO job_history_rollup (job_class, bucket_start, instance_id, executions, failures,"
+          + " total_duration_ms, p50_ms, p95_ms, p99_ms, max_ms)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final long MINUTE_MS = 60_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final BlockingQueue<JobHistory> queue;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+  private final Map<RollupKey, Rollup> rollups = new ConcurrentHashMap<>();
+
+  private final Counter dropped;
+  private final Counter writeFailures;
+  private final Counter detailRowsWritten;
+  private final Counter rollupRowsWritten;
+
+  private volatile boolean running = false;
+  private Thread worker;
+
+  public JobHistoryWriter(
+      JdbcTemplate jdbcTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${job.history.writer.queue-capacity:10000}") int queueCapacity,
+      @Value("${job.history.writer.batch-size:200}") int batchSize,
+      @Value("${job.history.writer.flush-interval:2s}") Duration flushInterval) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.flushIntervalMs = flushInterval.toMillis();
+
+    meterRegistry.gauge("job.history.queue.size", queue, BlockingQueue::size);
+    this.dropped = meterRegistry.counter("job.history.dropped");
+    this.writeFailures = meterRegistry.counter("job.history.write.failures");
+    this.detailRowsWritten = meterRegistry.counter("job.history.rows.written", "kind", "detail");
+    this.rollupRowsWritten = meterRegistry.counter("job.history.rows.written", "kind", "rollup");
+  }
+
+  /** Queues a full-detail row; never blocks, dropping and counting the row if the queue is full. */
+  public void record(JobHistory history) {
+    if (!queue.offer(history)) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Folds one execution into the rollup of its job class for the minute it finished in.
+   *
+   * @param jobClass simple name of the job class
+   * @param endTimeMs execution end time in epoch millis
+   * @param durationMs execution duration
+   * @param failed whether the execution failed
+   */
+  public void recordRollup(String jobClass, long endTimeMs, long durationMs, boolean failed) {
+    RollupKey key = new RollupKey(jobClass, endTimeMs - Math.floorMod(endTimeMs, MINUTE_MS));
+    // A bucket closed by the writer in the meantime rejects the sample; start a fresh one
+    while (true) {
+      Rollup rollup = rollups.computeIfAbsent(key, k -> new Rollup());
+      if (rollup.add(durationMs, failed)) {
+        return;
+      }
+      rollups.remove(key, rollup);
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    running = true;
+    worker = new Thread(this::run, "job-history-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    try {
+      worker.join(flushIntervalMs + 10_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    // SchedulerFactoryBean runs in the default phase; a lower phase stops after it
+    return DEFAULT_PHASE - 1;
+  }
+
+  private void run() {
+    List<JobHistory> batch = new ArrayList<>(batchSize);
+    long nextFlush = System.currentTimeMillis() + flushIntervalMs;
+    while (running) {
+      try {
+        JobHistory next =
+            queue.poll(Math.max(0, nextFlush - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if (next != null) {
+          batch.add(next);
+          queue.drainTo(batch, batchSize - batch.size());
+        }
+        if (batch.size() >= batchSize || System.currentTimeMillis() >= nextFlush) {
+          writeDetails(batch);
+          writeRollups(false);
+          nextFlush = System.currentTimeMillis() + flushIntervalMs;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (RuntimeException e) {
+        log.error("Job history writer iteration failed: {}", e.getMessage(), e);
+      }
+    }
+    queue.drainTo(batch);
+    writeDetails(batch);
+    writeRollups(true);
+  }
+
+  private void writeDetails(List<JobHistory> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(
+          INSERT_HISTORY_SQL,
+          batch,
+          batch.size(),
+          (ps, history) -> {
+            ps.setString(1, history.getJobName());
+            ps.setString(2, history.getTriggerName());
+            ps.setTimestamp(3, history.getStartTime());
+            ps.setTimestamp(4, history.getEndTime());
+            ps.setObject(5, history.getDurationMs());
+            ps.setString(6, history.getStatus().name());
+            ps.setString(7, history.getErrorMessage());
+          });
+      detailRowsWritten.increment(batch.size());
+    } catch (DataAccessException e) {
+      writeFailures.increment();
+      log.error("Failed to write {} job history rows: {}", batch.size(), e.getMessage(), e);
+    } finally {
+      batch.clear();
+    }
+  }
+
+  /** Writes rollups whose minute has passed, or all of them when {@code all} is set. */
+  private void writeRollups(boolean all) {
+    long currentMinute = System.currentTimeMillis() / MINUTE_MS * MINUTE_MS;
+    List<Object[]> rows = new ArrayList<>();
+    for (RollupKey key : rollups.keySet()) {
+      if (!all && key.minute() >= currentMinute) {
+        continue;
+      }
+      Rollup rollup = rollups.remove(key);
+      if (rollup == null) {
+        continue;
+      }
+      long[] durations = rollup.close();
+      if (durations.length == 0) {
+        continue;
+      }
+      Arrays.sort(durations);
+      rows.add(
+          new Object[] {
+            key.jobClass(),
+            new Timestamp(key.minute()),
+            instanceId,
+            durations.length,
+            rollup.failures,
+            rollup.totalDurationMs,
+            percentile(durations, 0.50),
+            percentile(durations, 0.95),
+            percentile(durations, 0.99),
+            durations[durations.length - 1]
+          });
+    }
+    if (rows.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rows);
+      rollupRowsWritten.increment(rows.size());
+    } catch (DataAccessException e) {
+      writeFailures.increment();
+      log.error("Failed to write {} job history rollups: {}", rows.size(), e.getMessage(), e);
+    }
+  }
+
+  /** Nearest-rank percentile of a sorted, non-empty array. */
+  static long percentile(long[] sorted, double quantile) {
+    int rank = (int) Math.ceil(quantile * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  private record RollupKey(String jobClass, long minute) {}
+
+  /** Samples of one job class in one minute. */
+  private static final class Rollup {
+    private long[] durations = new long[16];
+    private int count;
+    private int failures;
+    private long totalDurationMs;
+    private boolean closed;
+
+    synchronized boolean add(long durationMs, boolean failed) {
+      if (closed) {
+        return false;
+      }
+      if (count == durations.length) {
+        durations = Arrays.copyOf(durations, count * 2);
+      }
+      durations[count++] = durationMs;
+      totalDurationMs += durationMs;
+      if (failed) {
+        failures++;
+      }
+      return true;
+    }
+
+    synchronized long[] close() {
+      closed = true;
+      return Arrays.copyOf(durations, count);
+    }
+  }
+}
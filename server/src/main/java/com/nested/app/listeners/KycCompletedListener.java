@@ -49,8 +49,8 @@ public class KycCompletedListener {
         return;
       }
 
-      emailService.sendWelcomeEmail(email, name);
-      log.info("Welcome email sent successfully for user ID: {}", user.getId());
+      emailService.sendWelcomeEmail(user.getId(), email, name);
+      log.info("Welcome email queued for user ID: {}", user.getId());
     } catch (Exception e) {
       log.error("Failed to send welcome email for user ID: {}", user.getId(), e);
       // Don't rethrow - we don't want email failures to affect the KYC process
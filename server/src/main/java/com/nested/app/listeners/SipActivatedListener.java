@@ -41,13 +41,14 @@ public class SipActivatedListener {
       }
 
       emailService.sendSipActivatedEmail(
+          event.paymentId(),
           email,
           user.getFullName(),
           event.totalSipAmount(),
           event.goalOrChildName(),
           event.fundNames());
 
-      log.info("SIP activation email sent for user ID: {}", user.getId());
+      log.info("SIP activation email queued for user ID: {}", user.getId());
     } catch (Exception e) {
       log.error("Failed to send SIP activation email for user ID: {}", user.getId(), e);
       // Don't rethrow - email failure must not affect the SIP activation flow
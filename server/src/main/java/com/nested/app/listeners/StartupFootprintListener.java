@@ -0,0 +1,35 @@
+package com.nested.app.listeners;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs the startup footprint once the instance is ready, so API and worker deployments can be
+ * compared from their first log lines. The per-step breakdown is served by the {@code startup}
+ * actuator endpoint.
+ */
+@Slf4j
+@Component
+public class StartupFootprintListener {
+
+  private static final long MB = 1024 * 1024;
+
+  @EventListener
+  public void onApplicationReady(ApplicationReadyEvent event) {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    log.info(
+        "Startup footprint: profiles={}, ready={}ms, beans={}, heapUsed={}MB, nonHeapUsed={}MB,"
+            + " threads={}",
+        Arrays.toString(event.getApplicationContext().getEnvironment().getActiveProfiles()),
+        event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+        event.getApplicationContext().getBeanDefinitionCount(),
+        memory.getHeapMemoryUsage().getUsed() / MB,
+        memory.getNonHeapMemoryUsage().getUsed() / MB,
+        ManagementFactory.getThreadMXBean().getThreadCount());
+  }
+}
@@ -8,13 +8,15 @@ import com.nested.app.services.SchemeWiseReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * Event listener for transaction success events. Sends transaction confirmation email to user when
- * a transaction is successfully processed.
+ * a transaction is successfully processed. Events published inside a transaction are handled once
+ * it has committed, so a rolled-back batch sends nothing.
  */
 @Slf4j
 @Component
@@ -33,7 +35,7 @@ public class TransactionSuccessListener {
    * @param event The TransactionSuccessEvent containing transaction information
    */
   @Async
-  @EventListener
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
   public void onTransactionSuccess(TransactionSuccessEvent event) {
     User user = event.user();
     log.info(
@@ -51,9 +53,9 @@ public class TransactionSuccessListener {
       }
 
       emailService.sendTransactionSuccessEmail(
-          email, name, event.fundName(), event.amount(), event.type());
+          event.transactionId(), email, name, event.fundName(), event.amount(), event.type());
       log.info(
-          "Transaction success email sent for user ID: {}, type: {}", user.getId(), event.type());
+          "Transaction success email queued for user ID: {}, type: {}", user.getId(), event.type());
     } catch (Exception e) {
       log.error("Failed to send transaction success email for user ID: {}", user.getId(), e);
       // Don't rethrow - we don't want email failures to affect the transaction flow
@@ -61,7 +63,7 @@ public class TransactionSuccessListener {
   }
 
   @Async
-  @EventListener
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
   public void refreshNavOnSuccess(TransactionSuccessEvent event) {
     try {
       log.info("Processing TransactionSuccessEvent for user ID: {}", event.user().getId());
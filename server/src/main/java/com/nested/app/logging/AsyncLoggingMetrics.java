@@ -0,0 +1,87 @@
+package com.nested.app.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the state of the logging pipeline configured in {@code logback-spring.xml}:
+ *
+ * <ul>
+ *   <li>{@code logging.async.queue.depth} and {@code logging.async.queue.remaining} per {@link
+ *       MeteredAsyncAppender}
+ *   <li>{@code logging.async.events.dropped} per appender, {@code reason=discarded|queue_full}
+ *   <li>{@code logging.sampled.suppressed} per {@link SamplingTurboFilter} rule logger
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+      log.debug("Logback is not the active logging backend, skipping logging metrics");
+      return;
+    }
+
+    for (MeteredAsyncAppender appender : asyncAppenders(context).values()) {
+      String name = appender.getName();
+      Gauge.builder(
+              "logging.async.queue.depth",
+              appender,
+              MeteredAsyncAppender::getNumberOfElementsInQueue)
+          .tag("appender", name)
+          .description("Events waiting to be written by the async appender")
+          .register(registry);
+      Gauge.builder(
+              "logging.async.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+          .tag("appender", name)
+          .register(registry);
+      FunctionCounter.builder(
+              "logging.async.events.dropped", appender, MeteredAsyncAppender::getDiscardedCount)
+          .tags("appender", name, "reason", "discarded")
+          .register(registry);
+      FunctionCounter.builder(
+              "logging.async.events.dropped", appender, MeteredAsyncAppender::getQueueFullCount)
+          .tags("appender", name, "reason", "queue_full")
+          .register(registry);
+    }
+
+    for (TurboFilter filter : context.getTurboFilterList()) {
+      if (filter instanceof SamplingTurboFilter sampling) {
+        for (Map.Entry<String, LongAdder> rule : sampling.getSuppressedCounts().entrySet()) {
+          FunctionCounter.builder("logging.sampled.suppressed", rule.getValue(), LongAdder::sum)
+              .tag("logger", rule.getKey())
+              .register(registry);
+        }
+      }
+    }
+  }
+
+  private static Map<String, MeteredAsyncAppender> asyncAppenders(LoggerContext context) {
+    Map<String, MeteredAsyncAppender> appenders = new LinkedHashMap<>();
+    for (Logger logger : context.getLoggerList()) {
+      Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+      while (it.hasNext()) {
+        if (it.next() instanceof MeteredAsyncAppender appender) {
+          appenders.putIfAbsent(appender.getName(), appender);
+        }
+      }
+    }
+    return appenders;
+  }
+}
@@ -0,0 +1,40 @@
+package com.nested.app.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops, so that {@link AsyncLoggingMetrics} can
+ * publish them next to the queue depth. Events are dropped in two cases: TRACE/DEBUG/INFO once
+ * the remaining capacity is below {@code discardingThreshold} ({@code discarded}), and any level
+ * when the queue is full and {@code neverBlock} is set ({@code queueFull}).
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+  private final LongAdder discarded = new LongAdder();
+  private final LongAdder queueFull = new LongAdder();
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    // Mirrors the checks in AsyncAppenderBase, which drops silently
+    int remaining = getRemainingCapacity();
+    if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+      discarded.increment();
+      return;
+    }
+    if (remaining == 0 && isNeverBlock()) {
+      queueFull.increment();
+      return;
+    }
+    super.append(event);
+  }
+
+  public long getDiscardedCount() {
+    return discarded.sum();
+  }
+
+  public long getQueueFullCount() {
+    return queueFull.sum();
+  }
+}
@@ -0,0 +1,150 @@
+package com.nested.app.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Marker;
+
+/**
+ * Rate limits INFO and below for high-frequency loggers such as pollers. Each rule allows {@code
+ * permits} events per message template and logger within a fixed window; further events in the
+ * window are denied before they are formatted or queued. WARN and ERROR are never sampled.
+ *
+ * <pre>{@code
+ * <turboFilter class="com.nested.app.logging.SamplingTurboFilter">
+ *   <rule>com.nested.app.jobs.SipModificationTrackerJob=10/1m</rule>
+ * </turboFilter>
+ * }</pre>
+ *
+ * <p>A rule applies to the named logger and its children; the most specific rule wins. Suppressed
+ * events are counted per rule and published by {@link AsyncLoggingMetrics}.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+  /** Templates tracked per logger; beyond this (concatenated messages) they share one window. */
+  private static final int MAX_TEMPLATES_PER_LOGGER = 256;
+
+  private static final String OVERFLOW_TEMPLATE = "*";
+
+  record Rule(String logger, int permits, long windowNanos, LongAdder suppressed) {}
+
+  /** Events of one template in the current window; the first event opens the first window. */
+  static final class Window {
+    private boolean started;
+    private long start;
+    private int count;
+
+    synchronized boolean tryAcquire(Rule rule, long now) {
+      // nanoTime has an arbitrary origin, so no fixed start can be assumed to lie in the past
+      if (!started || now - start >= rule.windowNanos()) {
+        started = true;
+        start = now;
+        count = 0;
+      }
+      return ++count <= rule.permits();
+    }
+  }
+
+  private final List<Rule> rules = new ArrayList<>();
+  private final Map<String, Optional<Rule>> ruleByLogger = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Window>> windows = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a rule in the form {@code logger=permits/window}, window being a number followed by
+   * {@code ms}, {@code s}, {@code m} or {@code h}.
+   */
+  public void addRule(String spec) {
+    try {
+      int equals = spec.indexOf('=');
+      int slash = spec.indexOf('/', equals);
+      String logger = spec.substring(0, equals).trim();
+      int permits = Integer.parseInt(spec.substring(equals + 1, slash).trim());
+      long windowNanos = parseWindow(spec.substring(slash + 1).trim());
+      if (logger.isEmpty() || permits < 0 || windowNanos <= 0) {
+        throw new IllegalArgumentException();
+      }
+      rules.add(new Rule(logger, permits, windowNanos, new LongAdder()));
+      ruleByLogger.clear();
+    } catch (RuntimeException e) {
+      addError("Ignoring invalid sampling rule '" + spec + "', expected logger=permits/window");
+    }
+  }
+
+  @Override
+  public FilterReply decide(
+      Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    // format is null for isXxxEnabled() checks, which must not consume permits
+    if (!isStarted()
+        || format == null
+        || level.isGreaterOrEqual(Level.WARN)
+        || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+      return FilterReply.NEUTRAL;
+    }
+    Rule rule = ruleByLogger.computeIfAbsent(logger.getName(), this::findRule).orElse(null);
+    if (rule == null) {
+      return FilterReply.NEUTRAL;
+    }
+
+    Map<String, Window> templates =
+        windows.computeIfAbsent(logger.getName(), name -> new ConcurrentHashMap<>());
+    Window window = templates.get(format);
+    if (window == null) {
+      String template =
+          templates.size() < MAX_TEMPLATES_PER_LOGGER ? format : OVERFLOW_TEMPLATE;
+      window = templates.computeIfAbsent(template, key -> new Window());
+    }
+    if (window.tryAcquire(rule, System.nanoTime())) {
+      return FilterReply.NEUTRAL;
+    }
+    rule.suppressed().increment();
+    return FilterReply.DENY;
+  }
+
+  /** Suppressed event counts per rule logger name. */
+  public Map<String, LongAdder> getSuppressedCounts() {
+    Map<String, LongAdder> counts = new HashMap<>();
+    for (Rule rule : rules) {
+      counts.put(rule.logger(), rule.suppressed());
+    }
+    return Collections.unmodifiableMap(counts);
+  }
+
+  private Optional<Rule> findRule(String loggerName) {
+    Rule best = null;
+    for (Rule rule : rules) {
+      String prefix = rule.logger();
+      boolean matches =
+          loggerName.equals(prefix)
+              || (loggerName.startsWith(prefix) && loggerName.charAt(prefix.length()) == '.');
+      if (matches && (best == null || prefix.length() > best.logger().length())) {
+        best = rule;
+      }
+    }
+    return Optional.ofNullable(best);
+  }
+
+  private static long parseWindow(String window) {
+    int unitStart = 0;
+    while (unitStart < window.length() && Character.isDigit(window.charAt(unitStart))) {
+      unitStart++;
+    }
+    long amount = Long.parseLong(window.substring(0, unitStart));
+    return switch (window.substring(unitStart).trim()) {
+      case "ms" -> TimeUnit.MILLISECONDS.toNanos(amount);
+      case "s" -> TimeUnit.SECONDS.toNanos(amount);
+      case "m" -> TimeUnit.MINUTES.toNanos(amount);
+      case "h" -> TimeUnit.HOURS.toNanos(amount);
+      default -> throw new IllegalArgumentException("Unknown window unit: " + window);
+    };
+  }
+}
@@ -0,0 +1,45 @@
+package com.nested.app.notifications;
+
+import com.sendgrid.helpers.mail.Mail;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for the providers: logs each request and keeps the most recent ones in memory.
+ * Enabled with {@code notifications.sink=log} for local runs, load tests and tests, so nothing
+ * reaches real recipients.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "log")
+public class LoggingNotificationSink implements NotificationSink {
+
+  private static final int RETAINED = 1_000;
+
+  private final Deque<Mail> mails = new ArrayDeque<>();
+
+  @Override
+  public synchronized void sendEmail(Mail mail) {
+    log.info(
+        "Email '{}' to {} recipient(s) (not delivered)",
+        mail.getSubject(),
+        mail.getPersonalization() == null ? 0 : mail.getPersonalization().size());
+    if (mails.size() == RETAINED) {
+      mails.removeFirst();
+    }
+    mails.addLast(mail);
+  }
+
+  /** Mails recorded so far, oldest first. */
+  public synchronized List<Mail> sentMails() {
+    return List.copyOf(mails);
+  }
+
+  public synchronized void clear() {
+    mails.clear();
+  }
+}
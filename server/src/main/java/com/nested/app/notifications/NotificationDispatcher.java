@@ -0,0 +1,274 @@
+package com.nested.app.notifications;
+
+import com.nested.app.enums.NotificationChannel;
+import com.nested.app.utils.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers queued notifications. One poller per channel claims due rows from the {@link
+ * NotificationQueue}, bounded by that channel's token bucket ({@code notifications.rate.<channel>}
+ * messages per second), and hands them to a small worker pool. When the pool is saturated the
+ * poller sends itself, which slows claiming down instead of growing an in-memory backlog.
+ *
+ * <p>Rows of a batchable template are sent as SendGrid requests with up to {@code
+ * notifications.email.max-personalizations} recipients. Failures are retried with exponential
+ * backoff and jitter until {@code notifications.retry.max-attempts}, then marked FAILED. A batch the
+ * provider rejects (a 4xx such as an invalid address) is bisected until the rejected recipients are
+ * isolated; those are marked FAILED right away, the rest are sent.
+ *
+ * <p>Disabled with {@code notifications.dispatch.enabled=false}; notifications are then only
+ * enqueued and another instance delivers them.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+
+  private final NotificationQueue queue;
+  private final NotificationRenderer renderer;
+  private final NotificationSink sink;
+  private final MeterRegistry meterRegistry;
+  private final boolean enabled;
+  private final int batchSize;
+  private final int maxPersonalizations;
+  private final Duration pollInterval;
+  private final int maxAttempts;
+  private final Duration initialBackoff;
+  private final Duration maxBackoff;
+  private final int workers;
+  private final Map<NotificationChannel, TokenBucket> rateLimits =
+      new EnumMap<>(NotificationChannel.class);
+
+  private volatile boolean running = false;
+  private ScheduledExecutorService pollers;
+  private ThreadPoolExecutor senders;
+
+  public NotificationDispatcher(
+      NotificationQueue queue,
+      NotificationRenderer renderer,
+      NotificationSink sink,
+      MeterRegistry meterRegistry,
+      @Value("${notifications.dispatch.enabled:true}") boolean enabled,
+      @Value("${notifications.dispatch.batch-size:500}") int batchSize,
+      @Value("${notifications.dispatch.poll-interval:2s}") Duration pollInterval,
+      @Value("${notifications.dispatch.workers:4}") int workers,
+      @Value("${notifications.email.max-personalizations:1000}") int maxPersonalizations,
+      @Value("${notifications.retry.max-attempts:6}") int maxAttempts,
+      @Value("${notifications.retry.initial-backoff:30s}") Duration initialBackoff,
+      @Value("${notifications.retry.max-backoff:1h}") Duration maxBackoff,
+      @Value("${notifications.rate.email:50}") double emailRate,
+      @Value("${notifications.rate.sms:20}") double smsRate,
+      @Value("${notifications.rate.whatsapp:20}") double whatsappRate) {
+    this.queue = queue;
+    this.renderer = renderer;
+    this.sink = sink;
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.pollInterval = pollInterval;
+    this.workers = workers;
+    this.maxPersonalizations = maxPersonalizations;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    // Capacity of one second's worth lets a backlog drain at the configured rate without bursts
+    rateLimits.put(NotificationChannel.EMAIL, new TokenBucket(emailRate, emailRate));
+    rateLimits.put(NotificationChannel.SMS, new TokenBucket(smsRate, smsRate));
+    rateLimits.put(NotificationChannel.WHATSAPP, new TokenBucket(whatsappRate, whatsappRate));
+  }
+
+  @Override
+  public synchronized void start() {
+    senders =
+        new ThreadPoolExecutor(
+            workers,
+            workers,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workers * 2),
+            Thread.ofPlatform().name("notification-sender-", 0).daemon().factory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    List<NotificationChannel> channels =
+        Arrays.stream(NotificationTemplate.values())
+            .map(NotificationTemplate::getChannel)
+            .distinct()
+            .toList();
+    pollers =
+        Executors.newScheduledThreadPool(
+            channels.size(),
+            Thread.ofPlatform().name("notification-poller-", 0).daemon().factory());
+    for (NotificationChannel channel : channels) {
+      pollers.scheduleWithFixedDelay(
+          () -> poll(channel), 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    running = true;
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    pollers.shutdown();
+    senders.shutdown();
+    try {
+      // Anything still claimed is delivered again once its lease expires
+      pollers.awaitTermination(10, TimeUnit.SECONDS);
+      senders.awaitTermination(20, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return enabled;
+  }
+
+  /** Claims and dispatches due notifications of a channel while its rate limit allows. */
+  void poll(NotificationChannel channel) {
+    TokenBucket rateLimit = rateLimits.get(channel);
+    try {
+      while (running) {
+        int permits = rateLimit.tryAcquireUpTo(batchSize);
+        if (permits == 0) {
+          return;
+        }
+        List<QueuedNotification> claimed = queue.claim(channel, permits);
+        rateLimit.release(permits - claimed.size());
+        if (claimed.isEmpty()) {
+          return;
+        }
+        dispatch(claimed);
+        if (claimed.size() < permits) {
+          return;
+        }
+      }
+    } catch (Exception e) {
+      log.error("Notification poll failed for channel {}", channel, e);
+    }
+  }
+
+  void dispatch(List<QueuedNotification> notifications) {
+    Map<NotificationTemplate, List<QueuedNotification>> byTemplate = new LinkedHashMap<>();
+    for (QueuedNotification notification : notifications) {
+      byTemplate.computeIfAbsent(notification.template(), t -> new ArrayList<>()).add(notification);
+    }
+    byTemplate.forEach(
+        (template, group) -> {
+          if (template.isBatchable()) {
+            for (int from = 0; from < group.size(); from += maxPersonalizations) {
+              List<QueuedNotification> batch =
+                  group.subList(from, Math.min(group.size(), from + maxPersonalizations));
+              senders.execute(() -> sendBatch(template, batch));
+            }
+          } else {
+            group.forEach(notification -> senders.execute(() -> sendSingle(notification)));
+          }
+        });
+  }
+
+  private void sendBatch(NotificationTemplate template, List<QueuedNotification> batch) {
+    try {
+      sink.sendEmail(renderer.batchMail(template, batch));
+      delivered(template, batch);
+    } catch (NotificationRejectedException e) {
+      if (batch.size() == 1) {
+        rejected(batch.getFirst(), e);
+        return;
+      }
+      // Bisect so only the recipients the provider refuses are held back
+      log.info(
+          "Batch of {} {} notifications rejected ({}), splitting",
+          batch.size(),
+          template,
+          e.getStatusCode());
+      int half = batch.size() / 2;
+      sendBatch(template, batch.subList(0, half));
+      sendBatch(template, batch.subList(half, batch.size()));
+    } catch (Exception e) {
+      log.warn("Batch of {} {} notifications failed: {}", batch.size(), template, e.getMessage());
+      batch.forEach(notification -> failed(notification, e));
+    }
+  }
+
+  private void sendSingle(QueuedNotification notification) {
+    try {
+      sink.sendEmail(renderer.singleMail(notification));
+      delivered(notification.template(), List.of(notification));
+    } catch (NotificationRejectedException e) {
+      rejected(notification, e);
+    } catch (Exception e) {
+      log.warn("Notification {} failed: {}", notification.id(), e.getMessage());
+      failed(notification, e);
+    }
+  }
+
+  private void delivered(NotificationTemplate template, List<QueuedNotification> notifications) {
+    queue.markSent(notifications);
+    meterRegistry
+        .counter(
+            "notifications.sent",
+            "channel", template.getChannel().name(),
+            "template", template.name())
+        .increment(notifications.size());
+  }
+
+  private void failed(QueuedNotification notification, Exception e) {
+    String channel = notification.template().getChannel().name();
+    if (notification.attempts() >= maxAttempts) {
+      log.error(
+          "Giving up on notification {} ({}) after {} attempts",
+          notification.id(),
+          notification.template(),
+          notification.attempts());
+      queue.markFailed(notification, e.getMessage());
+      meterRegistry.counter("notifications.failed", "channel", channel).increment();
+      return;
+    }
+    queue.retryAt(
+        notification, Instant.now().plus(backoff(notification.attempts())), e.getMessage());
+    meterRegistry.counter("notifications.retried", "channel", channel).increment();
+  }
+
+  /** Refused by the provider; another attempt would be refused too. */
+  private void rejected(QueuedNotification notification, NotificationRejectedException e) {
+    log.error(
+        "Notification {} ({}) rejected: {}",
+        notification.id(),
+        notification.template(),
+        e.getMessage());
+    queue.markFailed(notification, e.getMessage());
+    meterRegistry
+        .counter("notifications.failed", "channel", notification.template().getChannel().name())
+        .increment();
+  }
+
+  /** Exponential backoff from {@code initial-backoff}, capped, with +/-20% jitter. */
+  Duration backoff(int attempts) {
+    long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+    long capped = Math.min(base, maxBackoff.toMillis());
+    double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+    return Duration.ofMillis((long) (capped * jitter));
+  }
+}
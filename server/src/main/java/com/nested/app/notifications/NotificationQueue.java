@@ -0,0 +1,154 @@
+package com.nested.app.notifications;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nested.app.enums.NotificationChannel;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durable notification queue backed by {@code notification_outbox}. Rows are claimed with {@code
+ * FOR UPDATE SKIP LOCKED} so several pods can dispatch concurrently; a claim is a lease that
+ * expires after {@code notifications.dispatch.lease}, after which an unacknowledged row is
+ * delivered again.
+ */
+@Slf4j
+@Component
+public class NotificationQueue {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO notification_outbox (channel, template, recipient, variables, dedupe_key,"
+          + " status, attempts, next_attempt_at, created_at)"
+          + " VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)"
+          + " ON CONFLICT (dedupe_key) DO NOTHING";
+  private static final String CLAIM_SQL =
+      "UPDATE notification_outbox SET status = 'SENDING', attempts = attempts + 1,"
+          + " next_attempt_at = ?"
+          + " WHERE id IN (SELECT id FROM notification_outbox"
+          + " WHERE channel = ? AND status IN ('PENDING', 'SENDING') AND next_attempt_at <= ?"
+          + " ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+          + " RETURNING id, template, recipient, variables, attempts";
+  private static final String SENT_SQL =
+      "UPDATE notification_outbox SET status = 'SENT', sent_at = ?, last_error = NULL"
+          + " WHERE id = ?";
+  private static final String RETRY_SQL =
+      "UPDATE notification_outbox SET status = 'PENDING', next_attempt_at = ?, last_error = ?"
+          + " WHERE id = ?";
+  private static final String FAILED_SQL =
+      "UPDATE notification_outbox SET status = 'FAILED', last_error = ? WHERE id = ?";
+  private static final String PURGE_SQL =
+      "DELETE FROM notification_outbox WHERE status IN ('SENT', 'FAILED') AND created_at < ?";
+  private static final TypeReference<Map<String, Object>> VARIABLES_TYPE =
+      new TypeReference<>() {};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final Duration lease;
+  private final Duration retention;
+
+  public NotificationQueue(
+      JdbcTemplate jdbcTemplate,
+      ObjectMapper objectMapper,
+      @Value("${notifications.dispatch.lease:5m}") Duration lease,
+      @Value("${notifications.retention:30d}") Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.lease = lease;
+    this.retention = retention;
+  }
+
+  /**
+   * Adds a notification to the outbox.
+   *
+   * @return {@code false} if a notification with the same dedupe key was already enqueued
+   */
+  public boolean enqueue(NotificationRequest request) {
+    Timestamp now = Timestamp.from(Instant.now());
+    int inserted =
+        jdbcTemplate.update(
+            INSERT_SQL,
+            request.template().getChannel().name(),
+            request.template().name(),
+            request.recipient(),
+            writeVariables(request.variables()),
+            request.dedupeKey(),
+            now,
+            now);
+    if (inserted == 0) {
+      log.debug("Skipped duplicate notification {}", request.dedupeKey());
+    }
+    return inserted > 0;
+  }
+
+  /** Claims up to {@code limit} due notifications of a channel, oldest first. */
+  public List<QueuedNotification> claim(NotificationChannel channel, int limit) {
+    Instant now = Instant.now();
+    return jdbcTemplate.query(
+        CLAIM_SQL,
+        (rs, rowNum) ->
+            new QueuedNotification(
+                rs.getLong("id"),
+                NotificationTemplate.valueOf(rs.getString("template")),
+                rs.getString("recipient"),
+                readVariables(rs.getString("variables")),
+                rs.getInt("attempts")),
+        Timestamp.from(now.plus(lease)),
+        channel.name(),
+        Timestamp.from(now),
+        limit);
+  }
+
+  public void markSent(List<QueuedNotification> notifications) {
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(
+        SENT_SQL, notifications.stream().map(n -> new Object[] {now, n.id()}).toList());
+  }
+
+  public void retryAt(QueuedNotification notification, Instant nextAttemptAt, String error) {
+    jdbcTemplate.update(
+        RETRY_SQL, Timestamp.from(nextAttemptAt), truncate(error), notification.id());
+  }
+
+  public void markFailed(QueuedNotification notification, String error) {
+    jdbcTemplate.update(FAILED_SQL, truncate(error), notification.id());
+  }
+
+  @Scheduled(cron = "${notifications.cleanup.cron:0 30 3 * * *}")
+  public void purgeDelivered() {
+    int deleted =
+        jdbcTemplate.update(PURGE_SQL, Timestamp.from(Instant.now().minus(retention)));
+    log.info("Purged {} delivered or failed notifications older than {}", deleted, retention);
+  }
+
+  private String writeVariables(Map<String, Object> variables) {
+    try {
+      return objectMapper.writeValueAsString(variables);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Notification variables are not serializable", e);
+    }
+  }
+
+  private Map<String, Object> readVariables(String json) {
+    try {
+      return objectMapper.readValue(json, VARIABLES_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Corrupt notification variables", e);
+    }
+  }
+
+  private static String truncate(String error) {
+    if (error == null || error.length() <= 1000) {
+      return error;
+    }
+    return error.substring(0, 1000);
+  }
+}
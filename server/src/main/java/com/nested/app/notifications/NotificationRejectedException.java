@@ -0,0 +1,21 @@
+package com.nested.app.notifications;
+
+import java.io.IOException;
+
+/**
+ * The provider refused the request itself, e.g. an invalid recipient address. Sending the same
+ * request again fails the same way; unlike other {@link IOException}s it is not retried as is.
+ */
+public class NotificationRejectedException extends IOException {
+
+  private final int statusCode;
+
+  public NotificationRejectedException(int statusCode, String message) {
+    super(message);
+    this.statusCode = statusCode;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+}
@@ -0,0 +1,82 @@
+package com.nested.app.notifications;
+
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * Builds provider requests for queued notifications. Batchable templates are rendered once at
+ * startup with {@code %variable%} placeholders; each recipient then only contributes its
+ * HTML-escaped substitutions, so a batch costs no template work.
+ */
+@Component
+public class NotificationRenderer {
+
+  private final TemplateEngine templateEngine;
+  private final String fromEmail;
+  private final Map<NotificationTemplate, String> skeletons =
+      new EnumMap<>(NotificationTemplate.class);
+
+  public NotificationRenderer(
+      TemplateEngine templateEngine,
+      @Value("${spring.mail.from:noreply@nested.money}") String fromEmail) {
+    this.templateEngine = templateEngine;
+    this.fromEmail = fromEmail;
+    for (NotificationTemplate template : NotificationTemplate.values()) {
+      if (template.isBatchable()) {
+        Context context = new Context();
+        template.getBatchVariables().forEach(name -> context.setVariable(name, placeholder(name)));
+        skeletons.put(template, templateEngine.process(template.getView(), context));
+      }
+    }
+  }
+
+  /** One request addressing every notification; all must share a batchable template. */
+  public Mail batchMail(NotificationTemplate template, List<QueuedNotification> notifications) {
+    Mail mail = new Mail();
+    mail.setFrom(new Email(fromEmail));
+    mail.setSubject(subject(notifications.getFirst()));
+    mail.addContent(new Content("text/html", skeletons.get(template)));
+    for (QueuedNotification notification : notifications) {
+      Personalization personalization = new Personalization();
+      personalization.addTo(new Email(notification.recipient()));
+      personalization.setSubject(subject(notification));
+      for (String name : template.getBatchVariables()) {
+        Object value = notification.variables().get(name);
+        personalization.addSubstitution(
+            placeholder(name), HtmlUtils.htmlEscape(value == null ? "" : value.toString()));
+      }
+      mail.addPersonalization(personalization);
+    }
+    return mail;
+  }
+
+  /** A request for a single notification, rendered through the (cached) template. */
+  public Mail singleMail(QueuedNotification notification) {
+    Context context = new Context();
+    context.setVariables(notification.variables());
+    String html = templateEngine.process(notification.template().getView(), context);
+    return new Mail(
+        new Email(fromEmail),
+        subject(notification),
+        new Email(notification.recipient()),
+        new Content("text/html", html));
+  }
+
+  private static String subject(QueuedNotification notification) {
+    return String.valueOf(notification.variables().get(NotificationTemplate.SUBJECT));
+  }
+
+  private static String placeholder(String name) {
+    return "%" + name + "%";
+  }
+}
@@ -0,0 +1,17 @@
+package com.nested.app.notifications;
+
+import java.util.Map;
+
+/**
+ * A notification to enqueue.
+ *
+ * @param template what to send
+ * @param recipient email address or phone number, depending on the template's channel
+ * @param variables template variables, including {@link NotificationTemplate#SUBJECT} for email
+ * @param dedupeKey enqueueing the same key again is a no-op; {@code null} disables deduplication
+ */
+public record NotificationRequest(
+    NotificationTemplate template,
+    String recipient,
+    Map<String, Object> variables,
+    String dedupeKey) {}
@@ -0,0 +1,17 @@
+package com.nested.app.notifications;
+
+import com.sendgrid.helpers.mail.Mail;
+import java.io.IOException;
+
+/** Provider boundary for outgoing notifications; selected with {@code notifications.sink}. */
+public interface NotificationSink {
+
+  /**
+   * Sends one mail request, which may address many recipients through personalizations.
+   *
+   * @throws NotificationRejectedException if the provider refused the request content, such as an
+   *     invalid recipient
+   * @throws IOException if the provider did not accept the request for any other reason
+   */
+  void sendEmail(Mail mail) throws IOException;
+}
@@ -0,0 +1,34 @@
+package com.nested.app.notifications;
+
+import com.nested.app.enums.NotificationChannel;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Notifications that go through the outbox. A template listing {@code batchVariables} only prints
+ * those variables as text, so it is rendered once with placeholders and sent to many recipients in
+ * one SendGrid request using per-personalization substitutions. Templates with loops or
+ * conditionals leave the list empty and are rendered per message.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum NotificationTemplate {
+  WELCOME(NotificationChannel.EMAIL, "customer-onboard-mail", List.of("Name")),
+  TRANSACTION_SUCCESS(
+      NotificationChannel.EMAIL,
+      "order-processed-successfully",
+      List.of("name", "fundName", "investedAmount", "transactionType")),
+  SIP_ACTIVATED(NotificationChannel.EMAIL, "sip-activated-mail", List.of());
+
+  /** Variable holding the rendered subject line. */
+  public static final String SUBJECT = "subject";
+
+  private final NotificationChannel channel;
+  private final String view;
+  private final List<String> batchVariables;
+
+  public boolean isBatchable() {
+    return !batchVariables.isEmpty();
+  }
+}
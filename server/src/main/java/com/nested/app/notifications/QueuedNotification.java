@@ -0,0 +1,11 @@
+package com.nested.app.notifications;
+
+import java.util.Map;
+
+/** A notification claimed from the outbox for delivery. */
+public record QueuedNotification(
+    long id,
+    NotificationTemplate template,
+    String recipient,
+    Map<String, Object> variables,
+    int attempts) {}
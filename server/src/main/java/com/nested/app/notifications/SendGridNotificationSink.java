@@ -0,0 +1,47 @@
+package com.nested.app.notifications;
+
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/** Delivers notifications through SendGrid. */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notifications.sink", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridNotificationSink implements NotificationSink {
+
+  @Lazy private final SendGrid sg;
+
+  @Override
+  public void sendEmail(Mail mail) throws IOException {
+    Request request = new Request();
+    request.setMethod(Method.POST);
+    request.setEndpoint("mail/send");
+    request.setBody(mail.build());
+    Response response = sg.api(request);
+    int status = response.getStatusCode();
+    if (status < 300) {
+      return;
+    }
+    String message = "SendGrid returned " + status + ": " + response.getBody();
+    if (isRejection(status)) {
+      throw new NotificationRejectedException(status, message);
+    }
+    throw new IOException(message);
+  }
+
+  /**
+   * 4xx answers about the request content. Authentication, permission and rate limit errors are
+   * not about the recipients and are retried like server errors.
+   */
+  private static boolean isRejection(int status) {
+    return status >= 400 && status < 500 && status != 401 && status != 403 && status != 429;
+  }
+}
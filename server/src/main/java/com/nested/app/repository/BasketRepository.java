@@ -4,6 +4,7 @@ import com.nested.app.entity.Basket;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -43,4 +44,14 @@ public interface BasketRepository extends JpaRepository<Basket, Long> {
   Optional<Basket> findFirstByYearsGreaterThanOrderByYears(Double years);
 
   Basket findFirstByOrderByYearsDesc();
+
+  /**
+   * Loads every basket together with its basket funds and funds in a single query. Used to build
+   * the in-memory basket catalog.
+   *
+   * @return all baskets with funds initialized
+   */
+  @Query(
+      "SELECT DISTINCT b FROM Basket b LEFT JOIN FETCH b.basketFunds bf LEFT JOIN FETCH bf.fund")
+  List<Basket> findAllWithFunds();
 }
@@ -19,4 +19,6 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
 
     Optional<Document> findByIdAndUserId(Long id, String userid);
 
+    Optional<Document> findByS3KeyAndUserId(String s3Key, String userid);
+
 }
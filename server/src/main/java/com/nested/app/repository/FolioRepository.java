@@ -2,6 +2,8 @@ package com.nested.app.repository;
 
 import com.nested.app.entity.Folio;
 import com.nested.app.entity.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,4 +11,6 @@ public interface FolioRepository extends JpaRepository<Folio, Long> {
   Optional<Folio> findFirstByFundIdAndUser(Long fundId, User user);
 
   Optional<Folio> findByRef(String ref);
+
+  List<Folio> findByUserAndFundIdIn(User user, Collection<Long> fundIds);
 }
@@ -1,6 +1,8 @@
 package com.nested.app.repository;
 
 import com.nested.app.entity.Fund;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -9,4 +11,6 @@ import org.springframework.stereotype.Repository;
 public interface FundRepository extends JpaRepository<Fund, Long> {
 
   Optional<Fund> findFundByIsinCode(String isinCode);
+
+  List<Fund> findAllByIsinCodeIn(Collection<String> isinCodes);
 }
@@ -0,0 +1,38 @@
+package com.nested.app.repository;
+
+import com.nested.app.entity.JobHistoryRollup;
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Repository for per-minute job execution rollups. Rows are written by the job history writer. */
+@Repository
+public interface JobHistoryRollupRepository extends JpaRepository<JobHistoryRollup, Long> {
+
+  /**
+   * Find the rollups of a job class within a time range, oldest first.
+   *
+   * @param jobClass simple name of the job class
+   * @param from start of the time range
+   * @param to end of the time range
+   * @return list of rollups
+   */
+  List<JobHistoryRollup> findByJobClassAndBucketStartBetweenOrderByBucketStart(
+      String jobClass, Timestamp from, Timestamp to);
+
+  /**
+   * Delete all rollups older than the specified timestamp. Used for retention policy enforcement.
+   *
+   * @param timestamp the cutoff timestamp
+   * @return number of records deleted
+   */
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM JobHistoryRollup r WHERE r.bucketStart < :timestamp")
+  int deleteByBucketStartBefore(@Param("timestamp") Timestamp timestamp);
+}
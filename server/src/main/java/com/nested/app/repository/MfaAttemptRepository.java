@@ -1,12 +1,15 @@
 package com.nested.app.repository;
 
 import com.nested.app.entity.MfaAttempt;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MfaAttemptRepository extends JpaRepository<MfaAttempt, Long> {
@@ -16,4 +19,21 @@ public interface MfaAttemptRepository extends JpaRepository<MfaAttempt, Long> {
   @Query(
       "SELECT COUNT(a) FROM MfaAttempt a WHERE a.mfaSession.id = :sessionId AND a.success = false")
   Long countFailedAttemptsBySessionId(@Param("sessionId") UUID sessionId);
+
+  /**
+   * Deletes up to {@code limit} attempts made before the cutoff in one statement, in its own
+   * transaction.
+   *
+   * @param cutoff attempts made before this instant are deleted
+   * @param limit maximum number of attempts to delete
+   * @return number of attempts deleted
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM mfa_attempts WHERE id IN "
+              + "(SELECT id FROM mfa_attempts WHERE attempted_at < :cutoff LIMIT :limit)",
+      nativeQuery = true)
+  int deleteChunkAttemptedBefore(@Param("cutoff") Timestamp cutoff, @Param("limit") int limit);
 }
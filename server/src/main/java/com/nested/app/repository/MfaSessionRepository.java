@@ -1,15 +1,19 @@
 package com.nested.app.repository;
 
 import com.nested.app.entity.MfaSession;
+import com.nested.app.enums.MfaChannel;
 import com.nested.app.enums.MfaStatus;
+import com.nested.app.enums.OtpDeliveryStatus;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MfaSessionRepository extends JpaRepository<MfaSession, UUID> {
@@ -18,9 +22,49 @@ public interface MfaSessionRepository extends JpaRepository<MfaSession, UUID> {
 
   List<MfaSession> findByUserIdAndStatus(String userId, MfaStatus status);
 
-  @Query("SELECT s FROM MfaSession s WHERE s.status = :status AND s.createdAt < :beforeDate")
-  List<MfaSession> findExpiredSessions(
-      @Param("status") MfaStatus status, @Param("beforeDate") Timestamp beforeDate);
+  /**
+   * Deletes up to {@code limit} sessions created before the cutoff in one statement, in its own
+   * transaction. Remaining attempts go with them through the cascading foreign key.
+   *
+   * @param cutoff sessions created before this instant are deleted
+   * @param limit maximum number of sessions to delete
+   * @return number of sessions deleted
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM mfa_sessions WHERE id IN "
+              + "(SELECT id FROM mfa_sessions WHERE created_at < :cutoff LIMIT :limit)",
+      nativeQuery = true)
+  int deleteChunkCreatedBefore(@Param("cutoff") Timestamp cutoff, @Param("limit") int limit);
+
+  @Modifying
+  @Query("UPDATE MfaSession s SET s.status = 'EXPIRED' WHERE s.id = :id AND s.status = 'VERIFIED'")
+  int markTokenConsumed(@Param("id") UUID id);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE MfaSession s SET s.deliveryStatus = :deliveryStatus, s.deliveryChannel = :channel,"
+          + " s.deliveredAt = :deliveredAt WHERE s.id = :id")
+  int markOtpDelivered(
+      @Param("id") UUID id,
+      @Param("deliveryStatus") OtpDeliveryStatus deliveryStatus,
+      @Param("channel") MfaChannel channel,
+      @Param("deliveredAt") Timestamp deliveredAt);
+
+  /** A session whose OTP could not be delivered can never be verified, so it is failed too. */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE MfaSession s SET s.deliveryStatus = 'FAILED', s.deliveryError = :error,"
+          + " s.status = 'FAILED' WHERE s.id = :id AND s.status = 'PENDING'")
+  int markOtpDeliveryFailed(@Param("id") UUID id, @Param("error") String error);
+
+  @Query(
+      "SELECT s FROM MfaSession s WHERE s.status = 'EXPIRED' AND s.mfaToken IS NOT NULL AND s.mfaTokenExpiresAt > :now")
+  List<MfaSession> findRevokedUnexpiredTokens(@Param("now") Timestamp now);
 
   @Query(
       "SELECT s FROM MfaSession s WHERE s.userId = :userId AND s.action = :action AND s.status = 'PENDING' ORDER BY s.createdAt DESC")
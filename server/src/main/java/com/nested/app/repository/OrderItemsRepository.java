@@ -1,7 +1,11 @@
 package com.nested.app.repository;
 
+import com.nested.app.dto.GoalFundUnitsProjection;
 import com.nested.app.dto.OrderAllocationProjection;
 import com.nested.app.entity.OrderItems;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -47,7 +51,7 @@ public interface OrderItemsRepository extends JpaRepository<OrderItems, Long> {
    *
    * @param goalId the goal ID
    * @param statuses list of status values (e.g., "completed", "in_progress")
-   * @return sum of amounts, or null if no matching items
+   * @return sum of amounts in rupees, zero if no matching items
    */
   @Query(
       value =
@@ -57,6 +61,33 @@ public interface OrderItemsRepository extends JpaRepository<OrderItems, Long> {
               + "AND o.dtype = 'SIP' "
               + "AND oi.status IN :statuses",
       nativeQuery = true)
-  Double sumSipOrderItemsAmountByGoalIdAndStatuses(
+  BigDecimal sumSipOrderItemsAmountByGoalIdAndStatuses(
       @Param("goalId") Long goalId, @Param("statuses") List<String> statuses);
+
+  /**
+   * Sums units reserved by sell order items that are still in flight, per goal and fund. Items
+   * awaiting the user's verification only count while their order is younger than {@code
+   * unverifiedSince}; abandoned ones stop holding units back.
+   */
+  @Query(
+      value =
+          """
+          SELECT o.goal_id AS goalId, oi.fund_id AS fundId, SUM(oi.reserved_units) AS units
+          FROM order_items oi
+          JOIN orders o ON o.id = oi.order_id
+          WHERE o.dtype = 'SELL'
+            AND oi.user_id = :userId
+            AND o.goal_id IN (:goalIds)
+            AND oi.fund_id IN (:fundIds)
+            AND oi.reserved_units IS NOT NULL
+            AND (oi.status IN ('PENDING', 'SUBMITTED')
+                 OR (oi.status = 'VERIFICATION_PENDING' AND o.created_at > :unverifiedSince))
+          GROUP BY o.goal_id, oi.fund_id
+          """,
+      nativeQuery = true)
+  List<GoalFundUnitsProjection> sumReservedSellUnitsByGoalAndFund(
+      @Param("userId") Long userId,
+      @Param("goalIds") Collection<Long> goalIds,
+      @Param("fundIds") Collection<Long> fundIds,
+      @Param("unverifiedSince") Timestamp unverifiedSince);
 }
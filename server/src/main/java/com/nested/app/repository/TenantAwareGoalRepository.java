@@ -4,7 +4,9 @@ import com.nested.app.entity.Goal;
 import com.nested.app.entity.User;
 import com.nested.app.enums.BasketType;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -157,6 +159,23 @@ public class TenantAwareGoalRepository extends SimpleJpaRepository<Goal, Long> {
         .getResultList();
   }
 
+  /**
+   * Find goals by ID and lock their rows until the transaction ends. Rows are locked in ID order so
+   * two requests over overlapping goals cannot deadlock.
+   *
+   * @param ids Goal IDs
+   * @param user Current user context
+   * @return Locked goals visible to user
+   */
+  public List<Goal> findAllByIdForUpdate(Collection<Long> ids, User user) {
+    enableUserFilter(user);
+    return entityManager
+        .createQuery("SELECT g FROM Goal g WHERE g.id IN :ids ORDER BY g.id", Goal.class)
+        .setParameter("ids", ids)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+  }
+
   public List<Goal> findAllByChildId(Long childId, User user) {
     enableUserFilter(user);
     return entityManager
@@ -1,9 +1,11 @@
 package com.nested.app.repository;
 
+import com.nested.app.dto.GoalFundUnitsProjection;
 import com.nested.app.dto.GoalHoldingProjection;
 import com.nested.app.dto.GoalPortfolioProjection;
 import com.nested.app.entity.Transaction;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,29 +45,34 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
    * Retrieves aggregated holdings data for a specific goal using database-level grouping and
    * calculations. This query groups transactions by fund and computes: - Total units (sum of all
    * transaction units) - Invested amount (sum of positive transaction amounts) - Current NAV (from
-   * fund table) Only returns funds with positive total units (excludes fully sold positions).
+   * fund table) Only returns funds with positive total units (excludes fully sold positions). Sums
+   * are exact NUMERIC; the current value is rounded to the paisa.
    *
    * @param userId The user ID
    * @param goalId The goal ID
    * @return List of holdings projections with aggregated data per fund
    */
   @Query(
-      """
-      SELECT
-        f.id AS fundId,
-        f.label AS fundLabel,
-        AVG(t.unitPrice) as averageNav,
-        SUM(t.units) AS totalUnits,
-        SUM(t.amount) AS investedAmount,
-        SUM(CASE WHEN status = 'SUBMITTED' THEN COALESCE(t.amount, 0) ELSE COALESCE(f.nav, 0) * COALESCE(t.units, 0)  END) AS currentValue,
-        f.nav AS currentNav
-      FROM Transaction t
-      JOIN t.fund f
-      WHERE t.user.id = :userId
-        AND t.goal.id = :goalId
-        AND t.status in ('COMPLETED', 'SUBMITTED')
-      GROUP BY f.id, f.label, f.nav
-      """)
+      value =
+          """
+          SELECT
+            f.id AS fundId,
+            f.label AS fundLabel,
+            AVG(t.unit_price) AS averageNav,
+            SUM(t.units) AS totalUnits,
+            SUM(t.amount) AS investedAmount,
+            ROUND(SUM(CASE WHEN t.status = 'SUBMITTED' THEN COALESCE(t.amount, 0)
+                           ELSE CAST(COALESCE(f.nav, 0) AS NUMERIC(14, 4)) * COALESCE(t.units, 0)
+                      END), 2) AS currentValue,
+            f.nav AS currentNav
+          FROM transactions t
+          JOIN funds f ON f.id = t.fund_id
+          WHERE t.user_id = :userId
+            AND t.goal_id = :goalId
+            AND t.status IN ('COMPLETED', 'SUBMITTED')
+          GROUP BY f.id, f.label, f.nav
+          """,
+      nativeQuery = true)
   List<GoalHoldingProjection> findGoalHoldingsAggregated(
       @Param("userId") Long userId, @Param("goalId") Long goalId);
 
@@ -79,18 +86,41 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
    * @return Optional containing the aggregated portfolio projection if data exists
    */
   @Query(
-      """
-      SELECT
-        g.id AS goalId,
-        g.title AS goalTitle,
-        g.targetAmount AS targetAmount,
-        COALESCE(SUM(t.amount), 0) AS investedAmount
-      FROM Goal g
-      LEFT JOIN Transaction t ON t.goal.id = g.id AND t.user.id = :userId AND t.status in ('COMPLETED', 'SUBMITTED')
-      LEFT JOIN t.fund f
-      WHERE g.id = :goalId
-      GROUP BY g.id, g.title, g.targetAmount
-      """)
+      value =
+          """
+          SELECT
+            g.id AS goalId,
+            g.title AS goalTitle,
+            g.target_amount AS targetAmount,
+            COALESCE(SUM(t.amount), 0) AS investedAmount
+          FROM goals g
+          LEFT JOIN transactions t
+            ON t.goal_id = g.id AND t.user_id = :userId AND t.status IN ('COMPLETED', 'SUBMITTED')
+          WHERE g.id = :goalId
+          GROUP BY g.id, g.title, g.target_amount
+          """,
+      nativeQuery = true)
   GoalPortfolioProjection findGoalPortfolioAggregated(
       @Param("userId") Long userId, @Param("goalId") Long goalId);
+
+  /**
+   * Sums completed units per goal and fund for every combination of the given goals and funds, in
+   * one query. Pairs without completed transactions are absent.
+   */
+  @Query(
+      value =
+          """
+          SELECT t.goal_id AS goalId, t.fund_id AS fundId, SUM(t.units) AS units
+          FROM transactions t
+          WHERE t.user_id = :userId
+            AND t.goal_id IN (:goalIds)
+            AND t.fund_id IN (:fundIds)
+            AND t.status = 'COMPLETED'
+          GROUP BY t.goal_id, t.fund_id
+          """,
+      nativeQuery = true)
+  List<GoalFundUnitsProjection> sumCompletedUnitsByGoalAndFund(
+      @Param("userId") Long userId,
+      @Param("goalIds") Collection<Long> goalIds,
+      @Param("fundIds") Collection<Long> fundIds);
 }
@@ -6,4 +6,7 @@ import com.nested.app.enums.Platform;
 public interface AppVersionService {
   AppVersionResponse getVersionInfo(
       String version, Platform platform, Integer buildNumber, String deviceId);
+
+  /** Content fingerprint of the current version rules, used as the basis for the ETag. */
+  String getRulesFingerprint();
 }
@@ -66,4 +66,11 @@ public interface BasketService {
    * @return List of deleted baskets
    */
   List<BasketDTO> deleteBaskets(List<BasketDTO> baskets);
+
+  /**
+   * Returns the content fingerprint of the in-memory basket catalog, used to build ETags
+   *
+   * @return Fingerprint that changes whenever the catalog data changes
+   */
+  String getCatalogFingerprint();
 }
@@ -1,10 +1,14 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.BasketCatalog;
+import com.nested.app.catalog.CatalogBasket;
+import com.nested.app.catalog.FundCatalog;
 import com.nested.app.dto.BasketDTO;
 import com.nested.app.dto.FundDTO;
 import com.nested.app.entity.Basket;
 import com.nested.app.entity.BasketFund;
 import com.nested.app.entity.Fund;
+import com.nested.app.events.BasketCatalogChangedEvent;
 import com.nested.app.exception.ExternalServiceException;
 import com.nested.app.repository.BasketFundRepository;
 import com.nested.app.repository.BasketRepository;
@@ -13,7 +17,9 @@ import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -32,6 +38,9 @@ public class BasketServiceImpl implements BasketService {
   private final BasketRepository basketRepository;
   private final BasketFundRepository basketFundRepository;
   private final FundRepository fundRepository;
+  private final FundCatalog fundCatalog;
+  private final BasketCatalog basketCatalog;
+  private final ApplicationEventPublisher publisher;
 
   /**
    * Retrieves a basket by its ID
@@ -40,28 +49,23 @@ public class BasketServiceImpl implements BasketService {
    * @return Basket data or null if not found
    */
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public BasketDTO getBasketById(String id) {
     log.info("Retrieving basket with ID: {}", id);
 
     try {
-      Optional<Basket> basketOpt = basketRepository.findById(Long.valueOf(id));
+      Optional<CatalogBasket> basketOpt = basketCatalog.findById(Long.valueOf(id));
 
       if (basketOpt.isEmpty()) {
         log.warn("Basket not found with ID: {}", id);
         return null;
       }
 
-      BasketDTO basketDTO = convertToDTO(basketOpt.get());
-      log.info("Successfully retrieved basket with ID: {}", id);
-      return basketDTO;
+      return convertToDTO(basketOpt.get());
 
     } catch (NumberFormatException e) {
       log.error("Invalid basket ID format: {}", id);
       throw new IllegalArgumentException("Invalid basket ID format: " + id);
-    } catch (Exception e) {
-      log.error("Error retrieving basket with ID {}: {}", id, e.getMessage(), e);
-      throw new ExternalServiceException("Failed to retrieve basket", e);
     }
   }
 
@@ -72,30 +76,16 @@ public class BasketServiceImpl implements BasketService {
    * @return Basket data or null if not found
    */
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public BasketDTO getBasketByName(String name) {
     log.info("Retrieving basket with name: {}", name);
 
-    try {
-      List<Basket> baskets = basketRepository.findByTitle(name);
-
-      if (baskets.isEmpty()) {
-        log.warn("Basket not found with name: {}", name);
-        return null;
-      }
-
-      if (baskets.size() > 1) {
-        log.warn("Multiple baskets found with name '{}', returning the first one", name);
-      }
-
-      BasketDTO basketDTO = convertToDTO(baskets.get(0));
-      log.info("Successfully retrieved basket with name: {}", name);
-      return basketDTO;
-
-    } catch (Exception e) {
-      log.error("Error retrieving basket with name {}: {}", name, e.getMessage(), e);
-      throw new ExternalServiceException("Failed to retrieve basket", e);
+    Optional<CatalogBasket> basketOpt = basketCatalog.snapshot().findByTitle(name);
+    if (basketOpt.isEmpty()) {
+      log.warn("Basket not found with name: {}", name);
+      return null;
     }
+    return convertToDTO(basketOpt.get());
   }
 
   /**
@@ -104,21 +94,13 @@ public class BasketServiceImpl implements BasketService {
    * @return List of all baskets
    */
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<BasketDTO> getAllBaskets() {
-    log.info("Retrieving all baskets from database");
-
-    try {
-      List<Basket> baskets = basketRepository.findAll();
-      List<BasketDTO> basketDTOs = baskets.stream().map(this::convertToDTO).toList();
-
-      log.info("Successfully retrieved {} baskets", basketDTOs.size());
-      return basketDTOs;
+    List<BasketDTO> basketDTOs =
+        basketCatalog.snapshot().all().stream().map(this::convertToDTO).toList();
 
-    } catch (Exception e) {
-      log.error("Error retrieving all baskets: {}", e.getMessage(), e);
-      throw new ExternalServiceException("Failed to retrieve baskets", e);
-    }
+    log.info("Retrieved {} baskets from catalog", basketDTOs.size());
+    return basketDTOs;
   }
 
   /**
@@ -152,6 +134,7 @@ public class BasketServiceImpl implements BasketService {
       }
 
       BasketDTO savedBasketDTO = convertToDTO(savedBasket);
+      publisher.publishEvent(new BasketCatalogChangedEvent("basket created"));
 
       log.info("Successfully created basket with ID: {}", savedBasket.getId());
       return savedBasketDTO;
@@ -211,6 +194,7 @@ public class BasketServiceImpl implements BasketService {
       }
 
       BasketDTO updatedBasketDTO = convertToDTO(updatedBasket);
+      publisher.publishEvent(new BasketCatalogChangedEvent("basket updated"));
 
       log.info("Successfully updated basket with ID: {}", updatedBasket.getId());
       return updatedBasketDTO;
@@ -259,6 +243,41 @@ public class BasketServiceImpl implements BasketService {
     return dto;
   }
 
+  /**
+   * Converts a catalog basket to BasketDTO
+   *
+   * @param basket Catalog basket
+   * @return BasketDTO
+   */
+  private BasketDTO convertToDTO(CatalogBasket basket) {
+    BasketDTO dto = new BasketDTO();
+    dto.setId(basket.id());
+    dto.setTitle(basket.title());
+    dto.setYears(basket.years());
+    dto.setExpectedReturns(basket.returns());
+    dto.setCreatedAt(basket.createdAt());
+    dto.setUpdatedAt(basket.updatedAt());
+    dto.setMinInvestment(basket.minInvestment());
+    dto.setMinSIP(basket.minSip());
+
+    if (!basket.funds().isEmpty()) {
+      dto.setFunds(
+          basket.funds().stream()
+              .map(
+                  fund -> {
+                    BasketDTO.BasketFundDTO fundDTO = new BasketDTO.BasketFundDTO();
+                    fundDTO.setFundId(fund.fundId());
+                    fundDTO.setName(fund.name());
+                    fundDTO.setCagr(fund.cagr());
+                    fundDTO.setAllocationPercentage(fund.allocationPercentage());
+                    return fundDTO;
+                  })
+              .toList());
+    }
+
+    return dto;
+  }
+
   /**
    * Converts Fund entity to FundDTO for basket
    *
@@ -302,6 +321,7 @@ public class BasketServiceImpl implements BasketService {
 
       basketRepository.delete(existingBasket);
       BasketDTO deletedBasketDTO = convertToDTO(existingBasket);
+      publisher.publishEvent(new BasketCatalogChangedEvent("basket deleted"));
 
       log.info("Successfully deleted basket with ID: {}", basketDTO.getId());
       return deletedBasketDTO;
@@ -406,14 +426,13 @@ public class BasketServiceImpl implements BasketService {
         throw new IllegalArgumentException("Fund ID is required for basket fund");
       }
 
-      Optional<Fund> fundOpt = fundRepository.findById(fundDTO.getFundId());
-      if (fundOpt.isEmpty()) {
+      if (fundCatalog.findById(fundDTO.getFundId()).isEmpty()) {
         throw new IllegalArgumentException("Fund not found with ID: " + fundDTO.getFundId());
       }
 
       BasketFund basketFund = new BasketFund();
       basketFund.setBasket(basket);
-      basketFund.setFund(fundOpt.get());
+      basketFund.setFund(fundRepository.getReferenceById(fundDTO.getFundId()));
       basketFund.setAllocationPercentage(fundDTO.getAllocationPercentage());
 
       basketFundRepository.save(basketFund);
@@ -440,4 +459,10 @@ public class BasketServiceImpl implements BasketService {
     // Save new basket funds
     saveBasketFunds(basket, funds);
   }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public String getCatalogFingerprint() {
+    return basketCatalog.snapshot().fingerprint();
+  }
 }
@@ -1,6 +1,8 @@
 package com.nested.app.services;
 
 import com.nested.app.buckets.S3Service;
+import com.nested.app.dto.DirectUploadRequest;
+import com.nested.app.dto.DirectUploadResponse;
 import com.nested.app.dto.DocumentDto;
 import com.nested.app.dto.UploadResponse;
 import com.nested.app.entity.Document;
@@ -8,18 +10,23 @@ import com.nested.app.enums.DocumentVisibility;
 import com.nested.app.exception.DocumentNotFoundException;
 import com.nested.app.exception.ExternalServiceException;
 import com.nested.app.repository.DocumentRepository;
+import com.nested.app.utils.FileUploadValidator;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 @Service
 @RequiredArgsConstructor
@@ -28,65 +35,131 @@ public class DocumentService {
 
     private final DocumentRepository documentRepository;
     private final S3Service s3Service;
-    private final com.nested.app.utils.FileUploadValidator fileUploadValidator;
+    private final FileUploadValidator fileUploadValidator;
+
+    /**
+     * Validates and uploads a document through the async S3 client, then records it. No
+     * transaction or DB connection is held while the file is in flight; the returned future
+     * completes once the {@link Document} row is saved.
+     */
+    public CompletableFuture<UploadResponse> uploadDocument(String userId,
+                                                            MultipartFile file,
+                                                            DocumentVisibility visibility) {
+        // ---- Validate input ----
+        if (Objects.isNull(userId) || userId.isBlank()) {
+            return CompletableFuture.completedFuture(UploadResponse.failure("User ID is required"));
+        }
 
-    @Transactional
-    public UploadResponse uploadDocument(String userId,
-                                         MultipartFile file,
-                                         DocumentVisibility visibility) {
-        try {
-            // ---- Validate input ----
-            if (Objects.isNull(userId) || userId.isBlank()) {
-                return UploadResponse.failure("User ID is required");
-            }
+        if (Objects.isNull(file) || file.isEmpty()) {
+            return CompletableFuture.completedFuture(UploadResponse.failure("File is required and cannot be empty"));
+        }
 
-            if (Objects.isNull(file) || file.isEmpty()) {
-                return UploadResponse.failure("File is required and cannot be empty");
-            }
+        String originalFileName = file.getOriginalFilename();
+        if (Objects.isNull(originalFileName) || originalFileName.isBlank()) {
+            return CompletableFuture.completedFuture(UploadResponse.failure("File name is required"));
+        }
 
-            String originalFileName = file.getOriginalFilename();
-            if (Objects.isNull(originalFileName) || originalFileName.isBlank()) {
-                return UploadResponse.failure("File name is required");
-            }
+        if (Objects.isNull(visibility)) {
+            return CompletableFuture.completedFuture(UploadResponse.failure("Document visibility is required"));
+        }
 
-            if (Objects.isNull(visibility)) {
-                return UploadResponse.failure("Document visibility is required");
-            }
+        // SECURITY FIX: Validate file upload
+        FileUploadValidator.ValidationResult validationResult = fileUploadValidator.validateDocument(file);
+        if (!validationResult.isValid()) {
+            log.warn("File upload validation failed: {}", validationResult.getErrorMessage());
+            return CompletableFuture.completedFuture(
+                    UploadResponse.failure("File validation failed: " + validationResult.getErrorMessage()));
+        }
 
-            // SECURITY FIX: Validate file upload
-            com.nested.app.utils.FileUploadValidator.ValidationResult validationResult = 
-                fileUploadValidator.validateDocument(file);
-            if (!validationResult.isValid()) {
-                log.warn("File upload validation failed: {}", validationResult.getErrorMessage());
-                return UploadResponse.failure("File validation failed: " + validationResult.getErrorMessage());
+        // Sniff only the leading bytes; the multipart body itself stays on disk
+        try (InputStream in = file.getInputStream()) {
+            FileUploadValidator.ValidationResult contentResult = fileUploadValidator.validateContentSignature(
+                    in.readNBytes(FileUploadValidator.SIGNATURE_LENGTH), file.getContentType());
+            if (!contentResult.isValid()) {
+                log.warn("File upload validation failed: {}", contentResult.getErrorMessage());
+                return CompletableFuture.completedFuture(
+                        UploadResponse.failure("File validation failed: " + contentResult.getErrorMessage()));
             }
+        } catch (IOException e) {
+            log.error("I/O error occurred while uploading document", e);
+            return CompletableFuture.completedFuture(
+                    UploadResponse.failure("I/O error occurred while uploading document: " + e.getMessage()));
+        }
 
-            // ---- Upload to S3 ----
-            String s3Key = s3Service.uploadFile(file, visibility);
-
-            // ---- Save metadata in DB ----
-            Document document = new Document();
-            document.setUserId(userId);
-            document.setFileName(originalFileName);
-            document.setS3Key(s3Key);
-            document.setContentType(file.getContentType());
-            document.setFileSize(file.getSize());
-            document.setVisibility(visibility);
-
-            Document savedDocument = documentRepository.save(document);
+        // ---- Upload to S3, then save metadata in DB ----
+        return s3Service.uploadFileAsync(file, visibility)
+                .thenApply(s3Key -> recordDocument(
+                        userId, originalFileName, s3Key, file.getContentType(), file.getSize(), visibility))
+                .exceptionally(e -> {
+                    log.error("Unexpected error while uploading document", e);
+                    return UploadResponse.failure("Unexpected error occurred: " + rootCause(e).getMessage());
+                });
+    }
 
-            log.info("Document uploaded successfully with ID: {}", savedDocument.getId());
+    /**
+     * Presigns a direct upload after validating the declared metadata. The client PUTs the file to
+     * the returned URL and then calls {@link #completeDirectUpload}.
+     */
+    public DirectUploadResponse createDirectUpload(String userId,
+                                                   DirectUploadRequest request,
+                                                   DocumentVisibility visibility) {
+        FileUploadValidator.ValidationResult validationResult = fileUploadValidator.validateDocumentMetadata(
+                request.getFileName(), request.getContentType(), request.getFileSize());
+        if (!validationResult.isValid()) {
+            throw new IllegalArgumentException("File validation failed: " + validationResult.getErrorMessage());
+        }
 
-            return UploadResponse.success(savedDocument.getId(), savedDocument.getFileName());
+        S3Service.PresignedUpload upload = s3Service.presignUpload(
+                userId, request.getFileName(), request.getContentType(), request.getFileSize(), visibility);
+        return new DirectUploadResponse(upload.s3Key(), upload.url(), upload.headers(), upload.expiresAt());
+    }
 
-        } catch (IOException e) {
-            log.error("I/O error occurred while uploading document", e);
-            return UploadResponse.failure("I/O error occurred while uploading document: " + e.getMessage());
+    /**
+     * Completion callback for direct uploads. Validates the stored object's metadata and leading
+     * bytes (never the whole body) and records the {@link Document}; invalid objects are deleted.
+     * Completing the same upload twice, even concurrently, returns the existing document.
+     */
+    public CompletableFuture<UploadResponse> completeDirectUpload(String userId,
+                                                                  String s3Key,
+                                                                  String fileName,
+                                                                  DocumentVisibility visibility) {
+        if (Objects.isNull(s3Key)
+                || !s3Key.startsWith(S3Service.DIRECT_UPLOAD_PREFIX + userId + "/")
+                || s3Key.contains("..")) {
+            return CompletableFuture.completedFuture(UploadResponse.failure("Invalid upload key"));
+        }
 
-        } catch (Exception e) {
-            log.error("Unexpected error while uploading document", e);
-            return UploadResponse.failure("Unexpected error occurred: " + e.getMessage());
+        Optional<Document> existing = documentRepository.findByS3KeyAndUserId(s3Key, userId);
+        if (existing.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    UploadResponse.success(existing.get().getId(), existing.get().getFileName()));
         }
+
+        return s3Service.headObjectAsync(s3Key, visibility)
+                .thenCompose(head -> {
+                    FileUploadValidator.ValidationResult metadataResult = fileUploadValidator.validateDocumentMetadata(
+                            fileName, head.contentType(), head.contentLength());
+                    if (!metadataResult.isValid()) {
+                        return rejectUpload(s3Key, visibility, metadataResult.getErrorMessage());
+                    }
+                    return s3Service.readPrefixAsync(s3Key, visibility, FileUploadValidator.SIGNATURE_LENGTH)
+                            .thenCompose(header -> {
+                                FileUploadValidator.ValidationResult contentResult =
+                                        fileUploadValidator.validateContentSignature(header, head.contentType());
+                                if (!contentResult.isValid()) {
+                                    return rejectUpload(s3Key, visibility, contentResult.getErrorMessage());
+                                }
+                                return CompletableFuture.completedFuture(recordDocument(
+                                        userId, fileName, s3Key, head.contentType(), head.contentLength(), visibility));
+                            });
+                })
+                .exceptionally(e -> {
+                    if (rootCause(e) instanceof S3Exception s3Exception && s3Exception.statusCode() == 404) {
+                        return UploadResponse.failure("Upload not found: " + s3Key);
+                    }
+                    log.error("Unexpected error while completing upload {}", s3Key, e);
+                    return UploadResponse.failure("Unexpected error occurred: " + rootCause(e).getMessage());
+                });
     }
 
     @Transactional(readOnly = true)
@@ -158,6 +231,51 @@ public class DocumentService {
         }
     }
 
+    /** Saves the document row; the stored object is removed again if that fails. */
+    private UploadResponse recordDocument(String userId, String fileName, String s3Key,
+                                          String contentType, long fileSize, DocumentVisibility visibility) {
+        Document document = new Document();
+        document.setUserId(userId);
+        document.setFileName(fileName);
+        document.setS3Key(s3Key);
+        document.setContentType(contentType);
+        document.setFileSize(fileSize);
+        document.setVisibility(visibility);
+
+        try {
+            Document savedDocument = documentRepository.save(document);
+            log.info("Document uploaded successfully with ID: {}", savedDocument.getId());
+            return UploadResponse.success(savedDocument.getId(), savedDocument.getFileName());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent completion of the same upload recorded it first; the object is theirs too
+            Optional<Document> existing = documentRepository.findByS3KeyAndUserId(s3Key, userId);
+            if (existing.isEmpty()) {
+                // Some other constraint failed; nothing refers to the object
+                s3Service.deleteFileAsync(s3Key, visibility);
+                throw e;
+            }
+            log.info("Upload {} was already recorded as document {}", s3Key, existing.get().getId());
+            return UploadResponse.success(existing.get().getId(), existing.get().getFileName());
+        } catch (RuntimeException e) {
+            s3Service.deleteFileAsync(s3Key, visibility);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<UploadResponse> rejectUpload(String s3Key, DocumentVisibility visibility, String reason) {
+        log.warn("Direct upload {} failed validation: {}", s3Key, reason);
+        return s3Service.deleteFileAsync(s3Key, visibility)
+                .handle((ignored, e) -> UploadResponse.failure("File validation failed: " + reason));
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
     private DocumentDto mapToDtoWithDownloadUrl(Document document) {
         DocumentDto dto = DocumentDto.fromEntity(document);
         dto.setDownloadUrl(s3Service.generatePresignedUrl(
@@ -23,6 +23,19 @@ public interface EducationService {
    */
   List<EducationDTO> getAllEducation(Education.Type type, String search);
 
+  /**
+   * Ranked search over education records, served from the in-memory search index
+   *
+   * @param type Optional filter by education type
+   * @param search Optional search term matched against name or country
+   * @param page Optional zero-based page number; when both page and size are null all matches are
+   *     returned
+   * @param size Optional page size
+   * @return Ranked list of EducationDTO for the requested page
+   */
+  List<EducationDTO> searchEducation(
+      Education.Type type, String search, Integer page, Integer size);
+
   /**
    * Get education record by ID
    * @param id Education ID
@@ -50,5 +63,11 @@ public interface EducationService {
    * @return List of deleted EducationDTO
    */
   List<EducationDTO> deleteEducation(List<Long> ids);
-}
 
+  /**
+   * Returns the content fingerprint of the in-memory education catalog, used to build ETags
+   *
+   * @return Fingerprint that changes whenever the catalog data changes
+   */
+  String getCatalogFingerprint();
+}
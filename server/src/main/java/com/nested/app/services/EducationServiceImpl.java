@@ -1,13 +1,20 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.CatalogEducation;
+import com.nested.app.catalog.EducationCatalog;
+import com.nested.app.config.CacheConfig;
 import com.nested.app.dto.EducationDTO;
 import com.nested.app.entity.Education;
+import com.nested.app.events.EducationCatalogChangedEvent;
 import com.nested.app.repository.EducationRepository;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -22,39 +29,57 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class EducationServiceImpl implements EducationService {
 
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final EducationRepository educationRepository;
+  private final EducationCatalog educationCatalog;
+  private final ApplicationEventPublisher publisher;
 
+  /**
+   * Cached here rather than through {@link #searchEducation}: a call on {@code this} bypasses the
+   * caching proxy. The key matches an unpaged search, so both share one entry.
+   */
   @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  @Cacheable(
+      value = CacheConfig.EDUCATION_SEARCH,
+      key = "(#type ?: 'ALL') + ':' + (#search ?: '') + ':all:all'")
   public List<EducationDTO> getAllEducation(Education.Type type, String search) {
-    log.info("Fetching all education records with type: {}, search: {}", type, search);
-    List<Education> educationList;
-    
-    if (search != null && !search.trim().isEmpty()) {
-      // Search is provided
-      if (type != null) {
-        // Both type and search are provided
-        educationList = educationRepository.searchByNameOrCountryAndType(search.trim(), type);
-      } else {
-        // Only search is provided
-        educationList = educationRepository.searchByNameOrCountry(search.trim());
-      }
-    } else {
-      // No search, use existing logic
-      educationList =
-          type == null ? educationRepository.findAll() : educationRepository.findByType(type);
+    return searchEducation(type, search, null, null);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  @Cacheable(
+      value = CacheConfig.EDUCATION_SEARCH,
+      key =
+          "(#type ?: 'ALL') + ':' + (#search ?: '') + ':' + (#page ?: 'all') + ':' + (#size ?: 'all')")
+  public List<EducationDTO> searchEducation(
+      Education.Type type, String search, Integer page, Integer size) {
+    log.debug("Searching education records with type: {}, search: {}", type, search);
+
+    int offset = 0;
+    int limit = Integer.MAX_VALUE;
+    if (page != null || size != null) {
+      limit = Math.min(size == null ? DEFAULT_PAGE_SIZE : Math.max(size, 1), MAX_PAGE_SIZE);
+      offset = Math.max(page == null ? 0 : page, 0) * limit;
     }
-    
-    return educationList.stream().map(this::convertToDTO).collect(Collectors.toList());
+
+    return educationCatalog.index().search(search, type, offset, limit).content().stream()
+        .map(this::convertToDTO)
+        .collect(Collectors.toList());
   }
 
   @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
   public EducationDTO getEducationById(Long id) {
     log.info("Fetching education record with id: {}", id);
-    Education education =
-        educationRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Education not found with id: " + id));
-    return convertToDTO(education);
+    return educationCatalog
+        .index()
+        .findById(id)
+        .map(this::convertToDTO)
+        .orElseThrow(() -> new IllegalArgumentException("Education not found with id: " + id));
   }
 
   @Override
@@ -65,6 +90,7 @@ public class EducationServiceImpl implements EducationService {
         educationList.stream().map(this::convertToEntity).collect(Collectors.toList());
 
     List<Education> savedEntities = educationRepository.saveAll(entities);
+    publisher.publishEvent(new EducationCatalogChangedEvent("education created"));
 
     return savedEntities.stream().map(this::convertToDTO).collect(Collectors.toList());
   }
@@ -103,6 +129,7 @@ public class EducationServiceImpl implements EducationService {
             .collect(Collectors.toList());
 
     List<Education> savedEntities = educationRepository.saveAll(updatedEntities);
+    publisher.publishEvent(new EducationCatalogChangedEvent("education updated"));
 
     return savedEntities.stream().map(this::convertToDTO).collect(Collectors.toList());
   }
@@ -126,6 +153,7 @@ public class EducationServiceImpl implements EducationService {
         educationToDelete.stream().map(this::convertToDTO).collect(Collectors.toList());
 
     educationRepository.deleteAll(educationToDelete);
+    publisher.publishEvent(new EducationCatalogChangedEvent("education deleted"));
 
     return deletedDTOs;
   }
@@ -144,6 +172,20 @@ public class EducationServiceImpl implements EducationService {
     return dto;
   }
 
+  /** Convert catalog entry to DTO */
+  private EducationDTO convertToDTO(CatalogEducation education) {
+    EducationDTO dto = new EducationDTO();
+    dto.setId(education.id());
+    dto.setName(education.name());
+    dto.setType(education.type().name());
+    dto.setCountry(education.country());
+    dto.setLastYearFee(education.lastYearFee());
+    dto.setExpectedFee(education.expectedFee());
+    dto.setExpectedIncreasePercentLt10Yr(education.expectedIncreasePercentLt10Yr());
+    dto.setExpectedIncreasePercentGt10Yr(education.expectedIncreasePercentGt10Yr());
+    return dto;
+  }
+
   /** Convert EducationDTO to entity */
   private Education convertToEntity(EducationDTO dto) {
     Education education = new Education();
@@ -165,4 +207,10 @@ public class EducationServiceImpl implements EducationService {
     }
     return education;
   }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public String getCatalogFingerprint() {
+    return educationCatalog.index().fingerprint();
+  }
 }
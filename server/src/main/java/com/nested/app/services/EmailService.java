@@ -1,7 +1,12 @@
 package com.nested.app.services;
 
 import com.nested.app.enums.TransactionType;
+import com.nested.app.notifications.NotificationQueue;
+import com.nested.app.notifications.NotificationRequest;
+import com.nested.app.notifications.NotificationTemplate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import com.sendgrid.Method;
 import com.sendgrid.Request;
 import com.sendgrid.Response;
@@ -13,17 +18,16 @@ import java.text.DecimalFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class EmailService {
 
-  private final SendGrid sg;
-  private final TemplateEngine templateEngine;
+  @Lazy private final SendGrid sg;
+  private final NotificationQueue notificationQueue;
 
   @Value("${spring.mail.from:noreply@nested.money}")
   private String fromEmail;
@@ -88,44 +92,25 @@ public class EmailService {
   }
 
   /**
-   * Sends welcome email to user when KYC is completed successfully
+   * Queues the welcome email sent when KYC is completed successfully. Sent at most once per user.
    *
+   * @param userId User the email is for, used as dedupe key
    * @param email Recipient email address
    * @param name User's name to personalize the email
    */
-  public void sendWelcomeEmail(String email, String name) {
-    try {
-      Email from = new Email(fromEmail);
-      Email to = new Email(email);
-      String subject = "Welcome to NestEd - Your Investment Journey Begins!";
-
-      // Process the template with Thymeleaf
-      Context context = new Context();
-      context.setVariable("Name", name != null ? name : "Investor");
-      String htmlContent = templateEngine.process("customer-onboard-mail", context);
-
-      Content content = new Content("text/html", htmlContent);
-      Mail mail = new Mail(from, subject, to, content);
-      Request request = new Request();
-
-      request.setMethod(Method.POST);
-      request.setEndpoint("mail/send");
-      request.setBody(mail.build());
-      Response response = sg.api(request);
-
-      log.info(
-          "Welcome email sent to {} (masked), Request Status: {}",
-          maskEmail(email),
-          response.getStatusCode());
-    } catch (Exception e) {
-      log.error("Failed to send welcome email to {}: {}", maskEmail(email), e.getMessage(), e);
-      // Don't throw exception to avoid disrupting the KYC flow
-    }
+  public void sendWelcomeEmail(Long userId, String email, String name) {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put(
+        NotificationTemplate.SUBJECT, "Welcome to NestEd - Your Investment Journey Begins!");
+    variables.put("Name", name != null ? name : "Investor");
+    enqueue(NotificationTemplate.WELCOME, email, variables, "welcome:" + userId);
   }
 
   /**
-   * Sends transaction success email to user when a transaction is processed successfully
+   * Queues the transaction success email sent when a transaction is processed successfully. Sent
+   * at most once per transaction.
    *
+   * @param transactionId Transaction the email is for, used as dedupe key
    * @param email Recipient email address
    * @param name User's name to personalize the email
    * @param fundName Name of the fund involved in the transaction
@@ -133,45 +118,27 @@ public class EmailService {
    * @param transactionType Type of transaction (BUY, SELL, SIP)
    */
   public void sendTransactionSuccessEmail(
-      String email, String name, String fundName, Double amount, TransactionType transactionType) {
-    try {
-      Email from = new Email(fromEmail);
-      Email to = new Email(email);
-
-      // Map transaction type to display text
-      String displayType = getTransactionTypeDisplayText(transactionType);
-      String subject = "Your " + displayType + " request submitted successfully";
-
-      // Process the template with Thymeleaf
-      Context context = new Context();
-      context.setVariable("name", name != null ? name : "Investor");
-      context.setVariable("fundName", fundName != null ? fundName : "N/A");
-      context.setVariable("investedAmount", formatAmount(amount));
-      context.setVariable("transactionType", displayType);
-      String htmlContent = templateEngine.process("order-processed-successfully", context);
-
-      Content content = new Content("text/html", htmlContent);
-      Mail mail = new Mail(from, subject, to, content);
-      Request request = new Request();
-
-      request.setMethod(Method.POST);
-      request.setEndpoint("mail/send");
-      request.setBody(mail.build());
-      Response response = sg.api(request);
-
-      log.info(
-          "Transaction success email sent to {} (masked) for {} transaction, Request Status: {}",
-          maskEmail(email),
-          displayType,
-          response.getStatusCode());
-    } catch (Exception e) {
-      log.error(
-          "Failed to send transaction success email to {}: {}",
-          maskEmail(email),
-          e.getMessage(),
-          e);
-      // Don't throw exception to avoid disrupting the transaction flow
-    }
+      Long transactionId,
+      String email,
+      String name,
+      String fundName,
+      Double amount,
+      TransactionType transactionType) {
+    // Map transaction type to display text
+    String displayType = getTransactionTypeDisplayText(transactionType);
+
+    Map<String, Object> variables = new HashMap<>();
+    variables.put(
+        NotificationTemplate.SUBJECT, "Your " + displayType + " request submitted successfully");
+    variables.put("name", name != null ? name : "Investor");
+    variables.put("fundName", fundName != null ? fundName : "N/A");
+    variables.put("investedAmount", formatAmount(amount));
+    variables.put("transactionType", displayType);
+    enqueue(
+        NotificationTemplate.TRANSACTION_SUCCESS,
+        email,
+        variables,
+        transactionId != null ? "transaction-success:" + transactionId : null);
   }
 
   /**
@@ -193,8 +160,10 @@ public class EmailService {
   }
 
   /**
-   * Sends SIP activation confirmation email to user when a SIP is successfully activated
+   * Queues the SIP activation confirmation email sent when a SIP is successfully activated. Sent at
+   * most once per SIP payment.
    *
+   * @param paymentId Payment that activated the SIP, used as dedupe key
    * @param email Recipient email address
    * @param name User's name to personalize the email
    * @param amount Total monthly SIP amount
@@ -202,40 +171,46 @@ public class EmailService {
    * @param fundNames List of fund names in the basket
    */
   public void sendSipActivatedEmail(
-      String email, String name, Double amount, String goalOrChildName, List<String> fundNames) {
-    try {
-      Email from = new Email(fromEmail);
-      Email to = new Email(email);
-      String subject =
-          "\uD83C\uDF89 Your ₹"
-              + formatAmount(amount)
-              + "/month SIP is live on Nested — "
-              + goalOrChildName
-              + "'s future just got secured!";
-
-      Context context = new Context();
-      context.setVariable("name", name != null ? name : "Investor");
-      context.setVariable("sipAmount", formatAmount(amount));
-      context.setVariable("goalOrChildName", goalOrChildName != null ? goalOrChildName : "your child");
-      context.setVariable("funds", fundNames);
-      String htmlContent = templateEngine.process("sip-activated-mail", context);
-
-      Content content = new Content("text/html", htmlContent);
-      Mail mail = new Mail(from, subject, to, content);
-      Request request = new Request();
-      request.setMethod(Method.POST);
-      request.setEndpoint("mail/send");
-      request.setBody(mail.build());
-      Response response = sg.api(request);
+      Long paymentId,
+      String email,
+      String name,
+      Double amount,
+      String goalOrChildName,
+      List<String> fundNames) {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put(
+        NotificationTemplate.SUBJECT,
+        "\uD83C\uDF89 Your ₹"
+            + formatAmount(amount)
+            + "/month SIP is live on Nested — "
+            + goalOrChildName
+            + "'s future just got secured!");
+    variables.put("name", name != null ? name : "Investor");
+    variables.put("sipAmount", formatAmount(amount));
+    variables.put("goalOrChildName", goalOrChildName != null ? goalOrChildName : "your child");
+    variables.put("funds", fundNames);
+    enqueue(
+        NotificationTemplate.SIP_ACTIVATED,
+        email,
+        variables,
+        paymentId != null ? "sip-activated:" + paymentId : null);
+  }
 
-      log.info(
-          "SIP activation email sent to {} (masked), status: {}",
-          maskEmail(email),
-          response.getStatusCode());
+  /**
+   * Adds an email to the notification outbox. Delivery happens on the dispatcher, so failures
+   * here are logged and never disrupt the calling flow.
+   */
+  private void enqueue(
+      NotificationTemplate template,
+      String email,
+      Map<String, Object> variables,
+      String dedupeKey) {
+    try {
+      notificationQueue.enqueue(new NotificationRequest(template, email, variables, dedupeKey));
+      log.info("{} email queued for {} (masked)", template, maskEmail(email));
     } catch (Exception e) {
       log.error(
-          "Failed to send SIP activation email to {}: {}", maskEmail(email), e.getMessage(), e);
-      // Don't throw exception to avoid disrupting the SIP activation flow
+          "Failed to queue {} email to {}: {}", template, maskEmail(email), e.getMessage(), e);
     }
   }
 
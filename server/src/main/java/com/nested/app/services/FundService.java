@@ -1,5 +1,6 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.FundQuery;
 import com.nested.app.dto.FundDTO;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +31,15 @@ public interface FundService {
    */
   List<FundDTO> getActiveFunds(Pageable pageable);
 
+  /**
+   * Retrieves funds matching the given filter, served from the in-memory fund catalog
+   *
+   * @param query Filter criteria (active flag, AMC, scheme type)
+   * @param pageable Pagination and sort information
+   * @return List of matching funds for the requested page
+   */
+  List<FundDTO> getFunds(FundQuery query, Pageable pageable);
+
   /**
    * Retrieves fund by ID
    *
@@ -48,5 +58,11 @@ public interface FundService {
   FundDTO updateFundLabel(Long id, String label);
 
   FundDTO updateFundCagr(Long id, Double cagr);
-}
 
+  /**
+   * Returns the content fingerprint of the in-memory fund catalog, used to build ETags
+   *
+   * @return Fingerprint that changes whenever the catalog data changes
+   */
+  String getCatalogFingerprint();
+}
@@ -1,15 +1,20 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.CatalogFund;
+import com.nested.app.catalog.FundCatalog;
+import com.nested.app.catalog.FundQuery;
 import com.nested.app.dto.FundDTO;
 import com.nested.app.entity.Fund;
-import com.nested.app.exception.ExternalServiceException;
+import com.nested.app.events.FundCatalogChangedEvent;
 import com.nested.app.repository.FundRepository;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -25,57 +30,44 @@ import org.springframework.transaction.annotation.Transactional;
 public class FundServiceImpl implements FundService {
 
   private final FundRepository fundRepository;
+  private final FundCatalog fundCatalog;
+  private final ApplicationEventPublisher publisher;
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<FundDTO> getAllFunds(Pageable pageable) {
-    log.info("Retrieving all funds with pagination: {}", pageable);
-    
-    try {
-      List<Fund> funds = fundRepository.findAll(pageable).getContent();
-      log.info("Successfully retrieved {} funds", funds.size());
-      return funds.stream().map(this::convertToDTO).collect(Collectors.toList());
-    } catch (Exception e) {
-      log.error("Error retrieving funds: {}", e.getMessage(), e);
-      throw new ExternalServiceException("Failed to retrieve funds", e);
-    }
+    return getFunds(FundQuery.all(), pageable);
   }
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public List<FundDTO> getActiveFunds(Pageable pageable) {
-    log.info("Retrieving active funds with pagination: {}", pageable);
-    
-    try {
-      List<Fund> funds = fundRepository.findAll(pageable).getContent();
-      List<FundDTO> activeFunds = funds.stream()
-          .filter(Fund::isActive)
-          .map(this::convertToDTO)
-          .collect(Collectors.toList());
-      
-      log.info("Successfully retrieved {} active funds", activeFunds.size());
-      return activeFunds;
-    } catch (Exception e) {
-      log.error("Error retrieving active funds: {}", e.getMessage(), e);
-      throw new ExternalServiceException("Failed to retrieve active funds", e);
-    }
+    return getFunds(FundQuery.active(), pageable);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public List<FundDTO> getFunds(FundQuery query, Pageable pageable) {
+    log.debug("Retrieving funds from catalog with query: {}, pagination: {}", query, pageable);
+
+    List<FundDTO> funds =
+        fundCatalog.snapshot().query(query, pageable).getContent().stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    log.debug("Successfully retrieved {} funds", funds.size());
+    return funds;
   }
 
   @Override
-  @Transactional(readOnly = true)
+  @Transactional(propagation = Propagation.SUPPORTS)
   public FundDTO getFundById(Long id) {
     log.info("Retrieving fund with ID: {}", id);
-    
-    try {
-      Fund fund = fundRepository.findById(id)
-          .orElseThrow(() -> new IllegalArgumentException("Fund not found with ID: " + id));
-      
-      log.info("Successfully retrieved fund: {}", fund.getName());
-      return convertToDTO(fund);
-    } catch (Exception e) {
-      log.error("Error retrieving fund with ID {}: {}", id, e.getMessage(), e);
-      throw e;
-    }
+
+    CatalogFund fund =
+        fundCatalog
+            .findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Fund not found with ID: " + id));
+    return convertToDTO(fund);
   }
 
   @Override
@@ -93,6 +85,7 @@ public class FundServiceImpl implements FundService {
       
       fund.setLabel(label.trim());
       Fund updatedFund = fundRepository.save(fund);
+      publisher.publishEvent(new FundCatalogChangedEvent("fund label updated"));
       
       log.info("Successfully updated fund label for ID: {}", id);
       return convertToDTO(updatedFund);
@@ -112,16 +105,26 @@ public class FundServiceImpl implements FundService {
    * @return FundDTO
    */
   private FundDTO convertToDTO(Fund fund) {
+    return convertToDTO(CatalogFund.from(fund));
+  }
+
+  /**
+   * Converts a catalog entry to FundDTO
+   *
+   * @param fund Catalog fund
+   * @return FundDTO
+   */
+  private FundDTO convertToDTO(CatalogFund fund) {
     FundDTO dto = new FundDTO();
-    dto.setId(fund.getId().toString());
-    dto.setCode(fund.getAmcCode());
-    dto.setName(fund.getName());
-    dto.setDisplayName(fund.getLabel());
-    dto.setDescription(fund.getDescription());
-    dto.setMinAmount(fund.getMimPurchaseAmount());
-    dto.setNav(fund.getNav());
-    dto.setActive(fund.isActive());
-    dto.setCagr(fund.getCagr());
+    dto.setId(fund.id().toString());
+    dto.setCode(fund.amcCode());
+    dto.setName(fund.name());
+    dto.setDisplayName(fund.label());
+    dto.setDescription(fund.description());
+    dto.setMinAmount(fund.minPurchaseAmount());
+    dto.setNav(fund.nav());
+    dto.setActive(fund.active());
+    dto.setCagr(fund.cagr());
     return dto;
   }
 
@@ -136,6 +139,7 @@ public class FundServiceImpl implements FundService {
 
       fund.setCagr(cagr);
       Fund updatedFund = fundRepository.save(fund);
+      publisher.publishEvent(new FundCatalogChangedEvent("fund cagr updated"));
 
       log.info("Successfully updated fund CAGR for ID: {}", id);
       return convertToDTO(updatedFund);
@@ -147,5 +151,10 @@ public class FundServiceImpl implements FundService {
       throw new RuntimeException("Failed to update fund CAGR", e);
     }
   }
-}
 
+  @Override
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public String getCatalogFingerprint() {
+    return fundCatalog.snapshot().fingerprint();
+  }
+}
@@ -1,25 +1,34 @@
 package com.nested.app.services;
 
+import com.nested.app.annotation.WorkerOnly;
 import com.nested.app.client.finprimitives.FundAPIClient;
 import com.nested.app.client.mf.dto.FundDTO;
 import com.nested.app.client.mf.dto.SchemeResponse;
 import com.nested.app.entity.Fund;
+import com.nested.app.events.FundCatalogChangedEvent;
 import com.nested.app.repository.FundRepository;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
+@WorkerOnly
 @AllArgsConstructor
 public class FundSyncScheduler {
   private final FundAPIClient fundAPIClient;
   private final FundRepository fundRepository;
+  private final ApplicationEventPublisher publisher;
 
   @Scheduled(cron = "0 0 1 * * ?")
   public void syncFunds() {
@@ -46,9 +55,19 @@ public class FundSyncScheduler {
       if (response != null && response.getResults() != null) {
         log.info(
             "Fetched funds from External provider result count {}", response.getResults().size());
+        // One lookup per page instead of one per ISIN
+        Map<String, Fund> existing =
+            fundRepository
+                .findAllByIsinCodeIn(
+                    response.getResults().stream()
+                        .map(FundDTO::getIsin)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Fund::getIsinCode, Function.identity(), (a, b) -> a));
         for (FundDTO dto : response.getResults()) {
           try {
-            Fund fund = fundRepository.findFundByIsinCode(dto.getIsin()).orElse(new Fund());
+            Fund fund = existing.getOrDefault(dto.getIsin(), new Fund());
             mapToFund(dto, fund);
             funds.add(fund);
           } catch (Exception e) {
@@ -63,6 +82,7 @@ public class FundSyncScheduler {
         log.error("Error while saving funds to DB");
       }
     }
+    publisher.publishEvent(new FundCatalogChangedEvent("fund sync"));
   }
 
   private void mapToFund(FundDTO dto, Fund fund) {
@@ -1,5 +1,7 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.BasketCatalog;
+import com.nested.app.catalog.CatalogBasket;
 import com.nested.app.dto.GoalDTO;
 import com.nested.app.dto.MinifiedBasketDto;
 import com.nested.app.dto.MinifiedChildDTO;
@@ -48,6 +50,7 @@ public class GoalServiceImpl implements GoalService {
 
   private final TenantAwareGoalRepository goalRepository;
   private final BasketRepository basketRepository;
+  private final BasketCatalog basketCatalog;
   private final EducationRepository educationRepository;
   private final ChildRepository childRepository;
   private final SIPOrderRepository sipOrderRepository;
@@ -84,6 +87,7 @@ public class GoalServiceImpl implements GoalService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public GoalDTO getGoalById(Long goalId, User user) {
     try {
       Optional<Goal> goals = goalRepository.findById(goalId, user);
@@ -233,17 +237,21 @@ public class GoalServiceImpl implements GoalService {
     }
   }
 
+  /**
+   * Resolves the basket for a goal from the in-memory basket catalog. Returns a reference proxy so
+   * assigning the basket does not load it; DTO conversion reads basket details from the catalog.
+   */
   private Basket computeBasketForGoal(Goal goal) {
+    CatalogBasket basket;
     if (goal.getEducation() == null && goal.getBasket() != null) {
-      return basketRepository.findById(goal.getBasket().getId()).orElseThrow();
+      basket = basketCatalog.findById(goal.getBasket().getId()).orElseThrow();
     } else {
       var now = LocalDate.now();
       var futureDate = goal.getTargetDate().toLocalDate();
       var period = Period.between(now, futureDate);
-      return basketRepository
-          .findFirstByYearsGreaterThanOrderByYears((double) period.getYears())
-          .orElseGet(basketRepository::findFirstByOrderByYearsDesc);
+      basket = basketCatalog.resolveForHorizon(period.getYears()).orElse(null);
     }
+    return basket == null ? null : basketRepository.getReferenceById(basket.id());
   }
 
   /**
@@ -385,7 +393,10 @@ public class GoalServiceImpl implements GoalService {
 
     // Set basket information if available
     if (goal.getBasket() != null) {
-      dto.setBasket(MinifiedBasketDto.fromEntity(goal.getBasket()));
+      basketCatalog
+          .findById(goal.getBasket().getId())
+          .map(MinifiedBasketDto::fromCatalog)
+          .ifPresent(dto::setBasket);
     }
 
     if (goal.getEducation() != null) {
@@ -3,6 +3,7 @@ package com.nested.app.services;
 import com.nested.app.client.mf.KycAPIClient;
 import com.nested.app.entity.User;
 import com.nested.app.exception.ExternalServiceException;
+import com.nested.app.geo.GeoIpService;
 import com.nested.app.repository.InvestorRepository;
 import com.nested.app.repository.UserRepository;
 import com.nested.app.services.mapper.CreateKYCRequestMapper;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -22,6 +24,7 @@ public class KycService {
   private final UserRepository userRepository;
   private final InvestorRepository investorRepository;
   private final ApplicationEventPublisher publisher;
+  @Lazy private final GeoIpService geoIpService;
 
   @Value("${app.kyc.callback-url:http://localhost:8080/redirects/kyc}")
   private String kycCallbackUrl;
@@ -41,7 +44,7 @@ public class KycService {
       }
 
       // Build KYC initiate request
-      var request = CreateKYCRequestMapper.mapUserToCreateKYCRequest(user);
+      var request = CreateKYCRequestMapper.mapUserToCreateKYCRequest(user, geoIpService);
 
       // Call KYC client synchronously (blocking)
       var response = kycAPIClient.createKyc(request).block();
@@ -2,12 +2,14 @@ package com.nested.app.services;
 
 import com.nested.app.client.SmsService;
 import com.nested.app.enums.MfaChannel;
+import com.twilio.http.TwilioRestClient;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,6 +27,8 @@ public class MessageService {
 
   @Autowired private SmsService smsService;
 
+  @Lazy @Autowired private TwilioRestClient twilioRestClient;
+
   /**
    * Sends OTP via SMS using Twilio
    *
@@ -69,7 +73,7 @@ public class MessageService {
 
       Message message =
           Message.creator(new PhoneNumber(whatsappTo), new PhoneNumber(whatsappFrom), messageBody)
-              .create();
+              .create(twilioRestClient);
 
       log.info(
           "WhatsApp OTP sent to {} (masked), Message SID: {}",
@@ -1,28 +1,26 @@
 package com.nested.app.services;
 
+import com.nested.app.dto.MfaDeliveryStatusResponse;
 import com.nested.app.entity.MfaAttempt;
 import com.nested.app.entity.MfaSession;
 import com.nested.app.entity.User;
 import com.nested.app.enums.MfaChannel;
 import com.nested.app.enums.MfaStatus;
+import com.nested.app.enums.OtpDeliveryStatus;
+import com.nested.app.events.OtpDeliveryRequestedEvent;
 import com.nested.app.exception.MfaException;
 import com.nested.app.repository.MfaAttemptRepository;
 import com.nested.app.repository.MfaSessionRepository;
 import com.nested.app.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.Optional;
 import java.util.UUID;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,27 +29,27 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class MfaService {
 
-  private static final String HMAC_ALGORITHM = "HmacSHA256";
   private final OtpService otpService;
-  private final MessageService twilioService;
   private final MfaSessionRepository mfaSessionRepository;
   private final MfaAttemptRepository mfaAttemptRepository;
   private final UserRepository userRepository;
+  private final MfaTokenSigner mfaTokenSigner;
+  private final MfaTokenRevocations mfaTokenRevocations;
+  private final ApplicationEventPublisher eventPublisher;
   @Value("${mfa.otp.expiry-seconds:60}")
   private int otpExpirySeconds;
   @Value("${mfa.token.expiry-seconds:300}")
   private int mfaTokenExpirySeconds;
   @Value("${mfa.max-attempts:3}")
   private int maxAttempts;
-  @Value("${mfa.token.secret:change-me-in-production}")
-  private String mfaTokenSecret;
   @Value("${mfa.mock.enabled:false}")
   private boolean mockEnabled;
   @Value("${mfa.mock.otp:123456}")
   private String mockOtp;
 
   /**
-   * Starts an MFA session by generating OTP, hashing it, storing it, and sending via Twilio
+   * Starts an MFA session by generating OTP, hashing it and storing it. The OTP is sent after the
+   * session commits; its delivery status is tracked on the session.
    *
    * @param userId Firebase user ID
    * @param action Action requiring MFA (e.g., "MF_BUY")
@@ -113,9 +111,14 @@ public class MfaService {
             .userAgent(request.getHeader("User-Agent"))
             .build();
 
+    // In mock mode nothing is sent, so the session is considered delivered right away
+    if (mockEnabled) {
+      session.setDeliveryStatus(OtpDeliveryStatus.SENT);
+      session.setDeliveryChannel(channel);
+    }
+
     session = mfaSessionRepository.save(session);
 
-    // Send OTP via Twilio (skip in mock mode)
     if (mockEnabled) {
       log.info(
           "MOCK MODE: MFA session started without sending OTP. Use OTP '{}' for verification. sessionId={}, userId={}, action={}, channel={}",
@@ -125,20 +128,16 @@ public class MfaService {
           action,
           channel);
     } else {
-      try {
-        twilioService.sendOtp(destination, otp, channel);
-        log.info(
-            "MFA session started: sessionId={}, userId={}, action={}, channel={}",
-            session.getId(),
-            userId,
-            action,
-            channel);
-      } catch (Exception e) {
-        log.error("Failed to send OTP for session {}: {}", session.getId(), e.getMessage(), e);
-        session.setStatus(MfaStatus.FAILED);
-        mfaSessionRepository.save(session);
-        throw new MfaException("Failed to send OTP", e);
-      }
+      // Sent by OtpDeliveryService once this transaction commits; provider latency stays out of
+      // the request and the connection is not held while the provider responds
+      eventPublisher.publishEvent(
+          new OtpDeliveryRequestedEvent(session.getId(), userId, channel, destination, otp));
+      log.info(
+          "MFA session started: sessionId={}, userId={}, action={}, channel={}",
+          session.getId(),
+          userId,
+          action,
+          channel);
     }
 
     return session.getId();
@@ -214,11 +213,13 @@ public class MfaService {
       session.setVerifiedAt(Timestamp.from(Instant.now()));
       session.setAttempts((short) (session.getAttempts() + 1));
 
-      // Generate MFA token
-      String mfaToken = generateMfaToken(userId, session.getAction(), sessionId);
+      // Generate MFA token; it carries its own expiry so validation needs no lookup
+      Instant tokenExpiresAt = Instant.now().plusSeconds(mfaTokenExpirySeconds);
+      String mfaToken =
+          mfaTokenSigner.sign(
+              userId, session.getAction(), sessionId, tokenExpiresAt.getEpochSecond());
       session.setMfaToken(mfaToken);
-      session.setMfaTokenExpiresAt(
-          Timestamp.from(Instant.now().plusSeconds(mfaTokenExpirySeconds)));
+      session.setMfaTokenExpiresAt(Timestamp.from(tokenExpiresAt));
 
       mfaSessionRepository.save(session);
 
@@ -240,105 +241,74 @@ public class MfaService {
   }
 
   /**
-   * Validates an MFA token
+   * Validates an MFA token from its signature and embedded claims alone. Only the in-memory
+   * revocation set is consulted, so no database connection is used.
    *
    * @param mfaToken MFA token to validate
    * @param requiredAction Required action (e.g., "MF_BUY")
-   * @return true if valid, false otherwise
+   * @param userId Firebase UID of the caller, or null when the caller has none
+   * @return the token claims if valid, empty otherwise
    */
-  @Transactional(readOnly = true)
-  public boolean validateMfaToken(String mfaToken, String requiredAction) {
+  public Optional<MfaTokenSigner.Claims> validateMfaToken(
+      String mfaToken, String requiredAction, String userId) {
     if (mfaToken == null || mfaToken.isEmpty()) {
-      return false;
+      return Optional.empty();
     }
 
-    try {
-      // Parse token
-      String[] parts = mfaToken.split("\\.");
-      if (parts.length != 4) {
-        return false;
-      }
-
-      String userId = parts[0];
-      String action = parts[1];
-      String sessionIdStr = parts[2];
-      String signature = parts[3];
-
-      // Verify action matches
-      if (!action.equals(requiredAction)) {
-        log.warn("MFA token action mismatch: required={}, token={}", requiredAction, action);
-        return false;
-      }
-
-      // Verify signature
-      String expectedSignature = generateSignature(userId, action, sessionIdStr);
-      if (!signature.equals(expectedSignature)) {
-        log.warn("MFA token signature invalid");
-        return false;
-      }
-
-      // Check session exists and is verified
-      UUID sessionId = UUID.fromString(sessionIdStr);
-      Optional<MfaSession> sessionOpt = mfaSessionRepository.findById(sessionId);
-      if (sessionOpt.isEmpty()) {
-        return false;
-      }
-
-      MfaSession session = sessionOpt.get();
-      if (session.getStatus() != MfaStatus.VERIFIED) {
-        return false;
-      }
-
-      // Check token expiry
-      if (session.getMfaTokenExpiresAt() == null
-          || session.getMfaTokenExpiresAt().before(Timestamp.from(Instant.now()))) {
-        return false;
-      }
+    Optional<MfaTokenSigner.Claims> verified = mfaTokenSigner.verify(mfaToken);
+    if (verified.isEmpty()) {
+      log.warn("MFA token signature invalid");
+      return Optional.empty();
+    }
 
-      // Check token matches
-      return mfaToken.equals(session.getMfaToken());
-    } catch (Exception e) {
-      log.error("Error validating MFA token: {}", e.getMessage(), e);
-      return false;
+    MfaTokenSigner.Claims claims = verified.get();
+    if (!claims.action().equals(requiredAction)) {
+      log.warn(
+          "MFA token action mismatch: required={}, token={}", requiredAction, claims.action());
+      return Optional.empty();
+    }
+    if (userId != null && !claims.userId().equals(userId)) {
+      log.warn("MFA token issued to a different user: sessionId={}", claims.sessionId());
+      return Optional.empty();
+    }
+    if (claims.expiresAt() < Instant.now().getEpochSecond()) {
+      return Optional.empty();
     }
+    if (mfaTokenRevocations.isRevoked(claims.sessionId())) {
+      log.warn("MFA token already used: sessionId={}", claims.sessionId());
+      return Optional.empty();
+    }
+    return verified;
   }
 
   /**
-   * Generates a short-lived MFA token
+   * Marks a token as used once the protected action has succeeded, so it cannot be replayed. The
+   * in-memory revocation takes effect immediately; the session row is updated so the revocation
+   * survives restarts.
    *
-   * @param userId User ID
-   * @param action Action
-   * @param sessionId Session ID
-   * @return MFA token
+   * @param claims claims of the token that authorised the action
    */
-  private String generateMfaToken(String userId, String action, UUID sessionId) {
-    String sessionIdStr = sessionId.toString();
-    String signature = generateSignature(userId, action, sessionIdStr);
-    return String.format("%s.%s.%s.%s", userId, action, sessionIdStr, signature);
+  @Transactional
+  public void consumeMfaToken(MfaTokenSigner.Claims claims) {
+    mfaTokenRevocations.revoke(claims.sessionId(), claims.expiresAt());
+    mfaSessionRepository.markTokenConsumed(claims.sessionId());
   }
 
   /**
-   * Generates HMAC signature for MFA token
+   * Returns where OTP delivery of a session stands, so clients can offer a resend or another
+   * channel when it failed.
    *
-   * @param userId User ID
-   * @param action Action
-   * @param sessionId Session ID
-   * @return Base64-encoded signature
+   * @param userId Firebase user ID
+   * @param sessionId MFA session ID
+   * @return delivery status and the channel used
    */
-  private String generateSignature(String userId, String action, String sessionId) {
-    try {
-      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-      SecretKeySpec secretKeySpec =
-          new SecretKeySpec(mfaTokenSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
-      mac.init(secretKeySpec);
-
-      String data = userId + "." + action + "." + sessionId;
-      byte[] signatureBytes = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-      return Base64.getUrlEncoder().withoutPadding().encodeToString(signatureBytes);
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-      log.error("Failed to generate MFA token signature: {}", e.getMessage(), e);
-      throw new RuntimeException("Failed to generate MFA token", e);
-    }
+  @Transactional(readOnly = true)
+  public MfaDeliveryStatusResponse getOtpDeliveryStatus(String userId, UUID sessionId) {
+    MfaSession session =
+        mfaSessionRepository
+            .findByIdAndUserId(sessionId, userId)
+            .orElseThrow(() -> new MfaException("Invalid MFA session"));
+    return new MfaDeliveryStatusResponse(session.getDeliveryStatus(), session.getDeliveryChannel());
   }
 
   /**
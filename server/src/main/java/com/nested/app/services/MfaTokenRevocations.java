@@ -0,0 +1,61 @@
+package com.nested.app.services;
+
+import com.nested.app.repository.MfaSessionRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory set of MFA sessions whose tokens were consumed or revoked before they expired. Entries
+ * only need to live until the token's own expiry, so the set stays as small as the number of tokens
+ * used in the last few minutes.
+ *
+ * <p>The database is written when a token is revoked ({@link MfaService#consumeMfaToken}) and read
+ * only at startup to restore still-relevant entries; checks never touch it. Revocations made on
+ * another instance are therefore not seen here until restart, which bounds a replay to the token
+ * lifetime on a different pod.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MfaTokenRevocations {
+
+  private final MfaSessionRepository mfaSessionRepository;
+
+  /** Session id to token expiry in epoch seconds. */
+  private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+
+  public boolean isRevoked(UUID sessionId) {
+    return revoked.containsKey(sessionId);
+  }
+
+  public void revoke(UUID sessionId, long expiresAt) {
+    revoked.put(sessionId, expiresAt);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    Timestamp now = Timestamp.from(Instant.now());
+    mfaSessionRepository
+        .findRevokedUnexpiredTokens(now)
+        .forEach(
+            session ->
+                revoked.put(
+                    session.getId(), session.getMfaTokenExpiresAt().toInstant().getEpochSecond()));
+    log.info("Loaded {} revoked MFA tokens", revoked.size());
+  }
+
+  @Scheduled(fixedDelayString = "1m")
+  public void purgeExpired() {
+    long now = Instant.now().getEpochSecond();
+    revoked.values().removeIf(expiresAt -> expiresAt < now);
+  }
+}
@@ -0,0 +1,91 @@
+package com.nested.app.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs and verifies self-contained MFA step-up tokens of the form {@code
+ * userId.action.sessionId.expiresAt.signature}, where {@code expiresAt} is in epoch seconds and the
+ * signature is an HMAC-SHA256 over everything before it.
+ *
+ * <p>The key is derived once and every thread keeps its own initialised {@link Mac}, so signing and
+ * verifying never go through provider lookup or key setup.
+ */
+@Component
+public class MfaTokenSigner {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  private final SecretKeySpec key;
+  private final ThreadLocal<Mac> macs;
+
+  public MfaTokenSigner(@Value("${mfa.token.secret:change-me-in-production}") String secret) {
+    this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    newMac(); // fail at startup rather than on the first protected request
+    this.macs = ThreadLocal.withInitial(this::newMac);
+  }
+
+  /** Claims carried by a verified token. */
+  public record Claims(String userId, String action, UUID sessionId, long expiresAt) {}
+
+  public String sign(String userId, String action, UUID sessionId, long expiresAt) {
+    String payload = userId + "." + action + "." + sessionId + "." + expiresAt;
+    return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac(payload));
+  }
+
+  /**
+   * Checks the token format and signature. Expiry, action and revocation are left to the caller.
+   *
+   * @param token token as sent by the client
+   * @return the embedded claims, or empty if the token is malformed or the signature does not match
+   */
+  public Optional<Claims> verify(String token) {
+    int signatureStart = token.lastIndexOf('.');
+    if (signatureStart <= 0) {
+      return Optional.empty();
+    }
+    String payload = token.substring(0, signatureStart);
+    byte[] signature;
+    try {
+      signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    if (!MessageDigest.isEqual(signature, mac(payload))) {
+      return Optional.empty();
+    }
+
+    String[] parts = payload.split("\\.");
+    if (parts.length != 4) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          new Claims(parts[0], parts[1], UUID.fromString(parts[2]), Long.parseLong(parts[3])));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private byte[] mac(String payload) {
+    return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Mac newMac() {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to initialise MFA token MAC", e);
+    }
+  }
+}
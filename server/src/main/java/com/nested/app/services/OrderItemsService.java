@@ -16,6 +16,7 @@ import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.SIPOrderRepository;
 import com.nested.app.repository.SipModificationItemRepository;
 import com.nested.app.repository.SipModificationRepository;
+import com.nested.app.utils.FixedPoint;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -300,7 +301,7 @@ public class OrderItemsService {
       var modItem = new SipModificationItem();
       modItem.setModification(modification);
       modItem.setOrderItem(item);
-      modItem.setOldAmount(item.getAmount());
+      modItem.setOldAmount(FixedPoint.toDouble(item.getAmount(), FixedPoint.AMOUNT_SCALE));
       modItem.setNewAmount(newAmt);
       modItem.setStatus(SipModificationItem.Status.PENDING);
       sipModificationItemRepository.save(modItem);
@@ -12,6 +12,7 @@ import com.nested.app.entity.User;
 import com.nested.app.exception.ExternalServiceException;
 import com.nested.app.repository.OrderRepository;
 import com.nested.app.repository.TenantAwareGoalRepository;
+import com.nested.app.utils.FixedPoint;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
@@ -155,18 +156,17 @@ public class OrderServiceImpl implements OrderService {
 
   private void populateOrderItems(Order order) {
     var basketFunds = order.getGoal().getBasket().getBasketFunds();
-    var totalAmount = order.getAmount();
-
-    var amountAllocation =
-        new java.util.ArrayList<>(
-            basketFunds.stream()
-                .map(f -> f.getAllocationPercentage() / 100.0 * totalAmount)
-                .map(amount -> amount / 100 * 100)
-                .toList());
-
-    var totalAllocation = amountAllocation.stream().reduce(Double::sum).orElse(0.0);
-    var correction = totalAmount - (totalAllocation - amountAllocation.getLast());
-    amountAllocation.set(amountAllocation.size() - 1, correction);
+    var totalAmount = FixedPoint.amount(order.getAmount());
+
+    // Allocation percentages have two decimals; the last fund takes what rounding left over
+    var amountAllocation = new long[basketFunds.size()];
+    long allocated = 0;
+    for (int i = 0; i < basketFunds.size() - 1; i++) {
+      var percentage = FixedPoint.of(basketFunds.get(i).getAllocationPercentage(), 2);
+      amountAllocation[i] = FixedPoint.multiplyDivide(totalAmount, percentage, 10_000);
+      allocated += amountAllocation[i];
+    }
+    amountAllocation[amountAllocation.length - 1] = totalAmount - allocated;
 
     var orderItemsList = new java.util.ArrayList<OrderItems>();
     for (int i = 0; i < basketFunds.size(); i++) {
@@ -174,7 +174,7 @@ public class OrderServiceImpl implements OrderService {
       var orderItem = new OrderItems();
       orderItem.setOrder(order);
       orderItem.setFund(basketFund.getFund());
-      orderItem.setAmount(amountAllocation.get(i));
+      orderItem.setAmount(amountAllocation[i]);
       orderItem.setUser(order.getUser());
       orderItemsList.add(orderItem);
     }
@@ -0,0 +1,207 @@
+package com.nested.app.services;
+
+import com.nested.app.entity.User;
+import com.nested.app.enums.MfaChannel;
+import com.nested.app.enums.OtpDeliveryStatus;
+import com.nested.app.events.OtpDeliveryRequestedEvent;
+import com.nested.app.repository.MfaSessionRepository;
+import com.nested.app.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Delivers MFA OTPs after the session has committed, off the request thread. Each provider attempt
+ * gets {@code mfa.otp.delivery.attempt-budget}; if the requested SMS/WhatsApp attempt fails or runs
+ * out of budget the same OTP is sent by email when the user has one. The outcome is recorded on the
+ * session ({@code delivery_status}, {@code delivery_channel}); a session whose OTP could not be
+ * delivered is failed so it cannot be verified.
+ *
+ * <p>A provider call that outlives its budget is not interrupted, so a slow SMS may still arrive
+ * next to the fallback email; both carry the same OTP.
+ */
+@Slf4j
+@Service
+public class OtpDeliveryService {
+
+  private final MessageService messageService;
+  private final MfaSessionRepository mfaSessionRepository;
+  private final UserRepository userRepository;
+  private final MeterRegistry meterRegistry;
+  private final Duration attemptBudget;
+  private final ThreadPoolExecutor executor;
+
+  private record Delivery(OtpDeliveryStatus status, MfaChannel channel) {}
+
+  public OtpDeliveryService(
+      MessageService messageService,
+      MfaSessionRepository mfaSessionRepository,
+      UserRepository userRepository,
+      MeterRegistry meterRegistry,
+      @Value("${mfa.otp.delivery.attempt-budget:4s}") Duration attemptBudget,
+      @Value("${mfa.otp.delivery.threads:16}") int threads,
+      @Value("${mfa.otp.delivery.queue-capacity:1000}") int queueCapacity) {
+    this.messageService = messageService;
+    this.mfaSessionRepository = mfaSessionRepository;
+    this.userRepository = userRepository;
+    this.meterRegistry = meterRegistry;
+    this.attemptBudget = attemptBudget;
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("otp-delivery-", 0).daemon().factory());
+    meterRegistry.gauge("mfa.otp.delivery.queue.size", executor.getQueue(), q -> q.size());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onOtpDeliveryRequested(OtpDeliveryRequestedEvent event) {
+    deliver(event);
+  }
+
+  /**
+   * Every provider call and the email lookup run on the delivery pool; the stages chained on them
+   * are synchronous so the outcome is recorded even when the pool is full and rejects a task.
+   */
+  CompletableFuture<Void> deliver(OtpDeliveryRequestedEvent event) {
+    return send(event.channel(), event.destination(), event.otp())
+        .thenApply(ignored -> new Delivery(OtpDeliveryStatus.SENT, event.channel()))
+        .exceptionallyCompose(error -> fallback(event, error))
+        .handle(
+            (delivery, error) -> {
+              record(event, delivery, error);
+              return null;
+            });
+  }
+
+  private CompletableFuture<Delivery> fallback(OtpDeliveryRequestedEvent event, Throwable error) {
+    // Looked up on the pool rather than on the thread that timed the attempt out
+    return submit(() -> fallbackEmail(event))
+        .thenCompose(
+            email -> {
+              if (email.isEmpty()) {
+                return CompletableFuture.failedFuture(error);
+              }
+              log.warn(
+                  "OTP delivery via {} failed for session {} ({}), falling back to email",
+                  event.channel(),
+                  event.sessionId(),
+                  rootMessage(error));
+              return send(MfaChannel.EMAIL, email.get(), event.otp())
+                  .thenApply(
+                      ignored -> new Delivery(OtpDeliveryStatus.FALLBACK_SENT, MfaChannel.EMAIL));
+            });
+  }
+
+  private Optional<String> fallbackEmail(OtpDeliveryRequestedEvent event) {
+    if (event.channel() == MfaChannel.EMAIL) {
+      return Optional.empty();
+    }
+    return userRepository
+        .findByFirebaseUid(event.userId())
+        .map(User::getEmail)
+        .filter(address -> !address.isBlank());
+  }
+
+  private CompletableFuture<Void> send(MfaChannel channel, String destination, String otp) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    CompletableFuture<Void> attempt =
+        submit(
+            () -> {
+              messageService.sendOtp(destination, otp, channel);
+              return null;
+            });
+    return attempt
+        .orTimeout(attemptBudget.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (ignored, error) ->
+                sample.stop(
+                    meterRegistry.timer(
+                        "mfa.otp.delivery.attempts",
+                        "channel", channel.name(),
+                        "outcome", outcome(error))));
+  }
+
+  /** Runs the task on the delivery pool; a full pool fails the returned future. */
+  private <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void record(OtpDeliveryRequestedEvent event, Delivery delivery, Throwable error) {
+    try {
+      if (error == null) {
+        mfaSessionRepository.markOtpDelivered(
+            event.sessionId(),
+            delivery.status(),
+            delivery.channel(),
+            Timestamp.from(Instant.now()));
+        meterRegistry.counter("mfa.otp.deliveries", "status", delivery.status().name()).increment();
+        log.info(
+            "OTP delivered for session {} via {} ({})",
+            event.sessionId(),
+            delivery.channel(),
+            delivery.status());
+      } else {
+        String reason = rootMessage(error);
+        mfaSessionRepository.markOtpDeliveryFailed(
+            event.sessionId(), reason.length() > 255 ? reason.substring(0, 255) : reason);
+        meterRegistry.counter("mfa.otp.deliveries", "status", OtpDeliveryStatus.FAILED.name())
+            .increment();
+        log.error("OTP delivery failed for session {}: {}", event.sessionId(), reason);
+      }
+    } catch (Exception e) {
+      log.error("Failed to record OTP delivery for session {}", event.sessionId(), e);
+    }
+  }
+
+  private static String outcome(Throwable error) {
+    if (error == null) {
+      return "sent";
+    }
+    return unwrap(error) instanceof TimeoutException ? "timeout" : "error";
+  }
+
+  private static String rootMessage(Throwable error) {
+    Throwable cause = unwrap(error);
+    if (cause instanceof TimeoutException) {
+      return "Provider did not respond in time";
+    }
+    return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+  }
+}
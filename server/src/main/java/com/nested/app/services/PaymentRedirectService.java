@@ -9,6 +9,7 @@ import com.nested.app.events.MandateProcessEvent;
 import com.nested.app.repository.PaymentRepository;
 import com.nested.app.repository.SipModificationItemRepository;
 import com.nested.app.repository.SipModificationRepository;
+import com.nested.app.utils.FixedPoint;
 import com.nested.app.utils.MobileRedirectHandler;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -129,7 +130,7 @@ public class PaymentRedirectService {
         var modItem = new SipModificationItem();
         modItem.setModification(modification);
         modItem.setOrderItem(item);
-        modItem.setOldAmount(item.getAmount());
+        modItem.setOldAmount(FixedPoint.toDouble(item.getAmount(), FixedPoint.AMOUNT_SCALE));
         modItem.setNewAmount(entry.getValue());
         modItem.setStatus(SipModificationItem.Status.PENDING);
         sipModificationItemRepository.save(modItem);
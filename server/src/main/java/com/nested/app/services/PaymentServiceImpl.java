@@ -24,6 +24,7 @@ import com.nested.app.repository.BankDetailRepository;
 import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.OrderRepository;
 import com.nested.app.repository.PaymentRepository;
+import com.nested.app.utils.FixedPoint;
 import com.nested.app.utils.IpUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Instant;
@@ -371,7 +372,7 @@ public class PaymentServiceImpl implements PaymentService {
                         .startDate(sipOrder.getStartDate())
                         .firstOrderToday(true)
                         .accountID(accountID)
-                        .amount(item.getAmount())
+                        .amount(FixedPoint.toDouble(item.getAmount(), FixedPoint.AMOUNT_SCALE))
                         .userIP(ipAddress)
                         .folio(folioNumber)
                         .userIP(ipAddress)
@@ -384,7 +385,7 @@ public class PaymentServiceImpl implements PaymentService {
                     OrderDetail.builder()
                         .fundID(item.getFund().getIsinCode())
                         .accountID(accountID)
-                        .amount(item.getAmount())
+                        .amount(FixedPoint.toDouble(item.getAmount(), FixedPoint.AMOUNT_SCALE))
                         .userIP(ipAddress)
                         .folio(folioNumber)
                         .build();
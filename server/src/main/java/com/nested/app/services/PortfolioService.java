@@ -6,7 +6,10 @@ import com.nested.app.entity.User;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -45,7 +48,7 @@ public class PortfolioService {
 
     double currentValue =
         getGoalHoldings(goalId, user).stream().mapToDouble(GoalHoldingDTO::getCurrentValue).sum();
-    double invested = projection.getInvestedAmount();
+    double invested = projection.getInvestedAmount().doubleValue();
     double targetAmount = projection.getTargetAmount();
     double progress = targetAmount > 0 ? currentValue / targetAmount * 100.0 : 0.0;
 
@@ -61,9 +64,10 @@ public class PortfolioService {
   @Cacheable(value = CacheConfig.GOAL_MONTHLY_SIP, key = "#goalId")
   @Transactional(readOnly = true)
   public double getMonthlySip(Long goalId) {
-    Double amount = orderItemsRepository.sumSipOrderItemsAmountByGoalIdAndStatuses(
-        goalId, ACTIVE_SIP_STATUSES);
-    return amount != null ? amount : 0.0;
+    BigDecimal amount =
+        orderItemsRepository.sumSipOrderItemsAmountByGoalIdAndStatuses(
+            goalId, ACTIVE_SIP_STATUSES);
+    return amount != null ? amount.doubleValue() : 0.0;
   }
 
   @Transactional(readOnly = true)
@@ -83,10 +87,10 @@ public class PortfolioService {
                     t.getId(),
                     t.getFund().getLabel(),
                     t.getType(),
-                    t.getUnits(),
+                    FixedPoint.toDecimalOrNull(t.getUnits(), FixedPoint.UNITS_SCALE),
                     t.getStatus(),
-                    t.getUnitPrice(),
-                    t.getAmount(),
+                    FixedPoint.toDecimalOrNull(t.getUnitPrice(), FixedPoint.PRICE_SCALE),
+                    FixedPoint.toDecimalOrNull(t.getAmount(), FixedPoint.AMOUNT_SCALE),
                     t.getExecutedAt()))
         .toList();
   }
@@ -105,29 +109,38 @@ public class PortfolioService {
     }
 
     // Calculate total goal current value for allocation percentages
-    double totalGoalCurrentValue =
-        holdingProjections.stream().mapToDouble(GoalHoldingProjection::getCurrentValue).sum();
+    BigDecimal totalGoalCurrentValue =
+        holdingProjections.stream()
+            .map(GoalHoldingProjection::getCurrentValue)
+            .filter(Objects::nonNull)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
 
     // Map projections to DTOs with calculated fields
     return holdingProjections.stream()
         .map(
             h -> {
-              Double currentValue = h.getCurrentValue();
-              Double returnsAmount = currentValue - h.getInvestedAmount();
-              Double allocationPercentage =
-                  totalGoalCurrentValue > 0 ? (currentValue / totalGoalCurrentValue * 100.0) : 0.0;
+              BigDecimal currentValue = zeroIfNull(h.getCurrentValue());
+              BigDecimal invested = zeroIfNull(h.getInvestedAmount());
+              double allocationPercentage =
+                  totalGoalCurrentValue.signum() > 0
+                      ? currentValue.doubleValue() / totalGoalCurrentValue.doubleValue() * 100.0
+                      : 0.0;
 
               return new GoalHoldingDTO(
                   h.getFundLabel(),
                   h.getFundId(),
                   h.getCurrentNav(),
-                  h.getAverageNav(),
-                  h.getTotalUnits(),
+                  h.getAverageNav() != null ? h.getAverageNav().doubleValue() : null,
+                  zeroIfNull(h.getTotalUnits()).doubleValue(),
                   allocationPercentage,
-                  h.getInvestedAmount(),
-                  currentValue,
-                  returnsAmount);
+                  invested.doubleValue(),
+                  currentValue.doubleValue(),
+                  currentValue.subtract(invested).doubleValue());
             })
         .toList();
   }
+
+  private static BigDecimal zeroIfNull(BigDecimal value) {
+    return value != null ? value : BigDecimal.ZERO;
+  }
 }
@@ -1,8 +1,12 @@
 package com.nested.app.services;
 
+import com.nested.app.catalog.FundCatalog;
 import com.nested.app.client.mf.ReportApiClient;
+import com.nested.app.client.mf.dto.SchemeWiseReportResponse;
+import com.nested.app.datasource.Workload;
 import com.nested.app.entity.Investor;
 import com.nested.app.entity.User;
+import com.nested.app.events.FundCatalogChangedEvent;
 import com.nested.app.events.GoalSyncEvent;
 import com.nested.app.repository.FundRepository;
 import com.nested.app.repository.GoalRepository;
@@ -10,6 +14,10 @@ import com.nested.app.repository.InvestorRepository;
 import com.nested.app.repository.UserRepository;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +28,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Service for fetching scheme-wise reports for investors. Handles batch processing of report
@@ -35,6 +44,7 @@ public class SchemeWiseReportService {
   private final ReportApiClient reportApiClient;
   private final InvestorRepository investorRepository;
   private final FundRepository fundRepository;
+  private final FundCatalog fundCatalog;
   private final UserRepository userRepository;
   private final GoalRepository goalRepository;
   private final ApplicationEventPublisher publisher;
@@ -53,6 +63,7 @@ public class SchemeWiseReportService {
     AtomicInteger failureCount = new AtomicInteger(0);
     AtomicInteger totalProcessed = new AtomicInteger(0);
     AtomicInteger totalInvestors = new AtomicInteger(0);
+    AtomicBoolean navsChanged = new AtomicBoolean(false);
 
     int pageNumber = 0;
     Page<Investor> investorPage;
@@ -81,13 +92,15 @@ public class SchemeWiseReportService {
           investorPage.getNumberOfElements());
 
       if (!eligibleInvestors.isEmpty()) {
-        processInvestorBatch(eligibleInvestors, successCount, failureCount);
+        processInvestorBatch(eligibleInvestors, successCount, failureCount, navsChanged);
         totalProcessed.addAndGet(eligibleInvestors.size());
       }
 
       pageNumber++;
     } while (investorPage.hasNext());
 
+    publishNavChange(navsChanged);
+
     log.info(
         "Completed scheme-wise report fetch. Total Investors: {}, Eligible: {}, Success: {}, Failures: {}",
         totalInvestors.get(),
@@ -101,7 +114,9 @@ public class SchemeWiseReportService {
   public void fetchReportsForUser(User user) {
     var investor = investorRepository.findById(user.getInvestor().getId()).orElseThrow();
     if (investor.getAccountRef() != null && !investor.getAccountRef().isBlank()) {
-      fetchReportForInvestor(investor).block();
+      AtomicBoolean navsChanged = new AtomicBoolean(false);
+      fetchReportForInvestor(investor, navsChanged).block();
+      publishNavChange(navsChanged);
       var goals = goalRepository.findByUserId(user.getId());
       goals.forEach(
           goal -> {
@@ -116,15 +131,19 @@ public class SchemeWiseReportService {
    * @param investors List of investors to process
    * @param successCount Atomic counter for successful fetches
    * @param failureCount Atomic counter for failed fetches
+   * @param navsChanged Set once any fund NAV was saved
    */
   private void processInvestorBatch(
-      java.util.List<Investor> investors, AtomicInteger successCount, AtomicInteger failureCount) {
+      List<Investor> investors,
+      AtomicInteger successCount,
+      AtomicInteger failureCount,
+      AtomicBoolean navsChanged) {
 
     // Process investors in parallel with concurrency of 50
     Flux.fromIterable(investors)
         .flatMap(
             investor ->
-                fetchReportForInvestor(investor)
+                fetchReportForInvestor(investor, navsChanged)
                     .doOnSuccess(
                         response -> {
                           successCount.incrementAndGet();
@@ -152,9 +171,10 @@ public class SchemeWiseReportService {
    * Fetches scheme-wise report for a single investor.
    *
    * @param investor The investor to fetch report for
+   * @param navsChanged Set once any fund NAV was saved
    * @return Mono containing the report response
    */
-  private Mono<?> fetchReportForInvestor(Investor investor) {
+  private Mono<?> fetchReportForInvestor(Investor investor, AtomicBoolean navsChanged) {
     userRepository
         .findByInvestor(investor)
         .ifPresent(
@@ -166,6 +186,8 @@ public class SchemeWiseReportService {
                         new GoalSyncEvent(goal.getId(), user, 60)); // sync with a 1min delay
                   });
             });
+    // Captured here, on the caller's thread; the response arrives on a Netty event loop
+    Workload workload = Workload.current();
     return reportApiClient
         .fetchSchemeWiseReport(investor.getAccountRef())
         .doOnSubscribe(
@@ -174,20 +196,44 @@ public class SchemeWiseReportService {
                     "Fetching scheme-wise report for investor id={}, accountRef={}",
                     investor.getId(),
                     investor.getAccountRef()))
+        // Database work leaves the event loop and keeps the caller's connection pool
+        .publishOn(Schedulers.boundedElastic())
         .doOnSuccess(
-            resp ->
-                resp.getData()
-                    .getRows()
-                    .forEach(
-                        report ->
-                            fundRepository
-                                .findFundByIsinCode(report.getIsin())
-                                .ifPresent(
-                                    fund -> {
-                                      fund.setNavDate(parseDate(report.getAsOn()));
-                                      fund.setNav(report.getNav().doubleValue());
-                                      fundRepository.save(fund);
-                                    })));
+            resp -> {
+              if (Workload.call(workload, () -> updateNavs(resp.getData().getRows()))) {
+                navsChanged.set(true);
+              }
+            });
+  }
+
+  /**
+   * Applies NAVs from a scheme-wise report. ISINs are resolved through the in-memory fund catalog
+   * and the matching funds are loaded and saved in one batch instead of one round trip per row.
+   *
+   * @return whether any fund was saved; callers publish one catalog change per run, not per report
+   */
+  private boolean updateNavs(List<SchemeWiseReportResponse.SchemeWiseReport> rows) {
+    Map<Long, SchemeWiseReportResponse.SchemeWiseReport> rowsByFundId = new HashMap<>();
+    for (var row : rows) {
+      fundCatalog.findByIsin(row.getIsin()).ifPresent(fund -> rowsByFundId.put(fund.id(), row));
+    }
+    if (rowsByFundId.isEmpty()) {
+      return false;
+    }
+    var funds = fundRepository.findAllById(rowsByFundId.keySet());
+    for (var fund : funds) {
+      var row = rowsByFundId.get(fund.getId());
+      fund.setNavDate(parseDate(row.getAsOn()));
+      fund.setNav(row.getNav().doubleValue());
+    }
+    fundRepository.saveAll(funds);
+    return !funds.isEmpty();
+  }
+
+  private void publishNavChange(AtomicBoolean navsChanged) {
+    if (navsChanged.get()) {
+      publisher.publishEvent(new FundCatalogChangedEvent("nav sync"));
+    }
   }
 
   private Timestamp parseDate(String dateStr) {
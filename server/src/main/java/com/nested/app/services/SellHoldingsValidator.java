@@ -0,0 +1,177 @@
+package com.nested.app.services;
+
+import com.nested.app.dto.GoalFundUnitsProjection;
+import com.nested.app.dto.SellOrderRequestDTO.SellOrderItemDTO;
+import com.nested.app.entity.Folio;
+import com.nested.app.entity.Fund;
+import com.nested.app.entity.User;
+import com.nested.app.repository.FolioRepository;
+import com.nested.app.repository.OrderItemsRepository;
+import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Checks a sell request against the goals' holdings for all requested (goal, fund) pairs at once.
+ *
+ * <p>Available units are completed units minus units reserved by sell items still in flight. Items
+ * awaiting verification stop reserving after {@code sell.reservation.unverified-hold}, so abandoned
+ * checkouts do not lock holdings forever. Callers lock the goal rows first so two sells on the same
+ * goal see each other's reservations.
+ */
+@Slf4j
+@Service
+public class SellHoldingsValidator {
+
+  private record GoalFund(Long goalId, Long fundId) {}
+
+  private final TransactionRepository transactionRepository;
+  private final OrderItemsRepository orderItemsRepository;
+  private final FolioRepository folioRepository;
+  private final Duration unverifiedHold;
+  private final Clock clock;
+
+  public SellHoldingsValidator(
+      TransactionRepository transactionRepository,
+      OrderItemsRepository orderItemsRepository,
+      FolioRepository folioRepository,
+      @Value("${sell.reservation.unverified-hold:24h}") Duration unverifiedHold) {
+    this(
+        transactionRepository,
+        orderItemsRepository,
+        folioRepository,
+        unverifiedHold,
+        Clock.systemUTC());
+  }
+
+  SellHoldingsValidator(
+      TransactionRepository transactionRepository,
+      OrderItemsRepository orderItemsRepository,
+      FolioRepository folioRepository,
+      Duration unverifiedHold,
+      Clock clock) {
+    this.transactionRepository = transactionRepository;
+    this.orderItemsRepository = orderItemsRepository;
+    this.folioRepository = folioRepository;
+    this.unverifiedHold = unverifiedHold;
+    this.clock = clock;
+  }
+
+  /**
+   * Units a sell item takes out of its holding: the requested units, the amount at the fund's
+   * current NAV, or the larger of the two when both are given. Scaled by {@link
+   * FixedPoint#UNITS_SCALE}.
+   */
+  public static long requiredUnits(SellOrderItemDTO item, Fund fund) {
+    long units = item.getUnits() != null ? FixedPoint.units(item.getUnits()) : 0L;
+    if (item.getAmount() != null) {
+      if (fund.getNav() == null || fund.getNav() <= 0) {
+        throw new IllegalArgumentException("No NAV available for fund ID: " + fund.getId());
+      }
+      long amount = FixedPoint.amount(item.getAmount());
+      units = Math.max(units, FixedPoint.unitsFor(amount, FixedPoint.price(fund.getNav())));
+    }
+    return units;
+  }
+
+  /**
+   * Validates the requested sells and picks a folio per fund.
+   *
+   * @param user Owner of the goals
+   * @param items Requested sells; several items for the same goal and fund are summed
+   * @param funds Requested funds by ID
+   * @return Folio to redeem from, by fund ID
+   * @throws IllegalArgumentException if a pair has no holdings, too few available units, or the
+   *     user has no folio for a fund
+   */
+  public Map<Long, Folio> validate(User user, List<SellOrderItemDTO> items, Map<Long, Fund> funds) {
+    Map<GoalFund, Long> requested = new HashMap<>();
+    for (var item : items) {
+      var key = new GoalFund(item.getGoal().getId(), item.getFundId());
+      requested.merge(key, requiredUnits(item, funds.get(item.getFundId())), Long::sum);
+    }
+
+    Set<Long> goalIds =
+        requested.keySet().stream().map(GoalFund::goalId).collect(Collectors.toSet());
+    Set<Long> fundIds = funds.keySet();
+
+    var held =
+        sumByPair(
+            transactionRepository.sumCompletedUnitsByGoalAndFund(user.getId(), goalIds, fundIds));
+    var reserved =
+        sumByPair(
+            orderItemsRepository.sumReservedSellUnitsByGoalAndFund(
+                user.getId(),
+                goalIds,
+                fundIds,
+                unverifiedSince()));
+
+    requested.forEach(
+        (key, units) -> {
+          long holding = held.getOrDefault(key, 0L);
+          if (holding <= 0) {
+            throw new IllegalArgumentException(
+                "No holdings found for fund ID: " + key.fundId() + " in goal ID: " + key.goalId());
+          }
+          long available = holding - reserved.getOrDefault(key, 0L);
+          if (units > available) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Insufficient units for fund ID: %d. Available: %s, Requested: %s",
+                    key.fundId(),
+                    FixedPoint.toDecimal(Math.max(available, 0L), FixedPoint.UNITS_SCALE),
+                    FixedPoint.toDecimal(units, FixedPoint.UNITS_SCALE)));
+          }
+        });
+
+    Map<Long, Folio> folios =
+        folioRepository.findByUserAndFundIdIn(user, fundIds).stream()
+            .collect(
+                Collectors.toMap(
+                    folio -> folio.getFund().getId(),
+                    folio -> folio,
+                    BinaryOperator.minBy(Comparator.comparing(Folio::getId))));
+    for (var fundId : fundIds) {
+      if (!folios.containsKey(fundId)) {
+        throw new IllegalArgumentException("No folio found for fund ID: " + fundId);
+      }
+    }
+
+    log.debug("Validated {} sell items across {} goal/fund pairs", items.size(), requested.size());
+    return folios;
+  }
+
+  /**
+   * Whether items awaiting verification on an order created at {@code createdAt} still reserve
+   * their units. Once they do not, verifying them could sell units another order has reserved.
+   */
+  public boolean stillReserved(Timestamp createdAt) {
+    return createdAt != null && createdAt.after(unverifiedSince());
+  }
+
+  private Timestamp unverifiedSince() {
+    return Timestamp.from(clock.instant().minus(unverifiedHold));
+  }
+
+  private static Map<GoalFund, Long> sumByPair(List<GoalFundUnitsProjection> rows) {
+    return rows.stream()
+        .filter(row -> row.getUnits() != null)
+        .collect(
+            Collectors.toMap(
+                row -> new GoalFund(row.getGoalId(), row.getFundId()),
+                row -> FixedPoint.of(row.getUnits(), FixedPoint.UNITS_SCALE),
+                Long::sum));
+  }
+}
@@ -7,33 +7,31 @@ import com.nested.app.dto.MinifiedGoalDTO;
 import com.nested.app.dto.OrderDTO;
 import com.nested.app.dto.SellOrderRequestDTO;
 import com.nested.app.dto.SellOrderVerifyDTO;
-import com.nested.app.entity.Folio;
 import com.nested.app.entity.Fund;
 import com.nested.app.entity.Goal;
+import com.nested.app.entity.Investor;
 import com.nested.app.entity.Order;
 import com.nested.app.entity.OrderItems;
 import com.nested.app.entity.SellOrder;
-import com.nested.app.entity.Transaction;
 import com.nested.app.entity.User;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.exception.ExternalServiceException;
-import com.nested.app.repository.FolioRepository;
 import com.nested.app.repository.FundRepository;
 import com.nested.app.repository.OrderItemsRepository;
 import com.nested.app.repository.OrderRepository;
 import com.nested.app.repository.TenantAwareGoalRepository;
-import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
 import com.nested.app.utils.IpUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -54,12 +52,21 @@ public class SellOrderServiceImpl implements SellOrderService {
   private final OrderItemsRepository orderItemsRepository;
   private final TenantAwareGoalRepository goalRepository;
   private final FundRepository fundRepository;
-  private final FolioRepository folioRepository;
-  private final TransactionRepository transactionRepository;
+  private final SellHoldingsValidator sellHoldingsValidator;
   private final SellOrderApiClient sellOrderApiClient;
   private final SellOrderSchedulerService sellOrderSchedulerService;
+  private final TransactionTemplate transactionTemplate;
 
+  /**
+   * Places sell orders. Goal locks, validation and the reserving order items are committed in one
+   * short transaction; the provider is called afterwards, one item at a time, so the goal rows are
+   * not locked across remote round trips. The reservations keep concurrent sells honest meanwhile.
+   * If a placement fails, that item and the ones not yet placed are marked FAILED, which releases
+   * their reservations; items already placed stay with the provider and their order IDs are listed
+   * in the error so the client can still verify them.
+   */
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public List<OrderDTO> placeSellOrder(SellOrderRequestDTO sellOrderRequest, User user) {
     if (user == null) {
       throw new IllegalStateException("User not found in context");
@@ -70,6 +77,62 @@ public class SellOrderServiceImpl implements SellOrderService {
       throw new IllegalStateException("Investor not found for user");
     }
 
+    List<PendingSell> pending =
+        transactionTemplate.execute(status -> reserve(sellOrderRequest, user, investor));
+
+    String ipAddress = clientIp();
+    List<Order> createdOrders = new ArrayList<>();
+
+    for (int i = 0; i < pending.size(); i++) {
+      var sell = pending.get(i);
+      sell.detail().setUserIP(ipAddress);
+
+      String ref;
+      try {
+        var placedOrder = sellOrderApiClient.placeOrder(sell.detail()).block();
+        if (placedOrder == null || placedOrder.getRef() == null) {
+          throw new ExternalServiceException("Failed to place sell order - no reference returned");
+        }
+        ref = placedOrder.getRef();
+      } catch (Exception e) {
+        log.error("Failed to place sell order for fund ID: {}", sell.item().getFund().getId(), e);
+        release(pending.subList(i, pending.size()));
+        throw new ExternalServiceException(placementFailure(e, createdOrders), e);
+      }
+
+      var placedSell =
+          transactionTemplate.execute(
+              status -> {
+                sell.item().setRef(ref);
+                orderItemsRepository.save(sell.item());
+                sell.order().setPlaced(true);
+                return orderRepository.save(sell.order());
+              });
+
+      log.info("Sell order placed successfully. Order ID: {}, Ref: {}", placedSell.getId(), ref);
+
+      // Schedule RedeemOrderTrackerJob with triggers: 5s, 10min, every 6hrs
+      try {
+        sellOrderSchedulerService.scheduleRedeemOrderTrackerJob(ref);
+      } catch (Exception schedulerException) {
+        log.error(
+            "Failed to schedule RedeemOrderTrackerJob for order ref: {}", ref, schedulerException);
+        // Don't fail the order placement if scheduling fails
+      }
+
+      createdOrders.add(placedSell);
+    }
+
+    // Return DTOs
+    return createdOrders.stream().map(OrderDTO::fromEntity).toList();
+  }
+
+  /** A sell order saved with its reserving item, and the request to place it with. */
+  private record PendingSell(SellOrder order, OrderItems item, SellOrderDetail detail) {}
+
+  /** Locks the goals, validates holdings and saves the orders with their reservations. */
+  private List<PendingSell> reserve(
+      SellOrderRequestDTO sellOrderRequest, User user, Investor investor) {
     // Validate and collect goal IDs
     var goalIds =
         sellOrderRequest.getSellOrders().stream()
@@ -78,7 +141,8 @@ public class SellOrderServiceImpl implements SellOrderService {
             .distinct()
             .toList();
 
-    var goals = goalRepository.findAllById(goalIds);
+    // Lock the goals so concurrent sells on them validate one after the other
+    var goals = goalRepository.findAllByIdForUpdate(goalIds, user);
     if (goals.size() != goalIds.size()) {
       throw new IllegalArgumentException("One or more goals not found");
     }
@@ -107,58 +171,11 @@ public class SellOrderServiceImpl implements SellOrderService {
 
     var fundMap = funds.stream().collect(Collectors.toMap(Fund::getId, f -> f));
 
-    // Validate holdings and auto-select folios
-    Map<Long, Folio> fundFolioMap = new HashMap<>();
-    for (var sellOrderItem : sellOrderRequest.getSellOrders()) {
-      var fundId = sellOrderItem.getFundId();
-      var goalId = sellOrderItem.getGoal().getId();
-
-      // Check available units for this fund and goal
-      var availableUnits = calculateAvailableUnits(user.getId(), goalId, fundId);
-
-      if (availableUnits <= 0) {
-        throw new IllegalArgumentException(
-            "No holdings found for fund ID: " + fundId + " in goal ID: " + goalId);
-      }
-
-      // Validate amount/units against holdings
-      if (sellOrderItem.getUnits() != null && sellOrderItem.getUnits() > availableUnits) {
-        throw new IllegalArgumentException(
-            String.format(
-                "Insufficient units for fund ID: %d. Available: %.4f, Requested: %.4f",
-                fundId, availableUnits, sellOrderItem.getUnits()));
-      }
-
-      if (sellOrderItem.getAmount() != null) {
-        var fund = fundMap.get(fundId);
-        var requiredUnits = sellOrderItem.getAmount() / fund.getNav();
-        if (requiredUnits > availableUnits) {
-          throw new IllegalArgumentException(
-              String.format(
-                  "Insufficient units for fund ID: %d. Available: %.4f, Required for amount: %.4f",
-                  fundId, availableUnits, requiredUnits));
-        }
-      }
-
-      // Auto-select folio for this fund
-      var folio =
-          folioRepository
-              .findFirstByFundIdAndUser(fundId, user)
-              .orElseThrow(
-                  () -> new IllegalArgumentException("No folio found for fund ID: " + fundId));
-
-      // Validate folio belongs to user
-      if (!folio.getUser().equals(user)) {
-        throw new IllegalArgumentException(
-            "Folio does not belong to current user for fund ID: " + fundId);
-      }
-
-      fundFolioMap.put(fundId, folio);
-    }
-
-    // Create sell orders and place them via API
-    List<Order> createdOrders = new ArrayList<>();
+    // Validate holdings net of in-flight sells and auto-select folios
+    var fundFolioMap =
+        sellHoldingsValidator.validate(user, sellOrderRequest.getSellOrders(), fundMap);
 
+    List<PendingSell> pending = new ArrayList<>();
     for (var sellOrderItem : sellOrderRequest.getSellOrders()) {
       var goal = goalMap.get(sellOrderItem.getGoal().getId());
       var fund = fundMap.get(sellOrderItem.getFundId());
@@ -178,13 +195,14 @@ public class SellOrderServiceImpl implements SellOrderService {
       var orderItem = new OrderItems();
       orderItem.setOrder(savedOrder);
       orderItem.setFund(fund);
-      orderItem.setAmount(sellOrderItem.getAmount() != null ? sellOrderItem.getAmount() : 0.0);
+      orderItem.setAmount(
+          sellOrderItem.getAmount() != null ? FixedPoint.amount(sellOrderItem.getAmount()) : 0L);
+      orderItem.setReservedUnits(SellHoldingsValidator.requiredUnits(sellOrderItem, fund));
       orderItem.setUser(user);
       orderItem.setStatus(TransactionStatus.VERIFICATION_PENDING);
 
-      orderItemsRepository.save(orderItem);
+      var savedItem = orderItemsRepository.save(orderItem);
 
-      // Place order via API
       var sellOrderDetail = new SellOrderDetail();
       sellOrderDetail.setAccountID(investor.getAccountRef());
       sellOrderDetail.setFundID(fund.getIsinCode());
@@ -192,98 +210,61 @@ public class SellOrderServiceImpl implements SellOrderService {
       sellOrderDetail.setAmount(sellOrderItem.getAmount());
       sellOrderDetail.setUnits(sellOrderItem.getUnits());
 
-      ServletRequestAttributes attributes =
-          (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-      String ipAddress;
-      if (attributes != null) {
-        HttpServletRequest request = attributes.getRequest();
-        ipAddress = IpUtils.getClientIpAddress(request);
-      } else {
-        ipAddress = IpUtils.getClientIpAddress(null);
-      }
-      sellOrderDetail.setUserIP(ipAddress);
+      pending.add(new PendingSell(savedOrder, savedItem, sellOrderDetail));
+    }
+    return pending;
+  }
 
-      try {
-        var placedOrder = sellOrderApiClient.placeOrder(sellOrderDetail).block();
-        if (placedOrder != null && placedOrder.getRef() != null) {
-          orderItem.setRef(placedOrder.getRef());
-          orderItemsRepository.save(orderItem);
-          savedOrder.setPlaced(true);
-          orderRepository.save(savedOrder);
-
-          log.info(
-              "Sell order placed successfully. Order ID: {}, Ref: {}",
-              savedOrder.getId(),
-              placedOrder.getRef());
-
-          // Schedule RedeemOrderTrackerJob with triggers: 5s, 10min, every 6hrs
-          try {
-            sellOrderSchedulerService.scheduleRedeemOrderTrackerJob(placedOrder.getRef());
-          } catch (Exception schedulerException) {
-            log.error(
-                "Failed to schedule RedeemOrderTrackerJob for order ref: {}",
-                placedOrder.getRef(),
-                schedulerException);
-            // Don't fail the order placement if scheduling fails
-          }
-        } else {
-          throw new ExternalServiceException("Failed to place sell order - no reference returned");
-        }
-      } catch (Exception e) {
-        log.error("Failed to place sell order for fund ID: {}", fund.getId(), e);
-        throw new ExternalServiceException("Failed to place sell order: " + e.getMessage(), e);
-      }
+  /** Marks items that never reached the provider FAILED, so they stop reserving units. */
+  private void release(List<PendingSell> unplaced) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              unplaced.forEach(
+                  sell -> {
+                    sell.item().setStatus(TransactionStatus.FAILED);
+                    orderItemsRepository.save(sell.item());
+                  }));
+    } catch (Exception e) {
+      // The unverified hold expires these reservations eventually
+      log.error("Failed to release reservations of {} sell items", unplaced.size(), e);
+    }
+  }
 
-      createdOrders.add(savedOrder);
+  private static String placementFailure(Exception e, List<Order> placed) {
+    String message = "Failed to place sell order: " + e.getMessage();
+    if (placed.isEmpty()) {
+      return message;
     }
+    return message
+        + ". Orders already placed: "
+        + placed.stream().map(Order::getId).map(String::valueOf).collect(Collectors.joining(", "));
+  }
 
-    // Return DTOs
-    return createdOrders.stream().map(OrderDTO::fromEntity).toList();
+  private static String clientIp() {
+    ServletRequestAttributes attributes =
+        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      HttpServletRequest request = attributes.getRequest();
+      return IpUtils.getClientIpAddress(request);
+    }
+    return IpUtils.getClientIpAddress(null);
   }
 
+  /**
+   * Confirms placed sell orders with the provider. Under the goal locks, in a short transaction,
+   * the items are checked and switched to SUBMITTED; an item whose order is older than {@code
+   * sell.reservation.unverified-hold} no longer reserves its units, so another sell may have taken
+   * them and the order is rejected. Consent is given afterwards, outside the transaction; items
+   * whose consent was not given go back to VERIFICATION_PENDING.
+   */
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public void verifySellOrder(SellOrderVerifyDTO verifyRequest, User user) {
     if (user == null) {
       throw new IllegalStateException("User not found in context");
     }
 
-    // Fetch orders
-    var orders = orderRepository.findAllById(verifyRequest.getOrderIds());
-    if (orders.size() != verifyRequest.getOrderIds().size()) {
-      throw new IllegalArgumentException("One or more orders not found");
-    }
-
-    // Validate ownership
-    orders.forEach(
-        order -> {
-          if (!order.getUser().equals(user)) {
-            throw new IllegalArgumentException("Order does not belong to current user");
-          }
-
-          order
-              .getItems()
-              .forEach(
-                  item -> {
-                    if (!item.getStatus().equals(TransactionStatus.VERIFICATION_PENDING)) {
-                      throw new IllegalArgumentException("Order already processed");
-                    }
-                    item.setStatus(TransactionStatus.SUBMITTED);
-                  });
-        });
-
-    // Collect order refs for consent and confirmation
-    List<String> orderRefs =
-        orders.stream()
-            .flatMap(order -> order.getItems().stream())
-            .map(OrderItems::getRef)
-            .filter(ref -> ref != null && !ref.isEmpty())
-            .distinct()
-            .toList();
-
-    if (orderRefs.isEmpty()) {
-      throw new IllegalStateException("No valid order references found for verification");
-    }
-
     // Get email and mobile from user context
     String email = user.getEmail();
     String mobile = user.getPhoneNumber();
@@ -292,6 +273,12 @@ public class SellOrderServiceImpl implements SellOrderService {
       throw new IllegalStateException("User email not found in profile");
     }
 
+    var orders = transactionTemplate.execute(status -> submit(verifyRequest, user));
+
+    // Collect order refs for consent and confirmation
+    List<String> orderRefs = refs(orders);
+    List<String> consented = new ArrayList<>();
+
     try {
       // Update consent for each order
       for (String orderRef : orderRefs) {
@@ -304,36 +291,95 @@ public class SellOrderServiceImpl implements SellOrderService {
                 .build();
 
         sellOrderApiClient.updateConsent(consentRequest).block();
+        consented.add(orderRef);
         log.info("Updated consent for order ref: {} with user email: {}", orderRef, email);
       }
 
       log.info("Confirmed {} sell orders", orderRefs.size());
-
-      orderRepository.saveAll(orders);
       // Schedule fulfillment jobs for order tracking
       //      sellOrderSchedulerService.scheduleSellOrderStatusJobs(orderRefs);
       log.info("Scheduled fulfillment jobs for {} sell orders", orderRefs.size());
 
     } catch (Exception e) {
       log.error("Failed to verify sell orders", e);
+      unsubmit(orders, consented);
       throw new ExternalServiceException("Failed to verify sell orders: " + e.getMessage(), e);
     }
   }
 
-  /**
-   * Calculates available units for a specific fund and goal by summing transactions
-   *
-   * @param userId User ID
-   * @param goalId Goal ID
-   * @param fundId Fund ID
-   * @return Total available units (can be negative if oversold, but shouldn't happen)
-   */
-  private double calculateAvailableUnits(Long userId, Long goalId, Long fundId) {
-    var transactions = transactionRepository.findByUserIdAndGoalId(userId, goalId);
+  /** Locks the orders' goals, checks their items and marks them SUBMITTED. */
+  private List<Order> submit(SellOrderVerifyDTO verifyRequest, User user) {
+    // Fetch orders
+    var orders = orderRepository.findAllById(verifyRequest.getOrderIds());
+    if (orders.size() != verifyRequest.getOrderIds().size()) {
+      throw new IllegalArgumentException("One or more orders not found");
+    }
+
+    // Validate ownership
+    orders.forEach(
+        order -> {
+          if (!order.getUser().equals(user)) {
+            throw new IllegalArgumentException("Order does not belong to current user");
+          }
+        });
+
+    // Lock the goals so no sell can validate against these items while they change state
+    var goalIds =
+        orders.stream()
+            .map(Order::getGoal)
+            .filter(goal -> goal != null)
+            .map(Goal::getId)
+            .distinct()
+            .toList();
+    goalRepository.findAllByIdForUpdate(goalIds, user);
+
+    orders.forEach(
+        order ->
+            order
+                .getItems()
+                .forEach(
+                    item -> {
+                      if (!item.getStatus().equals(TransactionStatus.VERIFICATION_PENDING)) {
+                        throw new IllegalArgumentException("Order already processed");
+                      }
+                      if (!sellHoldingsValidator.stillReserved(order.getCreatedAt())) {
+                        throw new IllegalArgumentException(
+                            "Sell order " + order.getId() + " has expired, place it again");
+                      }
+                      item.setStatus(TransactionStatus.SUBMITTED);
+                    }));
+
+    if (refs(orders).isEmpty()) {
+      throw new IllegalStateException("No valid order references found for verification");
+    }
+
+    return orderRepository.saveAll(orders);
+  }
+
+  /** Returns items whose consent was not given to VERIFICATION_PENDING, so they can be retried. */
+  private void unsubmit(List<Order> orders, List<String> consented) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              orders.stream()
+                  .flatMap(order -> order.getItems().stream())
+                  .filter(item -> !consented.contains(item.getRef()))
+                  .forEach(
+                      item -> {
+                        item.setStatus(TransactionStatus.VERIFICATION_PENDING);
+                        orderItemsRepository.save(item);
+                      }));
+    } catch (Exception e) {
+      log.error("Failed to return {} sell orders to verification", orders.size(), e);
+    }
+  }
 
-    return transactions.stream()
-        .filter(t -> t.getFund().getId().equals(fundId))
-        .mapToDouble(Transaction::getUnits)
-        .sum();
+  private static List<String> refs(List<Order> orders) {
+    return orders.stream()
+        .flatMap(order -> order.getItems().stream())
+        .map(OrderItems::getRef)
+        .filter(ref -> ref != null && !ref.isEmpty())
+        .distinct()
+        .toList();
   }
 }
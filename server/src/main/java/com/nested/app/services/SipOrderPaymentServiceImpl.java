@@ -115,7 +115,8 @@ public class SipOrderPaymentServiceImpl implements SipOrderPaymentService {
                 .map(bf -> bf.getFund().getName())
                 .toList();
         eventPublisher.publishEvent(
-            new SipActivatedEvent(payment.getUser(), totalAmount, goalOrChildName, fundNames));
+            new SipActivatedEvent(
+                paymentID, payment.getUser(), totalAmount, goalOrChildName, fundNames));
       } catch (Exception e) {
         log.warn(
             "Failed to publish SipActivatedEvent for payment ID: {}. Error: {}",
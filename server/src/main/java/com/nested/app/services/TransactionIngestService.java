@@ -0,0 +1,257 @@
+package com.nested.app.services;
+
+import com.nested.app.entity.Transaction;
+import com.nested.app.entity.User;
+import com.nested.app.enums.TransactionStatus;
+import com.nested.app.events.GoalSyncEvent;
+import com.nested.app.events.TransactionSuccessEvent;
+import com.nested.app.utils.FixedPoint;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the transactions of a fulfilled order, or of a batch of SIP installments, in one go. Rows
+ * are keyed on {@code (source_order_item_id, external_ref)}, which is unique. One query reads the
+ * rows that already exist. Only new or changed rows are written, with a single multi-row {@code
+ * INSERT ... ON CONFLICT}. Replaying a provider response that changes nothing costs that one read
+ * and publishes nothing.
+ *
+ * <p>Events are published inside the ingest transaction and their listeners act once it has
+ * committed: one {@link GoalSyncEvent} per affected goal and, in {@link Mode#UPSERT}, a {@link
+ * TransactionSuccessEvent} for each row that has just become {@code COMPLETED}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionIngestService {
+
+  /** What to do with a row whose key already exists. */
+  public enum Mode {
+    /** Overwrite status, units, price, amount and folio when any of them changed */
+    UPSERT,
+    /** Leave existing rows alone; another job owns their updates and completion notices */
+    INSERT_MISSING
+  }
+
+  // Keeps every bind of a chunk well below Postgres' 65535-parameter limit
+  private static final int CHUNK_SIZE = 500;
+  private static final String COLUMNS =
+      "user_id, goal_id, fund_id, folio_id, type, status, units, unit_price, amount, external_ref,"
+          + " source_order_item_id, executed_at, provider_transaction_id, created_at, updated_at";
+  private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())";
+  private static final String ON_CONFLICT_UPDATE =
+      " ON CONFLICT (source_order_item_id, external_ref) DO UPDATE SET"
+          + " status = excluded.status, units = excluded.units,"
+          + " unit_price = excluded.unit_price, amount = excluded.amount,"
+          + " folio_id = COALESCE(excluded.folio_id, transactions.folio_id),"
+          + " executed_at = excluded.executed_at, updated_at = now()"
+          + " WHERE (transactions.status, transactions.units, transactions.unit_price,"
+          + " transactions.amount, transactions.folio_id) IS DISTINCT FROM (excluded.status,"
+          + " excluded.units, excluded.unit_price, excluded.amount,"
+          + " COALESCE(excluded.folio_id, transactions.folio_id))";
+  private static final String ON_CONFLICT_SKIP =
+      " ON CONFLICT (source_order_item_id, external_ref) DO NOTHING";
+  private static final String RETURNING = " RETURNING id, source_order_item_id, external_ref";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Writes {@code transactions}, which must all carry a source order item id and an external ref.
+   * Ids of written rows are set on the given objects.
+   *
+   * @return the transactions that were inserted or changed; empty when the batch was a replay
+   */
+  @Transactional
+  public List<Transaction> ingest(List<Transaction> transactions, Mode mode) {
+    if (transactions.isEmpty()) {
+      return List.of();
+    }
+    Map<Key, Transaction> incoming = new LinkedHashMap<>();
+    for (Transaction txn : transactions) {
+      // Last one wins, as it would have with one save per row
+      incoming.put(Key.of(txn), txn);
+    }
+
+    Map<Key, Existing> existing = findExisting(incoming.keySet());
+    List<Transaction> pending = new ArrayList<>();
+    for (Map.Entry<Key, Transaction> entry : incoming.entrySet()) {
+      Existing current = existing.get(entry.getKey());
+      Transaction txn = entry.getValue();
+      if (current == null) {
+        pending.add(txn);
+      } else if (mode == Mode.UPSERT && current.differsFrom(txn)) {
+        pending.add(txn);
+      } else {
+        txn.setId(current.id());
+      }
+    }
+    if (pending.isEmpty()) {
+      log.debug("All {} transaction(s) already up to date", incoming.size());
+      return List.of();
+    }
+
+    List<Transaction> written = new ArrayList<>(pending.size());
+    for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+      int to = Math.min(pending.size(), from + CHUNK_SIZE);
+      written.addAll(write(pending.subList(from, to), mode));
+    }
+    publishEvents(written, existing, mode);
+    log.info(
+        "Ingested {} transaction(s): {} written, {} unchanged",
+        incoming.size(),
+        written.size(),
+        incoming.size() - written.size());
+    return written;
+  }
+
+  private Map<Key, Existing> findExisting(Collection<Key> keys) {
+    Set<Long> itemIds = new LinkedHashSet<>();
+    Set<String> refs = new LinkedHashSet<>();
+    for (Key key : keys) {
+      itemIds.add(key.sourceOrderItemId());
+      refs.add(key.externalRef());
+    }
+    // Both lists are short; the pair is matched against the incoming keys below
+    String sql =
+        "SELECT id, source_order_item_id, external_ref, status, units, unit_price, amount, folio_id"
+            + " FROM transactions WHERE source_order_item_id IN ("
+            + String.join(", ", Collections.nCopies(itemIds.size(), "?"))
+            + ") AND external_ref IN ("
+            + String.join(", ", Collections.nCopies(refs.size(), "?"))
+            + ")";
+    List<Object> args = new ArrayList<>(itemIds);
+    args.addAll(refs);
+    Map<Key, Existing> existing = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          Key key = new Key(rs.getLong("source_order_item_id"), rs.getString("external_ref"));
+          existing.put(
+              key,
+              new Existing(
+                  rs.getLong("id"),
+                  TransactionStatus.valueOf(rs.getString("status")),
+                  scaled(rs.getBigDecimal("units"), FixedPoint.UNITS_SCALE),
+                  scaled(rs.getBigDecimal("unit_price"), FixedPoint.PRICE_SCALE),
+                  scaled(rs.getBigDecimal("amount"), FixedPoint.AMOUNT_SCALE),
+                  rs.getObject("folio_id", Long.class)));
+        },
+        args.toArray());
+    existing.keySet().retainAll(keys);
+    return existing;
+  }
+
+  private List<Transaction> write(List<Transaction> chunk, Mode mode) {
+    StringBuilder sql = new StringBuilder("INSERT INTO transactions (").append(COLUMNS);
+    sql.append(") VALUES ").append(String.join(", ", Collections.nCopies(chunk.size(), ROW)));
+    sql.append(mode == Mode.UPSERT ? ON_CONFLICT_UPDATE : ON_CONFLICT_SKIP).append(RETURNING);
+
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object> args = new ArrayList<>(chunk.size() * 13);
+    Map<Key, Transaction> byKey = new HashMap<>();
+    for (Transaction txn : chunk) {
+      byKey.put(Key.of(txn), txn);
+      args.add(txn.getUser().getId());
+      args.add(txn.getGoal() != null ? txn.getGoal().getId() : null);
+      args.add(txn.getFund().getId());
+      args.add(txn.getFolio() != null ? txn.getFolio().getId() : null);
+      args.add(txn.getType().name());
+      args.add(txn.getStatus().name());
+      args.add(FixedPoint.toDecimal(txn.getUnits(), FixedPoint.UNITS_SCALE));
+      args.add(FixedPoint.toDecimal(txn.getUnitPrice(), FixedPoint.PRICE_SCALE));
+      args.add(FixedPoint.toDecimal(txn.getAmount(), FixedPoint.AMOUNT_SCALE));
+      args.add(txn.getExternalRef());
+      args.add(txn.getSourceOrderItemId());
+      args.add(Objects.requireNonNullElse(txn.getExecutedAt(), now));
+      args.add(txn.getProviderTransactionId());
+    }
+
+    // Rows a concurrent writer already brought up to date are not returned
+    List<Transaction> written = new ArrayList<>(chunk.size());
+    jdbcTemplate.query(
+        sql.toString(),
+        rs -> {
+          Transaction txn =
+              byKey.get(new Key(rs.getLong("source_order_item_id"), rs.getString("external_ref")));
+          txn.setId(rs.getLong("id"));
+          written.add(txn);
+        },
+        args.toArray());
+    return written;
+  }
+
+  private void publishEvents(List<Transaction> written, Map<Key, Existing> before, Mode mode) {
+    Map<Long, User> goals = new LinkedHashMap<>();
+    for (Transaction txn : written) {
+      if (txn.getGoal() != null) {
+        goals.putIfAbsent(txn.getGoal().getId(), txn.getUser());
+      } else {
+        log.warn("goal not populated for transaction {}", txn.getId());
+      }
+      Existing previous = before.get(Key.of(txn));
+      boolean completedNow =
+          mode == Mode.UPSERT
+              && txn.getStatus() == TransactionStatus.COMPLETED
+              && (previous == null || previous.status() != TransactionStatus.COMPLETED);
+      if (completedNow) {
+        publisher.publishEvent(
+            new TransactionSuccessEvent(
+                txn.getId(),
+                txn.getUser(),
+                txn.getFund() != null ? txn.getFund().getName() : null,
+                FixedPoint.toDouble(txn.getAmount(), FixedPoint.AMOUNT_SCALE),
+                txn.getType()));
+        log.info("Transaction {} has been completed", txn.getId());
+      }
+    }
+    goals.forEach((goalId, user) -> publisher.publishEvent(new GoalSyncEvent(goalId, user)));
+  }
+
+  private static long scaled(BigDecimal column, int scale) {
+    return column == null ? 0L : FixedPoint.of(column, scale);
+  }
+
+  private record Key(long sourceOrderItemId, String externalRef) {
+    static Key of(Transaction txn) {
+      return new Key(
+          Objects.requireNonNull(txn.getSourceOrderItemId(), "sourceOrderItemId"),
+          Objects.requireNonNull(txn.getExternalRef(), "externalRef"));
+    }
+  }
+
+  private record Existing(
+      long id,
+      TransactionStatus status,
+      long units,
+      long unitPrice,
+      long amount,
+      Long folioId) {
+
+    boolean differsFrom(Transaction txn) {
+      Long incomingFolio = txn.getFolio() != null ? txn.getFolio().getId() : folioId;
+      return status != txn.getStatus()
+          || units != txn.getUnits()
+          || unitPrice != txn.getUnitPrice()
+          || amount != txn.getAmount()
+          || !Objects.equals(folioId, incomingFolio);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import com.nested.app.entity.Transaction;
 import com.nested.app.entity.User;
 import com.nested.app.enums.TransactionStatus;
 import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
@@ -145,10 +146,10 @@ public class TransactionServiceImpl implements TransactionService {
                 transaction.getId(),
                 transaction.getFund().getLabel(),
                 transaction.getType(),
-                transaction.getUnits(),
+                FixedPoint.toDecimalOrNull(transaction.getUnits(), FixedPoint.UNITS_SCALE),
                 transaction.getStatus(),
-                transaction.getUnitPrice(),
-                transaction.getAmount(),
+                FixedPoint.toDecimalOrNull(transaction.getUnitPrice(), FixedPoint.PRICE_SCALE),
+                FixedPoint.toDecimalOrNull(transaction.getAmount(), FixedPoint.AMOUNT_SCALE),
                 transaction.getCreatedAt());
     }
 }
@@ -4,6 +4,7 @@ import com.nested.app.client.meta.BankApiClient;
 import com.nested.app.client.mf.InvestorAPIClient;
 import com.nested.app.client.mf.KycAPIClient;
 import com.nested.app.client.mf.dto.BankAccountRequest;
+import com.nested.app.config.CacheConfig;
 import com.nested.app.dto.AddressDto;
 import com.nested.app.dto.BankAccountDto;
 import com.nested.app.dto.UserActionRequest;
@@ -24,6 +25,8 @@ import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.OpenApiResourceNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -46,6 +49,7 @@ public class UserServiceImpl implements UserService {
   private final UserVerificationRepository userVerificationRepository;
 
   @Override
+  @Transactional(readOnly = true)
   public List<UserDTO> findAllUsers(Type type, Pageable pageable, User user) {
     Stream<User> users =
         switch (type) {
@@ -264,6 +268,7 @@ public class UserServiceImpl implements UserService {
   }
 
   @Override
+  @CacheEvict(cacheNames = CacheConfig.SIGNATURE_URL, key = "#userId")
   public void uploadUserSignature(Long userId, MultipartFile file) {
     User user =
         userRepository
@@ -282,6 +287,7 @@ public class UserServiceImpl implements UserService {
   }
 
   @Override
+  @Cacheable(cacheNames = CacheConfig.SIGNATURE_URL, key = "#userId")
   public String fetchUserSignature(Long userId) {
     User user =
         userRepository
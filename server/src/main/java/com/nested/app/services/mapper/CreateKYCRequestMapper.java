@@ -2,11 +2,13 @@ package com.nested.app.services.mapper;
 
 import com.nested.app.client.mf.dto.CreateKYCRequest;
 import com.nested.app.entity.User;
+import com.nested.app.geo.GeoIpService;
 import com.nested.app.utils.IpUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -29,9 +31,10 @@ public class CreateKYCRequestMapper {
    * Aadhaar-specific fields and geolocation.
    *
    * @param user the User entity to map from
+   * @param geoIpService local GeoIP database, preferred over ipinfo.io when loaded
    * @return CreateKYCRequest populated with user data
    */
-  public static CreateKYCRequest mapUserToCreateKYCRequest(User user) {
+  public static CreateKYCRequest mapUserToCreateKYCRequest(User user, GeoIpService geoIpService) {
     CreateKYCRequest request = new CreateKYCRequest();
 
     // Map common base fields using BaseKYCRequestMapper
@@ -42,7 +45,7 @@ public class CreateKYCRequestMapper {
     request.setMaritalStatus(user.getMaritalStatus().getValue());
 
     // Map geolocation data from HTTP request
-    Map<String, String> geolocation = extractGeolocationFromRequest();
+    Map<String, String> geolocation = extractGeolocationFromRequest(geoIpService);
     if (!geolocation.isEmpty()) {
       request.setGeolocation(geolocation);
     }
@@ -51,12 +54,13 @@ public class CreateKYCRequestMapper {
   }
 
   /**
-   * Extracts geolocation (latitude and longitude) from the current HTTP request. Uses ipinfo.io API
-   * to look up accurate geolocation based on client IP address.
+   * Extracts geolocation (latitude and longitude) from the current HTTP request. Uses the local
+   * GeoIP database when loaded and the ipinfo.io API otherwise (or when it has no coordinates).
    *
+   * @param geoIpService local GeoIP database
    * @return Map containing latitude and longitude if available
    */
-  private static Map<String, String> extractGeolocationFromRequest() {
+  private static Map<String, String> extractGeolocationFromRequest(GeoIpService geoIpService) {
     Map<String, String> geolocation = new HashMap<>();
 
     try {
@@ -73,6 +77,15 @@ public class CreateKYCRequestMapper {
         }
         log.debug("Extracting geolocation for IP: {}", clientIp);
 
+        Optional<GeoIpService.GeoLocation> location = geoIpService.lookup(clientIp);
+        if (location.isPresent()
+            && location.get().latitude() != null
+            && location.get().longitude() != null) {
+          geolocation.put("latitude", location.get().latitude().toString());
+          geolocation.put("longitude", location.get().longitude().toString());
+          return geolocation;
+        }
+
         // Call ipinfo.io API to get geolocation data
         Map<String, Object> geoData = getGeolocationFromIpinfo(clientIp);
 
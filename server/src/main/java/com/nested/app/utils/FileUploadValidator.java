@@ -34,6 +34,9 @@ public class FileUploadValidator {
     // Maximum file size: 10MB (in bytes)
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
 
+    // Number of leading bytes needed by validateContentSignature
+    public static final int SIGNATURE_LENGTH = 12;
+
     // Allowed file extensions
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(
         ".jpg", ".jpeg", ".png", ".gif", ".webp", ".pdf"
@@ -49,16 +52,31 @@ public class FileUploadValidator {
         if (file == null || file.isEmpty()) {
             return ValidationResult.invalid("File is required and cannot be empty");
         }
+        return validateDocumentMetadata(file.getOriginalFilename(), file.getContentType(), file.getSize());
+    }
+
+    /**
+     * Validates declared document metadata without needing the content, e.g. before presigning a
+     * direct upload and again against the stored object's metadata
+     *
+     * @param originalFilename Client file name
+     * @param contentType Declared content type
+     * @param size Size in bytes
+     * @return Validation result with error message if invalid
+     */
+    public ValidationResult validateDocumentMetadata(String originalFilename, String contentType, long size) {
+        if (size <= 0) {
+            return ValidationResult.invalid("File is required and cannot be empty");
+        }
 
         // Check file size
-        if (file.getSize() > MAX_FILE_SIZE) {
+        if (size > MAX_FILE_SIZE) {
             return ValidationResult.invalid(
                 String.format("File size exceeds maximum allowed size of %d MB", MAX_FILE_SIZE / (1024 * 1024))
             );
         }
 
         // Check filename
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             return ValidationResult.invalid("File name is required");
         }
@@ -77,7 +95,6 @@ public class FileUploadValidator {
         }
 
         // Check content type
-        String contentType = file.getContentType();
         if (contentType == null || !ALLOWED_DOCUMENT_TYPES.contains(contentType.toLowerCase())) {
             return ValidationResult.invalid(
                 String.format("Content type not allowed. Allowed types: %s", String.join(", ", ALLOWED_DOCUMENT_TYPES))
@@ -93,6 +110,43 @@ public class FileUploadValidator {
         return ValidationResult.valid();
     }
 
+    /**
+     * Checks the leading bytes of the content against the declared content type, so a renamed
+     * executable is not accepted as a PDF. Only {@link #SIGNATURE_LENGTH} bytes are needed, so
+     * callers never have to buffer the whole file.
+     *
+     * @param header First bytes of the content (fewer if the file is shorter)
+     * @param contentType Declared content type
+     * @return Validation result with error message if invalid
+     */
+    public ValidationResult validateContentSignature(byte[] header, String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase();
+        boolean matches = switch (type) {
+            case "application/pdf" -> startsWith(header, 0, '%', 'P', 'D', 'F');
+            case "image/png" -> startsWith(header, 0, 0x89, 'P', 'N', 'G');
+            case "image/jpeg", "image/jpg" -> startsWith(header, 0, 0xFF, 0xD8, 0xFF);
+            case "image/gif" -> startsWith(header, 0, 'G', 'I', 'F', '8');
+            case "image/webp" -> startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P');
+            default -> false;
+        };
+        if (!matches) {
+            return ValidationResult.invalid("File content does not match content type " + contentType);
+        }
+        return ValidationResult.valid();
+    }
+
+    private static boolean startsWith(byte[] header, int offset, int... expected) {
+        if (header == null || header.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((header[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Validates a file upload for images
      * 
@@ -0,0 +1,144 @@
+package com.nested.app.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for money, fund units and NAVs held as scaled longs.
+ *
+ * <p>Rupee amounts are held in paise ({@link #AMOUNT_SCALE}), units and NAVs to four decimal places
+ * ({@link #UNITS_SCALE}, {@link #PRICE_SCALE}), the precision RTAs report them in. The database
+ * stores the same values in NUMERIC columns of matching scale, so sums taken in SQL and in Java
+ * agree to the last paisa. Rounding is half up (away from zero), as in the provider statements.
+ *
+ * <p>Doubles only appear at the edges: values read from provider payloads and values handed to
+ * provider clients that still take doubles.
+ */
+public final class FixedPoint {
+
+  /** Rupee amounts, in paise */
+  public static final int AMOUNT_SCALE = 2;
+
+  /** Fund units */
+  public static final int UNITS_SCALE = 4;
+
+  /** NAV, price per unit */
+  public static final int PRICE_SCALE = 4;
+
+  private static final long[] POWERS_OF_TEN = {
+    1L,
+    10L,
+    100L,
+    1_000L,
+    10_000L,
+    100_000L,
+    1_000_000L,
+    10_000_000L,
+    100_000_000L,
+    1_000_000_000L
+  };
+
+  /** amount * 10^UNITS / price lands on the units scale when amount has AMOUNT_SCALE */
+  private static final long UNITS_PER_AMOUNT =
+      POWERS_OF_TEN[UNITS_SCALE + PRICE_SCALE - AMOUNT_SCALE];
+
+  private FixedPoint() {}
+
+  public static long amount(double rupees) {
+    return of(rupees, AMOUNT_SCALE);
+  }
+
+  public static long units(double units) {
+    return of(units, UNITS_SCALE);
+  }
+
+  public static long price(double nav) {
+    return of(nav, PRICE_SCALE);
+  }
+
+  /**
+   * Scales a decimal read from a provider payload. Goes through the shortest decimal form of the
+   * double, so 1234.565 becomes 123457 paise rather than 123456.
+   */
+  public static long of(double value, int scale) {
+    return of(BigDecimal.valueOf(value), scale);
+  }
+
+  public static long of(BigDecimal value, int scale) {
+    return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  public static BigDecimal toDecimal(long scaled, int scale) {
+    return BigDecimal.valueOf(scaled, scale);
+  }
+
+  /** For nullable ledger columns, such as units that are only known once an order is allotted */
+  public static BigDecimal toDecimalOrNull(Long scaled, int scale) {
+    return scaled == null ? null : toDecimal(scaled, scale);
+  }
+
+  public static double toDouble(long scaled, int scale) {
+    return scaled / (double) POWERS_OF_TEN[scale];
+  }
+
+  /** Units that {@code amount} buys or redeems at {@code price} */
+  public static long unitsFor(long amount, long price) {
+    return multiplyDivide(amount, UNITS_PER_AMOUNT, price);
+  }
+
+  /** Value of {@code units} at {@code price}, in paise */
+  public static long amountFor(long units, long price) {
+    return multiplyDivide(units, price, UNITS_PER_AMOUNT);
+  }
+
+  /**
+   * Splits {@code total} in proportion to {@code weights}. Every share but the last is rounded; the
+   * last takes what is left, so the shares always add up to {@code total}. Equal shares when the
+   * weights do not add up to anything positive.
+   */
+  public static long[] allocate(long total, long[] weights) {
+    int count = weights.length;
+    long[] shares = new long[count];
+    if (count == 0) {
+      return shares;
+    }
+
+    long weightSum = 0;
+    for (long weight : weights) {
+      weightSum = Math.addExact(weightSum, Math.max(weight, 0));
+    }
+
+    long allocated = 0;
+    for (int i = 0; i < count - 1; i++) {
+      shares[i] =
+          weightSum > 0
+              ? multiplyDivide(total, Math.max(weights[i], 0), weightSum)
+              : divideHalfUp(total, count);
+      allocated += shares[i];
+    }
+    shares[count - 1] = total - allocated;
+    return shares;
+  }
+
+  /** {@code a * b / divisor}, rounded half up, without overflowing the intermediate product */
+  public static long multiplyDivide(long a, long b, long divisor) {
+    long high = Math.multiplyHigh(a, b);
+    long low = a * b;
+    if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+      return divideHalfUp(low, divisor);
+    }
+    return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+        .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+        .longValueExact();
+  }
+
+  private static long divideHalfUp(long dividend, long divisor) {
+    long quotient = dividend / divisor;
+    long remainder = Math.abs(dividend % divisor);
+    if (remainder >= Math.abs(divisor) - remainder) {
+      quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+    }
+    return quotient;
+  }
+}
@@ -1,41 +1,82 @@
 package com.nested.app.utils;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Utility class for extracting client IP addresses from HTTP requests. Handles proxy headers and
  * provides fallback mechanisms.
+ *
+ * <p>Addresses are parsed by a hand-written IPv4/IPv6 literal parser that never resolves names, so
+ * a malformed header can not trigger a DNS lookup. Forwarding headers are only honoured when the
+ * connection comes from a trusted proxy (private and loopback ranges unless configured with {@link
+ * #configureTrustedProxies}); {@code X-Forwarded-For} is walked from the right and the first
+ * address that is not a trusted proxy is the client.
  */
 @Slf4j
 @UtilityClass
 public class IpUtils {
 
-  private static final String[] IP_HEADER_CANDIDATES = {
-    "X-Forwarded-For",
-    "Proxy-Client-IP",
-    "WL-Proxy-Client-IP",
-    "HTTP_X_FORWARDED_FOR",
-    "HTTP_X_FORWARDED",
-    "HTTP_X_CLUSTER_CLIENT_IP",
-    "HTTP_CLIENT_IP",
-    "HTTP_FORWARDED_FOR",
-    "HTTP_FORWARDED",
-    "HTTP_VIA",
-    "REMOTE_ADDR",
-    "X-Real-IP"
-  };
-
-  private static final String LOCALHOST_IPV4 = "127.0.0.1";
-  private static final String LOCALHOST_IPV6 = "0:0:0:0:0:0:0:1";
-  private static final String LOCALHOST_IPV6_SHORT = "::1";
+  private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+  private static final String X_REAL_IP = "X-Real-IP";
+
   private static final String FALLBACK_IP = "8.8.8.8";
 
+  /** Loopback, RFC 1918, link-local and IPv6 unique-local ranges. */
+  public static final List<String> DEFAULT_TRUSTED_PROXIES =
+      List.of(
+          "127.0.0.0/8",
+          "10.0.0.0/8",
+          "172.16.0.0/12",
+          "192.168.0.0/16",
+          "169.254.0.0/16",
+          "::1/128",
+          "fc00::/7",
+          "fe80::/10");
+
+  private record Cidr(byte[] network, int prefixLength) {
+
+    boolean contains(byte[] address) {
+      if (address.length != network.length) {
+        return false;
+      }
+      int fullBytes = prefixLength / 8;
+      for (int i = 0; i < fullBytes; i++) {
+        if (address[i] != network[i]) {
+          return false;
+        }
+      }
+      int remainingBits = prefixLength % 8;
+      if (remainingBits == 0) {
+        return true;
+      }
+      int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+      return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+  }
+
+  private static volatile Cidr[] trustedProxies = toCidrs(DEFAULT_TRUSTED_PROXIES);
+
+  /**
+   * Replaces the ranges whose forwarding headers are trusted.
+   *
+   * @param cidrs addresses or CIDR blocks, e.g. {@code 10.0.0.0/8}
+   * @throws IllegalArgumentException if an entry is not an address literal or CIDR block
+   */
+  public static void configureTrustedProxies(Collection<String> cidrs) {
+    trustedProxies = toCidrs(cidrs);
+  }
+
   /**
-   * Extracts the client IP address from the HTTP request. Checks various headers commonly used by
-   * proxies and load balancers. Falls back to request.getRemoteAddr() if no headers are found. Uses
-   * a fallback IP (8.8.8.8) for localhost addresses to enable testing.
+   * Extracts the client IPv4 address from the HTTP request, as required by the payment and KYC
+   * providers. IPv4-mapped IPv6 addresses are unwrapped; IPv6-only clients and localhost get a
+   * fallback IP (8.8.8.8) so that provider calls and GeoIP lookups work in development.
    *
    * @param request the HTTP servlet request
    * @return the client IP address
@@ -46,93 +87,358 @@ public class IpUtils {
       return FALLBACK_IP;
     }
 
-    // Check all possible IP header candidates
-    for (String header : IP_HEADER_CANDIDATES) {
-      String ip = request.getHeader(header);
-      if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-        // X-Forwarded-For can contain multiple IPs (client, proxy1, proxy2, ...)
-        // The first one is the original client IP
-        if (ip.contains(",")) {
-          ip = ip.split(",")[0].trim();
-        }
-
-        String ipv4 = extractIpv4(ip);
-        if (ipv4 != null) {
-          log.debug("Found client IPv4 '{}' from header '{}'", ipv4, header);
-          return handleLocalhostIp(ipv4);
-        }
-      }
+    byte[] ipv4 = toIpv4(clientAddress(request));
+    if (ipv4 == null || ipv4[0] == 127) {
+      return FALLBACK_IP;
     }
-
-    // Fallback to remote address
-    String remoteAddr = request.getRemoteAddr();
-    log.debug("Using remote address: {}", remoteAddr);
-    String ipv4 = extractIpv4(remoteAddr);
-    return handleLocalhostIp(ipv4 != null ? ipv4 : FALLBACK_IP);
+    return format(ipv4);
   }
 
-  /** Extracts IPv4 address from a given IP string. Returns null if not IPv4. */
-  private static String extractIpv4(String ip) {
-    if (ip == null) return null;
-    if (ip.matches("^(?:[0-9]{1,3}\\.){3}[0-9]{1,3}$")) {
-      return ip;
+  /**
+   * Extracts the client address of either family in canonical form (RFC 5952 for IPv6), without
+   * the localhost fallback. Suited for keys such as rate limit buckets and GeoIP lookups.
+   *
+   * @param request the HTTP servlet request
+   * @return the client address, or {@code null} when the request carries none
+   */
+  public static String getClientAddress(HttpServletRequest request) {
+    if (request == null) {
+      return null;
     }
-    // Try to resolve IPv6 to IPv4 if possible
-    try {
-      java.net.InetAddress inet = java.net.InetAddress.getByName(ip);
-      if (inet instanceof java.net.Inet4Address) {
-        return inet.getHostAddress();
-      }
-    } catch (Exception ignored) {
-      log.warn("Could not parse ipv4 from string '{}'", ip);
+    byte[] address = clientAddress(request);
+    if (address == null) {
+      return null;
     }
-    return null;
+    byte[] ipv4 = toIpv4(address);
+    return format(ipv4 != null ? ipv4 : address);
   }
 
   /**
-   * Handles localhost IP addresses by returning a fallback IP for testing. This allows GeoIP lookup
-   * to work in development environments.
+   * Converts an address literal to an {@link InetAddress} without any name resolution.
    *
-   * @param ip the IP address to check
-   * @return the original IP or fallback IP if localhost
+   * @param literal IPv4 or IPv6 literal, optionally bracketed or with a port or zone
+   * @return the address, or {@code null} if the value is not an address literal
    */
-  private static String handleLocalhostIp(String ip) {
-    if (isLocalhostIp(ip)) {
-      log.debug("Localhost IP detected ({}), using fallback IP: {}", ip, FALLBACK_IP);
-      return FALLBACK_IP;
+  public static InetAddress toInetAddress(String literal) {
+    byte[] address = parseLiteral(literal);
+    if (address == null) {
+      return null;
+    }
+    try {
+      return InetAddress.getByAddress(address);
+    } catch (UnknownHostException e) {
+      // Only thrown for illegal lengths, which the parser never returns
+      return null;
     }
-    return ip;
   }
 
   /**
-   * Checks if the given IP address is a localhost address.
+   * Parses an IPv4 or IPv6 literal. Surrounding whitespace, {@code [..]} brackets, a trailing
+   * {@code :port} and an IPv6 zone ({@code %eth0}) are ignored.
    *
-   * @param ip the IP address to check
-   * @return true if localhost, false otherwise
+   * @param value the value to parse
+   * @return 4 or 16 address bytes, or {@code null} if the value is not an address literal
    */
-  private static boolean isLocalhostIp(String ip) {
-    if (ip == null || ip.isEmpty()) {
-      return false;
+  public static byte[] parseLiteral(String value) {
+    return value == null ? null : parseLiteral(value, 0, value.length());
+  }
+
+  private static byte[] clientAddress(HttpServletRequest request) {
+    byte[] remote = parseLiteral(request.getRemoteAddr());
+    if (remote == null || !isTrustedProxy(remote)) {
+      // Anyone can send forwarding headers; only believe the ones our proxies appended
+      return remote;
+    }
+
+    String forwardedFor = request.getHeader(X_FORWARDED_FOR);
+    if (forwardedFor != null && !forwardedFor.isEmpty()) {
+      byte[] hop = remote;
+      int end = forwardedFor.length();
+      while (end > 0) {
+        int start = forwardedFor.lastIndexOf(',', end - 1) + 1;
+        byte[] address = parseLiteral(forwardedFor, start, end);
+        if (address == null) {
+          // "unknown" or garbage: nothing left of it can be attributed, stop at the last hop
+          return hop;
+        }
+        if (!isTrustedProxy(address)) {
+          return address;
+        }
+        hop = address;
+        end = start - 1;
+      }
+      return hop;
+    }
+
+    byte[] realIp = parseLiteral(request.getHeader(X_REAL_IP));
+    return realIp != null ? realIp : remote;
+  }
+
+  private static boolean isTrustedProxy(byte[] address) {
+    byte[] ipv4 = toIpv4(address);
+    byte[] candidate = ipv4 != null ? ipv4 : address;
+    for (Cidr cidr : trustedProxies) {
+      if (cidr.contains(candidate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the address itself if IPv4, the embedded address if IPv4-mapped IPv6, else null. */
+  private static byte[] toIpv4(byte[] address) {
+    if (address == null || address.length == 4) {
+      return address;
+    }
+    for (int i = 0; i < 10; i++) {
+      if (address[i] != 0) {
+        return null;
+      }
+    }
+    if (address[10] != (byte) 0xFF || address[11] != (byte) 0xFF) {
+      return null;
+    }
+    return new byte[] {address[12], address[13], address[14], address[15]};
+  }
+
+  private static byte[] parseLiteral(String value, int from, int to) {
+    while (from < to && value.charAt(from) == ' ') {
+      from++;
+    }
+    while (to > from && value.charAt(to - 1) == ' ') {
+      to--;
+    }
+    if (from == to) {
+      return null;
+    }
+
+    if (value.charAt(from) == '[') {
+      // [v6] or [v6]:port
+      int close = value.indexOf(']', from);
+      if (close < 0 || close >= to) {
+        return null;
+      }
+      from++;
+      to = close;
+    } else {
+      int firstColon = value.indexOf(':', from);
+      if (firstColon >= 0 && firstColon < to) {
+        int secondColon = value.indexOf(':', firstColon + 1);
+        if (secondColon < 0 || secondColon >= to) {
+          // A single colon can only be v4:port
+          to = firstColon;
+        }
+      }
+    }
+
+    int zone = value.indexOf('%', from);
+    if (zone >= 0 && zone < to) {
+      to = zone;
+    }
+
+    int colon = value.indexOf(':', from);
+    if (colon < 0 || colon >= to) {
+      byte[] address = new byte[4];
+      return parseIpv4(value, from, to, address, 0) ? address : null;
     }
-    return LOCALHOST_IPV4.equals(ip)
-        || LOCALHOST_IPV6.equals(ip)
-        || LOCALHOST_IPV6_SHORT.equals(ip);
+    return parseIpv6(value, from, to);
+  }
+
+  private static boolean parseIpv4(String value, int from, int to, byte[] out, int offset) {
+    int octets = 0;
+    int i = from;
+    while (i < to) {
+      int octet = 0;
+      int digits = 0;
+      while (i < to) {
+        char c = value.charAt(i);
+        if (c < '0' || c > '9') {
+          break;
+        }
+        octet = octet * 10 + (c - '0');
+        digits++;
+        i++;
+        if (digits > 3) {
+          return false;
+        }
+      }
+      if (digits == 0 || octet > 255 || octets == 4) {
+        return false;
+      }
+      out[offset + octets++] = (byte) octet;
+      if (i < to) {
+        if (value.charAt(i) != '.' || i == to - 1) {
+          return false;
+        }
+        i++;
+      }
+    }
+    return octets == 4;
+  }
+
+  private static byte[] parseIpv6(String value, int from, int to) {
+    byte[] address = new byte[16];
+    int groups = 0;
+    int compressAt = -1;
+    int i = from;
+
+    if (value.charAt(i) == ':') {
+      if (i + 1 >= to || value.charAt(i + 1) != ':') {
+        return null;
+      }
+      compressAt = 0;
+      i += 2;
+    }
+
+    while (i < to) {
+      if (groups == 8) {
+        return null;
+      }
+      int start = i;
+      int group = 0;
+      int digits = 0;
+      while (i < to) {
+        int hex = hexValue(value.charAt(i));
+        if (hex < 0) {
+          break;
+        }
+        group = (group << 4) | hex;
+        digits++;
+        i++;
+      }
+      if (i < to && value.charAt(i) == '.') {
+        // Trailing embedded IPv4, e.g. ::ffff:10.0.0.1
+        if (groups > 6 || !parseIpv4(value, start, to, address, groups * 2)) {
+          return null;
+        }
+        groups += 2;
+        break;
+      }
+      if (digits == 0 || digits > 4) {
+        return null;
+      }
+      address[groups * 2] = (byte) (group >>> 8);
+      address[groups * 2 + 1] = (byte) group;
+      groups++;
+      if (i == to) {
+        break;
+      }
+      if (value.charAt(i) != ':' || i == to - 1) {
+        return null;
+      }
+      i++;
+      if (value.charAt(i) == ':') {
+        if (compressAt >= 0) {
+          return null;
+        }
+        compressAt = groups;
+        i++;
+      }
+    }
+
+    if (compressAt < 0) {
+      return groups == 8 ? address : null;
+    }
+    if (groups == 8) {
+      return null;
+    }
+    int tailBytes = (groups - compressAt) * 2;
+    System.arraycopy(address, compressAt * 2, address, 16 - tailBytes, tailBytes);
+    for (int b = compressAt * 2; b < 16 - tailBytes; b++) {
+      address[b] = 0;
+    }
+    return address;
   }
 
   /**
-   * Validates if a string is a valid IP address (basic validation).
-   *
-   * @param ip the string to validate
-   * @return true if valid IP address format, false otherwise
+   * Formats address bytes as dotted quad or RFC 5952 IPv6 (lower case, longest zero run
+   * compressed).
    */
-  private static boolean isValidIpAddress(String ip) {
-    if (ip == null || ip.isEmpty()) {
-      return false;
+  static String format(byte[] address) {
+    if (address.length == 4) {
+      return (address[0] & 0xFF)
+          + "."
+          + (address[1] & 0xFF)
+          + "."
+          + (address[2] & 0xFF)
+          + "."
+          + (address[3] & 0xFF);
     }
 
-    // Basic validation - check if it looks like an IP address
-    // IPv4: xxx.xxx.xxx.xxx
-    // IPv6: contains colons
-    return ip.matches("^(?:[0-9]{1,3}\\.){3}[0-9]{1,3}$") || ip.contains(":");
+    int bestStart = -1;
+    int bestLength = 1;
+    for (int g = 0; g < 8; ) {
+      if (group(address, g) != 0) {
+        g++;
+        continue;
+      }
+      int start = g;
+      while (g < 8 && group(address, g) == 0) {
+        g++;
+      }
+      if (g - start > bestLength) {
+        bestStart = start;
+        bestLength = g - start;
+      }
+    }
+
+    StringBuilder sb = new StringBuilder(39);
+    for (int g = 0; g < 8; g++) {
+      if (g == bestStart) {
+        sb.append("::");
+        g += bestLength - 1;
+        continue;
+      }
+      if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ':') {
+        sb.append(':');
+      }
+      sb.append(Integer.toHexString(group(address, g)));
+    }
+    return sb.toString();
+  }
+
+  private static int hexValue(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  private static int group(byte[] address, int index) {
+    return ((address[index * 2] & 0xFF) << 8) | (address[index * 2 + 1] & 0xFF);
+  }
+
+  private static Cidr[] toCidrs(Collection<String> values) {
+    List<Cidr> cidrs = new ArrayList<>(values.size());
+    for (String value : values) {
+      String trimmed = value.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int slash = trimmed.indexOf('/');
+      byte[] network = parseLiteral(slash < 0 ? trimmed : trimmed.substring(0, slash));
+      if (network == null) {
+        throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+      }
+      int prefixLength = network.length * 8;
+      if (slash >= 0) {
+        try {
+          prefixLength = Integer.parseInt(trimmed.substring(slash + 1));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+        }
+        if (prefixLength < 0 || prefixLength > network.length * 8) {
+          throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+        }
+      }
+      cidrs.add(new Cidr(network, prefixLength));
+    }
+    return cidrs.toArray(Cidr[]::new);
   }
 }
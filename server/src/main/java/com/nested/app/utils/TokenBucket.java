@@ -0,0 +1,57 @@
+package com.nested.app.utils;
+
+/**
+ * Token bucket holding at most {@code capacity} permits and refilling {@code refillPerSecond}
+ * permits per second. Thread-safe; callers never block.
+ */
+public class TokenBucket {
+
+  private final double capacity;
+  private final double refillPerNano;
+  private double tokens;
+  private long lastRefillNanos;
+
+  public TokenBucket(double capacity, double refillPerSecond) {
+    if (capacity <= 0 || refillPerSecond <= 0) {
+      throw new IllegalArgumentException("Token bucket capacity and refill rate must be positive");
+    }
+    this.capacity = capacity;
+    this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    this.tokens = capacity;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /** Takes one permit if available. */
+  public synchronized boolean tryAcquire() {
+    return tryAcquireUpTo(1) == 1;
+  }
+
+  /**
+   * Takes as many whole permits as are available, up to {@code max}.
+   *
+   * @return number of permits taken, possibly 0
+   */
+  public synchronized int tryAcquireUpTo(int max) {
+    refill();
+    int granted = (int) Math.min(max, Math.floor(tokens));
+    tokens -= granted;
+    return granted;
+  }
+
+  /** Returns permits taken but not used. */
+  public synchronized void release(int permits) {
+    tokens = Math.min(capacity, tokens + permits);
+  }
+
+  /** Nanoseconds until the next whole permit is available; 0 if one is available now. */
+  public synchronized long nanosUntilAvailable() {
+    refill();
+    return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / refillPerNano);
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+    lastRefillNanos = now;
+  }
+}
@@ -40,6 +40,58 @@ public class VersionUtils {
     return 0;
   }
 
+  /**
+   * Parses a version string into its numeric components with the same leniency as {@link
+   * #compareVersions(String, String)}: non-digit characters are ignored and unparseable parts
+   * count as 0. Meant for rule versions that are parsed once and compared many times.
+   *
+   * @param version version string (e.g., "1.2.3")
+   * @return numeric components, empty for a {@code null} version
+   */
+  public static int[] parseVersion(String version) {
+    if (version == null) {
+      return new int[0];
+    }
+    String[] parts = version.split("\\.");
+    int[] numbers = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      numbers[i] = parseDigits(parts[i]);
+    }
+    return numbers;
+  }
+
+  /**
+   * Compares two versions already parsed with {@link #parseVersion}; missing trailing components
+   * count as 0.
+   *
+   * @return 0 if v1 == v2, negative if v1 < v2, positive if v1 > v2
+   */
+  public static int compareVersions(int[] v1, int[] v2) {
+    int length = Math.max(v1.length, v2.length);
+    for (int i = 0; i < length; i++) {
+      int num1 = i < v1.length ? v1[i] : 0;
+      int num2 = i < v2.length ? v2[i] : 0;
+      if (num1 != num2) {
+        return num1 < num2 ? -1 : 1;
+      }
+    }
+    return 0;
+  }
+
+  private static int parseDigits(String part) {
+    long value = 0;
+    for (int i = 0; i < part.length(); i++) {
+      char c = part.charAt(i);
+      if (c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+        if (value > Integer.MAX_VALUE) {
+          return 0;
+        }
+      }
+    }
+    return (int) value;
+  }
+
   private static int parseVersionPart(String part) {
     try {
       // Remove any non-numeric characters (like 'v' in 'v1.0.0')
@@ -0,0 +1,9 @@
+-- A direct upload is recorded once per object: concurrent completions of the same upload insert the
+-- same key and the loser returns the winner's row. Duplicates recorded before the key was enforced
+-- are collapsed to the first one.
+DELETE FROM documents d
+USING documents earlier
+WHERE d.s3key = earlier.s3key
+  AND d.id > earlier.id;
+
+CREATE UNIQUE INDEX uq_documents_s3key ON documents (s3key);
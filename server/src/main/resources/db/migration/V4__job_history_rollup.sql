@@ -0,0 +1,16 @@
+CREATE TABLE job_history_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_class VARCHAR(255) NOT NULL,
+    bucket_start TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL,
+    instance_id VARCHAR(255) NOT NULL,
+    executions INTEGER NOT NULL,
+    failures INTEGER NOT NULL,
+    total_duration_ms BIGINT NOT NULL,
+    p50_ms BIGINT NOT NULL,
+    p95_ms BIGINT NOT NULL,
+    p99_ms BIGINT NOT NULL,
+    max_ms BIGINT NOT NULL
+);
+
+CREATE INDEX idx_job_history_rollup_job_class_bucket ON job_history_rollup (job_class, bucket_start);
+CREATE INDEX idx_job_history_rollup_bucket_start ON job_history_rollup (bucket_start);
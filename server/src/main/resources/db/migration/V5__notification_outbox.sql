@@ -0,0 +1,19 @@
+CREATE TABLE notification_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    channel VARCHAR(20) NOT NULL,
+    template VARCHAR(50) NOT NULL,
+    recipient VARCHAR(320) NOT NULL,
+    variables TEXT NOT NULL,
+    dedupe_key VARCHAR(255),
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) WITHOUT TIME ZONE NOT NULL,
+    sent_at TIMESTAMP(6) WITHOUT TIME ZONE
+);
+
+CREATE UNIQUE INDEX uq_notification_outbox_dedupe_key ON notification_outbox (dedupe_key);
+CREATE INDEX idx_notification_outbox_due ON notification_outbox (channel, next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX idx_notification_outbox_created_at ON notification_outbox (created_at);
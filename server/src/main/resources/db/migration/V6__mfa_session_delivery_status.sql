@@ -0,0 +1,4 @@
+ALTER TABLE mfa_sessions ADD COLUMN delivery_status VARCHAR(20) DEFAULT 'PENDING' NOT NULL;
+ALTER TABLE mfa_sessions ADD COLUMN delivery_channel VARCHAR(20);
+ALTER TABLE mfa_sessions ADD COLUMN delivered_at TIMESTAMP(6) WITHOUT TIME ZONE;
+ALTER TABLE mfa_sessions ADD COLUMN delivery_error VARCHAR(255);
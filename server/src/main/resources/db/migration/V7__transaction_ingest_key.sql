@@ -0,0 +1,35 @@
+-- Fulfillment jobs upsert transactions keyed on the order item and the provider reference: one row
+-- per BUY/SELL order item, one per SIP installment. Rows repeated by earlier replays are collapsed
+-- to the most recently written one before the key is enforced. The removed rows are kept in
+-- transactions_ingest_duplicates, with the id of the row that superseded them, for reconciliation.
+CREATE TABLE transactions_ingest_duplicates AS
+SELECT t.*, CAST(NULL AS BIGINT) AS superseded_by, now() AS removed_at
+FROM transactions t
+WITH NO DATA;
+
+INSERT INTO transactions_ingest_duplicates
+SELECT t.*, keeper.id, now()
+FROM transactions t
+JOIN LATERAL (
+    SELECT newer.id
+    FROM transactions newer
+    WHERE newer.source_order_item_id = t.source_order_item_id
+      AND newer.external_ref = t.external_ref
+    ORDER BY newer.updated_at DESC, newer.id DESC
+    LIMIT 1
+) keeper ON keeper.id <> t.id;
+
+DELETE FROM transactions t
+USING transactions_ingest_duplicates d
+WHERE t.id = d.id;
+
+DO $$
+DECLARE
+    removed BIGINT;
+BEGIN
+    SELECT count(*) INTO removed FROM transactions_ingest_duplicates;
+    RAISE NOTICE 'V7: moved % duplicate transactions to transactions_ingest_duplicates', removed;
+END $$;
+
+CREATE UNIQUE INDEX uq_transactions_source_item_external_ref
+    ON transactions (source_order_item_id, external_ref);
@@ -0,0 +1,21 @@
+-- Units a sell order item holds back from its goal's holdings until it settles or fails
+ALTER TABLE order_items ADD COLUMN reserved_units DOUBLE PRECISION;
+
+-- Sells already in flight reserve an estimate at today's NAV. Unit-based sells did not record
+-- their units and stay unreserved until they settle.
+UPDATE order_items oi
+SET reserved_units = oi.amount / f.nav
+FROM orders o, funds f
+WHERE o.id = oi.order_id
+  AND f.id = oi.fund_id
+  AND o.dtype = 'SELL'
+  AND oi.status IN ('VERIFICATION_PENDING', 'PENDING', 'SUBMITTED')
+  AND oi.amount > 0
+  AND f.nav > 0;
+
+CREATE INDEX idx_order_items_open_reservations ON order_items (user_id, fund_id)
+    WHERE reserved_units IS NOT NULL AND status IN ('VERIFICATION_PENDING', 'PENDING', 'SUBMITTED');
+
+-- Holdings per (goal, fund) are summed from completed transactions
+CREATE INDEX idx_transactions_goal_fund_completed ON transactions (goal_id, fund_id)
+    WHERE status = 'COMPLETED';
@@ -0,0 +1,13 @@
+-- Order item and transaction amounts, units and NAVs move from double precision to NUMERIC at the
+-- precision the RTAs report: rupees to the paisa, units and NAVs to four decimal places. Existing
+-- values are rounded half up, which is what the application now does on the way in.
+ALTER TABLE order_items
+    ALTER COLUMN amount TYPE NUMERIC(15, 2) USING round(amount::numeric, 2),
+    ALTER COLUMN units TYPE NUMERIC(18, 4) USING round(units::numeric, 4),
+    ALTER COLUMN unit_price TYPE NUMERIC(14, 4) USING round(unit_price::numeric, 4),
+    ALTER COLUMN reserved_units TYPE NUMERIC(18, 4) USING round(reserved_units::numeric, 4);
+
+ALTER TABLE transactions
+    ALTER COLUMN amount TYPE NUMERIC(15, 2) USING round(amount::numeric, 2),
+    ALTER COLUMN units TYPE NUMERIC(18, 4) USING round(units::numeric, 4),
+    ALTER COLUMN unit_price TYPE NUMERIC(14, 4) USING round(unit_price::numeric, 4);
@@ -0,0 +1,67 @@
+package com.nested.app.buckets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PresignedUrlCacheTest {
+
+  private final PresignedUrlCache cache =
+      new PresignedUrlCache(
+          100, Duration.ofMinutes(15), Duration.ofMinutes(30), new SimpleMeterRegistry());
+  private final AtomicInteger signed = new AtomicInteger();
+
+  @Test
+  void reusesUrlUntilSafetyMargin() {
+    String first = cache.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+    String second = cache.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+
+    assertThat(second).isEqualTo(first);
+    assertThat(signed).hasValue(1);
+  }
+
+  @Test
+  void urlInsideSafetyMarginIsNotReused() {
+    cache.get("private", "a.pdf", () -> sign(Duration.ofMinutes(10)));
+    cache.get("private", "a.pdf", () -> sign(Duration.ofMinutes(10)));
+
+    assertThat(signed).hasValue(2);
+  }
+
+  @Test
+  void reuseIsCappedAtMaxTtl() {
+    PresignedUrlCache shortLived =
+        new PresignedUrlCache(100, Duration.ofMinutes(15), Duration.ZERO, new SimpleMeterRegistry());
+
+    shortLived.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+    shortLived.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+
+    assertThat(signed).hasValue(2);
+  }
+
+  @Test
+  void invalidateForcesFreshSignature() {
+    String first = cache.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+    cache.invalidate("private", "a.pdf");
+    String second = cache.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+
+    assertThat(second).isNotEqualTo(first);
+  }
+
+  @Test
+  void bucketIsPartOfTheKey() {
+    cache.get("private", "a.pdf", () -> sign(Duration.ofHours(24)));
+    cache.get("public", "a.pdf", () -> sign(Duration.ofHours(24)));
+
+    assertThat(signed).hasValue(2);
+  }
+
+  private PresignedUrlCache.SignedUrl sign(Duration validity) {
+    return new PresignedUrlCache.SignedUrl(
+        "https://s3/a.pdf?sig=" + signed.incrementAndGet(), Instant.now().plus(validity));
+  }
+}
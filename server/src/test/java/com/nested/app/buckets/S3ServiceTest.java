@@ -0,0 +1,171 @@
+package com.nested.app.buckets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.app.enums.DocumentVisibility;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+/** Runs the upload paths against LocalStack; skipped when Docker is not available. */
+@Testcontainers(disabledWithoutDocker = true)
+class S3ServiceTest {
+
+  private static final String PRIVATE_BUCKET = "private";
+  private static final byte[] PDF_HEADER = "%PDF-1.7\n".getBytes();
+
+  @Container
+  static final LocalStackContainer LOCALSTACK =
+      new LocalStackContainer(DockerImageName.parse("localstack/localstack:3.8"))
+          .withServices(LocalStackContainer.Service.S3);
+
+  private static S3Client s3Client;
+  private static S3AsyncClient s3AsyncClient;
+  private static S3Presigner s3Presigner;
+  private static S3Service s3Service;
+
+  @BeforeAll
+  static void setUp() {
+    StaticCredentialsProvider credentials =
+        StaticCredentialsProvider.create(
+            AwsBasicCredentials.create(LOCALSTACK.getAccessKey(), LOCALSTACK.getSecretKey()));
+    Region region = Region.of(LOCALSTACK.getRegion());
+    S3Configuration pathStyle = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+
+    s3Client =
+        S3Client.builder()
+            .endpointOverride(LOCALSTACK.getEndpoint())
+            .region(region)
+            .credentialsProvider(credentials)
+            .serviceConfiguration(pathStyle)
+            .build();
+    s3AsyncClient =
+        S3AsyncClient.builder()
+            .endpointOverride(LOCALSTACK.getEndpoint())
+            .region(region)
+            .credentialsProvider(credentials)
+            .serviceConfiguration(pathStyle)
+            .build();
+    s3Presigner =
+        S3Presigner.builder()
+            .endpointOverride(LOCALSTACK.getEndpoint())
+            .region(region)
+            .credentialsProvider(credentials)
+            .serviceConfiguration(pathStyle)
+            .build();
+    s3Client.createBucket(b -> b.bucket(PRIVATE_BUCKET));
+
+    s3Service =
+        new S3Service(
+            s3Client,
+            s3AsyncClient,
+            s3Presigner,
+            new PresignedUrlCache(
+                100, Duration.ofMinutes(15), Duration.ofMinutes(30), new SimpleMeterRegistry()));
+    ReflectionTestUtils.setField(s3Service, "privateBucketName", PRIVATE_BUCKET);
+    ReflectionTestUtils.setField(s3Service, "publicBucketName", "public");
+    ReflectionTestUtils.setField(s3Service, "presignedUrlExpirationHours", 1L);
+    ReflectionTestUtils.setField(s3Service, "presignedUploadExpirationMinutes", 5L);
+    ReflectionTestUtils.setField(s3Service, "multipartThreshold", 8L * 1024 * 1024);
+    ReflectionTestUtils.setField(s3Service, "multipartPartSize", 5 * 1024 * 1024);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    s3Presigner.close();
+    s3AsyncClient.close();
+    s3Client.close();
+  }
+
+  @Test
+  void smallFileIsUploadedInSinglePut() {
+    byte[] content = pdf(64 * 1024);
+    MockMultipartFile file =
+        new MockMultipartFile("file", "statement.pdf", "application/pdf", content);
+
+    String key = s3Service.uploadFileAsync(file, DocumentVisibility.PRIVATE).join();
+
+    assertThat(key).endsWith(".pdf");
+    assertThat(read(key)).isEqualTo(content);
+  }
+
+  @Test
+  void largeFileIsUploadedAsMultipart() {
+    byte[] content = pdf(20 * 1024 * 1024);
+    MockMultipartFile file =
+        new MockMultipartFile("file", "statement.pdf", "application/pdf", content);
+
+    String key = s3Service.uploadFileAsync(file, DocumentVisibility.PRIVATE).join();
+
+    HeadObjectResponse head = s3Service.headObjectAsync(key, DocumentVisibility.PRIVATE).join();
+    assertThat(head.contentLength()).isEqualTo(content.length);
+    // Multipart ETags carry the part count suffix, e.g. "...-4"
+    assertThat(head.eTag()).contains("-");
+    assertThat(read(key)).isEqualTo(content);
+  }
+
+  @Test
+  void presignedPutStoresObjectReadableByPrefix() throws Exception {
+    byte[] content = pdf(4 * 1024);
+    S3Service.PresignedUpload upload =
+        s3Service.presignUpload(
+            "user-1", "pan.pdf", "application/pdf", content.length, DocumentVisibility.PRIVATE);
+
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(upload.url()))
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(content));
+    upload.headers().forEach(
+        (name, value) -> {
+          if (!name.equalsIgnoreCase("content-length")) {
+            request.header(name, value);
+          }
+        });
+    HttpResponse<Void> response =
+        HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.discarding());
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(upload.s3Key()).startsWith(S3Service.DIRECT_UPLOAD_PREFIX + "user-1/");
+    HeadObjectResponse head =
+        s3Service.headObjectAsync(upload.s3Key(), DocumentVisibility.PRIVATE).join();
+    assertThat(head.contentLength()).isEqualTo(content.length);
+    assertThat(head.contentType()).isEqualTo("application/pdf");
+    assertThat(s3Service.readPrefixAsync(upload.s3Key(), DocumentVisibility.PRIVATE, 5).join())
+        .isEqualTo("%PDF-".getBytes());
+  }
+
+  private static byte[] pdf(int size) {
+    byte[] content = new byte[size];
+    new Random(size).nextBytes(content);
+    System.arraycopy(PDF_HEADER, 0, content, 0, PDF_HEADER.length);
+    return content;
+  }
+
+  private static byte[] read(String key) {
+    ResponseBytes<GetObjectResponse> bytes =
+        s3Client.getObjectAsBytes(b -> b.bucket(PRIVATE_BUCKET).key(key));
+    return bytes.asByteArray();
+  }
+}
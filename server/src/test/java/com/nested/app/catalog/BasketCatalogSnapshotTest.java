@@ -0,0 +1,76 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.app.entity.Basket;
+import com.nested.app.entity.BasketFund;
+import com.nested.app.entity.Fund;
+import com.nested.app.enums.BasketType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BasketCatalogSnapshotTest {
+
+  @Test
+  void shouldResolveSmallestHorizonGreaterThanGoalYears() {
+    var snapshot =
+        new BasketCatalogSnapshot(
+            List.of(basket(1L, 3.0), basket(2L, 7.0), basket(3L, 12.0), basket(4L, null)), 1L);
+
+    assertThat(snapshot.resolveForHorizon(0)).map(CatalogBasket::id).contains(1L);
+    assertThat(snapshot.resolveForHorizon(3)).map(CatalogBasket::id).contains(2L);
+    assertThat(snapshot.resolveForHorizon(6)).map(CatalogBasket::id).contains(2L);
+    assertThat(snapshot.resolveForHorizon(11)).map(CatalogBasket::id).contains(3L);
+    // Beyond every horizon: fall back to the longest one
+    assertThat(snapshot.resolveForHorizon(20)).map(CatalogBasket::id).contains(3L);
+  }
+
+  @Test
+  void shouldReturnEmptyWhenNoBasketHasHorizon() {
+    var snapshot = new BasketCatalogSnapshot(List.of(basket(1L, null)), 1L);
+
+    assertThat(snapshot.resolveForHorizon(5)).isEmpty();
+  }
+
+  @Test
+  void shouldPrecomputeMinimumAmountsFromBasketFunds() {
+    Basket basket = new Basket();
+    basket.setId(9L);
+    basket.setTitle("Growth");
+    basket.setBasketType(BasketType.EDUCATION);
+    basket.setBasketFunds(
+        List.of(
+            basketFund(basket, 1L, 60.0, 1000.0, 500.0),
+            basketFund(basket, 2L, 40.0, 100.0, 1000.0)));
+
+    CatalogBasket catalogBasket = CatalogBasket.from(basket);
+
+    // 1000 / 0.6 = 1666.67 -> rounded up to 1700; 1000 / 0.4 = 2500
+    assertThat(catalogBasket.minInvestment()).isEqualTo(1700.0);
+    assertThat(catalogBasket.minSip()).isEqualTo(2500.0);
+    assertThat(catalogBasket.minStepUp()).isEqualTo(1000.0);
+    assertThat(catalogBasket.funds())
+        .extracting(CatalogBasket.Fund::fundId)
+        .containsExactly(1L, 2L);
+  }
+
+  private static CatalogBasket basket(Long id, Double years) {
+    return new CatalogBasket(
+        id, "Basket " + id, years, null, BasketType.EDUCATION, null, null, List.of(), 0.0, 0.0, 1000.0);
+  }
+
+  private static BasketFund basketFund(
+      Basket basket, Long fundId, double allocation, double minPurchase, double minSip) {
+    Fund fund = new Fund();
+    fund.setId(fundId);
+    fund.setLabel("Fund " + fundId);
+    fund.setMimPurchaseAmount(minPurchase);
+    fund.setMinSipAmount(minSip);
+
+    BasketFund basketFund = new BasketFund();
+    basketFund.setBasket(basket);
+    basketFund.setFund(fund);
+    basketFund.setAllocationPercentage(allocation);
+    return basketFund;
+  }
+}
@@ -0,0 +1,45 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.events.FundCatalogChangedEvent;
+import com.nested.app.repository.BasketRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BasketCatalogTest {
+
+  @Mock private BasketRepository basketRepository;
+
+  @InjectMocks private BasketCatalog basketCatalog;
+
+  @Test
+  void shouldRebuildOnceForABurstOfFundChanges() {
+    when(basketRepository.findAllWithFunds()).thenReturn(List.of());
+
+    for (int i = 0; i < 100; i++) {
+      basketCatalog.on(new FundCatalogChangedEvent("nav sync"));
+    }
+    basketCatalog.rebuildIfFundsChanged();
+    basketCatalog.rebuildIfFundsChanged();
+
+    verify(basketRepository, times(1)).findAllWithFunds();
+    assertThat(basketCatalog.snapshot().version()).isEqualTo(1L);
+  }
+
+  @Test
+  void shouldNotRebuildWithoutFundChanges() {
+    basketCatalog.rebuildIfFundsChanged();
+
+    verify(basketRepository, never()).findAllWithFunds();
+  }
+}
@@ -0,0 +1,25 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConditionalGetTest {
+
+  private static final String ETAG = "\"funds-0123456789abcdef\"";
+
+  @Test
+  void matchesStrongAndWeakValidators() {
+    assertThat(ConditionalGet.matches(ETAG, ETAG)).isTrue();
+    assertThat(ConditionalGet.matches("W/" + ETAG, ETAG)).isTrue();
+    assertThat(ConditionalGet.matches("\"other\", " + ETAG, ETAG)).isTrue();
+    assertThat(ConditionalGet.matches("*", ETAG)).isTrue();
+  }
+
+  @Test
+  void rejectsMissingOrStaleValidators() {
+    assertThat(ConditionalGet.matches(null, ETAG)).isFalse();
+    assertThat(ConditionalGet.matches("", ETAG)).isFalse();
+    assertThat(ConditionalGet.matches("\"funds-fedcba9876543210\"", ETAG)).isFalse();
+  }
+}
@@ -0,0 +1,63 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.config.CacheConfig;
+import com.nested.app.entity.Education;
+import com.nested.app.repository.EducationRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class EducationCatalogTest {
+
+  @Mock private EducationRepository educationRepository;
+  @Mock private CacheManager cacheManager;
+  @Mock private Cache cache;
+
+  @InjectMocks private EducationCatalog educationCatalog;
+
+  @Test
+  void shouldKeepTheIndexWhenRefreshFindsNoChanges() {
+    when(educationRepository.findAll()).thenReturn(List.of(education(1L, "Stanford")));
+    when(cacheManager.getCache(CacheConfig.EDUCATION_SEARCH)).thenReturn(cache);
+    educationCatalog.rebuild();
+
+    educationCatalog.refresh();
+
+    assertThat(educationCatalog.index().version()).isEqualTo(1L);
+    verify(cache, times(1)).clear();
+  }
+
+  @Test
+  void shouldSwapTheIndexWhenAnotherInstanceChangedIt() {
+    when(educationRepository.findAll())
+        .thenReturn(List.of(education(1L, "Stanford")))
+        .thenReturn(List.of(education(1L, "Stanford"), education(2L, "Oxford")));
+    when(cacheManager.getCache(CacheConfig.EDUCATION_SEARCH)).thenReturn(cache);
+    educationCatalog.rebuild();
+
+    educationCatalog.refresh();
+
+    assertThat(educationCatalog.index().version()).isEqualTo(2L);
+    assertThat(educationCatalog.index().size()).isEqualTo(2);
+    verify(cache, times(2)).clear();
+  }
+
+  private static Education education(Long id, String name) {
+    Education education = new Education();
+    education.setId(id);
+    education.setName(name);
+    education.setCountry("USA");
+    return education;
+  }
+}
@@ -0,0 +1,99 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.app.entity.Education;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EducationSearchIndexTest {
+
+  @Test
+  void shouldRankExactAndPrefixMatchesFirst() {
+    var index =
+        new EducationSearchIndex(
+            List.of(
+                entry(1L, "Imperial College London", "UK", Education.Type.INSTITUTION),
+                entry(2L, "London School of Economics", "UK", Education.Type.INSTITUTION),
+                entry(3L, "King's College", "London", Education.Type.INSTITUTION),
+                entry(4L, "London", "UK", Education.Type.INSTITUTION),
+                entry(5L, "Londonderry Institute", "UK", Education.Type.INSTITUTION)),
+            1L);
+
+    var result = index.search("london", null, 0, 10);
+
+    assertThat(result.total()).isEqualTo(5);
+    assertThat(result.content())
+        .extracting(CatalogEducation::id)
+        .containsExactly(4L, 5L, 2L, 1L, 3L);
+  }
+
+  @Test
+  void shouldMatchSubstringsCaseAndAccentInsensitively() {
+    var index =
+        new EducationSearchIndex(
+            List.of(
+                entry(1L, "\u00c9cole Polytechnique", "France", Education.Type.INSTITUTION),
+                entry(2L, "Computer Science", "IN", Education.Type.COURSE)),
+            1L);
+
+    assertThat(index.search("ECOLE", null, 0, 10).content())
+        .extracting(CatalogEducation::id)
+        .containsExactly(1L);
+    assertThat(index.search("ytech", null, 0, 10).content())
+        .extracting(CatalogEducation::id)
+        .containsExactly(1L);
+    assertThat(index.search("c", Education.Type.COURSE, 0, 10).content())
+        .extracting(CatalogEducation::id)
+        .containsExactly(2L);
+    assertThat(index.search("xyz", null, 0, 10).total()).isZero();
+  }
+
+  @Test
+  void shouldReturnAllEntriesOfTypeForBlankQueryAndPaginate() {
+    var index =
+        new EducationSearchIndex(
+            List.of(
+                entry(3L, "C", "IN", Education.Type.COURSE),
+                entry(1L, "A", "IN", Education.Type.COURSE),
+                entry(2L, "B", "IN", Education.Type.INSTITUTION)),
+            1L);
+
+    var all = index.search("  ", Education.Type.COURSE, 0, 10);
+    assertThat(all.content()).extracting(CatalogEducation::id).containsExactly(1L, 3L);
+
+    var secondPage = index.search(null, null, 2, 2);
+    assertThat(secondPage.total()).isEqualTo(3);
+    assertThat(secondPage.content()).extracting(CatalogEducation::id).containsExactly(3L);
+  }
+
+  @Test
+  void shouldAnswerTypeaheadQueriesQuicklyOnLargeCatalog() {
+    List<CatalogEducation> entries = new ArrayList<>();
+    String[] words = {"Institute", "University", "College", "School", "Academy", "Technology"};
+    for (long id = 1; id <= 50_000; id++) {
+      String name = words[(int) (id % words.length)] + " of Studies " + id;
+      entries.add(entry(id, name, "Country" + (id % 150), Education.Type.INSTITUTION));
+    }
+    var index = new EducationSearchIndex(entries, 1L);
+    String[] queries = {"stud", "univ", "42", "college of", "country7", "zzz"};
+
+    for (int i = 0; i < 2_000; i++) {
+      index.search(queries[i % queries.length], null, 0, 20);
+    }
+    long start = System.nanoTime();
+    int iterations = 2_000;
+    for (int i = 0; i < iterations; i++) {
+      index.search(queries[i % queries.length] + (i % 10), null, 0, 20);
+    }
+    long averageNanos = (System.nanoTime() - start) / iterations;
+
+    // Generous bound so the test stays stable on slow CI machines
+    assertThat(averageNanos).isLessThan(5_000_000);
+  }
+
+  private static CatalogEducation entry(Long id, String name, String country, Education.Type type) {
+    return new CatalogEducation(id, name, null, country, 1000.0, 1000.0, 8.0, 6.0, type);
+  }
+}
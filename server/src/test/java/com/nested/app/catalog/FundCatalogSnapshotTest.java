@@ -0,0 +1,97 @@
+package com.nested.app.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class FundCatalogSnapshotTest {
+
+  private static final int SCHEMES = 12_000;
+
+  private FundCatalogSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    List<CatalogFund> funds = new ArrayList<>();
+    for (long id = SCHEMES; id >= 1; id--) {
+      funds.add(
+          new CatalogFund(
+              id,
+              "Label " + id,
+              null,
+              "Scheme " + id,
+              10.0 + (id % 97),
+              null,
+              100.0,
+              500.0,
+              id % 3 != 0,
+              "INF" + id,
+              "AMC" + (id % 40),
+              id % 2 == 0 ? "EQUITY" : "DEBT",
+              id % 5 == 0 ? null : (double) (id % 23)));
+    }
+    snapshot = new FundCatalogSnapshot(funds, 1L);
+  }
+
+  @Test
+  void shouldLookupByIdAndIsin() {
+    assertThat(snapshot.size()).isEqualTo(SCHEMES);
+    assertThat(snapshot.findById(42L)).map(CatalogFund::isinCode).contains("INF42");
+    assertThat(snapshot.findByIsin("INF42")).map(CatalogFund::id).contains(42L);
+    assertThat(snapshot.findById(SCHEMES + 1L)).isEmpty();
+    assertThat(snapshot.findByIsin(null)).isEmpty();
+  }
+
+  @Test
+  void shouldPageActiveFundsSortedById() {
+    Page<CatalogFund> page = snapshot.query(FundQuery.active(), PageRequest.of(1, 4));
+
+    // ids 1,2,4,5 on page 0; 7,8,10,11 on page 1 (multiples of 3 are inactive)
+    assertThat(page.getContent()).extracting(CatalogFund::id).containsExactly(7L, 8L, 10L, 11L);
+    assertThat(page.getTotalElements()).isEqualTo(SCHEMES - SCHEMES / 3);
+  }
+
+  @Test
+  void shouldSortDescendingWithNullsLastWhenAscending() {
+    Page<CatalogFund> desc =
+        snapshot.query(FundQuery.all(), PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id")));
+    assertThat(desc.getContent())
+        .extracting(CatalogFund::id)
+        .containsExactly((long) SCHEMES, SCHEMES - 1L, SCHEMES - 2L);
+
+    Page<CatalogFund> lastCagrPage =
+        snapshot.query(FundQuery.all(), PageRequest.of(SCHEMES / 10 - 1, 10, Sort.by("cagr")));
+    assertThat(lastCagrPage.getContent()).allMatch(fund -> fund.cagr() == null);
+  }
+
+  @Test
+  void shouldFilterByAmcAndSchemeTypeCaseInsensitively() {
+    Page<CatalogFund> page =
+        snapshot.query(
+            new FundQuery(true, "amc8", "equity"),
+            PageRequest.of(0, 1000, Sort.by(Sort.Direction.DESC, "nav")));
+
+    assertThat(page.getContent())
+        .isNotEmpty()
+        .allMatch(fund -> fund.amcCode().equals("AMC8"))
+        .allMatch(fund -> fund.schemeType().equals("EQUITY"))
+        .allMatch(CatalogFund::active);
+    assertThat(page.getContent())
+        .extracting(CatalogFund::nav)
+        .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+  }
+
+  @Test
+  void shouldRejectUnknownSortProperty() {
+    assertThatThrownBy(
+            () -> snapshot.query(FundQuery.all(), PageRequest.of(0, 10, Sort.by("isinCode"))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.nested.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.app.entity.AppVersion;
+import com.nested.app.enums.Platform;
+import com.nested.app.repository.AppVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Loads the JPA context with the application's pools and transaction managers against the Flyway
+ * schema, and saves through a repository in a transaction of the primary manager. Skipped without
+ * Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DataSourceConfig.class, DataSourceConfigTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataSourceConfigTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @TestConfiguration
+  static class Metrics {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private AppVersionRepository appVersionRepository;
+
+  @Test
+  void primaryTransactionManagerIsJpa() {
+    assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+  }
+
+  @Test
+  void savesAnEntityInsideATransaction() {
+    TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+
+    Long id =
+        transactions.execute(
+            status -> {
+              AppVersion version =
+                  AppVersion.builder()
+                      .platform(Platform.ANDROID)
+                      .minSupportedVersion("1.0.0")
+                      .latestVersion("1.2.0")
+                      .storeUrl("https://play.google.com/store/apps/details?id=money.nested")
+                      .build();
+              AppVersion saved = appVersionRepository.save(version);
+              appVersionRepository.flush();
+              return saved.getId();
+            });
+
+    assertThat(appVersionRepository.findById(id))
+        .hasValueSatisfying(saved -> assertThat(saved.getLatestVersion()).isEqualTo("1.2.0"));
+  }
+}
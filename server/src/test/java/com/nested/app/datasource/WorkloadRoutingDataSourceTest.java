@@ -0,0 +1,211 @@
+package com.nested.app.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Routes between two independent local Postgres instances; each holds a marker row naming itself,
+ * so the row a query returns shows which instance served it. Skipped without Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class WorkloadRoutingDataSourceTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16");
+
+  @Container
+  private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16");
+
+  private static HikariDataSource primaryPool;
+  private static HikariDataSource replicaPool;
+
+  @BeforeAll
+  static void setUpPools() {
+    primaryPool = pool(PRIMARY);
+    replicaPool = pool(REPLICA);
+    for (HikariDataSource pool : new HikariDataSource[] {primaryPool, replicaPool}) {
+      JdbcTemplate jdbc = new JdbcTemplate(pool);
+      jdbc.execute("CREATE TABLE marker (name TEXT)");
+      jdbc.update("INSERT INTO marker VALUES (?)", pool == primaryPool ? "primary" : "replica");
+    }
+  }
+
+  @AfterAll
+  static void closePools() {
+    primaryPool.close();
+    replicaPool.close();
+  }
+
+  @AfterEach
+  void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsUseTheReplica() {
+    Routing routing = routing(Duration.ofSeconds(5));
+
+    assertThat(routing.servedBy(true)).isEqualTo("replica");
+    assertThat(routing.servedBy(false)).isEqualTo("primary");
+  }
+
+  @Test
+  void lagBeyondTheLimitFallsBackToPrimary() {
+    // A negative limit makes even a caught-up replica count as lagging
+    Routing routing = routing(Duration.ofSeconds(-1));
+
+    assertThat(routing.servedBy(true)).isEqualTo("primary");
+  }
+
+  @Test
+  void readsStickToPrimaryAfterTheUsersOwnWrite() {
+    Routing routing = routing(Duration.ofSeconds(5));
+
+    authenticate("uid-writer");
+    routing.write();
+    assertThat(routing.servedBy(true)).isEqualTo("primary");
+
+    authenticate("uid-other");
+    assertThat(routing.servedBy(true)).isEqualTo("replica");
+  }
+
+  @Test
+  void backgroundWorkUsesTheJobsPool() {
+    // No replica here; the second instance stands in for the jobs pool instead
+    Routing routing = routing(replicaPool, null, null);
+
+    AtomicReference<String> background = new AtomicReference<>();
+    Workload.background(() -> background.set(routing.servedBy(false))).run();
+
+    assertThat(background.get()).isEqualTo("replica");
+    assertThat(routing.servedBy(false)).isEqualTo("primary");
+    assertThat(routing.servedBy(true)).isEqualTo("primary");
+  }
+
+  @Test
+  void backgroundWritesFromReactorCallbacksUseTheJobsPool() {
+    Routing routing = routing(replicaPool, null, null);
+
+    AtomicReference<String> written = new AtomicReference<>();
+    Workload.background(
+            () -> {
+              // As SchemeWiseReportService: captured on the job thread, used on another thread
+              Workload workload = Workload.current();
+              Mono.delay(Duration.ofMillis(1))
+                  .publishOn(Schedulers.boundedElastic())
+                  .doOnSuccess(tick -> written.set(Workload.call(workload, routing::writtenBy)))
+                  .block();
+            })
+        .run();
+
+    assertThat(written.get()).isEqualTo("replica");
+  }
+
+  @Test
+  void asyncTasksKeepTheSubmittersWorkload() throws Exception {
+    Routing routing = routing(replicaPool, null, null);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setTaskDecorator(Workload::propagate);
+    executor.initialize();
+    try {
+      AtomicReference<Future<String>> background = new AtomicReference<>();
+      Workload.background(() -> background.set(executor.submit(routing::writtenBy))).run();
+      Future<String> interactive = executor.submit(routing::writtenBy);
+
+      assertThat(background.get().get()).isEqualTo("replica");
+      assertThat(interactive.get()).isEqualTo("primary");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private record Routing(TransactionTemplate transactions, JdbcTemplate jdbc) {
+
+    String servedBy(boolean readOnly) {
+      transactions.setReadOnly(readOnly);
+      return transactions.execute(
+          status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    void write() {
+      transactions.setReadOnly(false);
+      transactions.executeWithoutResult(status -> jdbc.update("UPDATE marker SET name = name"));
+    }
+
+    /** Writes, then names the instance that took the write. */
+    String writtenBy() {
+      transactions.setReadOnly(false);
+      return transactions.execute(
+          status -> {
+            jdbc.update("UPDATE marker SET name = name");
+            return jdbc.queryForObject("SELECT name FROM marker", String.class);
+          });
+    }
+  }
+
+  private static Routing routing(Duration maxLag) {
+    return routing(primaryPool, replicaPool, maxLag);
+  }
+
+  private static Routing routing(DataSource jobsPool, DataSource replica, Duration maxLag) {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ReplicaLagMonitor monitor = null;
+    if (replica != null) {
+      monitor = new ReplicaLagMonitor(replica, maxLag, meterRegistry);
+      monitor.check();
+    }
+
+    WorkloadRoutingDataSource routing =
+        new WorkloadRoutingDataSource(
+            primaryPool, jobsPool, replica, monitor, Duration.ofSeconds(10), meterRegistry);
+    routing.afterPropertiesSet();
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    return new Routing(
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+        new JdbcTemplate(dataSource));
+  }
+
+  private static void authenticate(String uid) {
+    Jwt jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(uid)
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+
+  private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+    HikariDataSource pool = new HikariDataSource();
+    pool.setJdbcUrl(container.getJdbcUrl());
+    pool.setUsername(container.getUsername());
+    pool.setPassword(container.getPassword());
+    pool.setMaximumPoolSize(2);
+    return pool;
+  }
+}
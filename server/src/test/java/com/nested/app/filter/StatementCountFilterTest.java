@@ -0,0 +1,62 @@
+package com.nested.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nested.app.datasource.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class StatementCountFilterTest {
+
+  private final StatementCounter statementCounter = new StatementCounter();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final StatementCountFilter filter =
+      new StatementCountFilter(statementCounter, meterRegistry);
+
+  @Test
+  void recordsStatementsOfTaggedRequestsPerScenario() throws Exception {
+    run("checkout", 3);
+    run("checkout", 5);
+    run("portfolio", 1);
+
+    DistributionSummary checkout = summary("checkout");
+    assertThat(checkout.count()).isEqualTo(2);
+    assertThat(checkout.totalAmount()).isEqualTo(8);
+    assertThat(checkout.max()).isEqualTo(5);
+    assertThat(summary("portfolio").totalAmount()).isEqualTo(1);
+    assertThat(statementCounter.total()).isEqualTo(9);
+  }
+
+  @Test
+  void ignoresRequestsWithoutScenarioAndFoldsUnexpectedNames() throws Exception {
+    run(null, 2);
+    run("Checkout; DROP", 1);
+
+    assertThat(meterRegistry.find("loadtest.db.statements").summaries())
+        .singleElement()
+        .satisfies(summary -> assertThat(summary.getId().getTag("scenario")).isEqualTo("other"));
+    assertThat(statementCounter.total()).isEqualTo(3);
+  }
+
+  private void run(String scenario, int statements) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/goals");
+    if (scenario != null) {
+      request.addHeader(StatementCountFilter.SCENARIO_HEADER, scenario);
+    }
+    filter.doFilter(
+        request,
+        new MockHttpServletResponse(),
+        (req, res) -> {
+          for (int i = 0; i < statements; i++) {
+            statementCounter.inspect("select 1");
+          }
+        });
+  }
+
+  private DistributionSummary summary(String scenario) {
+    return meterRegistry.get("loadtest.db.statements").tag("scenario", scenario).summary();
+  }
+}
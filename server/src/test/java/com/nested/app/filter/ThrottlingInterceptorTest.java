@@ -0,0 +1,65 @@
+package com.nested.app.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nested.app.enums.ThrottleClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ThrottlingInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ThrottlingInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("throttle.otp.user-limit", "2")
+            .withProperty("throttle.otp.ip-limit", "3");
+    interceptor =
+        new ThrottlingInterceptor(new ObjectMapper(), meterRegistry, environment, true, 1000);
+  }
+
+  @Test
+  void rejectsUserOverBudgetWithRetryHint() {
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.1")).isEmpty();
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.2")).isEmpty();
+
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.3"))
+        .hasValueSatisfying(seconds -> assertThat(seconds).isBetween(1L, 600L));
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-2", "10.0.0.3")).isEmpty();
+    assertThat(rejected("user")).isEqualTo(1.0);
+  }
+
+  @Test
+  void rejectsIpOverBudgetWithoutChargingTheUser() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(interceptor.tryAcquire(ThrottleClass.OTP, null, "10.0.0.1")).isEmpty();
+    }
+
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.1")).isPresent();
+    assertThat(rejected("ip")).isEqualTo(1.0);
+    // The rejected call returned its user token, so both remain usable from another address
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.2")).isEmpty();
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.2")).isEmpty();
+  }
+
+  @Test
+  void classesHaveIndependentBudgets() {
+    for (int i = 0; i < 2; i++) {
+      interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.1");
+    }
+
+    assertThat(interceptor.tryAcquire(ThrottleClass.OTP, "uid-1", "10.0.0.1")).isPresent();
+    assertThat(interceptor.tryAcquire(ThrottleClass.MFA_VERIFY, "uid-1", "10.0.0.1")).isEmpty();
+  }
+
+  private double rejected(String scope) {
+    return meterRegistry.counter("throttle.rejected", "class", "otp", "scope", scope).count();
+  }
+}
@@ -1,7 +1,6 @@
 package com.nested.app.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -14,7 +13,7 @@ import com.nested.app.client.mf.dto.OrderData;
 import com.nested.app.entity.Fund;
 import com.nested.app.entity.OrderItems;
 import com.nested.app.repository.OrderItemsRepository;
-import java.math.BigDecimal;
+import com.nested.app.utils.FixedPoint;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,80 +54,58 @@ class OrderStatusCheckJobTest {
   void testDistributeUnitsEqually_ThreeItems() {
     // Given
     List<OrderItems> orderItems = createOrderItems(3, 0.0); // zero amounts
-    BigDecimal totalUnits = BigDecimal.valueOf(100.0);
 
     // When
-    orderStatusCheckJob.distributeUnitsEqually(orderItems, totalUnits);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(100.0));
 
     // Then
-    double sum =
-        orderItems.stream()
-            .mapToDouble(item -> item.getUnits() != null ? item.getUnits() : 0.0)
-            .sum();
-    assertEquals(100.0, sum, 0.0001, "Total units should equal 100");
-
-    // Verify all items got units
-    assertNotNull(orderItems.get(0).getUnits());
-    assertNotNull(orderItems.get(1).getUnits());
-    assertNotNull(orderItems.get(2).getUnits());
-    assertTrue(orderItems.get(0).getUnits() > 0);
-    assertTrue(orderItems.get(1).getUnits() > 0);
-    assertTrue(orderItems.get(2).getUnits() > 0);
-
-    // Items should be roughly equal (within rounding tolerance)
-    double avg = 100.0 / 3.0;
-    assertEquals(avg, orderItems.get(0).getUnits(), 0.01);
-    assertEquals(avg, orderItems.get(1).getUnits(), 0.01);
-    assertEquals(avg, orderItems.get(2).getUnits(), 0.01);
+    assertEquals(FixedPoint.units(100.0), sumUnits(orderItems), "Total units should equal 100");
+
+    // Items get 33.3333 each; the last one absorbs the remainder
+    assertEquals(FixedPoint.units(33.3333), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(33.3333), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(33.3334), orderItems.get(2).getUnits());
   }
 
   @Test
   void testDistributeUnitsEqually_TwoItems() {
     // Given
     List<OrderItems> orderItems = createOrderItems(2, 0.0);
-    BigDecimal totalUnits = BigDecimal.valueOf(50.0);
 
     // When
-    orderStatusCheckJob.distributeUnitsEqually(orderItems, totalUnits);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(50.0));
 
     // Then
-    assertEquals(25.0, orderItems.get(0).getUnits(), 0.0001);
-    assertEquals(25.0, orderItems.get(1).getUnits(), 0.0001);
-
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(50.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(25.0), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(25.0), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(50.0), sumUnits(orderItems));
   }
 
   @Test
   void testDistributeUnitsEqually_SingleItem() {
     // Given
     List<OrderItems> orderItems = createOrderItems(1, 0.0);
-    BigDecimal totalUnits = BigDecimal.valueOf(100.0);
 
     // When
-    orderStatusCheckJob.distributeUnitsEqually(orderItems, totalUnits);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(100.0));
 
     // Then
-    assertEquals(100.0, orderItems.get(0).getUnits(), 0.0001);
+    assertEquals(FixedPoint.units(100.0), orderItems.get(0).getUnits());
   }
 
   @Test
   void testDistributeUnitsProportionally_EqualAmounts() {
     // Given
     List<OrderItems> orderItems = createOrderItemsWithAmounts(List.of(1000.0, 1000.0, 1000.0));
-    BigDecimal totalUnits = BigDecimal.valueOf(300.0);
-    double totalAmount = 3000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(300.0));
 
     // Then
-    assertEquals(100.0, orderItems.get(0).getUnits(), 0.0001);
-    assertEquals(100.0, orderItems.get(1).getUnits(), 0.0001);
-    assertEquals(100.0, orderItems.get(2).getUnits(), 0.0001);
-
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(300.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(100.0), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(100.0), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(100.0), orderItems.get(2).getUnits());
+    assertEquals(FixedPoint.units(300.0), sumUnits(orderItems));
   }
 
   @Test
@@ -138,19 +115,15 @@ class OrderStatusCheckJobTest {
         createOrderItemsWithAmounts(
             List.of(5000.0, 3000.0, 2000.0) // 50%, 30%, 20%
             );
-    BigDecimal totalUnits = BigDecimal.valueOf(100.0);
-    double totalAmount = 10000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(100.0));
 
     // Then
-    assertEquals(50.0, orderItems.get(0).getUnits(), 0.0001);
-    assertEquals(30.0, orderItems.get(1).getUnits(), 0.0001);
-    assertEquals(20.0, orderItems.get(2).getUnits(), 0.0001);
-
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(100.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(50.0), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(30.0), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(20.0), orderItems.get(2).getUnits());
+    assertEquals(FixedPoint.units(100.0), sumUnits(orderItems));
   }
 
   @Test
@@ -160,16 +133,14 @@ class OrderStatusCheckJobTest {
         createOrderItemsWithAmounts(
             List.of(333.33, 333.33, 333.34) // amounts that don't divide evenly
             );
-    BigDecimal totalUnits = BigDecimal.valueOf(99.999);
-    double totalAmount = 1000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(99.999));
 
     // Then
     // Verify total units are preserved despite rounding
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(99.999, sum, 0.001, "Total units should be preserved");
+    assertEquals(
+        FixedPoint.units(99.999), sumUnits(orderItems), "Total units should be preserved");
 
     // Verify all items got some units
     orderItems.forEach(item -> assertTrue(item.getUnits() > 0, "All items should have units"));
@@ -179,15 +150,13 @@ class OrderStatusCheckJobTest {
   void testDistributeUnitsProportionally_VerySmallUnits() {
     // Given
     List<OrderItems> orderItems = createOrderItemsWithAmounts(List.of(1000.0, 2000.0, 3000.0));
-    BigDecimal totalUnits = BigDecimal.valueOf(0.0001);
-    double totalAmount = 6000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(0.0001));
 
     // Then
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(0.0001, sum, 0.00001, "Total units should be preserved");
+    assertEquals(
+        FixedPoint.units(0.0001), sumUnits(orderItems), "Total units should be preserved");
   }
 
   @Test
@@ -217,11 +186,10 @@ class OrderStatusCheckJobTest {
     verify(scheduler).deleteJob(any(JobKey.class));
 
     // Verify units were distributed
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(100.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(100.0), sumUnits(orderItems));
 
     // Verify price was set
-    orderItems.forEach(item -> assertEquals(50.0, item.getUnitPrice()));
+    orderItems.forEach(item -> assertEquals(FixedPoint.price(50.0), item.getUnitPrice()));
   }
 
   @Test
@@ -272,7 +240,7 @@ class OrderStatusCheckJobTest {
     orderItems.forEach(item -> assertNull(item.getUnits()));
 
     // Verify price was still set
-    orderItems.forEach(item -> assertEquals(50.0, item.getUnitPrice()));
+    orderItems.forEach(item -> assertEquals(FixedPoint.price(50.0), item.getUnitPrice()));
   }
 
   @Test
@@ -298,8 +266,7 @@ class OrderStatusCheckJobTest {
     verify(orderItemsRepository).saveAll(orderItems);
 
     // Verify units were distributed
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(100.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(100.0), sumUnits(orderItems));
 
     // Verify price was not set (should be null)
     orderItems.forEach(item -> assertNull(item.getUnitPrice()));
@@ -363,18 +330,14 @@ class OrderStatusCheckJobTest {
         createOrderItemsWithAmounts(
             List.of(6000.0, 4000.0) // 60% and 40%
             );
-    BigDecimal totalUnits = BigDecimal.valueOf(1000.0);
-    double totalAmount = 10000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(1000.0));
 
     // Then
-    assertEquals(600.0, orderItems.get(0).getUnits(), 0.0001);
-    assertEquals(400.0, orderItems.get(1).getUnits(), 0.0001);
-
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(1000.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(600.0), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(400.0), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(1000.0), sumUnits(orderItems));
   }
 
   @Test
@@ -384,20 +347,17 @@ class OrderStatusCheckJobTest {
         createOrderItemsWithAmounts(
             List.of(2500.0, 1500.0, 500.0, 500.0) // 50%, 30%, 10%, 10%
             );
-    BigDecimal totalUnits = BigDecimal.valueOf(500.0);
-    double totalAmount = 5000.0;
 
     // When
-    orderStatusCheckJob.distributeUnitsProportionally(orderItems, totalUnits, totalAmount);
+    orderStatusCheckJob.distributeUnits(orderItems, FixedPoint.units(500.0));
 
     // Then
-    assertEquals(250.0, orderItems.get(0).getUnits(), 0.01);
-    assertEquals(150.0, orderItems.get(1).getUnits(), 0.01);
-    assertEquals(50.0, orderItems.get(2).getUnits(), 0.01);
+    assertEquals(FixedPoint.units(250.0), orderItems.get(0).getUnits());
+    assertEquals(FixedPoint.units(150.0), orderItems.get(1).getUnits());
+    assertEquals(FixedPoint.units(50.0), orderItems.get(2).getUnits());
 
     // Verify total is preserved
-    double sum = orderItems.stream().mapToDouble(OrderItems::getUnits).sum();
-    assertEquals(500.0, sum, 0.0001);
+    assertEquals(FixedPoint.units(500.0), sumUnits(orderItems));
   }
 
   // Helper methods
@@ -405,7 +365,7 @@ class OrderStatusCheckJobTest {
     List<OrderItems> items = new ArrayList<>();
     for (int i = 0; i < count; i++) {
       OrderItems item = new OrderItems();
-      item.setAmount(amount);
+      item.setAmount(FixedPoint.amount(amount));
       items.add(item);
     }
     return items;
@@ -415,10 +375,14 @@ class OrderStatusCheckJobTest {
     List<OrderItems> items = new ArrayList<>();
     for (Double amount : amounts) {
       OrderItems item = new OrderItems();
-      item.setAmount(amount);
+      item.setAmount(FixedPoint.amount(amount));
       item.setFund(new Fund());
       items.add(item);
     }
     return items;
   }
+
+  private static long sumUnits(List<OrderItems> orderItems) {
+    return orderItems.stream().mapToLong(OrderItems::getUnits).sum();
+  }
 }
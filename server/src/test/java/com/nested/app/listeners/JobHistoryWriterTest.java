@@ -0,0 +1,212 @@
+package com.nested.app.listeners;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.entity.JobHistory;
+import com.nested.app.enums.JobExecutionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+class JobHistoryWriterTest {
+
+  private static final long MINUTE_MS = 60_000;
+
+  private JdbcTemplate jdbcTemplate;
+  private SimpleMeterRegistry meterRegistry;
+  private JobHistoryWriter writer;
+
+  /** Size of every detail batch written */
+  private final List<Integer> detailBatches = new CopyOnWriteArrayList<>();
+  /** Every rollup row written */
+  private final List<Object[]> rollupRows = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    meterRegistry = new SimpleMeterRegistry();
+    when(jdbcTemplate.batchUpdate(
+            argThat(sql -> sql.startsWith("INSERT INTO job_history ")),
+            ArgumentMatchers.<Collection<JobHistory>>any(),
+            anyInt(),
+            ArgumentMatchers.<ParameterizedPreparedStatementSetter<JobHistory>>any()))
+        .thenAnswer(
+            invocation -> {
+              detailBatches.add(invocation.<Collection<?>>getArgument(1).size());
+              return new int[0][];
+            });
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+        .thenAnswer(
+            invocation -> {
+              rollupRows.addAll(invocation.getArgument(1));
+              return new int[0];
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writer != null && writer.isRunning()) {
+      writer.stop();
+    }
+  }
+
+  @Test
+  void percentileUsesNearestRank() {
+    long[] sorted = new long[100];
+    for (int i = 0; i < sorted.length; i++) {
+      sorted[i] = i + 1;
+    }
+
+    assertThat(JobHistoryWriter.percentile(sorted, 0.50)).isEqualTo(50);
+    assertThat(JobHistoryWriter.percentile(sorted, 0.95)).isEqualTo(95);
+    assertThat(JobHistoryWriter.percentile(sorted, 0.99)).isEqualTo(99);
+    assertThat(JobHistoryWriter.percentile(new long[] {7}, 0.99)).isEqualTo(7);
+    assertThat(JobHistoryWriter.percentile(new long[] {3, 9}, 0.0)).isEqualTo(3);
+  }
+
+  @Test
+  void dropsRowsWhenTheQueueIsFull() {
+    writer = writer(2, 100, Duration.ofHours(1));
+
+    for (int i = 0; i < 3; i++) {
+      writer.record(history());
+    }
+
+    assertThat(meterRegistry.counter("job.history.dropped").count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void flushesAFullBatchWithoutWaitingForTheInterval() throws InterruptedException {
+    writer = writer(100, 3, Duration.ofHours(1));
+    writer.start();
+
+    for (int i = 0; i < 3; i++) {
+      writer.record(history());
+    }
+
+    eventually(() -> assertThat(detailBatches).contains(3));
+  }
+
+  @Test
+  void flushesAPartialBatchOnTheInterval() throws InterruptedException {
+    writer = writer(100, 100, Duration.ofMillis(50));
+    writer.start();
+
+    writer.record(history());
+
+    eventually(() -> assertThat(detailBatches).contains(1));
+  }
+
+  @Test
+  void writesRollupsOfPassedMinutes() throws InterruptedException {
+    writer = writer(100, 100, Duration.ofMillis(50));
+    long pastMinute = (System.currentTimeMillis() / MINUTE_MS - 2) * MINUTE_MS;
+    writer.recordRollup("NavSyncJob", pastMinute + 1_000, 30, false);
+    writer.recordRollup("NavSyncJob", pastMinute + 2_000, 10, true);
+    writer.recordRollup("NavSyncJob", pastMinute + 3_000, 20, false);
+
+    writer.start();
+
+    eventually(() -> assertThat(rollupRows).hasSize(1));
+    Object[] row = rollupRows.get(0);
+    assertThat(row[0]).isEqualTo("NavSyncJob");
+    assertThat(row[1]).isEqualTo(new Timestamp(pastMinute));
+    // executions, failures, total, p50, p95, p99, max
+    assertThat(List.of(row).subList(3, 10)).containsExactly(3, 1, 60L, 20L, 30L, 30L, 30L);
+  }
+
+  @Test
+  void keepsEverySampleWhileTheWriterClosesBuckets() throws InterruptedException {
+    writer = writer(100, 100, Duration.ofMillis(1));
+    writer.start();
+    long pastMinute = (System.currentTimeMillis() / MINUTE_MS - 2) * MINUTE_MS;
+    int threads = 4;
+    int samplesPerThread = 5_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch done = new CountDownLatch(threads);
+
+    for (int t = 0; t < threads; t++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < samplesPerThread; i++) {
+              writer.recordRollup("NavSyncJob", pastMinute, 1, false);
+            }
+            done.countDown();
+          });
+    }
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    writer.stop();
+
+    int written = rollupRows.stream().mapToInt(row -> (Integer) row[3]).sum();
+    assertThat(written).isEqualTo(threads * samplesPerThread);
+  }
+
+  @Test
+  void flushesPendingRowsAndOpenRollupsOnStop() {
+    writer = writer(100, 100, Duration.ofMillis(200));
+    writer.start();
+    long futureMinute = System.currentTimeMillis() + 10 * MINUTE_MS;
+
+    writer.record(history());
+    writer.record(history());
+    writer.recordRollup("NavSyncJob", futureMinute, 5, false);
+    writer.stop();
+
+    assertThat(detailBatches.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+    assertThat(rollupRows).hasSize(1);
+    assertThat(meterRegistry.counter("job.history.dropped").count()).isZero();
+  }
+
+  /** Retries the assertion until it passes or five seconds have gone by. */
+  private static void eventually(Runnable assertion) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (true) {
+      try {
+        assertion.run();
+        return;
+      } catch (AssertionError e) {
+        if (System.nanoTime() > deadline) {
+          throw e;
+        }
+        Thread.sleep(10);
+      }
+    }
+  }
+
+  private JobHistoryWriter writer(int queueCapacity, int batchSize, Duration flushInterval) {
+    return new JobHistoryWriter(
+        jdbcTemplate, meterRegistry, queueCapacity, batchSize, flushInterval);
+  }
+
+  private static JobHistory history() {
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    return JobHistory.builder()
+        .jobName("NavSyncJob")
+        .triggerName("navSyncTrigger")
+        .startTime(now)
+        .endTime(now)
+        .durationMs(0L)
+        .status(JobExecutionStatus.SUCCESS)
+        .build();
+  }
+}
@@ -0,0 +1,70 @@
+package com.nested.app.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SamplingTurboFilterTest {
+
+  private static final String POLL = "Polling {} pending payments";
+
+  private SamplingTurboFilter filter;
+  private Logger poller;
+
+  @BeforeEach
+  void setUp() {
+    LoggerContext context = new LoggerContext();
+    context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+    poller = context.getLogger("com.nested.app.jobs.LumpSumPaymentPollerJob");
+
+    filter = new SamplingTurboFilter();
+    filter.setContext(context);
+    filter.addRule("com.nested.app.jobs=2/1h");
+    filter.start();
+  }
+
+  @Test
+  void deniesInfoBeyondPermitsPerTemplate() {
+    assertThat(decide(poller, Level.INFO, POLL)).isEqualTo(FilterReply.NEUTRAL);
+    assertThat(decide(poller, Level.INFO, POLL)).isEqualTo(FilterReply.NEUTRAL);
+    assertThat(decide(poller, Level.INFO, POLL)).isEqualTo(FilterReply.DENY);
+    // Other templates have their own window
+    assertThat(decide(poller, Level.INFO, "Payment {} completed")).isEqualTo(FilterReply.NEUTRAL);
+
+    assertThat(filter.getSuppressedCounts().get("com.nested.app.jobs").sum()).isEqualTo(1);
+  }
+
+  @Test
+  void neverSamplesWarningsEnabledChecksOrOtherLoggers() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(decide(poller, Level.WARN, POLL)).isEqualTo(FilterReply.NEUTRAL);
+      assertThat(decide(poller, Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+      Logger other = (Logger) poller.getLoggerContext().getLogger("com.nested.app.jobsx.Other");
+      assertThat(decide(other, Level.INFO, POLL)).isEqualTo(FilterReply.NEUTRAL);
+    }
+  }
+
+  @Test
+  void firstWindowStartsAtTheFirstEventWhateverTheClockOrigin() {
+    long hour = TimeUnit.HOURS.toNanos(1);
+    SamplingTurboFilter.Rule rule =
+        new SamplingTurboFilter.Rule("com.nested.app.jobs", 1, hour, new LongAdder());
+    SamplingTurboFilter.Window window = new SamplingTurboFilter.Window();
+    long origin = -5 * hour;
+
+    assertThat(window.tryAcquire(rule, origin)).isTrue();
+    assertThat(window.tryAcquire(rule, origin + hour - 1)).isFalse();
+    assertThat(window.tryAcquire(rule, origin + hour)).isTrue();
+  }
+
+  private FilterReply decide(Logger logger, Level level, String format) {
+    return filter.decide(null, logger, level, format, null, null);
+  }
+}
@@ -0,0 +1,171 @@
+package com.nested.app.notifications;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.enums.NotificationChannel;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class NotificationDispatcherTest {
+
+  private NotificationQueue queue;
+  private NotificationRenderer renderer;
+  private NotificationDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/");
+    resolver.setSuffix(".html");
+    TemplateEngine templateEngine = new TemplateEngine();
+    templateEngine.setTemplateResolver(resolver);
+
+    queue = mock(NotificationQueue.class);
+    renderer = new NotificationRenderer(templateEngine, "test@nested.money");
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (dispatcher != null && dispatcher.isRunning()) {
+      dispatcher.stop();
+    }
+  }
+
+  @Test
+  void batchableNotificationsAreSentInOneRequest() {
+    LoggingNotificationSink sink = new LoggingNotificationSink();
+    List<QueuedNotification> claimed =
+        List.of(transaction(1, "Asha & Co"), transaction(2, "Ravi"), transaction(3, "Meera"));
+    when(queue.claim(eq(NotificationChannel.EMAIL), anyInt()))
+        .thenReturn(claimed)
+        .thenReturn(List.of());
+
+    start(sink);
+
+    verify(queue, timeout(2_000)).markSent(claimed);
+    assertThat(sink.sentMails()).hasSize(1);
+    Mail mail = sink.sentMails().getFirst();
+    assertThat(mail.getContent().getFirst().getValue()).contains("%name%", "%fundName%");
+    assertThat(mail.getPersonalization()).hasSize(3);
+    Personalization first = mail.getPersonalization().getFirst();
+    assertThat(first.getTos().getFirst().getEmail()).isEqualTo("user1@example.com");
+    assertThat(first.getSubject()).isEqualTo("Your Purchase request submitted successfully");
+    assertThat(first.getSubstitutions()).containsEntry("%name%", "Asha &amp; Co");
+  }
+
+  @Test
+  void failedSendIsRetriedThenGivenUp() throws IOException {
+    NotificationSink sink = mock(NotificationSink.class);
+    doThrow(new IOException("SendGrid returned 503")).when(sink).sendEmail(any(Mail.class));
+    QueuedNotification firstAttempt = transaction(1, "Asha", 1);
+    QueuedNotification lastAttempt = transaction(2, "Ravi", 6);
+    when(queue.claim(eq(NotificationChannel.EMAIL), anyInt()))
+        .thenReturn(List.of(firstAttempt))
+        .thenReturn(List.of(lastAttempt))
+        .thenReturn(List.of());
+
+    start(sink);
+
+    verify(queue, timeout(2_000))
+        .retryAt(eq(firstAttempt), any(Instant.class), eq("SendGrid returned 503"));
+    verify(queue, timeout(2_000)).markFailed(lastAttempt, "SendGrid returned 503");
+  }
+
+  @Test
+  void rejectedBatchIsSplitAndOnlyTheRefusedRecipientFails() {
+    NotificationSink sink =
+        mail -> {
+          boolean refused =
+              mail.getPersonalization().stream()
+                  .anyMatch(p -> p.getTos().getFirst().getEmail().equals("user2@example.com"));
+          if (refused) {
+            throw new NotificationRejectedException(400, "SendGrid returned 400");
+          }
+        };
+    QueuedNotification first = transaction(1, "Asha");
+    QueuedNotification refused = transaction(2, "Ravi");
+    QueuedNotification third = transaction(3, "Meera");
+    QueuedNotification fourth = transaction(4, "Kabir");
+    when(queue.claim(eq(NotificationChannel.EMAIL), anyInt()))
+        .thenReturn(List.of(first, refused, third, fourth))
+        .thenReturn(List.of());
+
+    start(sink);
+
+    verify(queue, timeout(2_000)).markFailed(refused, "SendGrid returned 400");
+    verify(queue, timeout(2_000)).markSent(List.of(first));
+    verify(queue, timeout(2_000)).markSent(List.of(third, fourth));
+    verify(queue, never()).retryAt(any(), any(), any());
+  }
+
+    @Test
+  void backoffGrowsExponentiallyAndIsCapped() {
+    dispatcher = dispatcher(new LoggingNotificationSink());
+
+    assertThat(dispatcher.backoff(1)).isBetween(Duration.ofSeconds(24), Duration.ofSeconds(36));
+    assertThat(dispatcher.backoff(3)).isBetween(Duration.ofSeconds(96), Duration.ofSeconds(144));
+    assertThat(dispatcher.backoff(12)).isBetween(Duration.ofMinutes(48), Duration.ofMinutes(72));
+  }
+
+  private void start(NotificationSink sink) {
+    dispatcher = dispatcher(sink);
+    dispatcher.start();
+  }
+
+  private NotificationDispatcher dispatcher(NotificationSink sink) {
+    return new NotificationDispatcher(
+        queue,
+        renderer,
+        sink,
+        new SimpleMeterRegistry(),
+        true,
+        500,
+        Duration.ofMillis(50),
+        2,
+        1_000,
+        6,
+        Duration.ofSeconds(30),
+        Duration.ofHours(1),
+        1_000,
+        10,
+        10);
+  }
+
+  private static QueuedNotification transaction(long id, String name) {
+    return transaction(id, name, 1);
+  }
+
+  private static QueuedNotification transaction(long id, String name, int attempts) {
+    return new QueuedNotification(
+        id,
+        NotificationTemplate.TRANSACTION_SUCCESS,
+        "user" + id + "@example.com",
+        Map.of(
+            NotificationTemplate.SUBJECT, "Your Purchase request submitted successfully",
+            "name", name,
+            "fundName", "Nifty 50 Index Fund",
+            "investedAmount", "5,000.00",
+            "transactionType", "Purchase"),
+        attempts);
+  }
+}
@@ -1,19 +1,21 @@
 package com.nested.app.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.nested.app.catalog.AppVersionCatalog;
 import com.nested.app.dto.AppVersionResponse;
 import com.nested.app.entity.AppVersion;
 import com.nested.app.enums.Platform;
 import com.nested.app.enums.UpdateType;
 import com.nested.app.repository.AppVersionRepository;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -22,10 +24,11 @@ public class AppVersionServiceTest {
 
   @Mock private AppVersionRepository appVersionRepository;
 
-  @InjectMocks private AppVersionServiceImpl appVersionService;
+  private AppVersionServiceImpl appVersionService;
 
   private AppVersion androidVersion;
   private AppVersion iosVersion;
+  private List<AppVersion> rows;
 
   @BeforeEach
   void setUp() {
@@ -50,14 +53,14 @@ public class AppVersionServiceTest {
             .message("Please update")
             .storeUrl("https://ios.url")
             .build();
+
+    rows = new ArrayList<>(List.of(androidVersion, iosVersion));
+    when(appVersionRepository.findAll()).thenAnswer(inv -> rows);
+    appVersionService = new AppVersionServiceImpl(new AppVersionCatalog(appVersionRepository));
   }
 
   @Test
   void testForceUpdate() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     AppVersionResponse response =
         appVersionService.getVersionInfo("1.3.9", Platform.ANDROID, 120, "device1");
 
@@ -70,10 +73,6 @@ public class AppVersionServiceTest {
 
   @Test
   void testForceUpdateByBuildNumber() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     // Version is fine, but build number is too low
     AppVersionResponse response =
         appVersionService.getVersionInfo("1.5.0", Platform.ANDROID, 50, "device1");
@@ -83,10 +82,6 @@ public class AppVersionServiceTest {
 
   @Test
   void testSoftUpdate() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     AppVersionResponse response =
         appVersionService.getVersionInfo("1.5.0", Platform.ANDROID, 120, "device1");
 
@@ -96,10 +91,6 @@ public class AppVersionServiceTest {
   @Test
   void testSoftUpdateRollout() {
     androidVersion.setRolloutPercentage(50); // 50% rollout
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     // "1" hashCode: 49 -> 49 % 100 = 49 -> should be included in 50% (0-49)
     AppVersionResponse response1 =
         appVersionService.getVersionInfo("1.5.0", Platform.ANDROID, 120, "1");
@@ -113,10 +104,6 @@ public class AppVersionServiceTest {
 
   @Test
   void testNoUpdate() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     AppVersionResponse response =
         appVersionService.getVersionInfo("1.7.2", Platform.ANDROID, 120, "device1");
 
@@ -125,10 +112,6 @@ public class AppVersionServiceTest {
 
   @Test
   void testNoUpdateHigher() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
-
     AppVersionResponse response =
         appVersionService.getVersionInfo("1.8.0", Platform.ANDROID, 120, "device1");
 
@@ -136,11 +119,29 @@ public class AppVersionServiceTest {
   }
 
   @Test
-  void testNullVersion() {
-    when(appVersionRepository.findByPlatform(Platform.ANDROID))
-        .thenReturn(Optional.of(androidVersion));
-    when(appVersionRepository.findAll()).thenReturn(List.of(androidVersion, iosVersion));
+  void testRulesLoadedOnceForRepeatedChecks() {
+    for (int i = 0; i < 1_000; i++) {
+      appVersionService.getVersionInfo("1.5.0", Platform.ANDROID, 120, "device" + i);
+    }
+
+    verify(appVersionRepository, times(1)).findAll();
+  }
 
+  @Test
+  void testMissingPlatformFallsBackToDefaults() {
+    rows.remove(iosVersion);
+
+    AppVersionResponse response =
+        appVersionService.getVersionInfo("0.9.0", Platform.IOS, 120, "device1");
+
+    assertEquals(UpdateType.FORCE, response.getUpdateType());
+    assertEquals("1.0.0", response.getMinSupportedVersion());
+    assertEquals("https://android.url", response.getAndroidUrl());
+    assertEquals("", response.getIosUrl());
+  }
+
+  @Test
+  void testNullVersion() {
     AppVersionResponse response =
         appVersionService.getVersionInfo(null, Platform.ANDROID, 120, "device1");
 
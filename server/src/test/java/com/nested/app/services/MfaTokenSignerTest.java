@@ -0,0 +1,41 @@
+package com.nested.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class MfaTokenSignerTest {
+
+  private final MfaTokenSigner signer = new MfaTokenSigner("test-secret");
+
+  @Test
+  void testRoundTrip() {
+    UUID sessionId = UUID.randomUUID();
+    String token = signer.sign("uid-1", "MF_BUY", sessionId, 1_700_000_000L);
+
+    MfaTokenSigner.Claims claims = signer.verify(token).orElseThrow();
+
+    assertEquals("uid-1", claims.userId());
+    assertEquals("MF_BUY", claims.action());
+    assertEquals(sessionId, claims.sessionId());
+    assertEquals(1_700_000_000L, claims.expiresAt());
+  }
+
+  @Test
+  void testTamperedTokenRejected() {
+    String token = signer.sign("uid-1", "MF_BUY", UUID.randomUUID(), 1_700_000_000L);
+
+    assertTrue(signer.verify(token.replace("MF_BUY", "MF_SELL")).isEmpty());
+    assertTrue(signer.verify(token.replace("1700000000", "1900000000")).isEmpty());
+    assertTrue(new MfaTokenSigner("other-secret").verify(token).isEmpty());
+  }
+
+  @Test
+  void testMalformedTokenRejected() {
+    assertTrue(signer.verify("garbage").isEmpty());
+    assertTrue(signer.verify(".sig").isEmpty());
+    assertTrue(signer.verify("a.b.c.d.!!").isEmpty());
+  }
+}
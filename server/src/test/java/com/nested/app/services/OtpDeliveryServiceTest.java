@@ -0,0 +1,169 @@
+package com.nested.app.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.entity.User;
+import com.nested.app.enums.MfaChannel;
+import com.nested.app.enums.OtpDeliveryStatus;
+import com.nested.app.events.OtpDeliveryRequestedEvent;
+import com.nested.app.repository.MfaSessionRepository;
+import com.nested.app.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OtpDeliveryServiceTest {
+
+  private static final String PHONE = "+919876543210";
+  private static final String EMAIL = "user@example.com";
+
+  private MessageService messageService;
+  private MfaSessionRepository mfaSessionRepository;
+  private UserRepository userRepository;
+  private OtpDeliveryService otpDeliveryService;
+  private final UUID sessionId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    messageService = mock(MessageService.class);
+    mfaSessionRepository = mock(MfaSessionRepository.class);
+    userRepository = mock(UserRepository.class);
+    otpDeliveryService =
+        new OtpDeliveryService(
+            messageService,
+            mfaSessionRepository,
+            userRepository,
+            new SimpleMeterRegistry(),
+            Duration.ofMillis(200),
+            4,
+            100);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    otpDeliveryService.shutdown();
+  }
+
+  @Test
+  void recordsDeliveryOnRequestedChannel() {
+    otpDeliveryService.deliver(event(MfaChannel.SMS)).join();
+
+    verify(messageService).sendOtp(PHONE, "123456", MfaChannel.SMS);
+    verify(mfaSessionRepository)
+        .markOtpDelivered(
+            eq(sessionId), eq(OtpDeliveryStatus.SENT), eq(MfaChannel.SMS), any(Timestamp.class));
+  }
+
+  @Test
+  void fallsBackToEmailWhenSmsFails() {
+    doThrow(new RuntimeException("Failed to send SMS OTP"))
+        .when(messageService)
+        .sendOtp(PHONE, "123456", MfaChannel.SMS);
+    userWithEmail(EMAIL);
+
+    otpDeliveryService.deliver(event(MfaChannel.SMS)).join();
+
+    verify(messageService).sendOtp(EMAIL, "123456", MfaChannel.EMAIL);
+    verify(mfaSessionRepository)
+        .markOtpDelivered(
+            eq(sessionId),
+            eq(OtpDeliveryStatus.FALLBACK_SENT),
+            eq(MfaChannel.EMAIL),
+            any(Timestamp.class));
+  }
+
+  @Test
+  void fallsBackToEmailWhenSmsExceedsBudget() {
+    doAnswer(
+            invocation -> {
+              Thread.sleep(1_000);
+              return PHONE;
+            })
+        .when(messageService)
+        .sendOtp(PHONE, "123456", MfaChannel.SMS);
+    userWithEmail(EMAIL);
+
+    otpDeliveryService.deliver(event(MfaChannel.SMS)).join();
+
+    verify(mfaSessionRepository)
+        .markOtpDelivered(
+            eq(sessionId),
+            eq(OtpDeliveryStatus.FALLBACK_SENT),
+            eq(MfaChannel.EMAIL),
+            any(Timestamp.class));
+  }
+
+  @Test
+  void failsSessionWhenNoChannelDelivers() {
+    doThrow(new RuntimeException("Failed to send SMS OTP"))
+        .when(messageService)
+        .sendOtp(PHONE, "123456", MfaChannel.SMS);
+    userWithEmail(null);
+
+    otpDeliveryService.deliver(event(MfaChannel.SMS)).join();
+
+    verify(messageService, never()).sendOtp(anyString(), anyString(), eq(MfaChannel.EMAIL));
+    verify(mfaSessionRepository).markOtpDeliveryFailed(sessionId, "Failed to send SMS OTP");
+  }
+
+  @Test
+  void failsSessionWhenDeliveryPoolIsFull() throws InterruptedException {
+    OtpDeliveryService saturated =
+        new OtpDeliveryService(
+            messageService,
+            mfaSessionRepository,
+            userRepository,
+            new SimpleMeterRegistry(),
+            Duration.ofSeconds(5),
+            1,
+            1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              release.await();
+              return null;
+            })
+        .when(messageService)
+        .sendOtp(PHONE, "123456", MfaChannel.SMS);
+    UUID rejectedSession = UUID.randomUUID();
+
+    try {
+      // One delivery on the only thread, one queued, the third is rejected
+      saturated.deliver(event(UUID.randomUUID(), MfaChannel.SMS));
+      saturated.deliver(event(UUID.randomUUID(), MfaChannel.SMS));
+      saturated.deliver(event(rejectedSession, MfaChannel.SMS)).join();
+
+      verify(mfaSessionRepository).markOtpDeliveryFailed(eq(rejectedSession), anyString());
+    } finally {
+      release.countDown();
+      saturated.shutdown();
+    }
+  }
+
+  private OtpDeliveryRequestedEvent event(MfaChannel channel) {
+    return event(sessionId, channel);
+  }
+
+  private OtpDeliveryRequestedEvent event(UUID session, MfaChannel channel) {
+    return new OtpDeliveryRequestedEvent(session, "firebase-uid", channel, PHONE, "123456");
+  }
+
+  private void userWithEmail(String email) {
+    User user = User.builder().email(email).build();
+    when(userRepository.findByFirebaseUid("firebase-uid")).thenReturn(Optional.of(user));
+  }
+}
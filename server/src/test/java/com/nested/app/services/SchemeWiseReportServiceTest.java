@@ -4,25 +4,36 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.nested.app.catalog.CatalogFund;
+import com.nested.app.catalog.FundCatalog;
 import com.nested.app.client.finprimitives.EntityResponse;
 import com.nested.app.client.mf.ReportApiClient;
 import com.nested.app.client.mf.dto.SchemeWiseReportResponse;
+import com.nested.app.entity.Fund;
 import com.nested.app.entity.Investor;
+import com.nested.app.events.FundCatalogChangedEvent;
+import com.nested.app.repository.FundRepository;
+import com.nested.app.repository.GoalRepository;
 import com.nested.app.repository.InvestorRepository;
+import com.nested.app.repository.UserRepository;
 import com.nested.app.services.SchemeWiseReportService.ReportFetchSummary;
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +46,16 @@ class SchemeWiseReportServiceTest {
 
   @Mock private InvestorRepository investorRepository;
 
+  @Mock private FundCatalog fundCatalog;
+
+  @Mock private FundRepository fundRepository;
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private GoalRepository goalRepository;
+
+  @Mock private ApplicationEventPublisher publisher;
+
   @InjectMocks private SchemeWiseReportService schemeWiseReportService;
 
   private Investor investorWithAccountRef;
@@ -137,6 +158,37 @@ class SchemeWiseReportServiceTest {
     verify(reportApiClient, times(3)).fetchSchemeWiseReport(anyString());
   }
 
+  @Test
+  void shouldPublishOneCatalogChangePerRun() {
+    // Given
+    List<Investor> investors =
+        List.of(
+            investorWithAccountRef, createInvestor(3L, "ACC-003"), createInvestor(4L, "ACC-004"));
+    var row = new SchemeWiseReportResponse.SchemeWiseReport();
+    row.setIsin("INF000000001");
+    row.setAsOn("2026-03-02");
+    row.setNav(new BigDecimal("12.3456"));
+    var report = new SchemeWiseReportResponse(List.of(row), List.of());
+    CatalogFund catalogFund = mock(CatalogFund.class);
+    when(catalogFund.id()).thenReturn(9L);
+    Fund fund = new Fund();
+    fund.setId(9L);
+
+    when(investorRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(investors));
+    when(reportApiClient.fetchSchemeWiseReport(anyString()))
+        .thenReturn(Mono.just(new EntityResponse<>(report)));
+    when(fundCatalog.findByIsin("INF000000001")).thenReturn(Optional.of(catalogFund));
+    when(fundRepository.findAllById(any())).thenReturn(List.of(fund));
+
+    // When
+    schemeWiseReportService.fetchReportsForAllInvestors();
+
+    // Then
+    verify(fundRepository, times(3)).saveAll(any());
+    verify(publisher, times(1)).publishEvent(any(FundCatalogChangedEvent.class));
+    assertThat(fund.getNav()).isEqualTo(12.3456);
+  }
+
   @Test
   void shouldCalculateSuccessRateCorrectly() {
     // Given
@@ -0,0 +1,207 @@
+package com.nested.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nested.app.dto.GoalFundUnitsProjection;
+import com.nested.app.dto.MinifiedGoalDTO;
+import com.nested.app.dto.SellOrderRequestDTO.SellOrderItemDTO;
+import com.nested.app.entity.Folio;
+import com.nested.app.entity.Fund;
+import com.nested.app.entity.User;
+import com.nested.app.repository.FolioRepository;
+import com.nested.app.repository.OrderItemsRepository;
+import com.nested.app.repository.TransactionRepository;
+import com.nested.app.utils.FixedPoint;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SellHoldingsValidatorTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-02T10:00:00Z");
+
+  /** Rows as the NUMERIC(18, 4) columns return them */
+  private record Units(Long goalId, Long fundId, double units)
+      implements GoalFundUnitsProjection {
+    @Override
+    public Long getGoalId() {
+      return goalId;
+    }
+
+    @Override
+    public Long getFundId() {
+      return fundId;
+    }
+
+    @Override
+    public BigDecimal getUnits() {
+      return BigDecimal.valueOf(units).setScale(FixedPoint.UNITS_SCALE);
+    }
+  }
+
+  @Mock private TransactionRepository transactionRepository;
+  @Mock private OrderItemsRepository orderItemsRepository;
+  @Mock private FolioRepository folioRepository;
+
+  private SellHoldingsValidator validator;
+  private User user;
+  private Map<Long, Fund> funds;
+
+  @BeforeEach
+  void setUp() {
+    validator =
+        new SellHoldingsValidator(
+            transactionRepository,
+            orderItemsRepository,
+            folioRepository,
+            Duration.ofHours(24),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    user = User.builder().id(7L).build();
+    funds = Map.of(1L, fund(1L, 50.0), 2L, fund(2L, 20.0));
+  }
+
+  @Test
+  void returnsOneFolioPerFundWhenHoldingsCoverTheRequest() {
+    when(transactionRepository.sumCompletedUnitsByGoalAndFund(eq(7L), anyCollection(), any()))
+        .thenReturn(List.of(new Units(10L, 1L, 100.0), new Units(10L, 2L, 40.0)));
+    when(orderItemsRepository.sumReservedSellUnitsByGoalAndFund(
+            eq(7L), anyCollection(), any(), any()))
+        .thenReturn(List.of());
+    when(folioRepository.findByUserAndFundIdIn(eq(user), any()))
+        .thenReturn(List.of(folio(31L, 1L), folio(30L, 1L), folio(40L, 2L)));
+
+    var folios =
+        validator.validate(user, List.of(units(10L, 1L, 100.0), amount(10L, 2L, 800.0)), funds);
+
+    assertThat(folios).containsOnlyKeys(1L, 2L);
+    assertThat(folios.get(1L).getId()).isEqualTo(30L);
+    assertThat(folios.get(2L).getId()).isEqualTo(40L);
+    verify(orderItemsRepository)
+        .sumReservedSellUnitsByGoalAndFund(
+            eq(7L),
+            anyCollection(),
+            any(),
+            eq(Timestamp.from(NOW.minus(Duration.ofHours(24)))));
+  }
+
+  @Test
+  void rejectsSellThatOnlyFitsWithoutInFlightReservations() {
+    when(transactionRepository.sumCompletedUnitsByGoalAndFund(eq(7L), anyCollection(), any()))
+        .thenReturn(List.of(new Units(10L, 1L, 100.0)));
+    when(orderItemsRepository.sumReservedSellUnitsByGoalAndFund(
+            eq(7L), anyCollection(), any(), any()))
+        .thenReturn(List.of(new Units(10L, 1L, 70.0)));
+
+    var items = List.of(units(10L, 1L, 40.0));
+
+    assertThatThrownBy(() -> validator.validate(user, items, Map.of(1L, funds.get(1L))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Available: 30.0000");
+  }
+
+  @Test
+  void sumsItemsForTheSameGoalAndFund() {
+    when(transactionRepository.sumCompletedUnitsByGoalAndFund(eq(7L), anyCollection(), any()))
+        .thenReturn(List.of(new Units(10L, 1L, 100.0)));
+    when(orderItemsRepository.sumReservedSellUnitsByGoalAndFund(
+            eq(7L), anyCollection(), any(), any()))
+        .thenReturn(List.of());
+
+    var items = List.of(units(10L, 1L, 60.0), amount(10L, 1L, 2500.0));
+
+    assertThatThrownBy(() -> validator.validate(user, items, Map.of(1L, funds.get(1L))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Requested: 110.0000");
+  }
+
+  @Test
+  void rejectsPairWithoutCompletedHoldings() {
+    when(transactionRepository.sumCompletedUnitsByGoalAndFund(eq(7L), anyCollection(), any()))
+        .thenReturn(List.of(new Units(11L, 1L, 100.0)));
+    when(orderItemsRepository.sumReservedSellUnitsByGoalAndFund(
+            eq(7L), anyCollection(), any(), any()))
+        .thenReturn(List.of());
+
+    var items = List.of(units(10L, 1L, 1.0));
+
+    assertThatThrownBy(() -> validator.validate(user, items, Map.of(1L, funds.get(1L))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("No holdings found for fund ID: 1 in goal ID: 10");
+  }
+
+  @Test
+  void unverifiedOrdersStopReservingAfterTheHold() {
+    assertThat(validator.stillReserved(Timestamp.from(NOW.minus(Duration.ofHours(23))))).isTrue();
+    assertThat(validator.stillReserved(Timestamp.from(NOW.minus(Duration.ofHours(25))))).isFalse();
+    assertThat(validator.stillReserved(null)).isFalse();
+  }
+
+  @Test
+  void requiredUnitsRoundsAmountAtNavToFourDecimals() {
+    var item = amount(10L, 2L, 100.0);
+
+    assertThat(SellHoldingsValidator.requiredUnits(item, fund(2L, 30.0)))
+        .isEqualTo(FixedPoint.units(3.3333));
+  }
+
+  @Test
+  void requiredUnitsTakesTheLargerOfUnitsAndAmount() {
+    var item = units(10L, 1L, 10.0);
+    item.setAmount(1000.0);
+
+    assertThat(SellHoldingsValidator.requiredUnits(item, funds.get(1L)))
+        .isEqualTo(FixedPoint.units(20.0));
+  }
+
+  private static SellOrderItemDTO units(Long goalId, Long fundId, double units) {
+    var item = item(goalId, fundId);
+    item.setUnits(units);
+    return item;
+  }
+
+  private static SellOrderItemDTO amount(Long goalId, Long fundId, double amount) {
+    var item = item(goalId, fundId);
+    item.setAmount(amount);
+    return item;
+  }
+
+  private static SellOrderItemDTO item(Long goalId, Long fundId) {
+    var item = new SellOrderItemDTO();
+    item.setGoal(new MinifiedGoalDTO(goalId, null));
+    item.setFundId(fundId);
+    return item;
+  }
+
+  private static Fund fund(Long id, double nav) {
+    var fund = new Fund();
+    fund.setId(id);
+    fund.setNav(nav);
+    return fund;
+  }
+
+  private Folio folio(Long id, Long fundId) {
+    var folio = new Folio();
+    folio.setId(id);
+    folio.setRef("F" + id);
+    folio.setUser(user);
+    folio.setFund(funds.get(fundId));
+    return folio;
+  }
+}
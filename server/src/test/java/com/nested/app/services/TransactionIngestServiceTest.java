@@ -0,0 +1,184 @@
+package com.nested.app.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.nested.app.entity.Fund;
+import com.nested.app.entity.Goal;
+import com.nested.app.entity.Transaction;
+import com.nested.app.entity.User;
+import com.nested.app.enums.TransactionStatus;
+import com.nested.app.enums.TransactionType;
+import com.nested.app.events.GoalSyncEvent;
+import com.nested.app.events.TransactionSuccessEvent;
+import com.nested.app.services.TransactionIngestService.Mode;
+import com.nested.app.utils.FixedPoint;
+import com.zaxxer.hikari.HikariDataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Runs the upserts against the transactions table of V1, V7 and V9. Skipped without Docker. */
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionIngestServiceTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+  private static HikariDataSource pool;
+  private static JdbcTemplate jdbc;
+
+  private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+  private TransactionIngestService service;
+
+  @BeforeAll
+  static void createTable() {
+    pool = new HikariDataSource();
+    pool.setJdbcUrl(POSTGRES.getJdbcUrl());
+    pool.setUsername(POSTGRES.getUsername());
+    pool.setPassword(POSTGRES.getPassword());
+    jdbc = new JdbcTemplate(pool);
+    jdbc.execute(
+        """
+        CREATE TABLE transactions (
+          id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+          amount NUMERIC(15, 2) NOT NULL,
+          created_at TIMESTAMP(6) NOT NULL,
+          executed_at TIMESTAMP(6) NOT NULL,
+          external_ref VARCHAR(255),
+          provider_transaction_id VARCHAR(255),
+          source_order_item_id BIGINT,
+          status VARCHAR(255) NOT NULL,
+          type VARCHAR(255) NOT NULL,
+          unit_price NUMERIC(14, 4) NOT NULL,
+          units NUMERIC(18, 4) NOT NULL,
+          updated_at TIMESTAMP(6) NOT NULL,
+          folio_id BIGINT,
+          fund_id BIGINT NOT NULL,
+          goal_id BIGINT,
+          user_id BIGINT NOT NULL
+        )
+        """);
+    jdbc.execute(
+        "CREATE UNIQUE INDEX uq_transactions_source_item_external_ref"
+            + " ON transactions (source_order_item_id, external_ref)");
+  }
+
+  @AfterAll
+  static void closePool() {
+    pool.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    jdbc.execute("TRUNCATE transactions");
+    service = new TransactionIngestService(jdbc, publisher);
+  }
+
+  @Test
+  void replayingTheSameOrderWritesAndPublishesNothing() {
+    List<Transaction> first =
+        service.ingest(
+            List.of(buy(1, "mfp_1", 7, TransactionStatus.SUBMITTED), buy(2, "mfp_2", 7, null)),
+            Mode.UPSERT);
+    assertThat(first).hasSize(2).allSatisfy(txn -> assertThat(txn.getId()).isNotNull());
+    // One sync for the goal, however many of its rows were written
+    verify(publisher, times(1)).publishEvent(any(GoalSyncEvent.class));
+
+    reset(publisher);
+    List<Transaction> replay =
+        service.ingest(
+            List.of(buy(1, "mfp_1", 7, TransactionStatus.SUBMITTED), buy(2, "mfp_2", 7, null)),
+            Mode.UPSERT);
+
+    assertThat(replay).isEmpty();
+    verify(publisher, never()).publishEvent(any());
+    assertThat(jdbc.queryForObject("SELECT count(*) FROM transactions", Long.class)).isEqualTo(2);
+    assertThat(jdbc.queryForObject("SELECT SUM(units) FROM transactions", BigDecimal.class))
+        .isEqualByComparingTo("25.0000");
+  }
+
+  @Test
+  void upsertUpdatesChangedRowsAndAnnouncesCompletionOnce() {
+    service.ingest(List.of(buy(1, "mfp_1", 7, TransactionStatus.SUBMITTED)), Mode.UPSERT);
+    reset(publisher);
+
+    List<Transaction> completed =
+        service.ingest(List.of(buy(1, "mfp_1", 7, TransactionStatus.COMPLETED)), Mode.UPSERT);
+    service.ingest(List.of(buy(1, "mfp_1", 7, TransactionStatus.COMPLETED)), Mode.UPSERT);
+
+    assertThat(completed).hasSize(1);
+    verify(publisher, times(1)).publishEvent(any(TransactionSuccessEvent.class));
+    verify(publisher, times(1)).publishEvent(any(GoalSyncEvent.class));
+    assertThat(jdbc.queryForObject("SELECT status FROM transactions", String.class))
+        .isEqualTo("COMPLETED");
+  }
+
+  @Test
+  void insertMissingKeepsExistingInstallmentsAndAddsNewOnes() {
+    service.ingest(List.of(sip(5, "mfp_a", TransactionStatus.SUBMITTED)), Mode.INSERT_MISSING);
+
+    List<Transaction> written =
+        service.ingest(
+            List.of(
+                sip(5, "mfp_a", TransactionStatus.COMPLETED),
+                sip(5, "mfp_b", TransactionStatus.SUBMITTED)),
+            Mode.INSERT_MISSING);
+
+    assertThat(written).extracting(Transaction::getExternalRef).containsExactly("mfp_b");
+    assertThat(
+            jdbc.queryForObject(
+                "SELECT status FROM transactions WHERE external_ref = 'mfp_a'", String.class))
+        .isEqualTo("SUBMITTED");
+    verify(publisher, never()).publishEvent(any(TransactionSuccessEvent.class));
+  }
+
+  private static Transaction buy(long itemId, String ref, long goalId, TransactionStatus status) {
+    Transaction txn = transaction(itemId, ref, goalId, TransactionType.BUY);
+    txn.setStatus(status != null ? status : TransactionStatus.SUBMITTED);
+    return txn;
+  }
+
+  private static Transaction sip(long itemId, String ref, TransactionStatus status) {
+    Transaction txn = transaction(itemId, ref, 9, TransactionType.SIP);
+    txn.setStatus(status);
+    return txn;
+  }
+
+  private static Transaction transaction(
+      long itemId, String ref, long goalId, TransactionType type) {
+    User user = User.builder().id(3L).build();
+    Goal goal = new Goal();
+    goal.setId(goalId);
+    Fund fund = new Fund();
+    fund.setId(11L);
+    fund.setName("Index Fund");
+
+    Transaction txn = new Transaction();
+    txn.setUser(user);
+    txn.setGoal(goal);
+    txn.setFund(fund);
+    txn.setType(type);
+    txn.setUnits(FixedPoint.units(12.5));
+    txn.setUnitPrice(FixedPoint.price(80.0));
+    txn.setAmount(FixedPoint.amount(1000.0));
+    txn.setExternalRef(ref);
+    txn.setSourceOrderItemId(itemId);
+    txn.setExecutedAt(Timestamp.valueOf("2026-03-02 10:00:00"));
+    return txn;
+  }
+}
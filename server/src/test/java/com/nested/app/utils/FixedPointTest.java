@@ -0,0 +1,65 @@
+package com.nested.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class FixedPointTest {
+
+  @Test
+  void testScaling() {
+    assertEquals(123457L, FixedPoint.amount(1234.565));
+    assertEquals(-123457L, FixedPoint.amount(-1234.565));
+    assertEquals(333333L, FixedPoint.units(33.33333));
+    assertEquals(10L, FixedPoint.amount(0.1));
+    assertEquals(123456789L, FixedPoint.of(new BigDecimal("12345.67885"), FixedPoint.UNITS_SCALE));
+
+    assertEquals(new BigDecimal("1234.57"), FixedPoint.toDecimal(123457L, 2));
+    assertEquals(1234.57, FixedPoint.toDouble(123457L, 2));
+    assertNull(FixedPoint.toDecimalOrNull(null, 4));
+  }
+
+  @Test
+  void testUnitsAndAmounts() {
+    // Rs 1000 at NAV 30 buys 33.3333 units
+    assertEquals(333333L, FixedPoint.unitsFor(FixedPoint.amount(1000), FixedPoint.price(30)));
+    // 33.3333 units at NAV 30 are worth Rs 1000.00 (999.999 rounded)
+    assertEquals(100000L, FixedPoint.amountFor(333333L, FixedPoint.price(30)));
+    assertEquals(-100000L, FixedPoint.amountFor(-333333L, FixedPoint.price(30)));
+  }
+
+  @Test
+  void testMultiplyDivide() {
+    assertEquals(3L, FixedPoint.multiplyDivide(5, 1, 2));
+    assertEquals(-3L, FixedPoint.multiplyDivide(-5, 1, 2));
+    assertEquals(2L, FixedPoint.multiplyDivide(7, 1, 3));
+
+    // Product overflows a long
+    long large = Long.MAX_VALUE / 2;
+    assertEquals(large, FixedPoint.multiplyDivide(large, 1_000_000, 1_000_000));
+  }
+
+  @Test
+  void testAllocate() {
+    assertArrayEquals(
+        new long[] {333333L, 333333L, 333334L},
+        FixedPoint.allocate(1_000_000L, new long[] {100, 100, 100}));
+    assertArrayEquals(
+        new long[] {500000L, 300000L, 200000L},
+        FixedPoint.allocate(1_000_000L, new long[] {5000, 3000, 2000}));
+    assertArrayEquals(
+        new long[] {-333333L, -333333L, -333334L},
+        FixedPoint.allocate(-1_000_000L, new long[] {100, 100, 100}));
+
+    // No weights: equal shares
+    assertArrayEquals(new long[] {50L, 50L}, FixedPoint.allocate(100L, new long[] {0, 0}));
+    assertArrayEquals(new long[0], FixedPoint.allocate(100L, new long[0]));
+
+    long[] shares = FixedPoint.allocate(123456789L, new long[] {7, 13, 19, 23, 29});
+    assertEquals(123456789L, Arrays.stream(shares).sum());
+  }
+}
@@ -0,0 +1,71 @@
+package com.nested.app.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class IpUtilsTest {
+
+  @AfterEach
+  void resetTrustedProxies() {
+    IpUtils.configureTrustedProxies(IpUtils.DEFAULT_TRUSTED_PROXIES);
+  }
+
+  @Test
+  void parsesAddressLiterals() {
+    assertThat(IpUtils.parseLiteral("203.0.113.42")).containsExactly(203, 0, 113, 42);
+    assertThat(IpUtils.parseLiteral(" 203.0.113.42:8080 ")).hasSize(4);
+    assertThat(IpUtils.parseLiteral("[2001:db8::1]:443")).hasSize(16);
+    assertThat(IpUtils.parseLiteral("fe80::1%eth0")).hasSize(16);
+    assertThat(IpUtils.format(IpUtils.parseLiteral("2001:0DB8:0:0:1:0:0:1")))
+        .isEqualTo("2001:db8::1:0:0:1");
+    assertThat(IpUtils.format(IpUtils.parseLiteral("::ffff:10.0.0.1")))
+        .isEqualTo("::ffff:a00:1");
+  }
+
+  @Test
+  void rejectsNonLiteralsWithoutResolving() {
+    assertThat(IpUtils.parseLiteral("example.com")).isNull();
+    assertThat(IpUtils.parseLiteral("unknown")).isNull();
+    assertThat(IpUtils.parseLiteral("256.1.1.1")).isNull();
+    assertThat(IpUtils.parseLiteral("1.2.3")).isNull();
+    assertThat(IpUtils.parseLiteral("1::2::3")).isNull();
+    assertThat(IpUtils.parseLiteral("1:2:3:4:5:6:7:8:9")).isNull();
+    assertThat(IpUtils.toInetAddress("localhost")).isNull();
+  }
+
+  @Test
+  void ignoresForwardingHeadersFromUntrustedPeers() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr("203.0.113.9");
+    request.addHeader("X-Forwarded-For", "198.51.100.7");
+
+    assertThat(IpUtils.getClientIpAddress(request)).isEqualTo("203.0.113.9");
+  }
+
+  @Test
+  void takesFirstUntrustedHopFromTheRight() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr("10.0.1.15");
+    // The left-most entry is whatever the client chose to send
+    request.addHeader("X-Forwarded-For", "198.51.100.7, 203.0.113.42, 10.0.0.2");
+
+    assertThat(IpUtils.getClientIpAddress(request)).isEqualTo("203.0.113.42");
+
+    IpUtils.configureTrustedProxies(List.of("10.0.0.0/8", "203.0.113.0/24"));
+    assertThat(IpUtils.getClientIpAddress(request)).isEqualTo("198.51.100.7");
+  }
+
+  @Test
+  void keepsIpv6ForAddressKeysAndFallsBackForProviders() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr("10.0.1.15");
+    request.addHeader("X-Forwarded-For", "2001:db8::5");
+
+    assertThat(IpUtils.getClientAddress(request)).isEqualTo("2001:db8::5");
+    assertThat(IpUtils.getClientIpAddress(request)).isEqualTo("8.8.8.8");
+  }
+}